@@ -0,0 +1,138 @@
+package com.topographe.topographe.loadtest;
+
+import io.gatling.javaapi.core.ChainBuilder;
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+import static io.gatling.javaapi.core.CoreDsl.StringBody;
+import static io.gatling.javaapi.core.CoreDsl.constantConcurrentUsers;
+import static io.gatling.javaapi.core.CoreDsl.details;
+import static io.gatling.javaapi.core.CoreDsl.exec;
+import static io.gatling.javaapi.core.CoreDsl.feed;
+import static io.gatling.javaapi.core.CoreDsl.global;
+import static io.gatling.javaapi.core.CoreDsl.jsonPath;
+import static io.gatling.javaapi.core.CoreDsl.rampConcurrentUsers;
+import static io.gatling.javaapi.core.CoreDsl.scenario;
+import static io.gatling.javaapi.http.HttpDsl.http;
+import static io.gatling.javaapi.http.HttpDsl.status;
+
+/**
+ * Charge HTTP de bout en bout sur une instance locale alimentée par le profil datagen.
+ *
+ * Chaque utilisateur virtuel se connecte en tant que topographe généré (gen-topographe-&lt;id&gt;),
+ * puis enchaîne recherche de tâches, liste des projets, liste des techniciens et un aller-retour
+ * de statut (IN_PROGRESS -> REVIEW -> IN_PROGRESS) sur une de ses tâches, qui laisse les données inchangées.
+ * Modèle fermé : nombre constant d'utilisateurs simultanés après une montée en charge.
+ *
+ * Les SLO (percentiles de latence, taux d'erreur, débit minimal) sont des assertions Gatling :
+ * le build échoue dès que l'un d'eux n'est pas tenu. Paramètres en propriétés système -Dloadtest.*.
+ */
+public class TopodashSimulation extends Simulation {
+
+    private static final String BASE_URL = System.getProperty("loadtest.base-url", "http://localhost:8080");
+    private static final String PASSWORD = System.getProperty("loadtest.password", "password");
+    // Plage d'ids des topographes générés (journalisée par SyntheticDataGenerator)
+    private static final long[] TOPOGRAPHE_IDS = range(System.getProperty("loadtest.topographe-ids", "1-1000"));
+
+    private static final int USERS = Integer.getInteger("loadtest.users", 50);
+    private static final Duration RAMP = Duration.ofSeconds(Integer.getInteger("loadtest.ramp-seconds", 30));
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("loadtest.duration-seconds", 300));
+    // Parcours enchaînés par session avant une nouvelle connexion
+    private static final int ITERATIONS = Integer.getInteger("loadtest.iterations", 20);
+    private static final Duration THINK_TIME = Duration.ofMillis(Integer.getInteger("loadtest.think-time-ms", 200));
+
+    // SLO globaux, et SLO propre au login (hachage BCrypt volontairement coûteux)
+    private static final int SLO_P50_MS = Integer.getInteger("loadtest.slo.p50-ms", 100);
+    private static final int SLO_P95_MS = Integer.getInteger("loadtest.slo.p95-ms", 300);
+    private static final int SLO_P99_MS = Integer.getInteger("loadtest.slo.p99-ms", 800);
+    private static final int SLO_LOGIN_P95_MS = Integer.getInteger("loadtest.slo.login-p95-ms", 500);
+    private static final double SLO_ERROR_PERCENT = Double.parseDouble(System.getProperty("loadtest.slo.error-percent", "1.0"));
+    private static final double SLO_MIN_RPS = Double.parseDouble(System.getProperty("loadtest.slo.min-rps", "50"));
+
+    private final HttpProtocolBuilder httpProtocol = http
+            .baseUrl(BASE_URL)
+            .acceptHeader("application/json")
+            .contentTypeHeader("application/json");
+
+    private final Iterator<Map<String, Object>> topographes = Stream.generate(() -> {
+        long id = TOPOGRAPHE_IDS[0] + ThreadLocalRandom.current().nextLong(TOPOGRAPHE_IDS[1] - TOPOGRAPHE_IDS[0] + 1);
+        return Map.<String, Object>of("topographeId", id, "username", "gen-topographe-" + id);
+    }).iterator();
+
+    private final ChainBuilder login = feed(topographes)
+            .exec(http("POST /auth/login")
+                    .post("/auth/login")
+                    .body(StringBody("{\"username\":\"#{username}\",\"password\":\"" + PASSWORD + "\"}"))
+                    .check(status().is(200), jsonPath("$.data.token").saveAs("token")))
+            .exitHereIfFailed();
+
+    private final ChainBuilder browse = exec(http("GET /api/task/search")
+            .get("/api/task/search")
+            .header("Authorization", "Bearer #{token}")
+            .queryParam("topographeId", "#{topographeId}")
+            .queryParam("status", "IN_PROGRESS")
+            .queryParam("size", 20)
+            .check(status().is(200), jsonPath("$.data.content[*].id").findRandom().optional().saveAs("taskId")))
+            .pause(THINK_TIME)
+            .exec(http("GET /api/project")
+                    .get("/api/project")
+                    .header("Authorization", "Bearer #{token}")
+                    .queryParam("page", session -> ThreadLocalRandom.current().nextInt(50))
+                    .queryParam("size", 20)
+                    .check(status().is(200)))
+            .pause(THINK_TIME)
+            .exec(http("GET /api/technicien")
+                    .get("/api/technicien")
+                    .header("Authorization", "Bearer #{token}")
+                    .queryParam("size", 20)
+                    .check(status().is(200)))
+            .pause(THINK_TIME)
+            .doIf(session -> session.contains("taskId")).then(
+                    exec(http("PATCH /api/task/{id}/status")
+                            .patch("/api/task/#{taskId}/status")
+                            .header("Authorization", "Bearer #{token}")
+                            .queryParam("status", "REVIEW")
+                            .check(status().is(200)))
+                            .exec(http("PATCH /api/task/{id}/status")
+                                    .patch("/api/task/#{taskId}/status")
+                                    .header("Authorization", "Bearer #{token}")
+                                    .queryParam("status", "IN_PROGRESS")
+                                    .check(status().is(200)))
+                            .exec(session -> session.remove("taskId")));
+
+    private final ScenarioBuilder topographe = scenario("Topographe")
+            .exec(login)
+            .repeat(ITERATIONS).on(browse.pause(THINK_TIME));
+
+    {
+        setUp(topographe.injectClosed(
+                rampConcurrentUsers(0).to(USERS).during(RAMP),
+                constantConcurrentUsers(USERS).during(DURATION)))
+                .protocols(httpProtocol)
+                .assertions(
+                        global().responseTime().percentile(50.0).lt(SLO_P50_MS),
+                        global().responseTime().percentile(95.0).lt(SLO_P95_MS),
+                        global().responseTime().percentile(99.0).lt(SLO_P99_MS),
+                        details("POST /auth/login").responseTime().percentile(95.0).lt(SLO_LOGIN_P95_MS),
+                        global().failedRequests().percent().lte(SLO_ERROR_PERCENT),
+                        global().requestsPerSec().gte(SLO_MIN_RPS));
+    }
+
+    // "premier-dernier" -> {premier, dernier}
+    private static long[] range(String value) {
+        String[] bounds = value.split("-");
+        long first = Long.parseLong(bounds[0].trim());
+        long last = Long.parseLong(bounds[bounds.length - 1].trim());
+        if (last < first) {
+            throw new IllegalArgumentException("loadtest.topographe-ids invalide : " + value);
+        }
+        return new long[]{first, last};
+    }
+}
@@ -0,0 +1,110 @@
+package com.topographe.topographe.benchmark;
+
+import com.topographe.topographe.entity.Topographe;
+import com.topographe.topographe.service.mail.EmailTemplateRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût de rendu par message de l'email de bienvenue topographe : ancien chemin (template relu et
+ * analysé à chaque message, Context reconstruit) contre EmailTemplateRenderer (cache + renderBatch).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailTemplateRenderBenchmark {
+
+	private static final String TEMPLATE = "emails/welcome-topographe";
+	private static final int RECIPIENTS = 200;
+
+	private SpringTemplateEngine uncachedEngine;
+	private EmailTemplateRenderer renderer;
+	private List<Map<String, Object>> recipients;
+
+	@Setup
+	public void setUp() {
+		uncachedEngine = engine(false);
+		renderer = new EmailTemplateRenderer(engine(true), "TopoDash", "http://localhost:8080", "support@topodash.ma");
+		recipients = recipients();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RECIPIENTS)
+	public List<String> uncachedPerMessage() {
+		List<String> rendered = new ArrayList<>(recipients.size());
+		for (Map<String, Object> variables : recipients) {
+			Context context = new Context();
+			context.setVariables(variables);
+			context.setVariable("appName", "TopoDash");
+			context.setVariable("appUrl", "http://localhost:8080");
+			context.setVariable("supportEmail", "support@topodash.ma");
+			rendered.add(uncachedEngine.process(TEMPLATE, context));
+		}
+		return rendered;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RECIPIENTS)
+	public List<String> cachedBatch() {
+		return renderer.renderBatch(TEMPLATE, Map.of(), recipients);
+	}
+
+	private static SpringTemplateEngine engine(boolean cacheable) {
+		ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+		resolver.setPrefix("templates/");
+		resolver.setSuffix(".html");
+		resolver.setTemplateMode(TemplateMode.HTML);
+		resolver.setCharacterEncoding("UTF-8");
+		resolver.setCacheable(cacheable);
+
+		SpringTemplateEngine engine = new SpringTemplateEngine();
+		engine.setTemplateResolver(resolver);
+		return engine;
+	}
+
+	private static List<Map<String, Object>> recipients() {
+		List<Map<String, Object>> recipients = new ArrayList<>();
+		for (int i = 0; i < RECIPIENTS; i++) {
+			Topographe topographe = new Topographe();
+			topographe.setUsername("topo" + i);
+			topographe.setEmail("topo" + i + "@topodash.ma");
+			topographe.setFirstName("Prénom" + i);
+			topographe.setLastName("Nom" + i);
+			topographe.setPhoneNumber("06000000" + i);
+			topographe.setLicenseNumber("LIC-" + i);
+			topographe.setSpecialization("Cadastre");
+			topographe.setCreatedAt(LocalDateTime.of(2024, 1, 1, 10, 0));
+
+			Map<String, Object> variables = new HashMap<>();
+			variables.put("topographe", topographe);
+			variables.put("username", topographe.getUsername());
+			variables.put("password", "secret" + i);
+			variables.put("createdDate", "01/01/2024 à 10:00");
+			recipients.add(variables);
+		}
+		return recipients;
+	}
+}
@@ -0,0 +1,108 @@
+package com.topographe.topographe.benchmark;
+
+import com.topographe.topographe.entity.Client;
+import com.topographe.topographe.entity.Project;
+import com.topographe.topographe.entity.Task;
+import com.topographe.topographe.entity.Technicien;
+import com.topographe.topographe.entity.Topographe;
+import com.topographe.topographe.entity.User;
+import com.topographe.topographe.entity.enumm.ClientType;
+import com.topographe.topographe.entity.enumm.ProjectStatus;
+import com.topographe.topographe.entity.enumm.Role;
+import com.topographe.topographe.entity.enumm.SkillLevel;
+import com.topographe.topographe.entity.enumm.TaskStatus;
+import com.topographe.topographe.entity.referentiel.City;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Graphes d'entités synthétiques (sans base de données) pour les benchmarks :
+ * un projet, ses tâches et une équipe de techniciens partagée entre les tâches.
+ * Génération déterministe (graine fixe) pour comparer deux exécutions.
+ */
+final class EntityGraphs {
+
+	// Taille minimale de l'équipe d'un topographe dans laquelle les tâches puisent leurs techniciens
+	private static final int TEAM_SIZE = 50;
+
+	private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+	private static final SkillLevel[] SKILL_LEVELS = SkillLevel.values();
+
+	private EntityGraphs() {
+	}
+
+	static Project project(int tasks, int techniciensPerTask) {
+		Random random = new Random(42);
+		LocalDate today = LocalDate.now();
+		City city = City.builder().id(1L).name("Rabat").build();
+
+		Topographe topographe = user(new Topographe(), 1L, "topo", city, Role.TOPOGRAPHE);
+		topographe.setLicenseNumber("LIC-0001");
+
+		Client client = user(new Client(), 2L, "client", city, Role.CLIENT);
+		client.setClientType(ClientType.COMPANY);
+		client.setCompanyName("Société Test");
+		client.setCreatedBy(topographe);
+
+		List<Technicien> team = new ArrayList<>();
+		for (int i = 0; i < Math.max(TEAM_SIZE, techniciensPerTask); i++) {
+			Technicien technicien = user(new Technicien(), 100L + i, "tech" + i, city, Role.TECHNICIEN);
+			technicien.setSkillLevel(SKILL_LEVELS[i % SKILL_LEVELS.length]);
+			technicien.setSpecialties("Bornage, Nivellement");
+			technicien.setAssignedTo(topographe);
+			team.add(technicien);
+		}
+
+		Project project = new Project();
+		project.setId(1L);
+		project.setName("Lotissement Al Amal");
+		project.setDescription("Levé topographique et bornage");
+		project.setClient(client);
+		project.setTopographe(topographe);
+		project.setStatus(ProjectStatus.IN_PROGRESS);
+		project.setStartDate(today.minusDays(60));
+		project.setEndDate(today.plusDays(30));
+		project.setCreatedAt(today.minusDays(61).atStartOfDay());
+
+		for (int i = 0; i < tasks; i++) {
+			Task task = new Task();
+			task.setId(1000L + i);
+			task.setTitle("Tâche " + i);
+			task.setDescription("Relevé de la parcelle " + i);
+			task.setProject(project);
+			task.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+			task.setDueDate(today.plusDays(random.nextInt(40) - 10));
+			task.setCreatedAt(LocalDateTime.now().minusDays(random.nextInt(60) + 1));
+			if (task.getStatus() == TaskStatus.COMPLETED) {
+				task.setCompletedAt(task.getCreatedAt().plusDays(random.nextInt(10)));
+			}
+			task.setProgressPercentage(random.nextInt(101));
+
+			// Équipe contiguë dans le pool (décalage aléatoire) : techniciens distincts par tâche
+			int offset = random.nextInt(team.size());
+			for (int j = 0; j < techniciensPerTask; j++) {
+				task.getAssignedTechniciens().add(team.get((offset + j) % team.size()));
+			}
+			project.getTasks().add(task);
+		}
+		return project;
+	}
+
+	private static <U extends User> U user(U user, Long id, String username, City city, Role role) {
+		user.setId(id);
+		user.setUsername(username);
+		user.setEmail(username + "@topodash.ma");
+		user.setFirstName(username);
+		user.setLastName("Test");
+		user.setCin("CIN-" + id);
+		user.setCity(city);
+		user.setRole(role);
+		user.setCreatedAt(LocalDateTime.now());
+		return user;
+	}
+}
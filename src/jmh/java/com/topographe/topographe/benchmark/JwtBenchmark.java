@@ -0,0 +1,54 @@
+package com.topographe.topographe.benchmark;
+
+import com.topographe.topographe.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût par requête de l'authentification JWT : vérification de signature et lecture des claims
+ * (JwtUtil.parseClaims, ex-extractAllClaims), puis validation comme dans JwtAuthFilter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+	private final JwtUtil jwtUtil = new JwtUtil();
+
+	private String token;
+
+	@Setup
+	public void setUp() {
+		token = jwtUtil.generateToken("topo");
+	}
+
+	@Benchmark
+	public Claims parseClaims() {
+		return jwtUtil.parseClaims(token);
+	}
+
+	@Benchmark
+	public boolean parseAndValidate() {
+		Claims claims = jwtUtil.parseClaims(token);
+		return jwtUtil.isTokenValid(claims, claims.getSubject());
+	}
+
+	@Benchmark
+	public String generateToken() {
+		return jwtUtil.generateToken("topo");
+	}
+}
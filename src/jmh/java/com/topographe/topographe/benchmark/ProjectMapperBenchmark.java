@@ -0,0 +1,51 @@
+package com.topographe.topographe.benchmark;
+
+import com.topographe.topographe.dto.response.ProjectResponse;
+import com.topographe.topographe.entity.Project;
+import com.topographe.topographe.mapper.ProjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ProjectMapper.toResponse(Project) : statistiques calculées en parcourant la collection tasks
+ * (chemin des réponses unitaires), selon la taille du projet et de ses équipes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectMapperBenchmark {
+
+	@Param({"10", "1000", "10000"})
+	private int tasksPerProject;
+
+	@Param({"1", "5", "20"})
+	private int techniciensPerTask;
+
+	private final ProjectMapper projectMapper = new ProjectMapper();
+
+	private Project project;
+
+	@Setup
+	public void setUp() {
+		project = EntityGraphs.project(tasksPerProject, techniciensPerTask);
+	}
+
+	@Benchmark
+	public ProjectResponse toResponse() {
+		return projectMapper.toResponse(project);
+	}
+}
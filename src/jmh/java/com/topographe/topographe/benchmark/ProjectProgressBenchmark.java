@@ -0,0 +1,50 @@
+package com.topographe.topographe.benchmark;
+
+import com.topographe.topographe.dto.projection.ProjectTaskStats;
+import com.topographe.topographe.entity.Project;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Progression pondérée d'un projet : Project.getWeightedProgressPercentage
+ * comparé au calcul en une passe de ProjectTaskStats.fromProject.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectProgressBenchmark {
+
+	@Param({"10", "1000", "10000"})
+	private int tasksPerProject;
+
+	private Project project;
+
+	@Setup
+	public void setUp() {
+		project = EntityGraphs.project(tasksPerProject, 1);
+	}
+
+	@Benchmark
+	public double weightedProgressPercentage() {
+		return project.getWeightedProgressPercentage();
+	}
+
+	@Benchmark
+	public double weightedProgressFromStats() {
+		return ProjectTaskStats.fromProject(project).getWeightedProgressPercentage();
+	}
+}
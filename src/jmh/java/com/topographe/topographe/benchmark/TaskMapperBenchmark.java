@@ -0,0 +1,52 @@
+package com.topographe.topographe.benchmark;
+
+import com.topographe.topographe.dto.response.TaskResponse;
+import com.topographe.topographe.entity.Task;
+import com.topographe.topographe.mapper.TaskMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TaskMapper.toResponse sur une tâche, selon le nombre de techniciens assignés.
+ * Les tâches sont parcourues en rotation pour ne pas mesurer toujours le même objet.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskMapperBenchmark {
+
+	@Param({"1", "5", "20"})
+	private int techniciensPerTask;
+
+	private final TaskMapper taskMapper = new TaskMapper();
+
+	private Task[] tasks;
+
+	private int next;
+
+	@Setup
+	public void setUp() {
+		tasks = EntityGraphs.project(1_000, techniciensPerTask).getTasks().toArray(new Task[0]);
+	}
+
+	@Benchmark
+	public TaskResponse toResponse() {
+		Task task = tasks[next];
+		next = (next + 1) % tasks.length;
+		return taskMapper.toResponse(task);
+	}
+}
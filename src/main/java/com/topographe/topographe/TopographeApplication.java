@@ -2,8 +2,10 @@ package com.topographe.topographe;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class TopographeApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,51 @@
+package com.topographe.topographe.config;
+
+import com.topographe.topographe.metrics.HibernateQueryStats;
+import com.topographe.topographe.metrics.StatementCountingListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Métriques applicatives en complément de l'auto-configuration actuator
+ * (http.server.requests, spring.data.repository.invocations, hibernate.*, hikaricp.*) :
+ * compteurs SQL et Hibernate par requête HTTP (RequestQueryMetricsFilter).
+ */
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateQueryStatsCustomizer() {
+        HibernateQueryStats queryStats = new HibernateQueryStats();
+        return properties -> properties.put("hibernate.integrator_provider", (IntegratorProvider) () -> List.of(queryStats));
+    }
+
+    /**
+     * Enveloppe la source de données "dataSource" (celle de JPA, routage vers les réplicas compris)
+     * dans un proxy JDBC qui compte chaque instruction exécutée. Les pools sous-jacents restent
+     * accessibles par unwrap (métriques Hikari, CopyManager du profil datagen).
+     */
+    @Bean
+    public static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new StatementCountingListener())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,104 @@
+package com.topographe.topographe.config;
+
+import com.topographe.topographe.datasource.ReadReplicas;
+import com.topographe.topographe.datasource.ReadWriteRoutingDataSource;
+import com.topographe.topographe.datasource.ReadYourWrites;
+import com.topographe.topographe.datasource.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lectures sur réplicas (app.datasource.read-replicas.enabled=true) : la base principale reste
+ * celle de spring.datasource, chaque URL de app.datasource.read-replicas.urls devient un pool
+ * en lecture seule. Sans cette propriété, la source de données unique de Spring Boot est utilisée.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "app.datasource.read-replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReadReplicas readReplicas(
+            DataSourceProperties properties,
+            @Value("${app.datasource.read-replicas.urls}") List<String> urls,
+            @Value("${app.datasource.read-replicas.username:${spring.datasource.username}}") String username,
+            @Value("${app.datasource.read-replicas.password:${spring.datasource.password}}") String password,
+            @Value("${app.datasource.read-replicas.pool-size:10}") int poolSize,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (i + 1));
+            replica.setJdbcUrl(urls.get(i).trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setMaximumPoolSize(poolSize);
+            replica.setReadOnly(true);
+            // Démarrage possible même si un réplica est arrêté : il sera écarté par le contrôle de retard
+            replica.setInitializationFailTimeout(-1);
+            // Pools hors contexte Spring : métriques hikaricp.* (tag pool) branchées ici, comme pour la principale
+            meterRegistry.ifAvailable(registry -> replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            replicas.put(replica.getPoolName(), replica);
+        }
+        return new ReadReplicas(replicas);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            ReadReplicas readReplicas,
+            @Value("${app.datasource.read-replicas.max-lag-ms:5000}") long maxLagMillis) {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(readReplicas, maxLagMillis);
+        monitor.check();
+        return monitor;
+    }
+
+    @Bean
+    public ReadYourWrites readYourWrites(
+            @Value("${app.datasource.read-replicas.sticky-window-ms:5000}") long windowMillis,
+            @Value("${app.datasource.read-replicas.sticky-max-users:10000}") long maxUsers) {
+        return new ReadYourWrites(Duration.ofMillis(windowMillis), maxUsers);
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(HikariDataSource primaryDataSource,
+                                                        ReadReplicas readReplicas,
+                                                        ReplicaLagMonitor replicaLagMonitor,
+                                                        ReadYourWrites readYourWrites) {
+        return new ReadWriteRoutingDataSource(primaryDataSource, readReplicas, replicaLagMonitor, readYourWrites);
+    }
+
+    /**
+     * Source utilisée par JPA : la connexion n'est obtenue qu'à la première requête SQL,
+     * une fois le caractère readOnly de la transaction connu
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
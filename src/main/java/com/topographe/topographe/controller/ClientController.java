@@ -4,9 +4,11 @@ import com.topographe.topographe.dto.request.ClientCreateRequest;
 import com.topographe.topographe.dto.request.ClientUpdateRequest;
 import com.topographe.topographe.dto.response.ApiResponse;
 import com.topographe.topographe.dto.response.PageResponse;
+import com.topographe.topographe.dto.response.ProjectedPage;
 import com.topographe.topographe.dto.response.ClientResponse;
 import com.topographe.topographe.entity.enumm.ClientType;
 import com.topographe.topographe.service.ClientService;
+import com.topographe.topographe.service.projection.FieldCatalogs;
 import com.topographe.topographe.security.CustomUserDetails;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -17,6 +19,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+
 @RestController
 @RequestMapping("/api/client")
 @RequiredArgsConstructor
@@ -47,11 +50,13 @@ public class ClientController {
 
     @PreAuthorize("hasRole('ADMIN') or hasRole('TOPOGRAPHE')")
     @GetMapping
-    public ResponseEntity<ApiResponse<PageResponse<ClientResponse>>> getAllClients(
+    public ResponseEntity<ApiResponse<ProjectedPage<ClientResponse>>> getAllClients(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "firstName") String sortBy,
             @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String view,
             Authentication authentication) {
 
         log.info("Fetching all clients - page: {}, size: {}, sortBy: {}, sortDir: {}",
@@ -60,9 +65,11 @@ public class ClientController {
         // Récupérer l'utilisateur connecté
         CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
 
-        PageResponse<ClientResponse> pageResponse = clientService.getAllClients(
-                page, size, sortBy, sortDir, userDetails.getUser());
-        ApiResponse<PageResponse<ClientResponse>> response = new ApiResponse<>(
+        ProjectedPage<ClientResponse> pageResponse = FieldCatalogs.CLIENTS.page(fields, view,
+                selected -> clientService.getClientsProjection(
+                        selected, page, size, sortBy, sortDir, userDetails.getUser()),
+                () -> clientService.getAllClients(page, size, sortBy, sortDir, userDetails.getUser()));
+        ApiResponse<ProjectedPage<ClientResponse>> response = new ApiResponse<>(
                 "Liste des clients récupérée avec succès",
                 pageResponse,
                 HttpStatus.OK.value()
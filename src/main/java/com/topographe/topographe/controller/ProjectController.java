@@ -3,16 +3,23 @@ package com.topographe.topographe.controller;
 import com.topographe.topographe.dto.request.ProjectCreateRequest;
 import com.topographe.topographe.dto.request.ProjectUpdateRequest;
 import com.topographe.topographe.dto.response.ApiResponse;
+import com.topographe.topographe.dto.response.CursorPageResponse;
 import com.topographe.topographe.dto.response.PageResponse;
+import com.topographe.topographe.dto.response.ProjectedPage;
 import com.topographe.topographe.dto.response.ProjectResponse;
 import com.topographe.topographe.entity.enumm.ProjectStatus;
+import com.topographe.topographe.service.ExportService;
 import com.topographe.topographe.service.ProjectService;
+import com.topographe.topographe.service.export.ExportFormat;
+import com.topographe.topographe.service.projection.FieldCatalogs;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -23,6 +30,7 @@ import java.util.List;
 public class ProjectController {
 
     private final ProjectService projectService;
+    private final ExportService exportService;
 
     @PostMapping
     public ResponseEntity<ApiResponse<ProjectResponse>> createProject(
@@ -37,14 +45,19 @@ public class ProjectController {
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponse<PageResponse<ProjectResponse>>> getAllProjects(
+    public ResponseEntity<ApiResponse<ProjectedPage<ProjectResponse>>> getAllProjects(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir) {
-
-        PageResponse<ProjectResponse> pageResponse = projectService.getAllProjects(page, size, sortBy, sortDir);
-        ApiResponse<PageResponse<ProjectResponse>> response = new ApiResponse<>(
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String view) {
+
+        ProjectedPage<ProjectResponse> pageResponse = FieldCatalogs.PROJECTS.page(fields, view,
+                selected -> projectService.getProjectsProjection(selected, page, size, sortBy, sortDir,
+                        null, null, null, null, null, null),
+                () -> projectService.getAllProjects(page, size, sortBy, sortDir));
+        ApiResponse<ProjectedPage<ProjectResponse>> response = new ApiResponse<>(
                 "Liste des projets récupérée avec succès",
                 pageResponse,
                 HttpStatus.OK.value()
@@ -53,7 +66,7 @@ public class ProjectController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<ApiResponse<PageResponse<ProjectResponse>>> searchProjects(
+    public ResponseEntity<ApiResponse<ProjectedPage<ProjectResponse>>> searchProjects(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
@@ -63,19 +76,76 @@ public class ProjectController {
             @RequestParam(required = false) Long topographeId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String view) {
+
+        ProjectedPage<ProjectResponse> pageResponse = FieldCatalogs.PROJECTS.page(fields, view,
+                selected -> projectService.getProjectsProjection(selected, page, size, sortBy, sortDir,
+                        status, clientId, topographeId, startDate, endDate, name),
+                () -> projectService.getProjectsWithFilters(page, size, sortBy, sortDir,
+                        status, clientId, topographeId, startDate, endDate, name));
+        ApiResponse<ProjectedPage<ProjectResponse>> response = new ApiResponse<>(
+                "Recherche de projets effectuée avec succès",
+                pageResponse,
+                HttpStatus.OK.value()
+        );
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Recherche paginée par curseur (keyset) : sans COUNT, coût constant quelle que soit la profondeur.
+     * Passer le nextCursor de la réponse précédente pour obtenir la page suivante.
+     */
+    @GetMapping("/search/cursor")
+    public ResponseEntity<ApiResponse<CursorPageResponse<ProjectResponse>>> searchProjectsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(required = false) ProjectStatus status,
+            @RequestParam(required = false) Long clientId,
+            @RequestParam(required = false) Long topographeId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
             @RequestParam(required = false) String name) {
 
-        PageResponse<ProjectResponse> pageResponse = projectService.getProjectsWithFilters(
-                page, size, sortBy, sortDir, status, clientId, topographeId, startDate, endDate, name);
+        CursorPageResponse<ProjectResponse> cursorPage = projectService.getProjectsWithFiltersCursor(
+                cursor, size, sortBy, sortDir, status, clientId, topographeId, startDate, endDate, name);
 
-        ApiResponse<PageResponse<ProjectResponse>> response = new ApiResponse<>(
+        ApiResponse<CursorPageResponse<ProjectResponse>> response = new ApiResponse<>(
                 "Recherche de projets effectuée avec succès",
-                pageResponse,
+                cursorPage,
                 HttpStatus.OK.value()
         );
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Export en flux (CSV ou NDJSON) de tous les projets correspondant aux filtres de /search,
+     * sans pagination : les lignes sont écrites au fil de la lecture en base.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProjects(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) ProjectStatus status,
+            @RequestParam(required = false) Long clientId,
+            @RequestParam(required = false) Long topographeId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String name) {
+
+        ExportFormat exportFormat = ExportFormat.of(format);
+        StreamingResponseBody body = out -> exportService.exportProjects(exportFormat, out,
+                status, clientId, topographeId, startDate, endDate, name);
+
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"projets-" + LocalDate.now() + "." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
     @GetMapping("/client/{clientId}")
     public ResponseEntity<ApiResponse<PageResponse<ProjectResponse>>> getProjectsByClient(
             @PathVariable Long clientId,
@@ -0,0 +1,40 @@
+package com.topographe.topographe.controller;
+
+import com.topographe.topographe.dto.response.ApiResponse;
+import com.topographe.topographe.dto.response.PageResponse;
+import com.topographe.topographe.dto.response.SearchResultResponse;
+import com.topographe.topographe.service.SearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final SearchService searchService;
+
+    /**
+     * Recherche plein texte par préfixe dans les tâches (titre, description, notes) et les projets (nom, description)
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<PageResponse<SearchResultResponse>>> search(
+            @RequestParam("q") String text,
+            @RequestParam(required = false) SearchResultResponse.Type type,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+
+        PageResponse<SearchResultResponse> pageResponse = searchService.search(text, type, page, size);
+        ApiResponse<PageResponse<SearchResultResponse>> response = new ApiResponse<>(
+                "Recherche effectuée avec succès",
+                pageResponse,
+                HttpStatus.OK.value()
+        );
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,20 +1,36 @@
 package com.topographe.topographe.controller;
 
 import com.topographe.topographe.dto.request.TaskAssignRequest;
+import com.topographe.topographe.dto.request.TaskAutoAssignRequest;
+import com.topographe.topographe.dto.request.TaskBulkAssignRequest;
+import com.topographe.topographe.dto.request.TaskBulkCreateRequest;
 import com.topographe.topographe.dto.request.TaskCreateRequest;
 import com.topographe.topographe.dto.request.TaskUpdateRequest;
 import com.topographe.topographe.dto.response.ApiResponse;
+import com.topographe.topographe.dto.response.CompletionRateResponse;
+import com.topographe.topographe.dto.response.CursorPageResponse;
 import com.topographe.topographe.dto.response.PageResponse;
+import com.topographe.topographe.dto.response.ProjectedPage;
+import com.topographe.topographe.dto.response.ProgressSummaryResponse;
+import com.topographe.topographe.dto.response.TaskBulkCreateResponse;
 import com.topographe.topographe.dto.response.TaskResponse;
+import com.topographe.topographe.dto.response.TechnicienRecommendationResponse;
+import com.topographe.topographe.dto.response.TechnicienWorkloadResponse;
 import com.topographe.topographe.entity.enumm.TaskStatus;
+import com.topographe.topographe.metrics.StatementBudget;
+import com.topographe.topographe.service.ExportService;
 import com.topographe.topographe.service.TaskService;
+import com.topographe.topographe.service.export.ExportFormat;
+import com.topographe.topographe.service.projection.FieldCatalogs;
 import com.topographe.topographe.service.impl.TaskServiceImpl;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -26,6 +42,7 @@ public class TaskController {
 
     private final TaskService taskService;
     private final TaskServiceImpl taskServiceImpl; // Pour accéder aux nouvelles méthodes
+    private final ExportService exportService;
 
     @PostMapping
     public ResponseEntity<ApiResponse<TaskResponse>> createTask(
@@ -39,15 +56,39 @@ public class TaskController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    /**
+     * Création en masse : les tâches invalides sont rejetées une à une (voir "errors"), les autres sont créées
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<ApiResponse<TaskBulkCreateResponse>> createTasks(
+            @RequestBody TaskBulkCreateRequest request) {
+        TaskBulkCreateResponse bulkResponse = taskService.createTasks(request);
+        HttpStatus status = bulkResponse.getCreated() > 0
+                ? HttpStatus.CREATED
+                : HttpStatus.BAD_REQUEST;
+        ApiResponse<TaskBulkCreateResponse> response = new ApiResponse<>(
+                bulkResponse.getCreated() + " tâche(s) créée(s), " + bulkResponse.getFailed() + " rejetée(s)",
+                bulkResponse,
+                status.value()
+        );
+        return new ResponseEntity<>(response, status);
+    }
+
+    @StatementBudget(6)
     @GetMapping
-    public ResponseEntity<ApiResponse<PageResponse<TaskResponse>>> getAllTasks(
+    public ResponseEntity<ApiResponse<ProjectedPage<TaskResponse>>> getAllTasks(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir) {
-
-        PageResponse<TaskResponse> pageResponse = taskService.getAllTasks(page, size, sortBy, sortDir);
-        ApiResponse<PageResponse<TaskResponse>> response = new ApiResponse<>(
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String view) {
+
+        ProjectedPage<TaskResponse> pageResponse = FieldCatalogs.TASKS.page(fields, view,
+                selected -> taskService.getTasksProjection(selected, page, size, sortBy, sortDir,
+                        null, null, null, null, null, null, null, null),
+                () -> taskService.getAllTasks(page, size, sortBy, sortDir));
+        ApiResponse<ProjectedPage<TaskResponse>> response = new ApiResponse<>(
                 "Liste des tâches récupérée avec succès",
                 pageResponse,
                 HttpStatus.OK.value()
@@ -55,8 +96,9 @@ public class TaskController {
         return ResponseEntity.ok(response);
     }
 
+    @StatementBudget(6)
     @GetMapping("/search")
-    public ResponseEntity<ApiResponse<PageResponse<TaskResponse>>> searchTasks(
+    public ResponseEntity<ApiResponse<ProjectedPage<TaskResponse>>> searchTasks(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
@@ -68,20 +110,83 @@ public class TaskController {
             @RequestParam(required = false) Long clientId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDateFrom,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDateTo,
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String view) {
+
+        ProjectedPage<TaskResponse> pageResponse = FieldCatalogs.TASKS.page(fields, view,
+                selected -> taskService.getTasksProjection(selected, page, size, sortBy, sortDir, status, projectId,
+                        technicienId, topographeId, clientId, dueDateFrom, dueDateTo, title),
+                () -> taskService.getTasksWithFilters(page, size, sortBy, sortDir, status, projectId,
+                        technicienId, topographeId, clientId, dueDateFrom, dueDateTo, title));
+        ApiResponse<ProjectedPage<TaskResponse>> response = new ApiResponse<>(
+                "Recherche de tâches effectuée avec succès",
+                pageResponse,
+                HttpStatus.OK.value()
+        );
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Recherche paginée par curseur (keyset) : sans COUNT, coût constant quelle que soit la profondeur.
+     * Passer le nextCursor de la réponse précédente pour obtenir la page suivante.
+     */
+    @StatementBudget(4)
+    @GetMapping("/search/cursor")
+    public ResponseEntity<ApiResponse<CursorPageResponse<TaskResponse>>> searchTasksByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) Long technicienId,
+            @RequestParam(required = false) Long topographeId,
+            @RequestParam(required = false) Long clientId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDateTo,
             @RequestParam(required = false) String title) {
 
-        PageResponse<TaskResponse> pageResponse = taskService.getTasksWithFilters(
-                page, size, sortBy, sortDir, status, projectId, technicienId,
+        CursorPageResponse<TaskResponse> cursorPage = taskService.getTasksWithFiltersCursor(
+                cursor, size, sortBy, sortDir, status, projectId, technicienId,
                 topographeId, clientId, dueDateFrom, dueDateTo, title);
 
-        ApiResponse<PageResponse<TaskResponse>> response = new ApiResponse<>(
+        ApiResponse<CursorPageResponse<TaskResponse>> response = new ApiResponse<>(
                 "Recherche de tâches effectuée avec succès",
-                pageResponse,
+                cursorPage,
                 HttpStatus.OK.value()
         );
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Export en flux (CSV ou NDJSON) de toutes les tâches correspondant aux filtres de /search,
+     * sans pagination : les lignes sont écrites au fil de la lecture en base.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) Long technicienId,
+            @RequestParam(required = false) Long topographeId,
+            @RequestParam(required = false) Long clientId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDateTo,
+            @RequestParam(required = false) String title) {
+
+        ExportFormat exportFormat = ExportFormat.of(format);
+        StreamingResponseBody body = out -> exportService.exportTasks(exportFormat, out,
+                status, projectId, technicienId, topographeId, clientId, dueDateFrom, dueDateTo, title);
+
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"taches-" + LocalDate.now() + "." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    @StatementBudget(6)
     @GetMapping("/project/{projectId}")
     public ResponseEntity<ApiResponse<PageResponse<TaskResponse>>> getTasksByProject(
             @PathVariable Long projectId,
@@ -210,6 +315,69 @@ public class TaskController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Assigne les mêmes techniciens à plusieurs tâches ; replaceExisting remplace les assignations actuelles
+     */
+    @PostMapping("/bulk/assign")
+    public ResponseEntity<ApiResponse<List<TaskResponse>>> assignTasks(
+            @RequestBody TaskBulkAssignRequest request) {
+        List<TaskResponse> tasks = taskService.assignTasks(request);
+        ApiResponse<List<TaskResponse>> response = new ApiResponse<>(
+                tasks.size() + " tâche(s) assignée(s) avec succès",
+                tasks,
+                HttpStatus.OK.value()
+        );
+        return ResponseEntity.ok(response);
+    }
+
+    // Affectation automatique (index de charge des techniciens)
+
+    /**
+     * Techniciens proposés pour la tâche, classés par charge ; paramètres : techniciensPerTask,
+     * minSkillLevel, specialty, maxOpenTasks
+     */
+    @GetMapping("/{taskId}/recommended-techniciens")
+    public ResponseEntity<ApiResponse<List<TechnicienRecommendationResponse>>> recommendTechniciens(
+            @PathVariable Long taskId,
+            TaskAutoAssignRequest request) {
+        List<TechnicienRecommendationResponse> recommendations = taskService.recommendTechniciens(taskId, request);
+        ApiResponse<List<TechnicienRecommendationResponse>> response = new ApiResponse<>(
+                "Techniciens recommandés récupérés avec succès",
+                recommendations,
+                HttpStatus.OK.value()
+        );
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/{taskId}/auto-assign")
+    public ResponseEntity<ApiResponse<TaskResponse>> autoAssignTask(
+            @PathVariable Long taskId,
+            @RequestBody(required = false) TaskAutoAssignRequest request) {
+        TaskResponse taskResponse = taskService.autoAssignTask(taskId,
+                request != null ? request : new TaskAutoAssignRequest());
+        ApiResponse<TaskResponse> response = new ApiResponse<>(
+                "Techniciens assignés automatiquement à la tâche",
+                taskResponse,
+                HttpStatus.OK.value()
+        );
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Affecte automatiquement un lot de tâches ; celles sans technicien disponible restent non assignées
+     */
+    @PostMapping("/bulk/auto-assign")
+    public ResponseEntity<ApiResponse<List<TaskResponse>>> autoAssignTasks(
+            @RequestBody TaskAutoAssignRequest request) {
+        List<TaskResponse> tasks = taskService.autoAssignTasks(request);
+        ApiResponse<List<TaskResponse>> response = new ApiResponse<>(
+                tasks.size() + " tâche(s) traitée(s) par l'affectation automatique",
+                tasks,
+                HttpStatus.OK.value()
+        );
+        return ResponseEntity.ok(response);
+    }
+
     @DeleteMapping("/{taskId}/assign")
     public ResponseEntity<ApiResponse<TaskResponse>> unassignTask(@PathVariable Long taskId) {
         TaskResponse taskResponse = taskService.unassignTask(taskId);
@@ -464,36 +632,42 @@ public class TaskController {
     // Nouvelles statistiques pour le dashboard
 
     @GetMapping("/stats/workload")
-    public ResponseEntity<ApiResponse<List<Object[]>>> getWorkloadByTechnicien() {
-        // Cette méthode devrait être implémentée dans le service
-        ApiResponse<List<Object[]>> response = new ApiResponse<>(
+    public ResponseEntity<ApiResponse<List<TechnicienWorkloadResponse>>> getWorkloadByTechnicien(
+            @RequestParam(defaultValue = "30") int days) {
+        List<TechnicienWorkloadResponse> workload = taskService.getWorkloadByTechnicien(days);
+        ApiResponse<List<TechnicienWorkloadResponse>> response = new ApiResponse<>(
                 "Charge de travail par technicien récupérée avec succès",
-                null, // À implémenter
+                workload,
                 HttpStatus.OK.value()
         );
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/stats/completion-rate")
-    public ResponseEntity<ApiResponse<Object>> getCompletionRate(
+    public ResponseEntity<ApiResponse<CompletionRateResponse>> getCompletionRate(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) Long technicienId) {
 
         // Calcul du taux de completion sur une période
-        ApiResponse<Object> response = new ApiResponse<>(
+        CompletionRateResponse completionRate = taskService.getCompletionRate(startDate, endDate, projectId, technicienId);
+        ApiResponse<CompletionRateResponse> response = new ApiResponse<>(
                 "Taux de completion calculé avec succès",
-                null, // À implémenter
+                completionRate,
                 HttpStatus.OK.value()
         );
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/stats/progress-summary")
-    public ResponseEntity<ApiResponse<Object>> getProgressSummary() {
+    public ResponseEntity<ApiResponse<ProgressSummaryResponse>> getProgressSummary(
+            @RequestParam(defaultValue = "30") int days) {
         // Résumé de la progression de toutes les tâches
-        ApiResponse<Object> response = new ApiResponse<>(
+        ProgressSummaryResponse summary = taskService.getProgressSummary(days);
+        ApiResponse<ProgressSummaryResponse> response = new ApiResponse<>(
                 "Résumé de progression récupéré avec succès",
-                null, // À implémenter
+                summary,
                 HttpStatus.OK.value()
         );
         return ResponseEntity.ok(response);
@@ -4,9 +4,11 @@ import com.topographe.topographe.dto.request.TechnicienCreateRequest;
 import com.topographe.topographe.dto.request.TechnicienUpdateRequest;
 import com.topographe.topographe.dto.response.ApiResponse;
 import com.topographe.topographe.dto.response.PageResponse;
+import com.topographe.topographe.dto.response.ProjectedPage;
 import com.topographe.topographe.dto.response.TechnicienResponse;
 import com.topographe.topographe.entity.enumm.SkillLevel;
 import com.topographe.topographe.service.TechnicienService;
+import com.topographe.topographe.service.projection.FieldCatalogs;
 import com.topographe.topographe.security.CustomUserDetails;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -49,11 +51,13 @@ public class TechnicienController {
 
     @PreAuthorize("hasRole('ADMIN') or hasRole('TOPOGRAPHE')")
     @GetMapping
-    public ResponseEntity<ApiResponse<PageResponse<TechnicienResponse>>> getAllTechniciens(
+    public ResponseEntity<ApiResponse<ProjectedPage<TechnicienResponse>>> getAllTechniciens(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "firstName") String sortBy,
             @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String view,
             Authentication authentication) {
 
         log.info("Fetching all techniciens - page: {}, size: {}, sortBy: {}, sortDir: {}",
@@ -62,9 +66,11 @@ public class TechnicienController {
         // Récupérer l'utilisateur connecté
         CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
 
-        PageResponse<TechnicienResponse> pageResponse = technicienService.getAllTechniciens(
-                page, size, sortBy, sortDir, userDetails.getUser());
-        ApiResponse<PageResponse<TechnicienResponse>> response = new ApiResponse<>(
+        ProjectedPage<TechnicienResponse> pageResponse = FieldCatalogs.TECHNICIENS.page(fields, view,
+                selected -> technicienService.getTechniciensProjection(
+                        selected, page, size, sortBy, sortDir, userDetails.getUser()),
+                () -> technicienService.getAllTechniciens(page, size, sortBy, sortDir, userDetails.getUser()));
+        ApiResponse<ProjectedPage<TechnicienResponse>> response = new ApiResponse<>(
                 "Liste des techniciens récupérée avec succès",
                 pageResponse,
                 HttpStatus.OK.value()
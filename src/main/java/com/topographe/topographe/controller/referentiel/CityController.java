@@ -11,6 +11,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -20,9 +21,15 @@ import java.util.List;
 public class CityController {
     private final CityService cityService;
 
+    // Liste servie depuis le cache du référentiel ; 304 si le client possède déjà cette version (If-None-Match)
     @GetMapping
-    public ResponseEntity<ApiResponse<List<CityDto>>> getAllCities() {
-        return ResponseEntity.ok(new ApiResponse<>("All Cities found", cityService.getAllCities(), 2000));
+    public ResponseEntity<ApiResponse<List<CityDto>>> getAllCities(WebRequest webRequest) {
+        String etag = cityService.getCitiesEtag();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag)
+                .body(new ApiResponse<>("All Cities found", cityService.getAllCities(), 2000));
     }
 
     @GetMapping("/{id}")
@@ -42,7 +49,12 @@ public class CityController {
     @GetMapping("/page/{page}/size/{size}")
     public ResponseEntity<ApiResponse<RefPageResponse<CityDto>>> getAllCitiesPaginated(
             @PathVariable int page,
-            @PathVariable int size) {
+            @PathVariable int size,
+            WebRequest webRequest) {
+        String etag = cityService.getCitiesEtag();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
         Page<CityDto> regionPage = cityService.getAllCities(PageRequest.of(page, size));
         RefPageResponse<CityDto> response = new RefPageResponse<>(
                 regionPage.getContent(),
@@ -51,6 +63,7 @@ public class CityController {
                 regionPage.getNumber(),
                 regionPage.getSize()
         );
-        return ResponseEntity.ok(new ApiResponse<>("All cities fetched", response, HttpStatus.OK.value()));
+        return ResponseEntity.ok().eTag(etag)
+                .body(new ApiResponse<>("All cities fetched", response, HttpStatus.OK.value()));
     }
 }
@@ -13,6 +13,9 @@ import com.topographe.topographe.dto.response.RefPageResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/countries")
@@ -29,6 +32,18 @@ public class CountryController {
         return ResponseEntity.ok(responseDto);
     }
 
+    // Liste servie depuis le cache du référentiel ; 304 si le client possède déjà cette version (If-None-Match)
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<CountryDto>>> getAllCountries(WebRequest webRequest) {
+        String etag = countryService.getCountriesEtag();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag)
+                .body(new ApiResponse<>("All countries found", countryService.getAllCountries(), HttpStatus.OK.value()));
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<CountryDto>> getCountryById(@PathVariable Long id) {
@@ -47,7 +62,12 @@ public class CountryController {
     @GetMapping("/page/{page}/size/{size}")
     public ResponseEntity<ApiResponse<RefPageResponse<CountryDto>>> getAllCountriesPaginated(
             @PathVariable int page,
-            @PathVariable int size) {
+            @PathVariable int size,
+            WebRequest webRequest) {
+        String etag = countryService.getCountriesEtag();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
         Page<CountryDto> countryPage = countryService.getAllCountries(PageRequest.of(page, size));
         RefPageResponse<CountryDto> response = new RefPageResponse<>(
             countryPage.getContent(),
@@ -56,6 +76,7 @@ public class CountryController {
             countryPage.getNumber(),
             countryPage.getSize()
         );
-        return ResponseEntity.ok(new ApiResponse<>("All countries fetched", response, HttpStatus.OK.value()));
+        return ResponseEntity.ok().eTag(etag)
+                .body(new ApiResponse<>("All countries fetched", response, HttpStatus.OK.value()));
     }
 } 
\ No newline at end of file
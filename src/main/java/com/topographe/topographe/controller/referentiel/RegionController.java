@@ -11,6 +11,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/regions")
@@ -18,6 +21,18 @@ import org.springframework.web.bind.annotation.*;
 public class RegionController {
     private final RegionService regionService;
 
+    // Liste servie depuis le cache du référentiel ; 304 si le client possède déjà cette version (If-None-Match)
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<RegionDto>>> getAllRegions(WebRequest webRequest) {
+        String etag = regionService.getRegionsEtag();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag)
+                .body(new ApiResponse<>("All regions found", regionService.getAllRegions(), HttpStatus.OK.value()));
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<RegionDto>> getCountryById(@PathVariable Long id) {
@@ -36,7 +51,12 @@ public class RegionController {
     @GetMapping("/page/{page}/size/{size}")
     public ResponseEntity<ApiResponse<RefPageResponse<RegionDto>>> getAllRegionsPaginated(
             @PathVariable int page,
-            @PathVariable int size) {
+            @PathVariable int size,
+            WebRequest webRequest) {
+        String etag = regionService.getRegionsEtag();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
         Page<RegionDto> regionPage = regionService.getAllRegions(PageRequest.of(page, size));
         RefPageResponse<RegionDto> response = new RefPageResponse<>(
                 regionPage.getContent(),
@@ -45,6 +65,7 @@ public class RegionController {
                 regionPage.getNumber(),
                 regionPage.getSize()
         );
-        return ResponseEntity.ok(new ApiResponse<>("All regions fetched", response, HttpStatus.OK.value()));
+        return ResponseEntity.ok().eTag(etag)
+                .body(new ApiResponse<>("All regions fetched", response, HttpStatus.OK.value()));
     }
 }
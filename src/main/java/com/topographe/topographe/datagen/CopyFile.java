@@ -0,0 +1,90 @@
+package com.topographe.topographe.datagen;
+
+import org.postgresql.copy.CopyManager;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+
+/**
+ * Lignes d'une table écrites dans un fichier temporaire au format texte de COPY
+ * (colonnes séparées par des tabulations, NULL = \N), puis chargées en une seule
+ * commande COPY ... FROM STDIN. Le fichier permet de générer plusieurs tables en
+ * une passe et de les charger ensuite dans l'ordre des clés étrangères.
+ */
+final class CopyFile implements Closeable {
+
+    private final String table;
+    private final String[] columns;
+    private final Path path;
+    private final BufferedWriter writer;
+    private long rows;
+
+    CopyFile(String table, String... columns) throws IOException {
+        this.table = table;
+        this.columns = columns;
+        this.path = Files.createTempFile("datagen-" + table + "-", ".copy");
+        this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+    }
+
+    void row(Object... values) throws IOException {
+        if (values.length != columns.length) {
+            throw new IllegalArgumentException(table + " : " + values.length + " valeurs pour "
+                    + columns.length + " colonnes");
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write('\t');
+            }
+            writer.write(escape(values[i]));
+        }
+        writer.write('\n');
+        rows++;
+    }
+
+    String getTable() {
+        return table;
+    }
+
+    long getRows() {
+        return rows;
+    }
+
+    /**
+     * Charge le fichier dans la table via la connexion du CopyManager (dans sa transaction courante)
+     * @return nombre de lignes copiées
+     */
+    long copyInto(CopyManager copyManager) throws IOException, SQLException {
+        writer.close();
+        String sql = "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN";
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return copyManager.copyIn(sql, reader, 1 << 16);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+        Files.deleteIfExists(path);
+    }
+
+    // Format texte de COPY : dates ISO, énumérations par leur nom, caractères de contrôle échappés
+    static String escape(Object value) {
+        if (value == null) {
+            return "\\N";
+        }
+        if (value instanceof Enum<?> constant) {
+            return constant.name();
+        }
+        String text = value.toString();
+        if (text.indexOf('\\') < 0 && text.indexOf('\t') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return text.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+}
@@ -0,0 +1,349 @@
+package com.topographe.topographe.datagen;
+
+import com.topographe.topographe.entity.enumm.ClientType;
+import com.topographe.topographe.entity.enumm.ProjectStatus;
+import com.topographe.topographe.entity.enumm.Role;
+import com.topographe.topographe.entity.enumm.SkillLevel;
+import com.topographe.topographe.entity.enumm.TaskStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Génère un jeu de données synthétique volumineux dans une base PostgreSQL locale (profil "datagen").
+ *
+ * Topographes, clients, techniciens, projets, tâches et liens task_technicien sont écrits dans des
+ * fichiers au format COPY en une passe, puis chargés par COPY ... FROM STDIN dans une seule transaction
+ * (les ids sont attribués à la suite des ids existants, les séquences sont recalées à la fin).
+ * Les distributions de statuts et d'échéances suivent le cycle de vie des projets : projets terminés
+ * dans le passé, projets en cours avec des tâches en retard, projets planifiés à venir.
+ * Génération déterministe pour une graine donnée.
+ */
+@Slf4j
+@Component
+@Profile("datagen")
+@RequiredArgsConstructor
+public class SyntheticDataGenerator implements ApplicationRunner {
+
+    private static final String[] FIRST_NAMES = {"Youssef", "Fatima", "Mohamed", "Khadija", "Ayoub", "Salma",
+            "Omar", "Imane", "Hamza", "Nadia", "Karim", "Samira", "Mehdi", "Laila", "Anas", "Zineb"};
+    private static final String[] LAST_NAMES = {"El Amrani", "Benali", "Alaoui", "Idrissi", "Tazi", "Berrada",
+            "Chraibi", "El Fassi", "Bennani", "Ouazzani", "Lahlou", "Sqalli", "Kettani", "Naciri"};
+    private static final String[] PROJECT_TYPES = {"Levé topographique", "Bornage", "Lotissement", "Implantation",
+            "Nivellement", "Délimitation", "Morcellement", "Plan côté"};
+    private static final String[] TASK_TITLES = {"Relevé terrain", "Calcul des coordonnées", "Établissement du plan",
+            "Bornage des limites", "Implantation des points", "Nivellement", "Contrôle qualité", "Rapport final"};
+    private static final String[] SPECIALTIES = {"GPS, Station totale", "Nivellement", "Bornage", "Drone, Photogrammétrie"};
+
+    private final DataSource dataSource;
+    private final PasswordEncoder passwordEncoder;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${app.datagen.topographes:1000}")
+    private int topographes;
+
+    @Value("${app.datagen.clients-per-topographe:5}")
+    private int clientsPerTopographe;
+
+    @Value("${app.datagen.techniciens-per-topographe:4}")
+    private int techniciensPerTopographe;
+
+    @Value("${app.datagen.projects:200000}")
+    private int projects;
+
+    // Moyenne ; chaque projet a entre 1 et 2 × moyenne - 1 tâches
+    @Value("${app.datagen.tasks-per-project:5}")
+    private int tasksPerProject;
+
+    @Value("${app.datagen.max-techniciens-per-task:3}")
+    private int maxTechniciensPerTask;
+
+    @Value("${app.datagen.seed:42}")
+    private long seed;
+
+    // Mot de passe commun à tous les comptes générés (haché une seule fois)
+    @Value("${app.datagen.password:password}")
+    private String password;
+
+    @Value("${app.datagen.exit-when-done:true}")
+    private boolean exitWhenDone;
+
+    private Random random;
+    private LocalDate today;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (topographes < 1 || clientsPerTopographe < 1 || techniciensPerTopographe < 1 || tasksPerProject < 1) {
+            throw new IllegalArgumentException("app.datagen : au moins un topographe, un client, un technicien et une tâche par projet");
+        }
+        if (maxTechniciensPerTask > techniciensPerTopographe) {
+            throw new IllegalArgumentException("app.datagen.max-techniciens-per-task ne peut pas dépasser techniciens-per-topographe");
+        }
+        random = new Random(seed);
+        today = LocalDate.now();
+        long started = System.nanoTime();
+
+        try (Connection connection = dataSource.getConnection()) {
+            // Une seule transaction : en cas d'échec, la connexion est rendue au pool sans commit (rollback)
+            connection.setAutoCommit(false);
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            long[] cityIds = loadCityIds(connection);
+            long userBase = nextId(connection, "users");
+            long projectBase = nextId(connection, "projects");
+            long taskBase = nextId(connection, "tasks");
+
+            try (CopyFile users = new CopyFile("users", "id", "user_type", "role", "username", "email", "password",
+                    "phone_number", "first_name", "last_name", "birthday", "cin", "city_id", "created_at", "updated_at",
+                    "is_active", "license_number", "specialization", "company_name", "client_type",
+                    "created_by_topographe_id", "skill_level", "specialties", "assigned_to_topographe_id");
+                 CopyFile projectRows = new CopyFile("projects", "id", "name", "description", "client_id",
+                         "topographe_id", "start_date", "end_date", "status", "created_at", "updated_at");
+                 CopyFile tasks = new CopyFile("tasks", "id", "title", "description", "project_id", "status",
+                         "due_date", "created_at", "completed_at", "progress_percentage", "progress_notes");
+                 CopyFile links = new CopyFile("task_technicien", "task_id", "technicien_id", "assigned_at")) {
+
+                writeUsers(users, userBase, cityIds);
+                writeProjects(projectRows, tasks, links, userBase, projectBase, taskBase);
+                log.info("Données générées en {} s, chargement par COPY", elapsedSeconds(started));
+
+                // Ordre des clés étrangères ; les auto-références de users sont vérifiées en fin d'instruction
+                for (CopyFile file : List.of(users, projectRows, tasks, links)) {
+                    long loadStarted = System.nanoTime();
+                    long copied = file.copyInto(copyManager);
+                    log.info("COPY {} : {} lignes en {} s", file.getTable(), copied, elapsedSeconds(loadStarted));
+                }
+            }
+
+            try (Statement statement = connection.createStatement()) {
+                // Même recalage que scripts/sequences.sql
+                statement.execute("SELECT setval('users_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM users))");
+                statement.execute("SELECT setval('projects_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM projects))");
+                statement.execute("SELECT setval('tasks_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM tasks))");
+                connection.commit();
+
+                // Statistiques du planificateur à jour pour les tests de requêtes
+                connection.setAutoCommit(true);
+                statement.execute("ANALYZE users, projects, tasks, task_technicien");
+            }
+        }
+        log.info("Jeu de données synthétique chargé en {} s", elapsedSeconds(started));
+
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+
+    private void writeUsers(CopyFile users, long userBase, long[] cityIds) throws IOException {
+        String passwordHash = passwordEncoder.encode(password);
+        long clientBase = userBase + topographes;
+        long technicienBase = clientBase + (long) topographes * clientsPerTopographe;
+
+        for (int t = 0; t < topographes; t++) {
+            long id = userBase + t;
+            users.row(userColumns(id, Role.TOPOGRAPHE, passwordHash, cityIds,
+                    "LIC-GEN-" + id, "Topographie foncière", null, null, null, null, null, null));
+        }
+        for (int t = 0; t < topographes; t++) {
+            long topographeId = userBase + t;
+            for (int c = 0; c < clientsPerTopographe; c++) {
+                long id = clientBase + (long) t * clientsPerTopographe + c;
+                ClientType clientType = pick(ClientType.values());
+                String companyName = clientType == ClientType.INDIVIDUAL ? null : "Société " + pick(LAST_NAMES) + " " + id;
+                users.row(userColumns(id, Role.CLIENT, passwordHash, cityIds,
+                        null, null, companyName, clientType, topographeId, null, null, null));
+            }
+            for (int k = 0; k < techniciensPerTopographe; k++) {
+                long id = technicienBase + (long) t * techniciensPerTopographe + k;
+                users.row(userColumns(id, Role.TECHNICIEN, passwordHash, cityIds,
+                        null, null, null, null, null, pick(SkillLevel.values()), pick(SPECIALTIES), topographeId));
+            }
+        }
+        log.info("{} utilisateurs générés ; topographes gen-topographe-<id> pour les ids {}-{}",
+                users.getRows(), userBase, userBase + topographes - 1);
+    }
+
+    private Object[] userColumns(long id, Role role, String passwordHash, long[] cityIds,
+                                 String licenseNumber, String specialization,
+                                 String companyName, ClientType clientType, Long createdBy,
+                                 SkillLevel skillLevel, String specialties, Long assignedTo) {
+        String username = "gen-" + role.name().toLowerCase() + "-" + id;
+        LocalDateTime createdAt = today.minusDays(400 + random.nextInt(1000)).atTime(8 + random.nextInt(10), 0);
+        return new Object[]{
+                id, role.name(), role, username, username + "@topodash.test", passwordHash,
+                String.format("+2126%08d", id), pick(FIRST_NAMES), pick(LAST_NAMES),
+                LocalDate.of(1960, 1, 1).plusDays(random.nextInt(40 * 365)), "GEN" + id,
+                cityIds[random.nextInt(cityIds.length)], createdAt, createdAt,
+                random.nextInt(100) < 95,
+                licenseNumber, specialization, companyName, clientType, createdBy,
+                skillLevel, specialties, assignedTo
+        };
+    }
+
+    private void writeProjects(CopyFile projectRows, CopyFile tasks, CopyFile links,
+                               long userBase, long projectBase, long taskBase) throws IOException {
+        long clientBase = userBase + topographes;
+        long technicienBase = clientBase + (long) topographes * clientsPerTopographe;
+        long taskId = taskBase;
+
+        for (int p = 0; p < projects; p++) {
+            long projectId = projectBase + p;
+            int t = random.nextInt(topographes);
+            long topographeId = userBase + t;
+            long clientId = clientBase + (long) t * clientsPerTopographe + random.nextInt(clientsPerTopographe);
+
+            ProjectStatus status = projectStatus();
+            LocalDate startDate;
+            LocalDate endDate;
+            switch (status) {
+                case PLANNING -> {
+                    startDate = today.plusDays(random.nextInt(60));
+                    endDate = startDate.plusDays(30 + random.nextInt(300));
+                }
+                case COMPLETED, CANCELLED -> {
+                    startDate = today.minusDays(90 + random.nextInt(1000));
+                    endDate = startDate.plusDays(30 + random.nextInt(240));
+                }
+                default -> {
+                    // En cours ou suspendu : une partie des projets dépasse déjà sa date de fin
+                    startDate = today.minusDays(10 + random.nextInt(360));
+                    endDate = startDate.plusDays(60 + random.nextInt(340));
+                }
+            }
+            LocalDateTime projectCreatedAt = startDate.minusDays(random.nextInt(30)).atTime(8 + random.nextInt(10), random.nextInt(60));
+            if (projectCreatedAt.isAfter(LocalDateTime.now())) {
+                projectCreatedAt = LocalDateTime.now().minusDays(random.nextInt(30) + 1);
+            }
+            String type = pick(PROJECT_TYPES);
+            projectRows.row(projectId, type + " n° " + projectId, type + " - dossier généré", clientId, topographeId,
+                    startDate, endDate, status, projectCreatedAt, projectCreatedAt);
+
+            int taskCount = 1 + random.nextInt(2 * tasksPerProject - 1);
+            long teamBase = technicienBase + (long) t * techniciensPerTopographe;
+            for (int i = 0; i < taskCount; i++) {
+                writeTask(tasks, links, taskId++, projectId, status, startDate, endDate, projectCreatedAt, teamBase);
+            }
+        }
+        log.info("{} projets, {} tâches et {} assignations générés", projectRows.getRows(), tasks.getRows(), links.getRows());
+    }
+
+    private void writeTask(CopyFile tasks, CopyFile links, long taskId, long projectId, ProjectStatus projectStatus,
+                           LocalDate startDate, LocalDate endDate, LocalDateTime projectCreatedAt,
+                           long teamBase) throws IOException {
+        long span = Math.max(1, Duration.between(startDate.atStartOfDay(), endDate.atStartOfDay()).toDays());
+        // 10 % des tâches sans échéance
+        LocalDate dueDate = random.nextInt(10) == 0 ? null : startDate.plusDays(random.nextLong(span + 1));
+        TaskStatus status = taskStatus(projectStatus, dueDate);
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime createdAt = projectCreatedAt.plusHours(random.nextInt(24 * 30));
+        if (createdAt.isAfter(now)) {
+            createdAt = projectCreatedAt;
+        }
+        LocalDateTime completedAt = null;
+        if (status == TaskStatus.COMPLETED) {
+            completedAt = createdAt.plusHours(4 + random.nextInt(24 * 20));
+            if (completedAt.isAfter(now)) {
+                completedAt = now;
+            }
+        }
+        int progress = switch (status) {
+            case TODO -> 0;
+            case IN_PROGRESS -> 10 + random.nextInt(81);
+            case REVIEW -> 90;
+            case COMPLETED -> 100;
+        };
+        String notes = status == TaskStatus.TODO ? null : "Avancement " + progress + " % - relevés en cours de traitement";
+        tasks.row(taskId, pick(TASK_TITLES), "Tâche générée pour le projet " + projectId, projectId, status,
+                dueDate, createdAt, completedAt, progress, notes);
+
+        // Équipe tirée dans celle du topographe du projet ; 30 % des tâches à faire ne sont pas encore assignées
+        if (maxTechniciensPerTask == 0 || (status == TaskStatus.TODO && random.nextInt(10) < 3)) {
+            return;
+        }
+        int crew = 1 + random.nextInt(maxTechniciensPerTask);
+        int offset = random.nextInt(techniciensPerTopographe);
+        for (int j = 0; j < crew; j++) {
+            links.row(taskId, teamBase + (offset + j) % techniciensPerTopographe, createdAt);
+        }
+    }
+
+    // PLANNING 10 %, IN_PROGRESS 40 %, ON_HOLD 5 %, COMPLETED 40 %, CANCELLED 5 %
+    private ProjectStatus projectStatus() {
+        int draw = random.nextInt(100);
+        if (draw < 10) return ProjectStatus.PLANNING;
+        if (draw < 50) return ProjectStatus.IN_PROGRESS;
+        if (draw < 55) return ProjectStatus.ON_HOLD;
+        if (draw < 95) return ProjectStatus.COMPLETED;
+        return ProjectStatus.CANCELLED;
+    }
+
+    private TaskStatus taskStatus(ProjectStatus projectStatus, LocalDate dueDate) {
+        int draw = random.nextInt(100);
+        return switch (projectStatus) {
+            case PLANNING -> TaskStatus.TODO;
+            case COMPLETED -> TaskStatus.COMPLETED;
+            case CANCELLED -> draw < 50 ? TaskStatus.TODO : TaskStatus.COMPLETED;
+            default -> {
+                if (dueDate != null && dueDate.isBefore(today)) {
+                    // Échéance passée : surtout terminées, le reste est en retard
+                    yield draw < 70 ? TaskStatus.COMPLETED : draw < 80 ? TaskStatus.REVIEW
+                            : draw < 95 ? TaskStatus.IN_PROGRESS : TaskStatus.TODO;
+                }
+                yield draw < 35 ? TaskStatus.TODO : draw < 70 ? TaskStatus.IN_PROGRESS
+                        : draw < 80 ? TaskStatus.REVIEW : TaskStatus.COMPLETED;
+            }
+        };
+    }
+
+    private long[] loadCityIds(Connection connection) throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT id FROM city ORDER BY id")) {
+            while (rs.next()) {
+                ids.add(rs.getLong(1));
+            }
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("Aucune ville en base : exécuter scripts/referentiel.sql avant la génération");
+        }
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private long nextId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private <T> T pick(T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static long elapsedSeconds(long startedNanos) {
+        return Duration.ofNanos(System.nanoTime() - startedNanos).toSeconds();
+    }
+}
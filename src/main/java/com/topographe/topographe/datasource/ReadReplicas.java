@@ -0,0 +1,21 @@
+package com.topographe.topographe.datasource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Pools des réplicas en lecture, par nom ; fermés avec le contexte
+ */
+public record ReadReplicas(Map<String, DataSource> dataSources) implements Closeable {
+
+    @Override
+    public void close() throws IOException {
+        for (DataSource dataSource : dataSources.values()) {
+            if (dataSource instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
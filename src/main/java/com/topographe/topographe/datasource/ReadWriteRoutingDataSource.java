@@ -0,0 +1,59 @@
+package com.topographe.topographe.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Aiguille chaque transaction vers la base principale ou vers un réplica en lecture.
+ *
+ * Une transaction @Transactional(readOnly = true) lit sur un réplica (tourniquet) sauf si
+ * aucun réplica n'est à jour (ReplicaLagMonitor) ou si l'utilisateur vient d'écrire
+ * (ReadYourWrites) ; tout le reste va sur la principale. La clé est calculée à l'obtention
+ * de la connexion : la source doit être enveloppée dans un LazyConnectionDataSourceProxy pour
+ * que l'indicateur readOnly de la transaction soit déjà positionné à ce moment.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWrites readYourWrites;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReadWriteRoutingDataSource(DataSource primary, ReadReplicas replicas,
+                                      ReplicaLagMonitor lagMonitor, ReadYourWrites readYourWrites) {
+        this.lagMonitor = lagMonitor;
+        this.readYourWrites = readYourWrites;
+
+        Map<Object, Object> targets = new HashMap<>(replicas.dataSources());
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            readYourWrites.writing();
+            return PRIMARY;
+        }
+        if (readYourWrites.isSticky()) {
+            return PRIMARY;
+        }
+        List<String> usable = lagMonitor.getUsableReplicas();
+        if (usable.isEmpty()) {
+            return PRIMARY;
+        }
+        return usable.get(Math.floorMod(next.getAndIncrement(), usable.size()));
+    }
+}
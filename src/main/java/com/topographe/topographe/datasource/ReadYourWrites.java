@@ -0,0 +1,47 @@
+package com.topographe.topographe.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.topographe.topographe.util.AfterCommit;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+
+/**
+ * Lecture de ses propres écritures : après le commit d'une transaction en écriture, les
+ * lectures du même utilisateur restent sur la base principale pendant la fenêtre donnée,
+ * le temps que les réplicas rattrapent la modification.
+ */
+public class ReadYourWrites {
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWrites(Duration window, long maxUsers) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(maxUsers)
+                .build();
+    }
+
+    /**
+     * Transaction en écriture de l'utilisateur courant : fenêtre ouverte au commit
+     */
+    public void writing() {
+        String user = currentUser();
+        if (user != null) {
+            AfterCommit.run(() -> recentWriters.put(user, Boolean.TRUE));
+        }
+    }
+
+    public boolean isSticky() {
+        String user = currentUser();
+        return user != null && recentWriters.getIfPresent(user) != null;
+    }
+
+    // Utilisateur authentifié du thread courant (null pour les tâches planifiées et les appels anonymes)
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+}
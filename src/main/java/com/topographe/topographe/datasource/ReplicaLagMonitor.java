@@ -0,0 +1,83 @@
+package com.topographe.topographe.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mesure périodiquement le retard de réplication de chaque réplica PostgreSQL.
+ *
+ * Un réplica n'est utilisable que s'il répond, que son WAL receiver est connecté à la principale
+ * et que son retard ne dépasse pas max-lag-ms ; sinon les lectures retombent sur la base principale.
+ * Un réplica connecté qui a rejoué tout le WAL reçu est considéré à jour même si la principale n'a
+ * rien écrit depuis longtemps. L'état du receiver (pg_stat_wal_receiver) n'est visible que des rôles
+ * membres de pg_read_all_stats : sans ce droit, le réplica paraît déconnecté.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    // Retard en millisecondes ; 0 hors réplication (instance non en recovery) ou WAL reçu entièrement rejoué,
+    // DISCONNECTED si le réplica ne reçoit plus le WAL (le dernier WAL reçu peut dater de longtemps)
+    static final long DISCONNECTED = -1;
+    static final String LAG_QUERY = "SELECT CASE " +
+            "WHEN NOT pg_is_in_recovery() THEN 0 " +
+            "WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN " + DISCONNECTED + " " +
+            "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    private final Map<String, DataSource> replicas;
+    private final long maxLagMillis;
+    private volatile List<String> usableReplicas = List.of();
+
+    public ReplicaLagMonitor(ReadReplicas replicas, long maxLagMillis) {
+        this.replicas = replicas.dataSources();
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    public List<String> getUsableReplicas() {
+        return usableReplicas;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.read-replicas.lag-check-interval-ms:5000}")
+    public void check() {
+        List<String> usable = new ArrayList<>();
+        replicas.forEach((name, dataSource) -> {
+            try {
+                long lag = lagMillis(dataSource);
+                if (lag == DISCONNECTED) {
+                    log.debug("Réplica {} : WAL receiver non connecté à la principale", name);
+                } else if (lag <= maxLagMillis) {
+                    usable.add(name);
+                } else {
+                    log.debug("Réplica {} en retard de {} ms", name, lag);
+                }
+            } catch (SQLException e) {
+                log.debug("Réplica {} injoignable : {}", name, e.getMessage());
+            }
+        });
+
+        if (!usable.equals(usableReplicas)) {
+            log.warn("Réplicas utilisables en lecture : {} sur {}", usable, replicas.keySet());
+        }
+        usableReplicas = List.copyOf(usable);
+    }
+
+    private static long lagMillis(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(2);
+            try (ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+}
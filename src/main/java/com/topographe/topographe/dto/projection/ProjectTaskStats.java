@@ -0,0 +1,113 @@
+package com.topographe.topographe.dto.projection;
+
+import com.topographe.topographe.entity.Project;
+import com.topographe.topographe.entity.Task;
+import com.topographe.topographe.entity.Technicien;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Statistiques agrégées des tâches d'un projet, calculées par
+ * ProjectRepository.findTaskStatsByProjectIds sans charger la collection tasks.
+ */
+@Data
+@NoArgsConstructor
+public class ProjectTaskStats {
+    private Long projectId;
+    private long totalTasks;
+    private long todoTasks;
+    private long inProgressTasks;
+    private long reviewTasks;
+    private long completedTasks;
+
+    // Somme des poids par statut : TODO = 0, IN_PROGRESS = 50, REVIEW = 80, COMPLETED = 100
+    private long progressWeight;
+
+    private long assignedTechniciensCount;
+    private List<String> assignedTechniciensNames = new ArrayList<>();
+
+    // Constructeur utilisé par l'expression "SELECT new" de la requête groupée
+    public ProjectTaskStats(Long projectId, Long totalTasks, Long todoTasks, Long inProgressTasks,
+                            Long reviewTasks, Long completedTasks, Long progressWeight,
+                            Long assignedTechniciensCount) {
+        this.projectId = projectId;
+        this.totalTasks = valueOf(totalTasks);
+        this.todoTasks = valueOf(todoTasks);
+        this.inProgressTasks = valueOf(inProgressTasks);
+        this.reviewTasks = valueOf(reviewTasks);
+        this.completedTasks = valueOf(completedTasks);
+        this.progressWeight = valueOf(progressWeight);
+        this.assignedTechniciensCount = valueOf(assignedTechniciensCount);
+    }
+
+    /**
+     * Statistiques vides pour un projet sans tâche
+     */
+    public static ProjectTaskStats empty(Long projectId) {
+        ProjectTaskStats stats = new ProjectTaskStats();
+        stats.setProjectId(projectId);
+        return stats;
+    }
+
+    /**
+     * Calcule les statistiques en mémoire à partir des tâches déjà chargées du projet
+     * (utilisé pour les réponses unitaires : création, mise à jour, consultation)
+     */
+    public static ProjectTaskStats fromProject(Project project) {
+        ProjectTaskStats stats = empty(project.getId());
+        Set<Technicien> techniciens = new LinkedHashSet<>();
+        for (Task task : project.getTasks()) {
+            stats.totalTasks++;
+            switch (task.getStatus()) {
+                case TODO -> stats.todoTasks++;
+                case IN_PROGRESS -> {
+                    stats.inProgressTasks++;
+                    stats.progressWeight += 50;
+                }
+                case REVIEW -> {
+                    stats.reviewTasks++;
+                    stats.progressWeight += 80;
+                }
+                case COMPLETED -> {
+                    stats.completedTasks++;
+                    stats.progressWeight += 100;
+                }
+            }
+            techniciens.addAll(task.getAssignedTechniciens());
+        }
+        stats.assignedTechniciensCount = techniciens.size();
+        techniciens.forEach(tech -> stats.assignedTechniciensNames.add(tech.getFirstName() + " " + tech.getLastName()));
+        return stats;
+    }
+
+    /**
+     * Pourcentage de tâches terminées, arrondi à 2 décimales
+     */
+    public double getProgressPercentage() {
+        if (totalTasks == 0) {
+            return 0.0;
+        }
+        double percentage = ((double) completedTasks / totalTasks) * 100;
+        return Math.round(percentage * 100.0) / 100.0;
+    }
+
+    /**
+     * Pourcentage pondéré selon les statuts, arrondi à 2 décimales
+     */
+    public double getWeightedProgressPercentage() {
+        if (totalTasks == 0) {
+            return 0.0;
+        }
+        double percentage = (double) progressWeight / totalTasks;
+        return Math.round(percentage * 100.0) / 100.0;
+    }
+
+    private static long valueOf(Long value) {
+        return value != null ? value : 0L;
+    }
+}
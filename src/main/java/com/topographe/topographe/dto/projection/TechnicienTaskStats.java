@@ -0,0 +1,52 @@
+package com.topographe.topographe.dto.projection;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Statistiques des tâches et projets d'un technicien, calculées par
+ * TechnicienRepository.findTaskStatsByTechnicienIds pour toute une page de techniciens.
+ */
+@Data
+@NoArgsConstructor
+public class TechnicienTaskStats {
+    private Long technicienId;
+    private long totalTasks;
+    private long activeTasks;
+    private long completedTasks;
+    private long todoTasks;
+    private long reviewTasks;
+    private long totalProjects;
+    private long activeProjects;
+    private long completedProjects;
+
+    /**
+     * Statistiques vides pour un technicien sans tâche assignée
+     */
+    public static TechnicienTaskStats empty(Long technicienId) {
+        TechnicienTaskStats stats = new TechnicienTaskStats();
+        stats.setTechnicienId(technicienId);
+        return stats;
+    }
+
+    /**
+     * Construit les statistiques à partir d'une ligne de la requête native groupée
+     * (l'ordre des colonnes suit celui du SELECT)
+     */
+    public static TechnicienTaskStats fromRow(Object[] row) {
+        TechnicienTaskStats stats = empty(((Number) row[0]).longValue());
+        stats.setTotalTasks(valueOf(row[1]));
+        stats.setActiveTasks(valueOf(row[2]));
+        stats.setCompletedTasks(valueOf(row[3]));
+        stats.setTodoTasks(valueOf(row[4]));
+        stats.setReviewTasks(valueOf(row[5]));
+        stats.setTotalProjects(valueOf(row[6]));
+        stats.setActiveProjects(valueOf(row[7]));
+        stats.setCompletedProjects(valueOf(row[8]));
+        return stats;
+    }
+
+    private static long valueOf(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+}
@@ -0,0 +1,17 @@
+package com.topographe.topographe.dto.request;
+
+import com.topographe.topographe.entity.enumm.SkillLevel;
+import lombok.Data;
+import java.util.Set;
+
+/**
+ * Affectation automatique de techniciens à une ou plusieurs tâches, selon leur charge actuelle
+ */
+@Data
+public class TaskAutoAssignRequest {
+    private Set<Long> taskIds;                // ignoré par POST /{taskId}/auto-assign
+    private int techniciensPerTask = 1;
+    private SkillLevel minSkillLevel;         // optionnel
+    private String specialty;                 // optionnel : préférence, pas un filtre
+    private Integer maxOpenTasks;             // optionnel : techniciens plus chargés écartés
+}
@@ -0,0 +1,15 @@
+package com.topographe.topographe.dto.request;
+
+import lombok.Data;
+import java.util.Set;
+
+/**
+ * Assignation d'une même équipe de techniciens à plusieurs tâches (mêmes règles que TaskAssignRequest)
+ */
+@Data
+public class TaskBulkAssignRequest {
+    private Set<Long> taskIds;
+    private Set<Long> technicienIds;
+    private String assignmentNote;
+    private boolean replaceExisting = false;
+}
@@ -0,0 +1,15 @@
+package com.topographe.topographe.dto.request;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Création de plusieurs tâches en une seule requête (ouverture d'un grand projet de levé).
+ * Les tâches peuvent appartenir à des projets différents.
+ */
+@Data
+public class TaskBulkCreateRequest {
+    private List<TaskCreateRequest> tasks = new ArrayList<>();
+}
@@ -0,0 +1,27 @@
+package com.topographe.topographe.dto.response;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Taux de completion sur une période, globalement ou pour un projet / un technicien
+ */
+@Data
+@NoArgsConstructor
+public class CompletionRateResponse {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Long projectId;
+    private Long technicienId;
+
+    private long createdTasks;             // assignées, pour un technicien
+    private long completedTasks;
+    private long overdueCompletedTasks;    // terminées après leur échéance
+
+    // Pourcentages arrondis à 2 décimales, null si le dénominateur est nul
+    private Double completionRate;
+    private Double onTimeRate;
+    private Double averageCompletionDays;
+}
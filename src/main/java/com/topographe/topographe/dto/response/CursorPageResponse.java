@@ -0,0 +1,20 @@
+package com.topographe.topographe.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Page obtenue par pagination par curseur (keyset) : pas de total, seulement le curseur de la page suivante
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageResponse<T> {
+    private List<T> content;
+    private int size;
+    private String nextCursor;   // null s'il n'y a plus de résultats
+    private boolean hasNext;
+}
@@ -0,0 +1,27 @@
+package com.topographe.topographe.dto.response;
+
+import com.topographe.topographe.entity.enumm.TaskStatus;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Résumé de la progression de toutes les tâches : répartition actuelle par statut et activité
+ * des derniers jours
+ */
+@Data
+@NoArgsConstructor
+public class ProgressSummaryResponse {
+    private long totalTasks;
+    private Map<TaskStatus, Long> tasksByStatus = new EnumMap<>(TaskStatus.class);
+    private Double completionPercentage;
+    private long overdueTasks;              // non terminées, échéance dépassée
+
+    private int periodDays;
+    private long createdInPeriod;
+    private long completedInPeriod;
+    private long overdueCompletedInPeriod;
+    private Double averageCompletionDays;
+}
@@ -0,0 +1,48 @@
+package com.topographe.topographe.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Map;
+
+/**
+ * Page d'une liste acceptant fields= et view= : réponses complètes de type T, ou projections
+ * limitées aux champs demandés (un objet champ → valeur par ligne). Sérialisée comme la PageResponse
+ * qu'elle contient.
+ */
+public final class ProjectedPage<T> {
+
+    private final PageResponse<T> full;
+    private final PageResponse<Map<String, Object>> projection;
+
+    private ProjectedPage(PageResponse<T> full, PageResponse<Map<String, Object>> projection) {
+        this.full = full;
+        this.projection = projection;
+    }
+
+    public static <T> ProjectedPage<T> full(PageResponse<T> page) {
+        return new ProjectedPage<>(page, null);
+    }
+
+    public static <T> ProjectedPage<T> projection(PageResponse<Map<String, Object>> page) {
+        return new ProjectedPage<>(null, page);
+    }
+
+    public boolean isProjection() {
+        return projection != null;
+    }
+
+    // null pour une projection
+    public PageResponse<T> getFull() {
+        return full;
+    }
+
+    // null en vue complète
+    public PageResponse<Map<String, Object>> getProjection() {
+        return projection;
+    }
+
+    @JsonValue
+    PageResponse<?> page() {
+        return projection != null ? projection : full;
+    }
+}
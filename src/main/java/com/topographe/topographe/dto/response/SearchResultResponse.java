@@ -0,0 +1,30 @@
+package com.topographe.topographe.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Résultat de la recherche plein texte : une tâche ou un projet, classé par pertinence.
+ * highlightedTitle et snippet sont du HTML sûr (SearchHighlight) : texte échappé, termes trouvés
+ * entourés de balises <mark> ; title et les autres champs restent du texte brut.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResultResponse {
+
+    public enum Type { TASK, PROJECT }
+
+    private Type type;
+    private Long id;
+    private String title;
+    private String status;
+    private double rank;
+    private String highlightedTitle;
+    private String snippet;
+
+    // Projet parent (résultats de type TASK uniquement)
+    private Long projectId;
+    private String projectName;
+}
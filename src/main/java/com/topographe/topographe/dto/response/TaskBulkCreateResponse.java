@@ -0,0 +1,31 @@
+package com.topographe.topographe.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Résultat d'une création en masse : les tâches valides sont créées, les autres sont rejetées
+ * individuellement avec leur position dans la requête
+ */
+@Data
+@NoArgsConstructor
+public class TaskBulkCreateResponse {
+    private int requested;
+    private int created;
+    private int failed;
+    private List<TaskResponse> tasks = new ArrayList<>();
+    private List<ItemError> errors = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemError {
+        private int index;          // position dans la liste "tasks" de la requête
+        private String title;
+        private String message;
+    }
+}
@@ -0,0 +1,22 @@
+package com.topographe.topographe.dto.response;
+
+import com.topographe.topographe.entity.enumm.SkillLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Technicien proposé pour une tâche, dans l'ordre du classement (charge d'abord)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TechnicienRecommendationResponse {
+    private Long technicienId;
+    private String technicienName;
+    private SkillLevel skillLevel;
+    private long openTasks;
+    private boolean specialtyMatch;
+    private boolean sameCity;       // ville du client du projet
+    private boolean sameRegion;
+}
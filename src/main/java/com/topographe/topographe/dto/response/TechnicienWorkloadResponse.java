@@ -0,0 +1,23 @@
+package com.topographe.topographe.dto.response;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Charge d'un technicien : tâches en cours (compteurs en mémoire) et activité sur les derniers
+ * jours (agrégats journaliers)
+ */
+@Data
+@NoArgsConstructor
+public class TechnicienWorkloadResponse {
+    private Long technicienId;
+    private String technicienName;
+    private long openTasks;
+
+    // Sur la période [periodStart, aujourd'hui]
+    private int periodDays;
+    private long assignedTasks;
+    private long completedTasks;
+    private long overdueCompletedTasks;
+    private Double averageCompletionDays;   // null si aucune tâche terminée
+}
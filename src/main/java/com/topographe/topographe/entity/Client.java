@@ -3,12 +3,15 @@ package com.topographe.topographe.entity;
 import com.topographe.topographe.entity.enumm.ClientType;
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
 @Data
+@EqualsAndHashCode(callSuper = true)
 @DiscriminatorValue("CLIENT")
 public class Client extends User {
 
@@ -20,11 +23,15 @@ public class Client extends User {
     private ClientType clientType;
 
     // Topographe qui a créé ce client
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by_topographe_id", nullable = false)
     private Topographe createdBy;
 
     // Projets du client
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @OneToMany(mappedBy = "client", fetch = FetchType.LAZY)
     private Set<Project> projects = new HashSet<>();
 }
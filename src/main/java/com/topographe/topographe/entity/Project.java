@@ -4,6 +4,10 @@ import com.topographe.topographe.entity.enumm.ProjectStatus;
 import com.topographe.topographe.entity.enumm.TaskStatus;
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -13,9 +17,21 @@ import java.util.Set;
 @Entity
 @Table(name = "projects")
 @Data
+@NamedEntityGraph(
+        name = Project.GRAPH_WITH_PARTIES,
+        attributeNodes = {@NamedAttributeNode("client"), @NamedAttributeNode("topographe")}
+)
+// Cache de second niveau (région "projects", hibernate-cache.conf), collections non mises en cache
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "projects")
 public class Project {
+
+    // Graphe de chargement utilisé par les listes (client + topographe en une seule requête)
+    public static final String GRAPH_WITH_PARTIES = "Project.withParties";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Ids alloués par blocs, comme pour Task (scripts/sequences.sql)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "project_seq")
+    @SequenceGenerator(name = "project_seq", sequenceName = "projects_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -23,10 +39,14 @@ public class Project {
 
     private String description;
 
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "client_id", nullable = false)
     private Client client;
 
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "topographe_id", nullable = false)
     private Topographe topographe;
@@ -40,6 +60,8 @@ public class Project {
     @Enumerated(EnumType.STRING)
     private ProjectStatus status;
 
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @OneToMany(mappedBy = "project", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private Set<Task> tasks = new HashSet<>();
 
@@ -3,6 +3,8 @@ package com.topographe.topographe.entity;
 import com.topographe.topographe.entity.enumm.TaskStatus;
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -12,9 +14,23 @@ import java.util.Set;
 @Entity
 @Table(name = "tasks")
 @Data
+@NamedEntityGraph(
+        name = Task.GRAPH_WITH_PROJECT,
+        attributeNodes = @NamedAttributeNode(value = "project", subgraph = "project"),
+        subgraphs = @NamedSubgraph(
+                name = "project",
+                attributeNodes = {@NamedAttributeNode("client"), @NamedAttributeNode("topographe")}
+        )
+)
 public class Task {
+
+    // Graphe de chargement utilisé par les listes (projet + client + topographe en une seule requête)
+    public static final String GRAPH_WITH_PROJECT = "Task.withProject";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Séquence par blocs de 50 (scripts/sequences.sql) : contrairement à IDENTITY, permet le batch JDBC des INSERT
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -22,11 +38,15 @@ public class Task {
 
     private String description;
 
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id", nullable = false)
     private Project project;
 
     // Changement : Relation Many-to-Many avec les techniciens
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name = "task_technicien",
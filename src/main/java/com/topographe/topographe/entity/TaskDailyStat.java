@@ -0,0 +1,57 @@
+package com.topographe.topographe.entity;
+
+import com.topographe.topographe.entity.enumm.RollupDimension;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Agrégat journalier des tâches (scripts/task_rollups.sql), alimenté par TaskRollups à chaque
+ * transition : une ligne par jour et par dimension (GLOBAL avec l'id 0, PROJECT ou TECHNICIEN).
+ * Les statistiques sur une période sont des sommes de ces lignes, sans relire la table tasks.
+ */
+@Entity
+@Table(name = "task_daily_stats")
+@Data
+@NoArgsConstructor
+public class TaskDailyStat {
+
+    @EmbeddedId
+    private Key id;
+
+    // Tâches créées ce jour (pour un technicien : tâches qui lui ont été assignées ce jour)
+    @Column(name = "created_count", nullable = false)
+    private long createdCount;
+
+    @Column(name = "completed_count", nullable = false)
+    private long completedCount;
+
+    // Somme des durées création → fin des tâches terminées ce jour, en heures
+    @Column(name = "completion_hours_sum", nullable = false)
+    private long completionHoursSum;
+
+    // Tâches terminées ce jour après leur date d'échéance
+    @Column(name = "overdue_count", nullable = false)
+    private long overdueCount;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        @Enumerated(EnumType.STRING)
+        @Column(name = "dimension", length = 20)
+        private RollupDimension dimension;
+
+        @Column(name = "dimension_id")
+        private Long dimensionId;
+
+        @Column(name = "stat_date")
+        private LocalDate day;
+    }
+}
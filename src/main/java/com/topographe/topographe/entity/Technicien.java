@@ -3,6 +3,8 @@ package com.topographe.topographe.entity;
 import com.topographe.topographe.entity.enumm.SkillLevel;
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -10,6 +12,7 @@ import java.util.stream.Collectors;
 
 @Entity
 @Data
+@EqualsAndHashCode(callSuper = true)
 @DiscriminatorValue("TECHNICIEN")
 public class Technicien extends User {
 
@@ -20,11 +23,15 @@ public class Technicien extends User {
     @Column(name = "specialties")
     private String specialties;
 
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assigned_to_topographe_id", nullable = false)
     private Topographe assignedTo;
 
     // Changement : Relation Many-to-Many avec les tâches
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @ManyToMany(mappedBy = "assignedTechniciens", fetch = FetchType.LAZY)
     private Set<Task> tasks = new HashSet<>();
 
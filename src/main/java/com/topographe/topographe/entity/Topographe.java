@@ -2,12 +2,15 @@ package com.topographe.topographe.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
 @Data
+@EqualsAndHashCode(callSuper = true)
 @DiscriminatorValue("TOPOGRAPHE")
 public class Topographe extends User {
 
@@ -18,14 +21,20 @@ public class Topographe extends User {
     private String specialization;
 
     // Clients créés par ce topographe
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @OneToMany(mappedBy = "createdBy", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private Set<Client> clients = new HashSet<>();
 
     // Techniciens affectés à ce topographe
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @OneToMany(mappedBy = "assignedTo", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private Set<Technicien> techniciens = new HashSet<>();
 
     // Projets gérés par ce topographe
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @OneToMany(mappedBy = "topographe", fetch = FetchType.LAZY)
     private Set<Project> projects = new HashSet<>();
 }
\ No newline at end of file
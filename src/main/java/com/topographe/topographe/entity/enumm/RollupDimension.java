@@ -0,0 +1,5 @@
+package com.topographe.topographe.entity.enumm;
+
+public enum RollupDimension {
+    GLOBAL, PROJECT, TECHNICIEN
+}
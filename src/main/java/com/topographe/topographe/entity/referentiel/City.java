@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Data
@@ -12,6 +14,8 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @Builder
 @Table(name = "city")
+// Référentiel quasi statique : association to-one de User, servie par le cache de second niveau
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "cities")
 public class City {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
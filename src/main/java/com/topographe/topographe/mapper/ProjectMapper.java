@@ -1,17 +1,16 @@
 package com.topographe.topographe.mapper;
 
+import com.topographe.topographe.dto.projection.ProjectTaskStats;
 import com.topographe.topographe.dto.request.ProjectCreateRequest;
 import com.topographe.topographe.dto.request.ProjectUpdateRequest;
 import com.topographe.topographe.dto.response.ProjectResponse;
 import com.topographe.topographe.entity.Client;
 import com.topographe.topographe.entity.Project;
 import com.topographe.topographe.entity.Topographe;
-import com.topographe.topographe.entity.enumm.TaskStatus;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
-import java.util.stream.Collectors;
 
 @Component
 public class ProjectMapper {
@@ -37,6 +36,14 @@ public class ProjectMapper {
     }
 
     public ProjectResponse toResponse(Project project) {
+        return toResponse(project, ProjectTaskStats.fromProject(project));
+    }
+
+    /**
+     * Construit la réponse à partir de statistiques déjà agrégées,
+     * sans parcourir la collection tasks du projet
+     */
+    public ProjectResponse toResponse(Project project, ProjectTaskStats stats) {
         ProjectResponse response = new ProjectResponse();
         response.setId(project.getId());
         response.setName(project.getName());
@@ -62,15 +69,15 @@ public class ProjectMapper {
         response.setTopographeLicenseNumber(topographe.getLicenseNumber());
 
         // Statistiques des tâches
-        response.setTotalTasks(project.getTotalTasksCount());
-        response.setTodoTasks((int) project.getTodoTasksCount());
-        response.setInProgressTasks((int) project.getInProgressTasksCount());
-        response.setReviewTasks((int) project.getReviewTasksCount());
-        response.setCompletedTasks((int) project.getCompletedTasksCount());
+        response.setTotalTasks((int) stats.getTotalTasks());
+        response.setTodoTasks((int) stats.getTodoTasks());
+        response.setInProgressTasks((int) stats.getInProgressTasks());
+        response.setReviewTasks((int) stats.getReviewTasks());
+        response.setCompletedTasks((int) stats.getCompletedTasks());
 
         // Calcul des pourcentages de progression
-        response.setProgressPercentage(project.getProgressPercentage());
-        response.setWeightedProgressPercentage(project.getWeightedProgressPercentage());
+        response.setProgressPercentage(stats.getProgressPercentage());
+        response.setWeightedProgressPercentage(stats.getWeightedProgressPercentage());
 
         // Informations temporelles
         LocalDate today = LocalDate.now();
@@ -86,12 +93,8 @@ public class ProjectMapper {
         }
 
         // Informations sur les techniciens
-        response.setAssignedTechniciensCount(project.getAssignedTechniciensCount());
-        response.setAssignedTechniciensNames(
-                project.getAssignedTechniciens().stream()
-                        .map(tech -> tech.getFirstName() + " " + tech.getLastName())
-                        .collect(Collectors.joining(", "))
-        );
+        response.setAssignedTechniciensCount((int) stats.getAssignedTechniciensCount());
+        response.setAssignedTechniciensNames(String.join(", ", stats.getAssignedTechniciensNames()));
 
         // Calcul des durées
         if (project.getStartDate() != null) {
@@ -0,0 +1,43 @@
+package com.topographe.topographe.metrics;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/**
+ * Alimente RequestQueryStats depuis Hibernate : chaque entité chargée (PostLoad, y compris depuis
+ * le cache de second niveau) et chaque collection initialisée à la demande (InitializeCollection).
+ * Les instructions SQL sont comptées au niveau JDBC (StatementCountingListener). Enregistré par MetricsConfig.
+ */
+public class HibernateQueryStats implements Integrator, PostLoadEventListener, InitializeCollectionEventListener {
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        // Ajoutés après les écouteurs par défaut : comptage seulement
+        registry.appendListeners(EventType.POST_LOAD, (PostLoadEventListener) this);
+        registry.appendListeners(EventType.INIT_COLLECTION, (InitializeCollectionEventListener) this);
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        RequestQueryStats.entityLoaded();
+    }
+
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) {
+        RequestQueryStats.collectionFetched();
+    }
+}
@@ -0,0 +1,123 @@
+package com.topographe.topographe.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Relève par requête HTTP le nombre d'instructions SQL, d'entités chargées et de collections
+ * initialisées (RequestQueryStats), en distributions par endpoint (méthode + uri, mêmes valeurs
+ * que http.server.requests) : hibernate.request.statements, .entity.loads, .collection.fetches.
+ *
+ * Contrôle ensuite le budget d'instructions de l'endpoint (@StatementBudget, sinon budget par défaut)
+ * et signale les N+1 (même instruction répétée avec des paramètres différents) : avertissement journalisé
+ * et compteurs hibernate.request.budget.exceeded / hibernate.request.n-plus-one. Avec enforce=true,
+ * un dépassement de budget lève StatementBudgetExceededException : réservé aux tests MockMvc
+ * (TaskControllerStatementBudgetTests), car le budget n'est contrôlé qu'une fois la réponse écrite.
+ * Dans un vrai conteneur, la réponse est déjà validée et le client reçoit quand même son 200.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RequestQueryMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final int defaultBudget;
+    private final boolean enforceBudget;
+    private final int nPlusOneThreshold;
+
+    public RequestQueryMetricsFilter(MeterRegistry meterRegistry,
+                                     @Value("${app.sql.statement-budget.default:0}") int defaultBudget,
+                                     @Value("${app.sql.statement-budget.enforce:false}") boolean enforceBudget,
+                                     @Value("${app.sql.n-plus-one-threshold:10}") int nPlusOneThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.defaultBudget = defaultBudget;
+        this.enforceBudget = enforceBudget;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestQueryStats stats = RequestQueryStats.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestQueryStats.end();
+            String uri = uri(request);
+            record("hibernate.request.statements", "Instructions SQL exécutées par requête HTTP",
+                    request.getMethod(), uri, stats.getStatements());
+            record("hibernate.request.entity.loads", "Entités chargées par requête HTTP",
+                    request.getMethod(), uri, stats.getEntityLoads());
+            record("hibernate.request.collection.fetches", "Collections initialisées par requête HTTP",
+                    request.getMethod(), uri, stats.getCollectionFetches());
+            log.debug("{} {} : {} instruction(s) SQL, {} entité(s), {} collection(s)", request.getMethod(), uri,
+                    stats.getStatements(), stats.getEntityLoads(), stats.getCollectionFetches());
+            reportRepeatedStatements(request.getMethod(), uri, stats);
+        }
+        // Hors finally : une erreur de la requête elle-même n'est pas masquée
+        checkBudget(request, uri(request), stats);
+    }
+
+    private void reportRepeatedStatements(String method, String uri, RequestQueryStats stats) {
+        for (RequestQueryStats.RepeatedStatement repeated : stats.repeatedStatements(nPlusOneThreshold)) {
+            log.warn("N+1 probable sur {} {} : {} exécutions ({} paramètres distincts) de {}",
+                    method, uri, repeated.executions(), repeated.distinctParameters(), repeated.sql());
+            meterRegistry.counter("hibernate.request.n-plus-one", "method", method, "uri", uri).increment();
+        }
+    }
+
+    private void checkBudget(HttpServletRequest request, String uri, RequestQueryStats stats) {
+        int budget = budget(request);
+        if (budget <= 0 || stats.getStatements() <= budget) {
+            return;
+        }
+        meterRegistry.counter("hibernate.request.budget.exceeded", "method", request.getMethod(), "uri", uri)
+                .increment();
+        String message = request.getMethod() + " " + uri + " : " + stats.getStatements()
+                + " instructions SQL pour un budget de " + budget;
+        if (enforceBudget) {
+            throw new StatementBudgetExceededException(message);
+        }
+        log.warn("Budget SQL dépassé, {}", message);
+    }
+
+    // @StatementBudget du contrôleur ayant traité la requête, sinon budget par défaut
+    private int budget(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler) {
+            StatementBudget budget = handler.getMethodAnnotation(StatementBudget.class);
+            if (budget != null) {
+                return budget.value();
+            }
+        }
+        return defaultBudget;
+    }
+
+    private static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+
+    private void record(String name, String description, String method, String uri, long value) {
+        DistributionSummary.builder(name)
+                .description(description)
+                .tag("method", method)
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(value);
+    }
+}
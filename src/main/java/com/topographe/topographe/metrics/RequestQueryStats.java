@@ -0,0 +1,108 @@
+package com.topographe.topographe.metrics;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compteurs SQL de la requête HTTP en cours (thread courant) : instructions exécutées (proxy JDBC,
+ * StatementCountingListener), entités chargées et collections initialisées (HibernateQueryStats).
+ * Ouverts et relevés par RequestQueryMetricsFilter ; hors requête HTTP (tâches planifiées, démarrage)
+ * les incréments sont ignorés.
+ */
+public final class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private long statements;
+    private long entityLoads;
+    private long collectionFetches;
+    // Par texte SQL : exécutions et jeux de paramètres distincts
+    private final Map<String, Executions> executionsBySql = new LinkedHashMap<>();
+
+    private RequestQueryStats() {
+    }
+
+    static RequestQueryStats begin() {
+        RequestQueryStats stats = new RequestQueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Compteurs de la requête en cours, ou null hors requête HTTP
+     */
+    public static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @param parameters valeurs liées à l'instruction, null si non significatives (lot JDBC)
+     */
+    static void statementExecuted(String sql, List<Object> parameters) {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+            Executions executions = stats.executionsBySql.computeIfAbsent(sql, key -> new Executions());
+            executions.count++;
+            if (parameters != null) {
+                executions.parameters.add(parameters);
+            }
+        }
+    }
+
+    static void entityLoaded() {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.entityLoads++;
+        }
+    }
+
+    static void collectionFetched() {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.collectionFetches++;
+        }
+    }
+
+    /**
+     * Instructions identiques exécutées avec au moins threshold jeux de paramètres différents :
+     * chargement ligne à ligne typique d'une association paresseuse parcourue en boucle (N+1)
+     */
+    public List<RepeatedStatement> repeatedStatements(int threshold) {
+        List<RepeatedStatement> repeated = new ArrayList<>();
+        executionsBySql.forEach((sql, executions) -> {
+            if (executions.parameters.size() >= threshold) {
+                repeated.add(new RepeatedStatement(sql, executions.count, executions.parameters.size()));
+            }
+        });
+        return repeated;
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public long getEntityLoads() {
+        return entityLoads;
+    }
+
+    public long getCollectionFetches() {
+        return collectionFetches;
+    }
+
+    public record RepeatedStatement(String sql, long executions, int distinctParameters) {
+    }
+
+    private static final class Executions {
+        private long count;
+        private final Set<List<Object>> parameters = new HashSet<>();
+    }
+}
@@ -0,0 +1,20 @@
+package com.topographe.topographe.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Nombre maximal d'instructions SQL d'un endpoint (méthode de contrôleur), authentification comprise.
+ * Sans cette annotation, le budget par défaut app.sql.statement-budget.default s'applique.
+ * Vérifié par RequestQueryMetricsFilter : journalisé, ou en erreur si app.sql.statement-budget.enforce=true.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface StatementBudget {
+
+    int value();
+}
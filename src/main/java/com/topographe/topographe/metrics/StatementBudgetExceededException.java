@@ -0,0 +1,12 @@
+package com.topographe.topographe.metrics;
+
+/**
+ * Endpoint ayant exécuté plus d'instructions SQL que son budget (app.sql.statement-budget.enforce=true).
+ * Levée après l'écriture de la réponse : seul un test MockMvc la voit échouer.
+ */
+public class StatementBudgetExceededException extends RuntimeException {
+
+    public StatementBudgetExceededException(String message) {
+        super(message);
+    }
+}
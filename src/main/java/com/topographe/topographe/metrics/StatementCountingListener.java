@@ -0,0 +1,46 @@
+package com.topographe.topographe.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Écouteur du proxy JDBC (datasource-proxy) : attribue chaque instruction exécutée sur la source
+ * de données à la requête HTTP en cours, quelle que soit son origine (Hibernate, requêtes natives,
+ * accès JDBC direct).
+ */
+public class StatementCountingListener implements QueryExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (RequestQueryStats.current() == null) {
+            return;
+        }
+        for (QueryInfo query : queryInfoList) {
+            List<List<ParameterSetOperation>> parametersList = query.getParametersList();
+            // Un lot JDBC répète volontairement l'instruction : pas de jeu de paramètres pour la détection N+1
+            List<Object> parameters = execInfo.isBatch() || parametersList.isEmpty()
+                    ? null
+                    : values(parametersList.get(0));
+            RequestQueryStats.statementExecuted(query.getQuery(), parameters);
+        }
+    }
+
+    // setXxx(index, valeur) -> valeur, dans l'ordre des index
+    private static List<Object> values(List<ParameterSetOperation> operations) {
+        List<Object> values = new ArrayList<>(operations.size());
+        for (ParameterSetOperation operation : operations) {
+            Object[] args = operation.getArgs();
+            values.add(args.length > 1 ? args[1] : null);
+        }
+        return values;
+    }
+}
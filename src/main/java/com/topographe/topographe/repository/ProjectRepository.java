@@ -1,54 +1,47 @@
 package com.topographe.topographe.repository;
 
+import com.topographe.topographe.dto.projection.ProjectTaskStats;
 import com.topographe.topographe.entity.Project;
 import com.topographe.topographe.entity.enumm.ProjectStatus;
+import com.topographe.topographe.util.SearchHighlight;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface ProjectRepository extends JpaRepository<Project, Long> {
-
-    // Recherche avec filtres
-    @Query("SELECT p FROM Project p WHERE " +
-            "(:status IS NULL OR p.status = :status) AND " +
-            "(:clientId IS NULL OR p.client.id = :clientId) AND " +
-            "(:topographeId IS NULL OR p.topographe.id = :topographeId) AND " +
-            "(:startDate IS NULL OR p.startDate >= :startDate) AND " +
-            "(:endDate IS NULL OR p.endDate <= :endDate) AND " +
-            "(:name IS NULL OR LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%')))")
-    Page<Project> findWithFilters(@Param("status") ProjectStatus status,
-                                  @Param("clientId") Long clientId,
-                                  @Param("topographeId") Long topographeId,
-                                  @Param("startDate") LocalDate startDate,
-                                  @Param("endDate") LocalDate endDate,
-                                  @Param("name") String name,
-                                  Pageable pageable);
+public interface ProjectRepository extends JpaRepository<Project, Long>, JpaSpecificationExecutor<Project> {
+
+    // Liste paginée de tous les projets avec client et topographe chargés
+    @Override
+    @EntityGraph(Project.GRAPH_WITH_PARTIES)
+    Page<Project> findAll(Pageable pageable);
+
+    // Projets d'une création de tâches en masse, avec client et topographe
+    @EntityGraph(Project.GRAPH_WITH_PARTIES)
+    List<Project> findByIdIn(Collection<Long> ids);
 
     // Projets par client
+    @EntityGraph(Project.GRAPH_WITH_PARTIES)
     Page<Project> findByClientId(Long clientId, Pageable pageable);
 
     // Projets par topographe
+    @EntityGraph(Project.GRAPH_WITH_PARTIES)
     Page<Project> findByTopographeId(Long topographeId, Pageable pageable);
 
     // Projets par statut
     List<Project> findByStatus(ProjectStatus status);
 
-    // Projets en retard
-    @Query("SELECT p FROM Project p WHERE p.endDate < :currentDate AND p.status NOT IN ('COMPLETED', 'CANCELLED')")
-    List<Project> findOverdueProjects(@Param("currentDate") LocalDate currentDate);
-
-    // Projets se terminant bientôt
-    @Query("SELECT p FROM Project p WHERE p.endDate BETWEEN :startDate AND :endDate AND p.status NOT IN ('COMPLETED', 'CANCELLED')")
-    List<Project> findProjectsEndingSoon(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
-
     // Projets actifs (en cours ou planifiés)
+    @EntityGraph(Project.GRAPH_WITH_PARTIES)
     @Query("SELECT p FROM Project p WHERE p.status IN ('PLANNING', 'IN_PROGRESS')")
     List<Project> findActiveProjects();
 
@@ -65,6 +58,17 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     @Query("SELECT p.status, COUNT(p) FROM Project p GROUP BY p.status")
     List<Object[]> countByStatusGrouped();
 
+    // Réconciliation des compteurs du tableau de bord (DashboardCounters)
+    @Query("SELECT p.client.id, COUNT(p) FROM Project p GROUP BY p.client.id")
+    List<Object[]> countGroupedByClient();
+
+    @Query("SELECT p.topographe.id, COUNT(p) FROM Project p GROUP BY p.topographe.id")
+    List<Object[]> countGroupedByTopographe();
+
+    // Dates de fin des projets ni terminés ni annulés [id, fin] (index DeadlineIndex)
+    @Query("SELECT p.id, p.endDate FROM Project p WHERE p.endDate IS NOT NULL AND p.status NOT IN ('COMPLETED', 'CANCELLED')")
+    List<Object[]> findOpenEndDates();
+
     // Statistiques spécifiques par client - NOUVELLES MÉTHODES
     @Query("SELECT COUNT(p) FROM Project p WHERE p.client.id = :clientId AND p.status IN ('PLANNING', 'IN_PROGRESS')")
     long countActiveProjectsByClientId(@Param("clientId") Long clientId);
@@ -76,6 +80,7 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     long countTotalProjectsByClientId(@Param("clientId") Long clientId);
 
     // Projets par période
+    @EntityGraph(Project.GRAPH_WITH_PARTIES)
     @Query("SELECT p FROM Project p WHERE p.startDate BETWEEN :startDate AND :endDate")
     List<Project> findProjectsByPeriod(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 
@@ -85,4 +90,40 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
             "GROUP BY p " +
             "ORDER BY taskCount DESC")
     List<Object[]> findProjectsWithTaskCount(Pageable pageable);
+
+    // Statistiques des tâches pour une page de projets, en une seule requête groupée
+    @Query("SELECT new com.topographe.topographe.dto.projection.ProjectTaskStats(" +
+            "t.project.id, COUNT(t), " +
+            "SUM(CASE WHEN t.status = 'TODO' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN t.status = 'IN_PROGRESS' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN t.status = 'REVIEW' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN t.status = 'COMPLETED' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN t.status = 'IN_PROGRESS' THEN 50 WHEN t.status = 'REVIEW' THEN 80 " +
+            "WHEN t.status = 'COMPLETED' THEN 100 ELSE 0 END), " +
+            "(SELECT COUNT(DISTINCT tech.id) FROM Task t2 JOIN t2.assignedTechniciens tech " +
+            "WHERE t2.project.id = t.project.id)) " +
+            "FROM Task t WHERE t.project.id IN :projectIds GROUP BY t.project.id")
+    List<ProjectTaskStats> findTaskStatsByProjectIds(@Param("projectIds") Collection<Long> projectIds);
+
+    // Techniciens distincts (id, prénom, nom) assignés aux tâches d'une page de projets
+    @Query("SELECT DISTINCT t.project.id, tech.id, tech.firstName, tech.lastName FROM Task t " +
+            "JOIN t.assignedTechniciens tech WHERE t.project.id IN :projectIds")
+    List<Object[]> findTechnicienNamesByProjectIds(@Param("projectIds") Collection<Long> projectIds);
+
+    // Recherche plein texte (scripts/full_text_search.sql) : id, nom, statut, rang,
+    // nom surligné et extrait surligné (délimiteurs SearchHighlight) ; ts_headline n'est calculé que sur la page retenue
+    @Query(value = "SELECT r.id, r.name, r.status, r.rank, " +
+            "ts_headline('french', r.name, q, '" + SearchHighlight.TITLE_OPTIONS + "'), " +
+            "ts_headline('french', r.body, q, '" + SearchHighlight.SNIPPET_OPTIONS + "') " +
+            "FROM (SELECT p.id, p.name, p.status, coalesce(p.description, '') AS body, " +
+            "ts_rank_cd(p.search_vector, to_tsquery('french', :query)) AS rank " +
+            "FROM projects p WHERE p.search_vector @@ to_tsquery('french', :query) " +
+            "ORDER BY rank DESC, p.id LIMIT :limit OFFSET :offset) r, to_tsquery('french', :query) q " +
+            "ORDER BY r.rank DESC, r.id",
+            nativeQuery = true)
+    List<Object[]> searchFullText(@Param("query") String query, @Param("limit") int limit, @Param("offset") long offset);
+
+    @Query(value = "SELECT COUNT(*) FROM projects p WHERE p.search_vector @@ to_tsquery('french', :query)",
+            nativeQuery = true)
+    long countFullText(@Param("query") String query);
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.topographe.topographe.repository;
+
+import com.topographe.topographe.entity.TaskDailyStat;
+import com.topographe.topographe.entity.enumm.RollupDimension;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface TaskDailyStatRepository extends JpaRepository<TaskDailyStat, TaskDailyStat.Key> {
+
+    // Incrément atomique d'une ligne (créée si absente) : pas de lecture préalable ni de conflit entre transactions ;
+    // seule la table task_daily_stats est déclarée, le cache de second niveau n'est donc pas vidé
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_daily_stats"))
+    @Query(value = "INSERT INTO task_daily_stats (dimension, dimension_id, stat_date, created_count, completed_count, " +
+            "completion_hours_sum, overdue_count) " +
+            "VALUES (:dimension, :dimensionId, :day, :created, :completed, :completionHours, :overdue) " +
+            "ON CONFLICT (dimension, dimension_id, stat_date) DO UPDATE SET " +
+            "created_count = task_daily_stats.created_count + EXCLUDED.created_count, " +
+            "completed_count = task_daily_stats.completed_count + EXCLUDED.completed_count, " +
+            "completion_hours_sum = task_daily_stats.completion_hours_sum + EXCLUDED.completion_hours_sum, " +
+            "overdue_count = task_daily_stats.overdue_count + EXCLUDED.overdue_count",
+            nativeQuery = true)
+    void increment(@Param("dimension") String dimension,
+                   @Param("dimensionId") long dimensionId,
+                   @Param("day") LocalDate day,
+                   @Param("created") long created,
+                   @Param("completed") long completed,
+                   @Param("completionHours") long completionHours,
+                   @Param("overdue") long overdue);
+
+    // Totaux [créées, terminées, heures, en retard] d'une dimension sur une période (index PK dimension, id, jour)
+    @Query("SELECT COALESCE(SUM(s.createdCount), 0), COALESCE(SUM(s.completedCount), 0), " +
+            "COALESCE(SUM(s.completionHoursSum), 0), COALESCE(SUM(s.overdueCount), 0) " +
+            "FROM TaskDailyStat s WHERE s.id.dimension = :dimension AND s.id.dimensionId = :dimensionId " +
+            "AND s.id.day BETWEEN :startDate AND :endDate")
+    List<Object[]> sumBetween(@Param("dimension") RollupDimension dimension,
+                              @Param("dimensionId") Long dimensionId,
+                              @Param("startDate") LocalDate startDate,
+                              @Param("endDate") LocalDate endDate);
+
+    // Mêmes totaux groupés par id [id, créées, terminées, heures, en retard]
+    @Query("SELECT s.id.dimensionId, SUM(s.createdCount), SUM(s.completedCount), " +
+            "SUM(s.completionHoursSum), SUM(s.overdueCount) " +
+            "FROM TaskDailyStat s WHERE s.id.dimension = :dimension " +
+            "AND s.id.day BETWEEN :startDate AND :endDate GROUP BY s.id.dimensionId")
+    List<Object[]> sumBetweenGroupedById(@Param("dimension") RollupDimension dimension,
+                                         @Param("startDate") LocalDate startDate,
+                                         @Param("endDate") LocalDate endDate);
+}
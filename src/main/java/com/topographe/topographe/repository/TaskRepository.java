@@ -4,45 +4,51 @@ package com.topographe.topographe.repository;
 import com.topographe.topographe.entity.Task;
 import com.topographe.topographe.entity.Technicien;
 import com.topographe.topographe.entity.enumm.TaskStatus;
+import com.topographe.topographe.util.SearchHighlight;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
-
-    // Recherche avec filtres (mise à jour pour Many-to-Many)
-    @Query("SELECT DISTINCT t FROM Task t " +
-            "LEFT JOIN t.assignedTechniciens tech " +
-            "WHERE (:status IS NULL OR t.status = :status) AND " +
-            "(:projectId IS NULL OR t.project.id = :projectId) AND " +
-            "(:technicienId IS NULL OR tech.id = :technicienId) AND " +
-            "(:topographeId IS NULL OR t.project.topographe.id = :topographeId) AND " +
-            "(:clientId IS NULL OR t.project.client.id = :clientId) AND " +
-            "(:dueDateFrom IS NULL OR t.dueDate >= :dueDateFrom) AND " +
-            "(:dueDateTo IS NULL OR t.dueDate <= :dueDateTo) AND " +
-            "(:title IS NULL OR LOWER(t.title) LIKE LOWER(CONCAT('%', :title, '%')))")
-    Page<Task> findWithFilters(@Param("status") TaskStatus status,
-                               @Param("projectId") Long projectId,
-                               @Param("technicienId") Long technicienId,
-                               @Param("topographeId") Long topographeId,
-                               @Param("clientId") Long clientId,
-                               @Param("dueDateFrom") LocalDate dueDateFrom,
-                               @Param("dueDateTo") LocalDate dueDateTo,
-                               @Param("title") String title,
-                               Pageable pageable);
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
+
+    // Liste paginée de toutes les tâches avec projet, client et topographe chargés
+    @Override
+    @EntityGraph(Task.GRAPH_WITH_PROJECT)
+    Page<Task> findAll(Pageable pageable);
+
+    // Tâches d'une opération en masse, avec projet, client et topographe
+    @EntityGraph(Task.GRAPH_WITH_PROJECT)
+    List<Task> findByIdIn(Collection<Long> ids);
 
     // Tâches par technicien (mise à jour pour Many-to-Many)
+    @EntityGraph(Task.GRAPH_WITH_PROJECT)
     @Query("SELECT DISTINCT t FROM Task t JOIN t.assignedTechniciens tech WHERE tech.id = :technicienId")
     Page<Task> findByAssignedTechnicienId(@Param("technicienId") Long technicienId, Pageable pageable);
 
+    // Chargement groupé des techniciens d'une page de tâches (évite une requête par tâche)
+    @Query("SELECT DISTINCT t FROM Task t LEFT JOIN FETCH t.assignedTechniciens WHERE t.id IN :ids")
+    List<Task> fetchAssignedTechniciens(@Param("ids") Collection<Long> ids);
+
+    // Tâches d'une assignation en masse avec leur projet et leurs techniciens actuels, en une requête
+    @Query("SELECT DISTINCT t FROM Task t JOIN FETCH t.project LEFT JOIN FETCH t.assignedTechniciens WHERE t.id IN :ids")
+    List<Task> fetchForAssignment(@Param("ids") Collection<Long> ids);
+
     // Tâches non assignées (mise à jour)
+    @EntityGraph(Task.GRAPH_WITH_PROJECT)
     @Query("SELECT t FROM Task t WHERE t.assignedTechniciens IS EMPTY")
     List<Task> findUnassignedTasks();
 
@@ -72,20 +78,18 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     List<Technicien> findAvailableTechniciens(@Param("maxTasks") int maxTasks);
 
     // Reste des méthodes existantes...
+    @EntityGraph(Task.GRAPH_WITH_PROJECT)
     Page<Task> findByProjectId(Long projectId, Pageable pageable);
 
+    @EntityGraph(Task.GRAPH_WITH_PROJECT)
     @Query("SELECT t FROM Task t WHERE t.project.topographe.id = :topographeId")
     Page<Task> findByTopographeId(@Param("topographeId") Long topographeId, Pageable pageable);
 
+    @EntityGraph(Task.GRAPH_WITH_PROJECT)
     @Query("SELECT t FROM Task t WHERE t.project.client.id = :clientId")
     Page<Task> findByClientId(@Param("clientId") Long clientId, Pageable pageable);
 
-    @Query("SELECT t FROM Task t WHERE t.dueDate < :currentDate AND t.status NOT IN ('COMPLETED')")
-    List<Task> findOverdueTasks(@Param("currentDate") LocalDate currentDate);
-
-    @Query("SELECT t FROM Task t WHERE t.dueDate BETWEEN :startDate AND :endDate AND t.status NOT IN ('COMPLETED')")
-    List<Task> findTasksDueSoon(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
-
+    @EntityGraph(Task.GRAPH_WITH_PROJECT)
     @Query("SELECT t FROM Task t WHERE t.status IN ('TODO', 'IN_PROGRESS', 'REVIEW')")
     List<Task> findActiveTasks();
 
@@ -103,10 +107,63 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     @Query("SELECT t.status, COUNT(t) FROM Task t GROUP BY t.status")
     List<Object[]> countByStatusGrouped();
 
+    // Réconciliation des compteurs du tableau de bord (DashboardCounters)
+    @Query("SELECT t.project.id, COUNT(t) FROM Task t GROUP BY t.project.id")
+    List<Object[]> countGroupedByProject();
+
+    @Query("SELECT p.topographe.id, COUNT(t) FROM Task t JOIN t.project p GROUP BY p.topographe.id")
+    List<Object[]> countGroupedByTopographe();
+
+    @Query("SELECT tech.id, COUNT(t) FROM Task t JOIN t.assignedTechniciens tech GROUP BY tech.id")
+    List<Object[]> countGroupedByTechnicien();
+
+    // Échéances des tâches non terminées [id, échéance] (index DeadlineIndex)
+    @Query("SELECT t.id, t.dueDate FROM Task t WHERE t.dueDate IS NOT NULL AND t.status <> 'COMPLETED'")
+    List<Object[]> findOpenDueDates();
+
+    @EntityGraph(Task.GRAPH_WITH_PROJECT)
     @Query("SELECT t FROM Task t WHERE t.dueDate IS NOT NULL AND t.status NOT IN ('COMPLETED') " +
             "ORDER BY t.dueDate ASC")
     List<Task> findTasksByPriority(Pageable pageable);
 
+    @EntityGraph(Task.GRAPH_WITH_PROJECT)
     @Query("SELECT t FROM Task t WHERE t.createdAt >= :startDate AND t.createdAt <= :endDate")
     List<Task> findTasksCreatedInPeriod(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    // Recherche plein texte (scripts/full_text_search.sql) : id, titre, statut, projet, rang,
+    // titre surligné et extrait surligné (délimiteurs SearchHighlight) ; ts_headline n'est calculé que sur la page retenue
+    @Query(value = "SELECT r.id, r.title, r.status, r.project_id, r.project_name, r.rank, " +
+            "ts_headline('french', r.title, q, '" + SearchHighlight.TITLE_OPTIONS + "'), " +
+            "ts_headline('french', r.body, q, '" + SearchHighlight.SNIPPET_OPTIONS + "') " +
+            "FROM (SELECT t.id, t.title, t.status, t.project_id, p.name AS project_name, " +
+            "concat_ws(' ', t.description, t.progress_notes) AS body, " +
+            "ts_rank_cd(t.search_vector, to_tsquery('french', :query)) AS rank " +
+            "FROM tasks t JOIN projects p ON p.id = t.project_id " +
+            "WHERE t.search_vector @@ to_tsquery('french', :query) " +
+            "ORDER BY rank DESC, t.id LIMIT :limit OFFSET :offset) r, to_tsquery('french', :query) q " +
+            "ORDER BY r.rank DESC, r.id",
+            nativeQuery = true)
+    List<Object[]> searchFullText(@Param("query") String query, @Param("limit") int limit, @Param("offset") long offset);
+
+    @Query(value = "SELECT COUNT(*) FROM tasks t WHERE t.search_vector @@ to_tsquery('french', :query)",
+            nativeQuery = true)
+    long countFullText(@Param("query") String query);
+
+    // Assignation en masse : supprime en une requête les liens task_technicien des tâches.
+    // Les requêtes natives déclarent la table touchée, sinon Hibernate vide tout le cache de second niveau
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_technicien"))
+    @Query(value = "DELETE FROM task_technicien WHERE task_id IN (:taskIds)", nativeQuery = true)
+    int deleteAssignments(@Param("taskIds") Collection<Long> taskIds);
+
+    // Assignation en masse : un seul INSERT multi-lignes (tâches × techniciens), liens existants ignorés
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_technicien"))
+    @Query(value = "INSERT INTO task_technicien (task_id, technicien_id) " +
+            "SELECT t.id, tech.id FROM tasks t CROSS JOIN users tech " +
+            "WHERE t.id IN (:taskIds) AND tech.id IN (:technicienIds) " +
+            "AND NOT EXISTS (SELECT 1 FROM task_technicien tt WHERE tt.task_id = t.id AND tt.technicien_id = tech.id)",
+            nativeQuery = true)
+    int insertMissingAssignments(@Param("taskIds") Collection<Long> taskIds,
+                                 @Param("technicienIds") Collection<Long> technicienIds);
 }
\ No newline at end of file
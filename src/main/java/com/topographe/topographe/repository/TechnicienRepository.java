@@ -4,11 +4,13 @@ import com.topographe.topographe.entity.Technicien;
 import com.topographe.topographe.entity.enumm.SkillLevel;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,6 +27,11 @@ public interface TechnicienRepository extends JpaRepository<Technicien, Long> {
     boolean existsByCin(String cin);
     boolean existsByPhoneNumber(String phoneNumber);
 
+    // Liste paginée avec ville et topographe chargés (utilisés par TechnicienMapper)
+    @Override
+    @EntityGraph(attributePaths = {"city", "assignedTo"})
+    Page<Technicien> findAll(Pageable pageable);
+
     // Recherche avec filtres - Version corrigée avec CAST
     @Query("SELECT t FROM Technicien t WHERE " +
             "(:skillLevel IS NULL OR t.skillLevel = :skillLevel) AND " +
@@ -32,6 +39,7 @@ public interface TechnicienRepository extends JpaRepository<Technicien, Long> {
             "(:isActive IS NULL OR t.isActive = :isActive) AND " +
             "(:topographeId IS NULL OR t.assignedTo.id = :topographeId) AND " +
             "(:specialties IS NULL OR :specialties = '' OR LOWER(CAST(t.specialties AS string)) LIKE LOWER(CONCAT('%', :specialties, '%')))")
+    @EntityGraph(attributePaths = {"city", "assignedTo"})
     Page<Technicien> findWithFilters(@Param("skillLevel") SkillLevel skillLevel,
                                      @Param("cityName") String cityName,
                                      @Param("isActive") Boolean isActive,
@@ -65,13 +73,12 @@ public interface TechnicienRepository extends JpaRepository<Technicien, Long> {
                                            Pageable pageable);
 
     // Techniciens par topographe
+    @EntityGraph(attributePaths = {"city", "assignedTo"})
     Page<Technicien> findByAssignedToId(Long topographeId, Pageable pageable);
 
-    // Techniciens disponibles (actifs et avec peu de tâches) - CORRIGÉ
-    @Query("SELECT t FROM Technicien t WHERE t.isActive = true AND " +
-            "(SELECT COUNT(task) FROM Task task JOIN task.assignedTechniciens assignedTech " +
-            "WHERE assignedTech = t AND task.status IN ('TODO', 'IN_PROGRESS', 'REVIEW')) < :maxTasks")
-    List<Technicien> findAvailableTechniciens(@Param("maxTasks") int maxTasks);
+    // Techniciens retenus par l'index d'affectation (TechnicienWorkloadIndex), avec ville et topographe
+    @EntityGraph(attributePaths = {"city", "assignedTo"})
+    List<Technicien> findByIdIn(Collection<Long> ids);
 
     // Techniciens par niveau de compétence
     List<Technicien> findBySkillLevelAndIsActiveTrue(SkillLevel skillLevel);
@@ -100,67 +107,34 @@ public interface TechnicienRepository extends JpaRepository<Technicien, Long> {
     @Query("SELECT COUNT(t) FROM Technicien t WHERE t.assignedTo.id = :topographeId")
     long countByAssignedToId(@Param("topographeId") Long topographeId);
 
-    // Nouvelles méthodes pour les statistiques Many-to-Many
-    @Query("SELECT COUNT(task) FROM Task task JOIN task.assignedTechniciens tech " +
-            "WHERE tech.id = :technicienId AND task.status = :status")
-    long countTasksByTechnicienAndStatus(@Param("technicienId") Long technicienId,
-                                         @Param("status") com.topographe.topographe.entity.enumm.TaskStatus status);
-
-
-    // Nombre total de tâches par technicien
-    @Query("SELECT COUNT(task) FROM Task task JOIN task.assignedTechniciens tech " +
-            "WHERE tech.id = :technicienId")
-    long countTasksByTechnicien(@Param("technicienId") Long technicienId);
-
-    // Projets uniques par technicien
-    @Query("SELECT COUNT(DISTINCT task.project) FROM Task task JOIN task.assignedTechniciens tech " +
-            "WHERE tech.id = :technicienId")
-    long countProjectsByTechnicien(@Param("technicienId") Long technicienId);
-
-    // Projets actifs par technicien
-    @Query("SELECT COUNT(DISTINCT task.project) FROM Task task JOIN task.assignedTechniciens tech " +
-            "WHERE tech.id = :technicienId AND task.project.status = 'IN_PROGRESS'")
-    long countActiveProjectsByTechnicien(@Param("technicienId") Long technicienId);
-
-    // Projets terminés par technicien
-    @Query("SELECT COUNT(DISTINCT task.project) FROM Task task JOIN task.assignedTechniciens tech " +
-            "WHERE tech.id = :technicienId AND task.project.status = 'COMPLETED'")
-    long countCompletedProjectsByTechnicien(@Param("technicienId") Long technicienId);
-
-    // ALTERNATIVE: Requêtes SQL natives si les JPQL ne fonctionnent pas
-    @Query(value = "SELECT COUNT(t.id) FROM tasks t " +
-            "JOIN task_technicien tt ON t.id = tt.task_id " +
-            "WHERE tt.technicien_id = :technicienId AND t.status = :status",
-            nativeQuery = true)
-    long countTasksByTechnicienAndStatusNative(@Param("technicienId") Long technicienId,
-                                               @Param("status") String status);
-
-    @Query(value = "SELECT COUNT(t.id) FROM tasks t " +
-            "JOIN task_technicien tt ON t.id = tt.task_id " +
-            "WHERE tt.technicien_id = :technicienId",
+    // Statistiques de tâches et de projets pour une page de techniciens, en une seule requête groupée
+    // Colonnes : technicien, total, IN_PROGRESS, COMPLETED, TODO, REVIEW, projets, projets actifs, projets terminés
+    @Query(value = "SELECT tt.technicien_id, " +
+            "COUNT(t.id), " +
+            "COUNT(CASE WHEN t.status = 'IN_PROGRESS' THEN 1 END), " +
+            "COUNT(CASE WHEN t.status = 'COMPLETED' THEN 1 END), " +
+            "COUNT(CASE WHEN t.status = 'TODO' THEN 1 END), " +
+            "COUNT(CASE WHEN t.status = 'REVIEW' THEN 1 END), " +
+            "COUNT(DISTINCT p.id), " +
+            "COUNT(DISTINCT CASE WHEN p.status = 'IN_PROGRESS' THEN p.id END), " +
+            "COUNT(DISTINCT CASE WHEN p.status = 'COMPLETED' THEN p.id END) " +
+            "FROM task_technicien tt " +
+            "JOIN tasks t ON t.id = tt.task_id " +
+            "LEFT JOIN projects p ON p.id = t.project_id " +
+            "WHERE tt.technicien_id IN (:technicienIds) " +
+            "GROUP BY tt.technicien_id",
             nativeQuery = true)
-    long countTasksByTechnicienNative(@Param("technicienId") Long technicienId);
+    List<Object[]> findTaskStatsByTechnicienIds(@Param("technicienIds") Collection<Long> technicienIds);
 
-    @Query(value = "SELECT COUNT(DISTINCT p.id) FROM projects p " +
-            "JOIN tasks t ON p.id = t.project_id " +
-            "JOIN task_technicien tt ON t.id = tt.task_id " +
-            "WHERE tt.technicien_id = :technicienId",
-            nativeQuery = true)
-    long countProjectsByTechnicienNative(@Param("technicienId") Long technicienId);
+    // Noms des techniciens [id, prénom, nom] sans charger les entités
+    @Query("SELECT t.id, t.firstName, t.lastName FROM Technicien t WHERE t.id IN :ids")
+    List<Object[]> findNamesByIdIn(@Param("ids") Collection<Long> ids);
 
-    @Query(value = "SELECT COUNT(DISTINCT p.id) FROM projects p " +
-            "JOIN tasks t ON p.id = t.project_id " +
-            "JOIN task_technicien tt ON t.id = tt.task_id " +
-            "WHERE tt.technicien_id = :technicienId AND p.status = 'IN_PROGRESS'",
-            nativeQuery = true)
-    long countActiveProjectsByTechnicienNative(@Param("technicienId") Long technicienId);
-
-    @Query(value = "SELECT COUNT(DISTINCT p.id) FROM projects p " +
-            "JOIN tasks t ON p.id = t.project_id " +
-            "JOIN task_technicien tt ON t.id = tt.task_id " +
-            "WHERE tt.technicien_id = :technicienId AND p.status = 'COMPLETED'",
-            nativeQuery = true)
-    long countCompletedProjectsByTechnicienNative(@Param("technicienId") Long technicienId);
+    // Profils des techniciens actifs pour l'index d'affectation
+    // [id, prénom, nom, niveau, spécialités, topographe, ville, région]
+    @Query("SELECT t.id, t.firstName, t.lastName, t.skillLevel, t.specialties, t.assignedTo.id, c.id, r.id " +
+            "FROM Technicien t LEFT JOIN t.city c LEFT JOIN c.region r WHERE t.isActive = true")
+    List<Object[]> findActiveProfiles();
 
     // Méthode de debug pour vérifier les relations
     @Query(value = "SELECT " +
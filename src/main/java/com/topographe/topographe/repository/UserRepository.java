@@ -1,11 +1,20 @@
 package com.topographe.topographe.repository;
 
 import com.topographe.topographe.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    // Cache de requêtes (région "user-by-username") : l'id est mis en cache, l'entité vient de la région "users" ;
+    // invalidé par Hibernate à chaque écriture sur la table users
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "user-by-username")
+    })
     Optional<User> findByUsername(String username);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
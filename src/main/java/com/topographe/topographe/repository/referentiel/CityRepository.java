@@ -2,8 +2,15 @@ package com.topographe.topographe.repository.referentiel;
 
 import com.topographe.topographe.entity.referentiel.City;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface CityRepository extends JpaRepository<City, Long> {
+
+    // Région de chaque ville [ville, région]
+    @Query("SELECT c.id, r.id FROM City c LEFT JOIN c.region r")
+    List<Object[]> findRegionIds();
 }
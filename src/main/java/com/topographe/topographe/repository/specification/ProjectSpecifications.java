@@ -0,0 +1,60 @@
+package com.topographe.topographe.repository.specification;
+
+import com.topographe.topographe.entity.Project;
+import com.topographe.topographe.entity.enumm.ProjectStatus;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Filtres dynamiques des projets : seuls les critères renseignés produisent un prédicat
+ */
+public final class ProjectSpecifications {
+
+    private ProjectSpecifications() {
+    }
+
+    public static Specification<Project> withFilters(ProjectStatus status, Long clientId, Long topographeId,
+                                                     LocalDate startDate, LocalDate endDate, String name) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (status != null) {
+                predicates.add(cb.equal(root.get("status"), status));
+            }
+            if (clientId != null) {
+                predicates.add(cb.equal(root.get("client").get("id"), clientId));
+            }
+            if (topographeId != null) {
+                predicates.add(cb.equal(root.get("topographe").get("id"), topographeId));
+            }
+            if (startDate != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("startDate"), startDate));
+            }
+            if (endDate != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("endDate"), endDate));
+            }
+            if (name != null && !name.isBlank()) {
+                predicates.add(cb.like(cb.lower(root.get("name")), "%" + name.trim().toLowerCase() + "%"));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Charge le client et le topographe dans la même requête (ignoré pour les COUNT)
+     */
+    public static Specification<Project> fetchParties() {
+        return (root, query, cb) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch("client");
+                root.fetch("topographe");
+            }
+            return null;
+        };
+    }
+}
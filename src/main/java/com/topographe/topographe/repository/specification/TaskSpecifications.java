@@ -0,0 +1,79 @@
+package com.topographe.topographe.repository.specification;
+
+import com.topographe.topographe.entity.Task;
+import com.topographe.topographe.entity.Technicien;
+import com.topographe.topographe.entity.enumm.TaskStatus;
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Filtres dynamiques des tâches : seuls les critères renseignés produisent un prédicat
+ */
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    public static Specification<Task> withFilters(TaskStatus status, Long projectId, Long technicienId,
+                                                  Long topographeId, Long clientId,
+                                                  LocalDate dueDateFrom, LocalDate dueDateTo, String title) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (status != null) {
+                predicates.add(cb.equal(root.get("status"), status));
+            }
+            if (projectId != null) {
+                predicates.add(cb.equal(root.get("project").get("id"), projectId));
+            }
+            if (technicienId != null) {
+                // EXISTS plutôt qu'une jointure : une ligne par tâche, COUNT et tri keyset inchangés
+                Subquery<Long> assigned = query.subquery(Long.class);
+                Root<Task> task = assigned.from(Task.class);
+                Join<Task, Technicien> technicien = task.join("assignedTechniciens");
+                assigned.select(task.get("id"))
+                        .where(cb.equal(task.get("id"), root.get("id")), cb.equal(technicien.get("id"), technicienId));
+                predicates.add(cb.exists(assigned));
+            }
+            if (topographeId != null) {
+                predicates.add(cb.equal(root.get("project").get("topographe").get("id"), topographeId));
+            }
+            if (clientId != null) {
+                predicates.add(cb.equal(root.get("project").get("client").get("id"), clientId));
+            }
+            if (dueDateFrom != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("dueDate"), dueDateFrom));
+            }
+            if (dueDateTo != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("dueDate"), dueDateTo));
+            }
+            if (title != null && !title.isBlank()) {
+                predicates.add(cb.like(cb.lower(root.get("title")), "%" + title.trim().toLowerCase() + "%"));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Charge le projet, son client et son topographe dans la même requête (ignoré pour les COUNT)
+     */
+    public static Specification<Task> fetchProject() {
+        return (root, query, cb) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                Fetch<Task, ?> project = root.fetch("project");
+                project.fetch("client");
+                project.fetch("topographe");
+            }
+            return null;
+        };
+    }
+}
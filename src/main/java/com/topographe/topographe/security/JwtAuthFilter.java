@@ -1,5 +1,6 @@
 package com.topographe.topographe.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,10 +19,12 @@ import java.io.IOException;
 public class JwtAuthFilter extends OncePerRequestFilter {
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final JwtTokenCache tokenCache;
 
-    public JwtAuthFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
+    public JwtAuthFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService, JwtTokenCache tokenCache) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.tokenCache = tokenCache;
     }
 
     @Override
@@ -33,14 +36,12 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             jwt = authHeader.substring(7);
-            try {
-                username = jwtUtil.extractUsername(jwt);
-            } catch (Exception ignored) {}
+            username = resolveUsername(jwt);
         }
 
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-            if (jwtUtil.isTokenValid(jwt, userDetails.getUsername())) {
+            if (username.equals(userDetails.getUsername())) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -49,4 +50,25 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Retourne l'utilisateur du jeton : depuis le cache si le jeton a déjà été vérifié,
+     * sinon après une unique analyse (signature + expiration), ou null si le jeton est invalide
+     */
+    private String resolveUsername(String jwt) {
+        String cached = tokenCache.getUsername(jwt);
+        if (cached != null) {
+            return cached;
+        }
+        try {
+            Claims claims = jwtUtil.parseClaims(jwt);
+            if (claims.getSubject() == null || !jwtUtil.isTokenValid(claims, claims.getSubject())) {
+                return null;
+            }
+            tokenCache.put(jwt, claims);
+            return claims.getSubject();
+        } catch (Exception ignored) {
+            return null;
+        }
+    }
 }
@@ -0,0 +1,75 @@
+package com.topographe.topographe.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache des jetons JWT dont la signature a déjà été vérifiée.
+ * La clé est l'empreinte SHA-256 du jeton (le jeton lui-même n'est pas conservé)
+ * et chaque entrée expire au plus tard à la date "exp" du jeton.
+ */
+@Component
+public class JwtTokenCache {
+
+    private final Cache<String, VerifiedToken> cache;
+
+    public JwtTokenCache(@Value("${app.security.token-cache-size:10000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                        long remainingMillis = token.expiresAtMillis() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, token, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Retourne le nom d'utilisateur d'un jeton déjà vérifié et non expiré, ou null
+     */
+    public String getUsername(String token) {
+        VerifiedToken verified = cache.getIfPresent(hash(token));
+        if (verified == null || verified.expiresAtMillis() <= System.currentTimeMillis()) {
+            return null;
+        }
+        return verified.username();
+    }
+
+    public void put(String token, Claims claims) {
+        cache.put(hash(token), new VerifiedToken(claims.getSubject(), claims.getExpiration().getTime()));
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 non disponible", e);
+        }
+    }
+
+    private record VerifiedToken(String username, long expiresAtMillis) {
+    }
+}
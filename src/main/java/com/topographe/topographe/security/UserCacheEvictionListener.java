@@ -0,0 +1,32 @@
+package com.topographe.topographe.security;
+
+import com.topographe.topographe.entity.User;
+import com.topographe.topographe.util.AfterCommit;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Évince l'utilisateur du cache d'authentification après chaque mise à jour ou suppression,
+ * afin qu'une désactivation ou un changement de rôle soit pris en compte à la requête suivante.
+ * L'éviction a lieu après le commit : @PostUpdate/@PostRemove sont appelés au flush, et une requête
+ * concurrente pourrait remettre en cache l'ancienne ligne entre le flush et le commit.
+ */
+@Component
+public class UserCacheEvictionListener {
+
+    // Résolu à l'usage : le listener est créé par Hibernate avant le reste du contexte
+    private final ObjectProvider<UserDetailsCache> userDetailsCache;
+
+    public UserCacheEvictionListener(ObjectProvider<UserDetailsCache> userDetailsCache) {
+        this.userDetailsCache = userDetailsCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void evict(User user) {
+        String username = user.getUsername();
+        AfterCommit.run(() -> userDetailsCache.ifAvailable(cache -> cache.evict(username)));
+    }
+}
@@ -0,0 +1,40 @@
+package com.topographe.topographe.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Cache borné des utilisateurs authentifiés, pour éviter un accès base à chaque requête.
+ * Les entrées sont évincées par UserCacheEvictionListener dès qu'un utilisateur est modifié
+ * (statut actif, rôle, mot de passe...) ou supprimé.
+ */
+@Component
+public class UserDetailsCache {
+
+    private final Cache<String, CustomUserDetails> cache;
+
+    public UserDetailsCache(@Value("${app.security.user-cache-size:1000}") long maxSize,
+                            @Value("${app.security.user-cache-ttl-minutes:5}") long ttlMinutes) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .build();
+    }
+
+    public CustomUserDetails get(String username, Function<String, CustomUserDetails> loader) {
+        return cache.get(username, loader);
+    }
+
+    public void evict(String username) {
+        cache.invalidate(username);
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+}
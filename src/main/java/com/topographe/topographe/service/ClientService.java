@@ -7,12 +7,18 @@ import com.topographe.topographe.dto.response.ClientResponse;
 import com.topographe.topographe.entity.User;
 import com.topographe.topographe.entity.enumm.ClientType;
 
+import java.util.List;
+import java.util.Map;
+
 public interface ClientService {
 
     ClientResponse createClient(ClientCreateRequest request, User currentUser);
 
     PageResponse<ClientResponse> getAllClients(int page, int size, String sortBy, String sortDir, User currentUser);
 
+    PageResponse<Map<String, Object>> getClientsProjection(
+            List<String> fields, int page, int size, String sortBy, String sortDir, User currentUser);
+
     PageResponse<ClientResponse> getClientsWithFilters(
             int page, int size, String sortBy, String sortDir,
             ClientType clientType, String cityName, Boolean isActive,
@@ -1,20 +1,31 @@
 package com.topographe.topographe.service;
 
 import com.topographe.topographe.entity.Client;
+import com.topographe.topographe.entity.Project;
+import com.topographe.topographe.entity.Task;
+import com.topographe.topographe.entity.Technicien;
 import com.topographe.topographe.entity.Topographe;
+import com.topographe.topographe.service.deadline.DeadlineEvent;
+import com.topographe.topographe.service.mail.ClientCreatedEvent;
+import com.topographe.topographe.service.mail.EmailTemplateRenderer;
+import com.topographe.topographe.service.mail.TopographeCreatedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMailMessage;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.TemplateEngine;
-import org.thymeleaf.context.Context;
 
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -22,7 +33,12 @@ import java.time.format.DateTimeFormatter;
 public class EmailService {
 
     private final JavaMailSender mailSender;
-    private final TemplateEngine templateEngine;
+    private final EmailTemplateRenderer templateRenderer;
+
+    private static final DateTimeFormatter CREATED_DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy à HH:mm");
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    // Lignes listées par avis d'échéances, au-delà seul le nombre restant est donné
+    private static final int DEADLINE_LINES_MAX = 50;
 
     @Value("${app.mail.from:noreply@topographe.com}")
     private String fromEmail;
@@ -41,28 +57,7 @@ public class EmailService {
      */
     public void sendWelcomeEmailToTopographe(Topographe topographe, String password) {
         try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-            helper.setFrom(fromEmail);
-            helper.setTo(topographe.getEmail());
-            helper.setSubject("Bienvenue sur " + appName + " - Vos identifiants de connexion");
-
-            // Préparer le contexte pour le template
-            Context context = new Context();
-            context.setVariable("topographe", topographe);
-            context.setVariable("username", topographe.getUsername());
-            context.setVariable("password", password);
-            context.setVariable("appName", appName);
-            context.setVariable("appUrl", appUrl);
-            context.setVariable("supportEmail", supportEmail);
-            context.setVariable("createdDate", topographe.getCreatedAt().format(DateTimeFormatter.ofPattern("dd/MM/yyyy à HH:mm")));
-
-            // Générer le contenu HTML
-            String htmlContent = templateEngine.process("emails/welcome-topographe", context);
-            helper.setText(htmlContent, true);
-
-            mailSender.send(message);
+            mailSender.send(prepareWelcomeEmailToTopographe(topographe, password));
             log.info("Email de bienvenue envoyé avec succès à: {}", topographe.getEmail());
 
         } catch (MessagingException e) {
@@ -71,34 +66,57 @@ public class EmailService {
         }
     }
 
+    /**
+     * Prépare l'email HTML de bienvenue (Topographe) sans l'envoyer
+     */
+    public MimeMessage prepareWelcomeEmailToTopographe(Topographe topographe, String password) throws MessagingException {
+        String htmlContent = templateRenderer.render("emails/welcome-topographe", welcomeTopographeVariables(topographe, password));
+        return buildWelcomeTopographeMessage(topographe, htmlContent);
+    }
+
+    /**
+     * Prépare les emails HTML de bienvenue d'un lot de topographes (template rendu en une passe)
+     */
+    public List<MimeMessage> prepareWelcomeEmailsToTopographes(List<TopographeCreatedEvent> created) throws MessagingException {
+        List<Map<String, Object>> variables = created.stream()
+                .map(event -> welcomeTopographeVariables(event.topographe(), event.password()))
+                .toList();
+        List<String> htmlContents = templateRenderer.renderBatch("emails/welcome-topographe", Map.of(), variables);
+
+        List<MimeMessage> messages = new ArrayList<>(created.size());
+        for (int i = 0; i < created.size(); i++) {
+            messages.add(buildWelcomeTopographeMessage(created.get(i).topographe(), htmlContents.get(i)));
+        }
+        return messages;
+    }
+
+    private MimeMessage buildWelcomeTopographeMessage(Topographe topographe, String htmlContent) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+
+        helper.setFrom(fromEmail);
+        helper.setTo(topographe.getEmail());
+        helper.setSubject("Bienvenue sur " + appName + " - Vos identifiants de connexion");
+        helper.setText(htmlContent, true);
+        return message;
+    }
+
+    // Variables propres au topographe pour le template
+    private Map<String, Object> welcomeTopographeVariables(Topographe topographe, String password) {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("topographe", topographe);
+        variables.put("username", topographe.getUsername());
+        variables.put("password", password);
+        variables.put("createdDate", topographe.getCreatedAt().format(CREATED_DATE_FORMAT));
+        return variables;
+    }
+
     /**
      * Envoie un email de bienvenue avec les identifiants de connexion (Client)
      */
     public void sendWelcomeEmailToClient(Client client, String password, Topographe topographe) {
         try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-            helper.setFrom(fromEmail);
-            helper.setTo(client.getEmail());
-            helper.setSubject("Bienvenue sur " + appName + " - Accès client");
-
-            // Préparer le contexte pour le template
-            Context context = new Context();
-            context.setVariable("client", client);
-            context.setVariable("topographe", topographe);
-            context.setVariable("username", client.getUsername());
-            context.setVariable("password", password);
-            context.setVariable("appName", appName);
-            context.setVariable("appUrl", appUrl);
-            context.setVariable("supportEmail", supportEmail);
-            context.setVariable("createdDate", client.getCreatedAt().format(DateTimeFormatter.ofPattern("dd/MM/yyyy à HH:mm")));
-
-            // Générer le contenu HTML
-            String htmlContent = templateEngine.process("emails/welcome-client", context);
-            helper.setText(htmlContent, true);
-
-            mailSender.send(message);
+            mailSender.send(prepareWelcomeEmailToClient(client, password, topographe));
             log.info("Email de bienvenue client envoyé avec succès à: {}", client.getEmail());
 
         } catch (MessagingException e) {
@@ -107,20 +125,58 @@ public class EmailService {
         }
     }
 
+    /**
+     * Prépare l'email HTML de bienvenue (Client) sans l'envoyer
+     */
+    public MimeMessage prepareWelcomeEmailToClient(Client client, String password, Topographe topographe) throws MessagingException {
+        String htmlContent = templateRenderer.render("emails/welcome-client", welcomeClientVariables(client, password, topographe));
+        return buildWelcomeClientMessage(client, htmlContent);
+    }
+
+    /**
+     * Prépare les emails HTML de bienvenue d'un lot de clients (template rendu en une passe)
+     */
+    public List<MimeMessage> prepareWelcomeEmailsToClients(List<ClientCreatedEvent> created) throws MessagingException {
+        List<Map<String, Object>> variables = created.stream()
+                .map(event -> welcomeClientVariables(event.client(), event.password(), event.topographe()))
+                .toList();
+        List<String> htmlContents = templateRenderer.renderBatch("emails/welcome-client", Map.of(), variables);
+
+        List<MimeMessage> messages = new ArrayList<>(created.size());
+        for (int i = 0; i < created.size(); i++) {
+            messages.add(buildWelcomeClientMessage(created.get(i).client(), htmlContents.get(i)));
+        }
+        return messages;
+    }
+
+    private MimeMessage buildWelcomeClientMessage(Client client, String htmlContent) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+
+        helper.setFrom(fromEmail);
+        helper.setTo(client.getEmail());
+        helper.setSubject("Bienvenue sur " + appName + " - Accès client");
+        helper.setText(htmlContent, true);
+        return message;
+    }
+
+    // Variables propres au client pour le template
+    private Map<String, Object> welcomeClientVariables(Client client, String password, Topographe topographe) {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("client", client);
+        variables.put("topographe", topographe);
+        variables.put("username", client.getUsername());
+        variables.put("password", password);
+        variables.put("createdDate", client.getCreatedAt().format(CREATED_DATE_FORMAT));
+        return variables;
+    }
+
     /**
      * Envoie un email simple de bienvenue (fallback sans template) pour Topographe
      */
     public void sendSimpleWelcomeEmail(Topographe topographe, String password) {
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(topographe.getEmail());
-            message.setSubject("Bienvenue sur " + appName + " - Vos identifiants de connexion");
-
-            String content = buildSimpleWelcomeContent(topographe, password);
-            message.setText(content);
-
-            mailSender.send(message);
+            mailSender.send(prepareSimpleWelcomeEmail(topographe, password));
             log.info("Email simple de bienvenue envoyé avec succès à: {}", topographe.getEmail());
 
         } catch (Exception e) {
@@ -129,20 +185,24 @@ public class EmailService {
         }
     }
 
+    /**
+     * Prépare l'email simple de bienvenue (Topographe) sans l'envoyer
+     */
+    public MimeMessage prepareSimpleWelcomeEmail(Topographe topographe, String password) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(fromEmail);
+        message.setTo(topographe.getEmail());
+        message.setSubject("Bienvenue sur " + appName + " - Vos identifiants de connexion");
+        message.setText(buildSimpleWelcomeContent(topographe, password));
+        return toMimeMessage(message);
+    }
+
     /**
      * Envoie un email simple de bienvenue (fallback sans template) pour Client
      */
     public void sendSimpleWelcomeEmailToClient(Client client, String password, Topographe topographe) {
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(client.getEmail());
-            message.setSubject("Bienvenue sur " + appName + " - Accès client");
-
-            String content = buildSimpleWelcomeContentForClient(client, password, topographe);
-            message.setText(content);
-
-            mailSender.send(message);
+            mailSender.send(prepareSimpleWelcomeEmailToClient(client, password, topographe));
             log.info("Email simple de bienvenue client envoyé avec succès à: {}", client.getEmail());
 
         } catch (Exception e) {
@@ -151,6 +211,18 @@ public class EmailService {
         }
     }
 
+    /**
+     * Prépare l'email simple de bienvenue (Client) sans l'envoyer
+     */
+    public MimeMessage prepareSimpleWelcomeEmailToClient(Client client, String password, Topographe topographe) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(fromEmail);
+        message.setTo(client.getEmail());
+        message.setSubject("Bienvenue sur " + appName + " - Accès client");
+        message.setText(buildSimpleWelcomeContentForClient(client, password, topographe));
+        return toMimeMessage(message);
+    }
+
     /**
      * Construit le contenu texte simple de l'email de bienvenue pour Topographe
      */
@@ -290,43 +362,7 @@ public class EmailService {
      */
     public void sendClientCreationNotificationToTopographe(Client client, Topographe topographe) {
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(topographe.getEmail());
-            message.setSubject("[" + appName + "] Nouveau client créé - " + client.getFirstName() + " " + client.getLastName());
-
-            String content = String.format("""
-                Notification de création de client
-                
-                Un nouveau client a été ajouté à votre portefeuille :
-                
-                • Nom : %s %s
-                • Email : %s
-                • Nom d'utilisateur : %s
-                • Téléphone : %s
-                • Type de client : %s
-                • Entreprise : %s
-                • Date de création : %s
-                
-                L'email de bienvenue avec les identifiants a été envoyé à : %s
-                
-                Le client peut maintenant se connecter et suivre ses projets via la plateforme.
-                
-                L'équipe %s
-                """,
-                    client.getFirstName(), client.getLastName(),
-                    client.getEmail(),
-                    client.getUsername(),
-                    client.getPhoneNumber(),
-                    client.getClientType().toString(),
-                    client.getCompanyName() != null ? client.getCompanyName() : "N/A",
-                    client.getCreatedAt().format(DateTimeFormatter.ofPattern("dd/MM/yyyy à HH:mm")),
-                    client.getEmail(),
-                    appName
-            );
-
-            message.setText(content);
-            mailSender.send(message);
+            mailSender.send(prepareClientCreationNotificationToTopographe(client, topographe));
             log.info("Notification de création client envoyée avec succès au topographe: {}", topographe.getEmail());
 
         } catch (Exception e) {
@@ -335,44 +371,147 @@ public class EmailService {
         }
     }
 
+    /**
+     * Prépare la notification de création de client sans l'envoyer
+     */
+    public MimeMessage prepareClientCreationNotificationToTopographe(Client client, Topographe topographe) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(fromEmail);
+        message.setTo(topographe.getEmail());
+        message.setSubject("[" + appName + "] Nouveau client créé - " + client.getFirstName() + " " + client.getLastName());
+
+        String content = String.format("""
+            Notification de création de client
+            
+            Un nouveau client a été ajouté à votre portefeuille :
+            
+            • Nom : %s %s
+            • Email : %s
+            • Nom d'utilisateur : %s
+            • Téléphone : %s
+            • Type de client : %s
+            • Entreprise : %s
+            • Date de création : %s
+            
+            L'email de bienvenue avec les identifiants a été envoyé à : %s
+            
+            Le client peut maintenant se connecter et suivre ses projets via la plateforme.
+            
+            L'équipe %s
+            """,
+                client.getFirstName(), client.getLastName(),
+                client.getEmail(),
+                client.getUsername(),
+                client.getPhoneNumber(),
+                client.getClientType().toString(),
+                client.getCompanyName() != null ? client.getCompanyName() : "N/A",
+                client.getCreatedAt().format(CREATED_DATE_FORMAT),
+                client.getEmail(),
+                appName
+        );
+
+        message.setText(content);
+        return toMimeMessage(message);
+    }
+
+    /**
+     * Prépare l'email de bienvenue (Technicien) sans l'envoyer ; pas de template HTML technicien
+     */
+    public MimeMessage prepareWelcomeEmailToTechnicien(Technicien technicien, String password, Topographe topographe) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(fromEmail);
+        message.setTo(technicien.getEmail());
+        message.setSubject("Bienvenue sur " + appName + " - Accès technicien");
+
+        String content = String.format("""
+            Bonjour %s %s,
+            
+            Bienvenue sur %s !
+            
+            Votre compte technicien a été créé par votre topographe %s %s.
+            Voici vos identifiants de connexion :
+            
+            ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+            📧 Nom d'utilisateur : %s
+            🔐 Mot de passe : %s
+            🌐 URL de connexion : %s
+            ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+            
+            IMPORTANT - Sécurité de votre compte :
+            ⚠️  Changez votre mot de passe lors de votre première connexion
+            ⚠️  Ne partagez jamais vos identifiants
+            
+            Votre topographe responsable :
+            • Nom : %s %s
+            • Email : %s
+            
+            Si vous rencontrez des difficultés, contactez :
+            📧 Support technique : %s
+            
+            Cordialement,
+            L'équipe %s
+            """,
+                technicien.getFirstName(), technicien.getLastName(),
+                appName,
+                topographe.getFirstName(), topographe.getLastName(),
+                technicien.getUsername(),
+                password,
+                appUrl + "/login",
+                topographe.getFirstName(), topographe.getLastName(),
+                topographe.getEmail(),
+                supportEmail,
+                appName
+        );
+
+        message.setText(content);
+        return toMimeMessage(message);
+    }
+
+    /**
+     * Prépare la notification de création de technicien au topographe responsable sans l'envoyer
+     */
+    public MimeMessage prepareTechnicienCreationNotificationToTopographe(Technicien technicien, Topographe topographe) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(fromEmail);
+        message.setTo(topographe.getEmail());
+        message.setSubject("[" + appName + "] Nouveau technicien - " + technicien.getFirstName() + " " + technicien.getLastName());
+
+        String content = String.format("""
+            Notification de création de technicien
+            
+            Un nouveau technicien a été ajouté à votre équipe :
+            
+            • Nom : %s %s
+            • Email : %s
+            • Nom d'utilisateur : %s
+            • Téléphone : %s
+            • Niveau : %s
+            • Spécialités : %s
+            
+            L'email de bienvenue avec les identifiants a été envoyé à : %s
+            
+            L'équipe %s
+            """,
+                technicien.getFirstName(), technicien.getLastName(),
+                technicien.getEmail(),
+                technicien.getUsername(),
+                technicien.getPhoneNumber(),
+                technicien.getSkillLevel(),
+                technicien.getSpecialties() != null ? technicien.getSpecialties() : "N/A",
+                technicien.getEmail(),
+                appName
+        );
+
+        message.setText(content);
+        return toMimeMessage(message);
+    }
+
     /**
      * Envoie un email de notification à l'administrateur (Topographe)
      */
     public void sendAdminNotification(Topographe topographe, String adminEmail) {
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(adminEmail);
-            message.setSubject("[" + appName + "] Nouveau topographe créé - " + topographe.getFirstName() + " " + topographe.getLastName());
-
-            String content = String.format("""
-                Notification de création de compte
-                
-                Un nouveau topographe a été créé dans le système :
-                
-                • Nom : %s %s
-                • Email : %s
-                • Nom d'utilisateur : %s
-                • Numéro de licence : %s
-                • Spécialisation : %s
-                • Date de création : %s
-                
-                L'email de bienvenue avec les identifiants a été envoyé à : %s
-                
-                L'équipe %s
-                """,
-                    topographe.getFirstName(), topographe.getLastName(),
-                    topographe.getEmail(),
-                    topographe.getUsername(),
-                    topographe.getLicenseNumber(),
-                    topographe.getSpecialization(),
-                    topographe.getCreatedAt().format(DateTimeFormatter.ofPattern("dd/MM/yyyy à HH:mm")),
-                    topographe.getEmail(),
-                    appName
-            );
-
-            message.setText(content);
-            mailSender.send(message);
+            mailSender.send(prepareAdminNotification(topographe, adminEmail));
             log.info("Notification admin envoyée avec succès pour le topographe: {}", topographe.getEmail());
 
         } catch (Exception e) {
@@ -381,6 +520,107 @@ public class EmailService {
         }
     }
 
+    /**
+     * Prépare la notification admin de création de topographe sans l'envoyer
+     */
+    public MimeMessage prepareAdminNotification(Topographe topographe, String adminEmail) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(fromEmail);
+        message.setTo(adminEmail);
+        message.setSubject("[" + appName + "] Nouveau topographe créé - " + topographe.getFirstName() + " " + topographe.getLastName());
+
+        String content = String.format("""
+            Notification de création de compte
+            
+            Un nouveau topographe a été créé dans le système :
+            
+            • Nom : %s %s
+            • Email : %s
+            • Nom d'utilisateur : %s
+            • Numéro de licence : %s
+            • Spécialisation : %s
+            • Date de création : %s
+            
+            L'email de bienvenue avec les identifiants a été envoyé à : %s
+            
+            L'équipe %s
+            """,
+                topographe.getFirstName(), topographe.getLastName(),
+                topographe.getEmail(),
+                topographe.getUsername(),
+                topographe.getLicenseNumber(),
+                topographe.getSpecialization(),
+                topographe.getCreatedAt().format(CREATED_DATE_FORMAT),
+                topographe.getEmail(),
+                appName
+        );
+
+        message.setText(content);
+        return toMimeMessage(message);
+    }
+
+    /**
+     * Prépare l'avis d'échéances (tâches et projets en retard ou bientôt dus ce jour-là) au topographe
+     * responsable. Les listes sont limitées à DEADLINE_LINES_MAX lignes chacune.
+     */
+    public MimeMessage prepareDeadlineNotificationToTopographe(Topographe topographe, DeadlineEvent.Kind kind,
+                                                               LocalDate date, List<Task> tasks, List<Project> projects) {
+        boolean overdue = kind == DeadlineEvent.Kind.OVERDUE;
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(fromEmail);
+        message.setTo(topographe.getEmail());
+        message.setSubject("[" + appName + "] " + (overdue ? "Échéances dépassées" : "Échéances proches")
+                + " - " + date.format(DATE_FORMAT));
+
+        StringBuilder lines = new StringBuilder();
+        appendDeadlineLines(lines, "Tâches", tasks.stream()
+                .map(task -> task.getTitle() + " (" + task.getProject().getName() + ") : " + task.getDueDate().format(DATE_FORMAT))
+                .toList());
+        appendDeadlineLines(lines, "Projets", projects.stream()
+                .map(project -> project.getName() + " : " + project.getEndDate().format(DATE_FORMAT))
+                .toList());
+
+        String content = String.format("""
+            Bonjour %s %s,
+            
+            %s
+            %s
+            Consultez le détail sur %s
+            
+            L'équipe %s
+            """,
+                topographe.getFirstName(), topographe.getLastName(),
+                overdue ? "Les échéances suivantes sont dépassées depuis le " + date.format(DATE_FORMAT) + " :"
+                        : "Les échéances suivantes arrivent à terme dans les prochains jours :",
+                lines,
+                appUrl,
+                appName
+        );
+
+        message.setText(content);
+        return toMimeMessage(message);
+    }
+
+    private static void appendDeadlineLines(StringBuilder content, String title, List<String> lines) {
+        if (lines.isEmpty()) {
+            return;
+        }
+        content.append('\n').append(title).append(" :\n");
+        lines.stream().limit(DEADLINE_LINES_MAX).forEach(line -> content.append("• ").append(line).append('\n'));
+        if (lines.size() > DEADLINE_LINES_MAX) {
+            content.append("… et ").append(lines.size() - DEADLINE_LINES_MAX).append(" autre(s)\n");
+        }
+    }
+
+    /**
+     * Convertit un message texte en MimeMessage pour pouvoir l'envoyer par lot avec les emails HTML
+     */
+    private MimeMessage toMimeMessage(SimpleMailMessage simpleMessage) {
+        MimeMessage message = mailSender.createMimeMessage();
+        simpleMessage.copyTo(new MimeMailMessage(message));
+        return message;
+    }
+
     /**
      * Teste la configuration email
      */
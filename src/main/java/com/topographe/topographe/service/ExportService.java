@@ -0,0 +1,22 @@
+package com.topographe.topographe.service;
+
+import com.topographe.topographe.entity.enumm.ProjectStatus;
+import com.topographe.topographe.entity.enumm.TaskStatus;
+import com.topographe.topographe.service.export.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+public interface ExportService {
+
+    // Mêmes filtres que la recherche paginée des tâches
+    void exportTasks(ExportFormat format, OutputStream out,
+                     TaskStatus status, Long projectId, Long technicienId, Long topographeId, Long clientId,
+                     LocalDate dueDateFrom, LocalDate dueDateTo, String title) throws IOException;
+
+    // Mêmes filtres que la recherche paginée des projets
+    void exportProjects(ExportFormat format, OutputStream out,
+                        ProjectStatus status, Long clientId, Long topographeId,
+                        LocalDate startDate, LocalDate endDate, String name) throws IOException;
+}
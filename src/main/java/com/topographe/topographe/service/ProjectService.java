@@ -2,12 +2,14 @@ package com.topographe.topographe.service;
 
 import com.topographe.topographe.dto.request.ProjectCreateRequest;
 import com.topographe.topographe.dto.request.ProjectUpdateRequest;
+import com.topographe.topographe.dto.response.CursorPageResponse;
 import com.topographe.topographe.dto.response.PageResponse;
 import com.topographe.topographe.dto.response.ProjectResponse;
 import com.topographe.topographe.entity.enumm.ProjectStatus;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 public interface ProjectService {
 
@@ -15,12 +17,24 @@ public interface ProjectService {
 
     PageResponse<ProjectResponse> getAllProjects(int page, int size, String sortBy, String sortDir);
 
+    PageResponse<Map<String, Object>> getProjectsProjection(
+            List<String> fields, int page, int size, String sortBy, String sortDir,
+            ProjectStatus status, Long clientId, Long topographeId,
+            LocalDate startDate, LocalDate endDate, String name
+    );
+
     PageResponse<ProjectResponse> getProjectsWithFilters(
             int page, int size, String sortBy, String sortDir,
             ProjectStatus status, Long clientId, Long topographeId,
             LocalDate startDate, LocalDate endDate, String name
     );
 
+    CursorPageResponse<ProjectResponse> getProjectsWithFiltersCursor(
+            String cursor, int size, String sortBy, String sortDir,
+            ProjectStatus status, Long clientId, Long topographeId,
+            LocalDate startDate, LocalDate endDate, String name
+    );
+
     PageResponse<ProjectResponse> getProjectsByClient(
             Long clientId, int page, int size, String sortBy, String sortDir
     );
@@ -0,0 +1,12 @@
+package com.topographe.topographe.service;
+
+import com.topographe.topographe.dto.response.PageResponse;
+import com.topographe.topographe.dto.response.SearchResultResponse;
+
+public interface SearchService {
+
+    /**
+     * Recherche plein texte sur les tâches et/ou les projets (type null = les deux), triée par pertinence
+     */
+    PageResponse<SearchResultResponse> search(String text, SearchResultResponse.Type type, int page, int size);
+}
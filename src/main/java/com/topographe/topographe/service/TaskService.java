@@ -1,27 +1,51 @@
 package com.topographe.topographe.service;
 
 import com.topographe.topographe.dto.request.TaskAssignRequest;
+import com.topographe.topographe.dto.request.TaskAutoAssignRequest;
+import com.topographe.topographe.dto.request.TaskBulkAssignRequest;
+import com.topographe.topographe.dto.request.TaskBulkCreateRequest;
 import com.topographe.topographe.dto.request.TaskCreateRequest;
 import com.topographe.topographe.dto.request.TaskUpdateRequest;
+import com.topographe.topographe.dto.response.CompletionRateResponse;
+import com.topographe.topographe.dto.response.CursorPageResponse;
 import com.topographe.topographe.dto.response.PageResponse;
+import com.topographe.topographe.dto.response.ProgressSummaryResponse;
+import com.topographe.topographe.dto.response.TaskBulkCreateResponse;
 import com.topographe.topographe.dto.response.TaskResponse;
+import com.topographe.topographe.dto.response.TechnicienRecommendationResponse;
+import com.topographe.topographe.dto.response.TechnicienWorkloadResponse;
 import com.topographe.topographe.entity.enumm.TaskStatus;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 public interface TaskService {
 
     TaskResponse createTask(TaskCreateRequest request);
 
+    TaskBulkCreateResponse createTasks(TaskBulkCreateRequest request);
+
     PageResponse<TaskResponse> getAllTasks(int page, int size, String sortBy, String sortDir);
 
+    PageResponse<Map<String, Object>> getTasksProjection(
+            List<String> fields, int page, int size, String sortBy, String sortDir,
+            TaskStatus status, Long projectId, Long technicienId, Long topographeId, Long clientId,
+            LocalDate dueDateFrom, LocalDate dueDateTo, String title
+    );
+
     PageResponse<TaskResponse> getTasksWithFilters(
             int page, int size, String sortBy, String sortDir,
             TaskStatus status, Long projectId, Long technicienId, Long topographeId, Long clientId,
             LocalDate dueDateFrom, LocalDate dueDateTo, String title
     );
 
+    CursorPageResponse<TaskResponse> getTasksWithFiltersCursor(
+            String cursor, int size, String sortBy, String sortDir,
+            TaskStatus status, Long projectId, Long technicienId, Long topographeId, Long clientId,
+            LocalDate dueDateFrom, LocalDate dueDateTo, String title
+    );
+
     PageResponse<TaskResponse> getTasksByProject(
             Long projectId, int page, int size, String sortBy, String sortDir
     );
@@ -47,10 +71,19 @@ public interface TaskService {
     // Gestion des assignations multiples
     TaskResponse assignTask(Long taskId, TaskAssignRequest request);
 
+    List<TaskResponse> assignTasks(TaskBulkAssignRequest request);
+
     TaskResponse unassignTask(Long taskId);
 
     TaskResponse reassignTask(Long taskId, Long newTechnicienId);
 
+    // Affectation automatique selon la charge des techniciens
+    List<TechnicienRecommendationResponse> recommendTechniciens(Long taskId, TaskAutoAssignRequest request);
+
+    TaskResponse autoAssignTask(Long taskId, TaskAutoAssignRequest request);
+
+    List<TaskResponse> autoAssignTasks(TaskAutoAssignRequest request);
+
     // Gestion des statuts
     TaskResponse updateTaskStatus(Long id, TaskStatus status);
 
@@ -83,4 +116,11 @@ public interface TaskService {
     long getTaskCountByTechnicien(Long technicienId);
 
     long getTaskCountByTopographe(Long topographeId);
+
+    // Statistiques du tableau de bord (agrégats journaliers)
+    List<TechnicienWorkloadResponse> getWorkloadByTechnicien(int days);
+
+    CompletionRateResponse getCompletionRate(LocalDate startDate, LocalDate endDate, Long projectId, Long technicienId);
+
+    ProgressSummaryResponse getProgressSummary(int days);
 }
\ No newline at end of file
@@ -8,6 +8,7 @@ import com.topographe.topographe.entity.User;
 import com.topographe.topographe.entity.enumm.SkillLevel;
 
 import java.util.List;
+import java.util.Map;
 
 public interface TechnicienService {
 
@@ -15,6 +16,9 @@ public interface TechnicienService {
 
     PageResponse<TechnicienResponse> getAllTechniciens(int page, int size, String sortBy, String sortDir, User currentUser);
 
+    PageResponse<Map<String, Object>> getTechniciensProjection(
+            List<String> fields, int page, int size, String sortBy, String sortDir, User currentUser);
+
     PageResponse<TechnicienResponse> getTechniciensWithFilters(
             int page, int size, String sortBy, String sortDir,
             SkillLevel skillLevel, String cityName, Boolean isActive,
@@ -0,0 +1,14 @@
+package com.topographe.topographe.service.assignment;
+
+import com.topographe.topographe.entity.enumm.SkillLevel;
+
+import java.util.Set;
+
+/**
+ * Contraintes et préférences d'affectation d'une tâche.
+ * topographeId, minSkillLevel et maxOpenTasks filtrent les candidats ; specialty et cityId
+ * départagent seulement, à charge égale. Les champs null sont ignorés.
+ */
+public record AssignmentCriteria(Long topographeId, SkillLevel minSkillLevel, String specialty,
+                                 Long cityId, Integer maxOpenTasks, Set<Long> excludedTechnicienIds) {
+}
@@ -0,0 +1,8 @@
+package com.topographe.topographe.service.assignment;
+
+/**
+ * Technicien proposé et éléments du classement
+ */
+public record Recommendation(TechnicienProfile technicien, long openTasks, boolean specialtyMatch,
+                             boolean sameCity, boolean sameRegion) {
+}
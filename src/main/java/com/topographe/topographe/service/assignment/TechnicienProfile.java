@@ -0,0 +1,25 @@
+package com.topographe.topographe.service.assignment;
+
+import com.topographe.topographe.entity.enumm.SkillLevel;
+
+import java.util.Set;
+
+/**
+ * Données d'un technicien actif utiles à l'affectation, copiées dans l'index
+ * (spécialités découpées en mots-clés minuscules)
+ */
+public record TechnicienProfile(long id, String name, SkillLevel skillLevel, Set<String> specialties,
+                                Long topographeId, Long cityId, Long regionId) {
+
+    boolean hasSpecialty(String keyword) {
+        if (keyword == null) {
+            return false;
+        }
+        for (String specialty : specialties) {
+            if (specialty.contains(keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
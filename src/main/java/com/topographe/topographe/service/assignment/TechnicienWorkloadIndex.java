@@ -0,0 +1,196 @@
+package com.topographe.topographe.service.assignment;
+
+import com.topographe.topographe.entity.enumm.SkillLevel;
+import com.topographe.topographe.repository.TechnicienRepository;
+import com.topographe.topographe.repository.referentiel.CityRepository;
+import com.topographe.topographe.service.counter.DashboardCounters;
+import com.topographe.topographe.util.AfterCommit;
+import com.topographe.topographe.util.Snapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Index en mémoire des techniciens actifs (niveau, spécialités, ville/région, topographe) pour
+ * l'affectation automatique. La charge de chaque technicien (tâches non terminées) est lue dans
+ * DashboardCounters, tenu à jour à chaque changement de tâche : aucune requête par recommandation.
+ *
+ * Les profils sont rechargés après chaque écriture de TechnicienServiceImpl et périodiquement
+ * pour les modifications faites ailleurs (activation depuis l'administration, SQL manuel).
+ *
+ * Classement des candidats : charge croissante, puis spécialité demandée, même ville, même région,
+ * niveau le plus élevé et enfin id (résultat stable).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TechnicienWorkloadIndex {
+
+    // Ordre de classement décrit plus haut
+    private static final Comparator<Recommendation> RANKING = Comparator
+            .comparingLong(Recommendation::openTasks)
+            .thenComparing(Recommendation::specialtyMatch, Comparator.reverseOrder())
+            .thenComparing(Recommendation::sameCity, Comparator.reverseOrder())
+            .thenComparing(Recommendation::sameRegion, Comparator.reverseOrder())
+            .thenComparing(r -> r.technicien().skillLevel(), Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparingLong(r -> r.technicien().id());
+
+    private final TechnicienRepository technicienRepository;
+    private final CityRepository cityRepository;
+    private final DashboardCounters dashboardCounters;
+
+    private final Snapshot<Profiles> profiles = new Snapshot<>(this::loadProfiles);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        profiles.warmUp();
+    }
+
+    /**
+     * Recharge les profils (deux requêtes) et remplace l'index courant
+     */
+    @Scheduled(initialDelayString = "${app.assignment.refresh-interval-ms:300000}",
+            fixedDelayString = "${app.assignment.refresh-interval-ms:300000}")
+    public void reload() {
+        profiles.reload();
+    }
+
+    public void reloadAfterCommit() {
+        AfterCommit.run(this::reload);
+    }
+
+    private Profiles loadProfiles() {
+        Map<Long, Long> regionByCity = new HashMap<>();
+        for (Object[] row : cityRepository.findRegionIds()) {
+            if (row[1] != null) {
+                regionByCity.put((Long) row[0], (Long) row[1]);
+            }
+        }
+        List<TechnicienProfile> active = technicienRepository.findActiveProfiles().stream()
+                .map(row -> new TechnicienProfile(
+                        (Long) row[0],
+                        row[1] + " " + row[2],
+                        (SkillLevel) row[3],
+                        keywords((String) row[4]),
+                        (Long) row[5],
+                        (Long) row[6],
+                        (Long) row[7]))
+                .toList();
+
+        log.info("Index d'affectation chargé : {} techniciens actifs", active.size());
+        return new Profiles(active, regionByCity);
+    }
+
+    /**
+     * Les count meilleurs techniciens pour une tâche (moins si les filtres en écartent)
+     */
+    public List<Recommendation> recommend(AssignmentCriteria criteria, int count) {
+        return rank(profiles.get(), criteria, count, Map.of());
+    }
+
+    /**
+     * Recommandations pour un lot de tâches, traitées dans l'ordre : chaque technicien retenu compte
+     * une tâche de plus pour les suivantes, ce qui répartit le lot au lieu de tout donner au moins chargé
+     */
+    public List<List<Recommendation>> recommendBatch(List<AssignmentCriteria> tasks, int countPerTask) {
+        Profiles current = profiles.get();
+        Map<Long, Long> pending = new HashMap<>();
+        List<List<Recommendation>> result = new ArrayList<>(tasks.size());
+        for (AssignmentCriteria criteria : tasks) {
+            List<Recommendation> picks = rank(current, criteria, countPerTask, pending);
+            picks.forEach(pick -> pending.merge(pick.technicien().id(), 1L, Long::sum));
+            result.add(picks);
+        }
+        return result;
+    }
+
+    /**
+     * Ids des techniciens actifs ayant moins de maxTasks tâches non terminées, tous ou ceux d'un topographe
+     */
+    public List<Long> findAvailable(int maxTasks, Long topographeId) {
+        Profiles current = profiles.get();
+        TechnicienProfile[] candidates = topographeId != null
+                ? current.byTopographe.getOrDefault(topographeId, new TechnicienProfile[0])
+                : current.all;
+        return Arrays.stream(candidates)
+                .filter(profile -> dashboardCounters.getOpenTaskCountByTechnicien(profile.id()) < maxTasks)
+                .map(TechnicienProfile::id)
+                .toList();
+    }
+
+    private List<Recommendation> rank(Profiles current, AssignmentCriteria criteria, int count, Map<Long, Long> pending) {
+        TechnicienProfile[] candidates = criteria.topographeId() != null
+                ? current.byTopographe.getOrDefault(criteria.topographeId(), new TechnicienProfile[0])
+                : current.all;
+        String specialty = criteria.specialty() != null && !criteria.specialty().isBlank()
+                ? criteria.specialty().trim().toLowerCase(Locale.ROOT)
+                : null;
+        Long regionId = criteria.cityId() != null ? current.regionByCity.get(criteria.cityId()) : null;
+        Set<Long> excluded = criteria.excludedTechnicienIds() != null ? criteria.excludedTechnicienIds() : Set.of();
+
+        List<Recommendation> eligible = new ArrayList<>();
+        for (TechnicienProfile profile : candidates) {
+            if (excluded.contains(profile.id())) {
+                continue;
+            }
+            if (criteria.minSkillLevel() != null
+                    && (profile.skillLevel() == null || profile.skillLevel().compareTo(criteria.minSkillLevel()) < 0)) {
+                continue;
+            }
+            long openTasks = dashboardCounters.getOpenTaskCountByTechnicien(profile.id())
+                    + pending.getOrDefault(profile.id(), 0L);
+            if (criteria.maxOpenTasks() != null && openTasks >= criteria.maxOpenTasks()) {
+                continue;
+            }
+            eligible.add(new Recommendation(profile, openTasks,
+                    profile.hasSpecialty(specialty),
+                    criteria.cityId() != null && criteria.cityId().equals(profile.cityId()),
+                    regionId != null && regionId.equals(profile.regionId())));
+        }
+        eligible.sort(RANKING);
+        return eligible.size() > count ? new ArrayList<>(eligible.subList(0, count)) : eligible;
+    }
+
+    // "Nivellement, GPS / bornage" -> [nivellement, gps, bornage]
+    static Set<String> keywords(String specialties) {
+        if (specialties == null || specialties.isBlank()) {
+            return Set.of();
+        }
+        return Arrays.stream(specialties.toLowerCase(Locale.ROOT).split("[,;/]"))
+                .map(String::trim)
+                .filter(keyword -> !keyword.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Profils immuables, regroupés par topographe pour ne parcourir que ses techniciens
+     */
+    private static final class Profiles {
+        private final TechnicienProfile[] all;
+        private final Map<Long, TechnicienProfile[]> byTopographe;
+        private final Map<Long, Long> regionByCity;
+
+        private Profiles(Collection<TechnicienProfile> profiles, Map<Long, Long> regionByCity) {
+            this.all = profiles.toArray(TechnicienProfile[]::new);
+            this.byTopographe = profiles.stream()
+                    .filter(profile -> profile.topographeId() != null)
+                    .collect(Collectors.groupingBy(TechnicienProfile::topographeId,
+                            Collectors.collectingAndThen(Collectors.toList(), list -> list.toArray(TechnicienProfile[]::new))));
+            this.regionByCity = Map.copyOf(regionByCity);
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.topographe.topographe.service.counter;
+
+import com.topographe.topographe.entity.enumm.ProjectStatus;
+import com.topographe.topographe.entity.enumm.TaskStatus;
+import com.topographe.topographe.repository.ProjectRepository;
+import com.topographe.topographe.repository.TaskRepository;
+import com.topographe.topographe.util.AfterCommit;
+import com.topographe.topographe.util.Snapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compteurs du tableau de bord (tâches par statut, projet, topographe et technicien, tâches non
+ * terminées par technicien ; projets par statut, client et topographe) tenus en mémoire : les
+ * lectures ne touchent plus la base.
+ *
+ * Les écritures de tâches arrivent par TasksChangedEvent, celles de projets par ProjectsChangedEvent ;
+ * les écarts sont appliqués après le commit de la transaction (rien en cas de rollback). Les écritures
+ * qui échappent à ce suivi (SQL manuel, autre instance) sont rattrapées par la réconciliation
+ * périodique, qui recalcule tous les compteurs avec des requêtes groupées.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DashboardCounters {
+
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+
+    private final Snapshot<Counts> counts = new Snapshot<>(this::loadCounts);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        counts.warmUp();
+    }
+
+    /**
+     * Recalcule tous les compteurs depuis la base et remplace les compteurs courants
+     * (voir Snapshot pour les écarts appliqués pendant le recalcul)
+     */
+    @Scheduled(initialDelayString = "${app.counters.reconcile-interval-ms:300000}",
+            fixedDelayString = "${app.counters.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        Counts previous = counts.reload();
+        if (previous != null && !previous.sameValues(counts.get())) {
+            log.warn("Compteurs du tableau de bord corrigés par la réconciliation");
+        }
+    }
+
+    private Counts loadCounts() {
+        Counts fresh = new Counts();
+        load(fresh.tasksByStatus, taskRepository.countByStatusGrouped());
+        load(fresh.tasksByProject, taskRepository.countGroupedByProject());
+        load(fresh.tasksByTopographe, taskRepository.countGroupedByTopographe());
+        load(fresh.tasksByTechnicien, taskRepository.countGroupedByTechnicien());
+        load(fresh.openTasksByTechnicien, taskRepository.getWorkloadByTechnicien());
+        load(fresh.projectsByStatus, projectRepository.countByStatusGrouped());
+        load(fresh.projectsByClient, projectRepository.countGroupedByClient());
+        load(fresh.projectsByTopographe, projectRepository.countGroupedByTopographe());
+        return fresh;
+    }
+
+    // Écarts signalés par les services
+
+    /**
+     * Écritures de tâches (TasksChangedEvent) : toutes les lignes de l'événement sont appliquées
+     * ensemble après le commit
+     */
+    @EventListener
+    public void onTasksChanged(TasksChangedEvent event) {
+        List<TasksChangedEvent.Change> changes = event.changes().stream()
+                .filter(change -> !Objects.equals(change.before(), change.after()))
+                .toList();
+        if (changes.isEmpty()) {
+            return;
+        }
+        AfterCommit.run(() -> counts.update(current -> changes.forEach(change -> {
+            if (change.before() != null) {
+                applyTask(current, change.before(), -1);
+            }
+            if (change.after() != null) {
+                applyTask(current, change.after(), 1);
+            }
+        })));
+    }
+
+    /**
+     * Écritures de projets (ProjectsChangedEvent), appliquées après le commit comme celles des tâches
+     */
+    @EventListener
+    public void onProjectsChanged(ProjectsChangedEvent event) {
+        List<ProjectsChangedEvent.Change> changes = event.changes().stream()
+                .filter(change -> !Objects.equals(change.before(), change.after()))
+                .toList();
+        if (changes.isEmpty()) {
+            return;
+        }
+        AfterCommit.run(() -> counts.update(current -> changes.forEach(change -> {
+            if (change.before() != null) {
+                applyProject(current, change.before(), -1);
+            }
+            if (change.after() != null) {
+                applyProject(current, change.after(), 1);
+            }
+        })));
+    }
+
+    // Lectures O(1)
+
+    public long getTaskCount(TaskStatus status) {
+        return get(counts.get().tasksByStatus, status);
+    }
+
+    public long getTaskCountByProject(Long projectId) {
+        return get(counts.get().tasksByProject, projectId);
+    }
+
+    public long getTaskCountByTopographe(Long topographeId) {
+        return get(counts.get().tasksByTopographe, topographeId);
+    }
+
+    public long getTaskCountByTechnicien(Long technicienId) {
+        return get(counts.get().tasksByTechnicien, technicienId);
+    }
+
+    // Tâches non terminées (TODO, IN_PROGRESS, REVIEW) d'un technicien
+    public long getOpenTaskCountByTechnicien(Long technicienId) {
+        return get(counts.get().openTasksByTechnicien, technicienId);
+    }
+
+    /**
+     * Charge courante de tous les techniciens ayant au moins une tâche non terminée
+     */
+    public Map<Long, Long> getOpenTaskCountsByTechnicien() {
+        return Counts.nonZero(counts.get().openTasksByTechnicien);
+    }
+
+    public long getProjectCount(ProjectStatus status) {
+        return get(counts.get().projectsByStatus, status);
+    }
+
+    public long getProjectCountByClient(Long clientId) {
+        return get(counts.get().projectsByClient, clientId);
+    }
+
+    public long getProjectCountByTopographe(Long topographeId) {
+        return get(counts.get().projectsByTopographe, topographeId);
+    }
+
+    private static void applyTask(Counts current, TaskCounterKey key, long delta) {
+        add(current.tasksByStatus, key.status(), delta);
+        add(current.tasksByProject, key.projectId(), delta);
+        add(current.tasksByTopographe, key.topographeId(), delta);
+        key.technicienIds().forEach(id -> add(current.tasksByTechnicien, id, delta));
+        if (key.status() != TaskStatus.COMPLETED) {
+            key.technicienIds().forEach(id -> add(current.openTasksByTechnicien, id, delta));
+        }
+    }
+
+    private static void applyProject(Counts current, ProjectCounterKey key, long delta) {
+        add(current.projectsByStatus, key.status(), delta);
+        add(current.projectsByClient, key.clientId(), delta);
+        add(current.projectsByTopographe, key.topographeId(), delta);
+    }
+
+    private static <K> void add(Map<K, AtomicLong> counters, K key, long delta) {
+        if (key != null) {
+            counters.computeIfAbsent(key, k -> new AtomicLong()).addAndGet(delta);
+        }
+    }
+
+    private static <K> long get(Map<K, AtomicLong> counters, K key) {
+        AtomicLong value = key != null ? counters.get(key) : null;
+        return value != null ? value.get() : 0L;
+    }
+
+    // Lignes [clé, COUNT] des requêtes groupées
+    @SuppressWarnings("unchecked")
+    private static <K> void load(Map<K, AtomicLong> counters, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            if (row[0] != null) {
+                counters.put((K) row[0], new AtomicLong(((Number) row[1]).longValue()));
+            }
+        }
+    }
+
+    private static final class Counts {
+        private final Map<TaskStatus, AtomicLong> tasksByStatus = new ConcurrentHashMap<>();
+        private final Map<Long, AtomicLong> tasksByProject = new ConcurrentHashMap<>();
+        private final Map<Long, AtomicLong> tasksByTopographe = new ConcurrentHashMap<>();
+        private final Map<Long, AtomicLong> tasksByTechnicien = new ConcurrentHashMap<>();
+        private final Map<Long, AtomicLong> openTasksByTechnicien = new ConcurrentHashMap<>();
+        private final Map<ProjectStatus, AtomicLong> projectsByStatus = new ConcurrentHashMap<>();
+        private final Map<Long, AtomicLong> projectsByClient = new ConcurrentHashMap<>();
+        private final Map<Long, AtomicLong> projectsByTopographe = new ConcurrentHashMap<>();
+
+        private List<Map<?, AtomicLong>> all() {
+            return List.of(tasksByStatus, tasksByProject, tasksByTopographe, tasksByTechnicien, openTasksByTechnicien,
+                    projectsByStatus, projectsByClient, projectsByTopographe);
+        }
+
+        // Compare les valeurs (les compteurs à 0 équivalent à une clé absente)
+        private boolean sameValues(Counts other) {
+            List<Map<?, AtomicLong>> mine = all();
+            List<Map<?, AtomicLong>> theirs = other.all();
+            for (int i = 0; i < mine.size(); i++) {
+                if (!nonZero(mine.get(i)).equals(nonZero(theirs.get(i)))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static <K> Map<K, Long> nonZero(Map<K, AtomicLong> counters) {
+            Map<K, Long> values = new HashMap<>();
+            counters.forEach((key, value) -> {
+                if (value.get() != 0) {
+                    values.put(key, value.get());
+                }
+            });
+            return values;
+        }
+    }
+}
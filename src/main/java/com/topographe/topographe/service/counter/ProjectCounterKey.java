@@ -0,0 +1,17 @@
+package com.topographe.topographe.service.counter;
+
+import com.topographe.topographe.entity.Project;
+import com.topographe.topographe.entity.enumm.ProjectStatus;
+
+/**
+ * Dimensions comptées pour un projet, relevées avant et après une modification
+ */
+public record ProjectCounterKey(ProjectStatus status, Long clientId, Long topographeId) {
+
+    public static ProjectCounterKey of(Project project) {
+        return new ProjectCounterKey(
+                project.getStatus(),
+                project.getClient() != null ? project.getClient().getId() : null,
+                project.getTopographe() != null ? project.getTopographe().getId() : null);
+    }
+}
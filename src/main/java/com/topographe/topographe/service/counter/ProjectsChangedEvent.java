@@ -0,0 +1,35 @@
+package com.topographe.topographe.service.counter;
+
+import com.topographe.topographe.entity.Project;
+
+import java.util.List;
+
+/**
+ * Publié par ProjectServiceImpl dans la transaction de chaque écriture de projet, comme TasksChangedEvent
+ * pour les tâches. DashboardCounters et DeadlineIndex l'écoutent et n'appliquent l'écart qu'après le commit.
+ */
+public record ProjectsChangedEvent(List<Change> changes) {
+
+    /**
+     * Dimensions avant et après l'écriture : before est null pour une création, after pour une suppression.
+     * project donne l'id, le statut et la date de fin.
+     */
+    public record Change(ProjectCounterKey before, ProjectCounterKey after, Project project) {
+
+        public boolean deleted() {
+            return after == null;
+        }
+    }
+
+    public static ProjectsChangedEvent created(Project project) {
+        return new ProjectsChangedEvent(List.of(new Change(null, ProjectCounterKey.of(project), project)));
+    }
+
+    public static ProjectsChangedEvent changed(ProjectCounterKey before, Project project) {
+        return new ProjectsChangedEvent(List.of(new Change(before, ProjectCounterKey.of(project), project)));
+    }
+
+    public static ProjectsChangedEvent deleted(Project project) {
+        return new ProjectsChangedEvent(List.of(new Change(ProjectCounterKey.of(project), null, project)));
+    }
+}
@@ -0,0 +1,25 @@
+package com.topographe.topographe.service.counter;
+
+import com.topographe.topographe.entity.Task;
+import com.topographe.topographe.entity.Technicien;
+import com.topographe.topographe.entity.enumm.TaskStatus;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Dimensions comptées pour une tâche, relevées avant et après une modification
+ */
+public record TaskCounterKey(TaskStatus status, Long projectId, Long topographeId, Set<Long> technicienIds) {
+
+    public static TaskCounterKey of(Task task) {
+        Long projectId = task.getProject() != null ? task.getProject().getId() : null;
+        Long topographeId = task.getProject() != null && task.getProject().getTopographe() != null
+                ? task.getProject().getTopographe().getId()
+                : null;
+        Set<Long> technicienIds = task.getAssignedTechniciens().stream()
+                .map(Technicien::getId)
+                .collect(Collectors.toUnmodifiableSet());
+        return new TaskCounterKey(task.getStatus(), projectId, topographeId, technicienIds);
+    }
+}
@@ -0,0 +1,44 @@
+package com.topographe.topographe.service.counter;
+
+import com.topographe.topographe.entity.Task;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Publié par TaskServiceImpl dans la transaction de chaque écriture de tâches, unitaire ou en lot.
+ * DashboardCounters, DeadlineIndex et TaskRollups l'écoutent pour tenir à jour compteurs,
+ * échéances et agrégats journaliers ; un lot n'émet qu'un événement.
+ */
+public record TasksChangedEvent(List<Change> changes) {
+
+    /**
+     * Dimensions avant et après l'écriture : before est null pour une création, after pour une suppression.
+     * task donne l'id, les dates et le statut ; ses techniciens peuvent être périmés après une écriture
+     * ensembliste, seuls ceux des clés font foi.
+     */
+    public record Change(TaskCounterKey before, TaskCounterKey after, Task task) {
+
+        public boolean created() {
+            return before == null;
+        }
+
+        public boolean deleted() {
+            return after == null;
+        }
+    }
+
+    public static TasksChangedEvent created(Collection<Task> tasks) {
+        return new TasksChangedEvent(tasks.stream()
+                .map(task -> new Change(null, TaskCounterKey.of(task), task))
+                .toList());
+    }
+
+    public static TasksChangedEvent changed(TaskCounterKey before, Task task) {
+        return new TasksChangedEvent(List.of(new Change(before, TaskCounterKey.of(task), task)));
+    }
+
+    public static TasksChangedEvent deleted(Task task) {
+        return new TasksChangedEvent(List.of(new Change(TaskCounterKey.of(task), null, task)));
+    }
+}
@@ -0,0 +1,15 @@
+package com.topographe.topographe.service.deadline;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Publié par DeadlineIndex quand des tâches ou projets franchissent un seuil le jour indiqué :
+ * OVERDUE (échéance dépassée depuis ce jour) ou DUE_SOON (échéance entrée dans la fenêtre
+ * app.deadlines.due-soon-days). Seuls les ids sont transmis ; les écouteurs chargent ce dont ils ont besoin
+ * (DeadlineEmailListener : avis aux topographes).
+ */
+public record DeadlineEvent(Kind kind, LocalDate date, List<Long> taskIds, List<Long> projectIds) {
+
+    public enum Kind { OVERDUE, DUE_SOON }
+}
@@ -0,0 +1,237 @@
+package com.topographe.topographe.service.deadline;
+
+import com.topographe.topographe.entity.Project;
+import com.topographe.topographe.entity.Task;
+import com.topographe.topographe.entity.enumm.ProjectStatus;
+import com.topographe.topographe.entity.enumm.TaskStatus;
+import com.topographe.topographe.repository.ProjectRepository;
+import com.topographe.topographe.repository.TaskRepository;
+import com.topographe.topographe.service.counter.ProjectsChangedEvent;
+import com.topographe.topographe.service.counter.TasksChangedEvent;
+import com.topographe.topographe.util.AfterCommit;
+import com.topographe.topographe.util.Snapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Échéances des tâches non terminées et des projets ouverts, rangées par jour en mémoire.
+ *
+ * Les listes "en retard" et "bientôt dues" sont lues dans l'index au lieu de parcourir les tables.
+ * Chaque tick compare la date du jour à celle du dernier passage et ne traite que les jours
+ * franchis depuis : les éléments dont l'échéance vient d'être dépassée ou d'entrer dans la
+ * fenêtre due-soon-days sont publiés dans un DeadlineEvent.
+ *
+ * Les écritures de tâches arrivent par TasksChangedEvent, celles de projets par ProjectsChangedEvent ;
+ * elles sont appliquées après le commit. Un rechargement complet quotidien rattrape les
+ * modifications faites ailleurs.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DeadlineIndex {
+
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.deadlines.due-soon-days:3}")
+    private int dueSoonDays;
+
+    private final Snapshot<Deadlines> deadlines = new Snapshot<>(this::loadDeadlines);
+    // Dernier jour traité par advance() ; fixé au premier chargement, conservé par les rechargements
+    private volatile LocalDate sweptDate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        deadlines.warmUp();
+    }
+
+    /**
+     * Recharge les échéances (deux requêtes). Les retards existants ne sont pas republiés :
+     * le prochain tick ne traite que les jours postérieurs au rechargement. Les changements de
+     * tâches ou de projets arrivés pendant le rechargement ne sont pas écrasés (voir Snapshot).
+     */
+    @Scheduled(cron = "${app.deadlines.reload-cron:0 30 3 * * *}")
+    public void reload() {
+        deadlines.reload();
+    }
+
+    private Deadlines loadDeadlines() {
+        Buckets freshTasks = new Buckets();
+        taskRepository.findOpenDueDates().forEach(row -> freshTasks.put((Long) row[0], (LocalDate) row[1]));
+        Buckets freshProjects = new Buckets();
+        projectRepository.findOpenEndDates().forEach(row -> freshProjects.put((Long) row[0], (LocalDate) row[1]));
+
+        if (sweptDate == null) {
+            sweptDate = LocalDate.now();
+        }
+        log.info("Index des échéances chargé : {} tâches, {} projets", freshTasks.size(), freshProjects.size());
+        return new Deadlines(freshTasks, freshProjects);
+    }
+
+    @Scheduled(initialDelayString = "${app.deadlines.tick-interval-ms:60000}",
+            fixedDelayString = "${app.deadlines.tick-interval-ms:60000}")
+    public void tick() {
+        advance(LocalDate.now());
+    }
+
+    /**
+     * Publie les franchissements de seuil de chaque jour écoulé depuis le dernier passage
+     */
+    void advance(LocalDate today) {
+        List<DeadlineEvent> crossed = new ArrayList<>();
+        synchronized (this) {
+            Deadlines current = deadlines.get();
+            while (sweptDate.isBefore(today)) {
+                LocalDate day = sweptDate.plusDays(1);
+                // En retard à partir du lendemain de l'échéance
+                collect(crossed, DeadlineEvent.Kind.OVERDUE, day,
+                        current.tasks().on(day.minusDays(1)), current.projects().on(day.minusDays(1)));
+                collect(crossed, DeadlineEvent.Kind.DUE_SOON, day,
+                        current.tasks().on(day.plusDays(dueSoonDays)), current.projects().on(day.plusDays(dueSoonDays)));
+                sweptDate = day;
+            }
+        }
+        // Publiés hors du moniteur : les écouteurs (emails) chargent leurs entités sans bloquer les lectures
+        for (DeadlineEvent event : crossed) {
+            log.info("Échéances {} le {} : {} tâches, {} projets",
+                    event.kind(), event.date(), event.taskIds().size(), event.projectIds().size());
+            eventPublisher.publishEvent(event);
+        }
+    }
+
+    // Écritures signalées par les services
+
+    // Échéance retenue par tâche de l'événement (null : tâche retirée de l'index), appliquée après le commit
+    @EventListener
+    public void onTasksChanged(TasksChangedEvent event) {
+        Map<Long, LocalDate> dueDates = new HashMap<>();
+        for (TasksChangedEvent.Change change : event.changes()) {
+            Task task = change.task();
+            boolean open = !change.deleted() && task.getStatus() != TaskStatus.COMPLETED;
+            dueDates.put(task.getId(), open ? task.getDueDate() : null);
+        }
+        AfterCommit.run(() -> deadlines.update(current -> dueDates.forEach((id, dueDate) -> update(current.tasks(), id, dueDate))));
+    }
+
+    // Date de fin retenue par projet de l'événement (null : projet terminé, annulé ou supprimé)
+    @EventListener
+    public void onProjectsChanged(ProjectsChangedEvent event) {
+        Map<Long, LocalDate> endDates = new HashMap<>();
+        for (ProjectsChangedEvent.Change change : event.changes()) {
+            Project project = change.project();
+            boolean open = !change.deleted()
+                    && project.getStatus() != ProjectStatus.COMPLETED && project.getStatus() != ProjectStatus.CANCELLED;
+            endDates.put(project.getId(), open ? project.getEndDate() : null);
+        }
+        AfterCommit.run(() -> deadlines.update(current -> endDates.forEach((id, endDate) -> update(current.projects(), id, endDate))));
+    }
+
+    // Lectures : ids triés par échéance puis par id
+
+    public synchronized List<Long> getOverdueTaskIds(LocalDate today) {
+        return deadlines.get().tasks().before(today);
+    }
+
+    public synchronized long getOverdueTaskCount(LocalDate today) {
+        return deadlines.get().tasks().countBefore(today);
+    }
+
+    public synchronized List<Long> getTaskIdsDueBetween(LocalDate from, LocalDate to) {
+        return deadlines.get().tasks().between(from, to);
+    }
+
+    public synchronized List<Long> getOverdueProjectIds(LocalDate today) {
+        return deadlines.get().projects().before(today);
+    }
+
+    public synchronized List<Long> getProjectIdsEndingBetween(LocalDate from, LocalDate to) {
+        return deadlines.get().projects().between(from, to);
+    }
+
+    // Buckets n'est pas thread-safe : écarts et lectures passent par le moniteur de l'index
+    private synchronized void update(Buckets buckets, Long id, LocalDate date) {
+        buckets.remove(id);
+        if (date != null) {
+            buckets.put(id, date);
+        }
+    }
+
+    private static void collect(List<DeadlineEvent> crossed, DeadlineEvent.Kind kind, LocalDate day,
+                                List<Long> taskIds, List<Long> projectIds) {
+        if (!taskIds.isEmpty() || !projectIds.isEmpty()) {
+            crossed.add(new DeadlineEvent(kind, day, taskIds, projectIds));
+        }
+    }
+
+    private record Deadlines(Buckets tasks, Buckets projects) {
+    }
+
+    /**
+     * Ids rangés par jour d'échéance, avec l'échéance de chaque id pour les mises à jour
+     */
+    private static final class Buckets {
+        private final NavigableMap<LocalDate, Set<Long>> byDate = new TreeMap<>();
+        private final Map<Long, LocalDate> dateById = new HashMap<>();
+
+        private void put(Long id, LocalDate date) {
+            dateById.put(id, date);
+            byDate.computeIfAbsent(date, d -> new TreeSet<>()).add(id);
+        }
+
+        private void remove(Long id) {
+            LocalDate date = dateById.remove(id);
+            if (date != null) {
+                Set<Long> ids = byDate.get(date);
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    byDate.remove(date);
+                }
+            }
+        }
+
+        private List<Long> on(LocalDate date) {
+            Set<Long> ids = byDate.get(date);
+            return ids != null ? List.copyOf(ids) : List.of();
+        }
+
+        private List<Long> before(LocalDate date) {
+            return flatten(byDate.headMap(date, false).values());
+        }
+
+        private long countBefore(LocalDate date) {
+            return byDate.headMap(date, false).values().stream().mapToLong(Set::size).sum();
+        }
+
+        private List<Long> between(LocalDate from, LocalDate to) {
+            return from.isAfter(to) ? List.of() : flatten(byDate.subMap(from, true, to, true).values());
+        }
+
+        private int size() {
+            return dateById.size();
+        }
+
+        private static List<Long> flatten(Collection<Set<Long>> buckets) {
+            List<Long> ids = new ArrayList<>();
+            buckets.forEach(ids::addAll);
+            return ids;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.topographe.topographe.service.export;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Formats d'export en flux : une ligne par enregistrement, sans enveloppe ApiResponse
+ */
+public enum ExportFormat {
+
+    CSV("csv", MediaType.parseMediaType("text/csv;charset=UTF-8")),
+    NDJSON("ndjson", MediaType.parseMediaType("application/x-ndjson"));
+
+    private final String extension;
+    private final MediaType mediaType;
+
+    ExportFormat(String extension, MediaType mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public static ExportFormat of(String value) {
+        for (ExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Format d'export non supporté : " + value + " (csv ou ndjson)");
+    }
+}
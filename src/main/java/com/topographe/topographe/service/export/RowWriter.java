@@ -0,0 +1,130 @@
+package com.topographe.topographe.service.export;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Écrit les lignes d'un export directement dans le flux de la réponse, sans les accumuler.
+ * Les valeurs sont écrites dans l'ordre des colonnes ; null donne un champ vide (CSV) ou null (NDJSON).
+ */
+public abstract class RowWriter implements AutoCloseable {
+
+    protected final List<String> columns;
+
+    protected RowWriter(List<String> columns) {
+        this.columns = columns;
+    }
+
+    public static RowWriter open(ExportFormat format, List<String> columns, OutputStream out,
+                                 ObjectMapper objectMapper) throws IOException {
+        return format == ExportFormat.CSV
+                ? new Csv(columns, out)
+                : new Ndjson(columns, out, objectMapper);
+    }
+
+    public abstract void write(Object... values) throws IOException;
+
+    @Override
+    public abstract void close() throws IOException;
+
+    /**
+     * CSV RFC 4180 : en-tête, séparateur virgule, champs entre guillemets si nécessaire ;
+     * les textes pouvant être pris pour une formule sont neutralisés
+     */
+    private static final class Csv extends RowWriter {
+        private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+        private final Writer writer;
+
+        private Csv(List<String> columns, OutputStream out) throws IOException {
+            super(columns);
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writeLine(columns.toArray());
+        }
+
+        @Override
+        public void write(Object... values) throws IOException {
+            writeLine(values);
+        }
+
+        private void writeLine(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                if (values[i] instanceof Number) {
+                    writer.write(values[i].toString());
+                } else if (values[i] != null) {
+                    writer.write(escape(neutralize(values[i].toString())));
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        // Texte commençant comme une formule (=, +, -, @, tabulation, retour chariot) : préfixé d'une apostrophe
+        // pour qu'un tableur l'affiche au lieu de l'évaluer (injection CSV)
+        private static String neutralize(String value) {
+            if (!value.isEmpty() && FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0) {
+                return "'" + value;
+            }
+            return value;
+        }
+
+        private static String escape(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+    }
+
+    /**
+     * Un objet JSON par ligne ; les dates sont écrites au format ISO par l'ObjectMapper de l'application
+     */
+    private static final class Ndjson extends RowWriter {
+        private final JsonGenerator generator;
+        private boolean empty = true;
+
+        private Ndjson(List<String> columns, OutputStream out, ObjectMapper objectMapper) throws IOException {
+            super(columns);
+            this.generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+            // Le flux de la réponse est fermé par le conteneur, pas par le générateur
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(new SerializedString("\n"));
+        }
+
+        @Override
+        public void write(Object... values) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < values.length; i++) {
+                generator.writeFieldName(columns.get(i));
+                generator.writeObject(values[i]);
+            }
+            generator.writeEndObject();
+            empty = false;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!empty) {
+                generator.writeRaw('\n');
+            }
+            generator.close();
+        }
+    }
+}
@@ -9,8 +9,8 @@ import com.topographe.topographe.exception.ResourceNotFoundException;
 import com.topographe.topographe.exception.DuplicateResourceException;
 import com.topographe.topographe.mapper.AdminMapper;
 import com.topographe.topographe.repository.AdminRepository;
-import com.topographe.topographe.repository.referentiel.CityRepository;
 import com.topographe.topographe.service.AdminService;
+import com.topographe.topographe.service.referentiel.CityService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -28,7 +28,7 @@ import java.util.stream.Collectors;
 public class AdminServiceImpl implements AdminService {
 
     private final AdminRepository adminRepository;
-    private final CityRepository cityRepository;
+    private final CityService cityService;
     private final AdminMapper adminMapper;
     private final PasswordEncoder passwordEncoder;
 
@@ -39,7 +39,7 @@ public class AdminServiceImpl implements AdminService {
         validateUniqueFields(request);
 
         // Récupérer la ville
-        City city = cityRepository.findById(request.getCityId())
+        City city = cityService.findCityReference(request.getCityId())
                 .orElseThrow(() -> new ResourceNotFoundException("Ville non trouvée avec l'ID: " + request.getCityId()));
 
         // Encoder le mot de passe
@@ -15,39 +15,47 @@ import com.topographe.topographe.exception.ResourceNotFoundException;
 import com.topographe.topographe.mapper.ClientMapper;
 import com.topographe.topographe.repository.ClientRepository;
 import com.topographe.topographe.repository.ProjectRepository;
-import com.topographe.topographe.repository.referentiel.CityRepository;
 import com.topographe.topographe.repository.TopographeRepository;
 import com.topographe.topographe.service.ClientService;
-import com.topographe.topographe.service.EmailService;
+import com.topographe.topographe.service.mail.ClientCreatedEvent;
+import com.topographe.topographe.service.projection.FieldCatalogs;
+import com.topographe.topographe.service.projection.ProjectionQuery;
+import com.topographe.topographe.service.referentiel.CityService;
 import com.topographe.topographe.util.PasswordGenerator;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "topodash.service", histogram = true)
 @Slf4j
 public class ClientServiceImpl implements ClientService {
 
     private final ClientRepository clientRepository;
     private final TopographeRepository topographeRepository;
-    private final CityRepository cityRepository;
+    private final CityService cityService;
     private final ProjectRepository projectRepository;
     private final ClientMapper clientMapper;
     private final PasswordEncoder passwordEncoder;
     private final PasswordGenerator passwordGenerator;
-    private final EmailService emailService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProjectionQuery projectionQuery;
 
     @Value("${app.mail.admin:admin@topographe.com}")
     private String adminEmail;
@@ -82,7 +90,7 @@ public class ClientServiceImpl implements ClientService {
         }
 
         // Récupérer la ville
-        City city = cityRepository.findById(request.getCityId())
+        City city = cityService.findCityReference(request.getCityId())
                 .orElseThrow(() -> new ResourceNotFoundException("Ville non trouvée avec l'ID: " + request.getCityId()));
 
         // Valider le nom d'entreprise pour les types COMPANY et GOVERNMENT
@@ -114,7 +122,7 @@ public class ClientServiceImpl implements ClientService {
 
         // Envoyer l'email de bienvenue de manière asynchrone
         try {
-            sendWelcomeEmailAsync(savedClient, plainPassword, createdBy);
+            eventPublisher.publishEvent(new ClientCreatedEvent(savedClient, plainPassword, createdBy));
             log.info("Email de bienvenue programmé pour le client: {}", savedClient.getEmail());
         } catch (Exception e) {
             log.error("Erreur lors de la programmation de l'email de bienvenue pour le client: {}", savedClient.getEmail(), e);
@@ -124,40 +132,6 @@ public class ClientServiceImpl implements ClientService {
         return response;
     }
 
-    /**
-     * Envoie l'email de bienvenue de manière asynchrone
-     */
-    private void sendWelcomeEmailAsync(Client client, String password, Topographe topographe) {
-        // Utiliser un thread séparé pour éviter de bloquer la transaction
-        new Thread(() -> {
-            try {
-                // Attendre un peu pour s'assurer que la transaction est commitée
-                Thread.sleep(1000);
-
-                // Essayer d'abord l'email HTML avec template
-                try {
-                    emailService.sendWelcomeEmailToClient(client, password, topographe);
-                    log.info("Email HTML de bienvenue envoyé avec succès au client: {}", client.getEmail());
-                } catch (Exception e) {
-                    log.warn("Échec de l'email HTML, tentative avec email simple pour le client: {}", client.getEmail());
-                    // Fallback vers email simple si le template échoue
-                    emailService.sendSimpleWelcomeEmailToClient(client, password, topographe);
-                    log.info("Email simple de bienvenue envoyé avec succès au client: {}", client.getEmail());
-                }
-
-                // Envoyer notification au topographe responsable
-                try {
-                    emailService.sendClientCreationNotificationToTopographe(client, topographe);
-                } catch (Exception e) {
-                    log.warn("Échec de l'envoi de la notification au topographe pour le client: {}", client.getEmail(), e);
-                }
-
-            } catch (Exception e) {
-                log.error("Erreur complète lors de l'envoi des emails pour le client: {}", client.getEmail(), e);
-            }
-        }).start();
-    }
-
     @Override
     public PageResponse<ClientResponse> getAllClients(int page, int size, String sortBy, String sortDir, User currentUser) {
         Sort sort = sortDir.equalsIgnoreCase("desc") ?
@@ -180,6 +154,27 @@ public class ClientServiceImpl implements ClientService {
         return buildPageResponseWithStats(clientPage);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<Map<String, Object>> getClientsProjection(
+            List<String> fields, int page, int size, String sortBy, String sortDir, User currentUser) {
+        Sort sort = sortDir.equalsIgnoreCase("desc") ?
+                Sort.by(sortBy).descending() :
+                Sort.by(sortBy).ascending();
+
+        // Même périmètre que getAllClients : tous pour l'admin, les siens pour le topographe
+        Specification<Client> scope;
+        if (currentUser.getRole() == Role.ADMIN) {
+            scope = (root, query, cb) -> null;
+        } else if (currentUser.getRole() == Role.TOPOGRAPHE) {
+            scope = (root, query, cb) -> cb.equal(root.get("createdBy").get("id"), currentUser.getId());
+        } else {
+            throw new IllegalArgumentException("Accès non autorisé");
+        }
+
+        return projectionQuery.findPage(FieldCatalogs.CLIENTS, fields, scope, PageRequest.of(page, size, sort));
+    }
+
     // Corrections à apporter dans ClientServiceImpl.java pour la méthode getClientsWithFilters
 
     @Override
@@ -313,7 +308,7 @@ public class ClientServiceImpl implements ClientService {
         validateUniqueFieldsForUpdate(request, id);
 
         // Récupérer la ville
-        City city = cityRepository.findById(request.getCityId())
+        City city = cityService.findCityReference(request.getCityId())
                 .orElseThrow(() -> new ResourceNotFoundException("Ville non trouvée avec l'ID: " + request.getCityId()));
 
         // Valider le nom d'entreprise
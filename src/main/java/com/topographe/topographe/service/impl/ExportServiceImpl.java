@@ -0,0 +1,147 @@
+package com.topographe.topographe.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.topographe.topographe.entity.Client;
+import com.topographe.topographe.entity.Project;
+import com.topographe.topographe.entity.Task;
+import com.topographe.topographe.entity.Topographe;
+import com.topographe.topographe.entity.enumm.ProjectStatus;
+import com.topographe.topographe.entity.enumm.TaskStatus;
+import com.topographe.topographe.repository.specification.ProjectSpecifications;
+import com.topographe.topographe.repository.specification.TaskSpecifications;
+import com.topographe.topographe.service.ExportService;
+import com.topographe.topographe.service.export.ExportFormat;
+import com.topographe.topographe.service.export.RowWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Export en flux : les lignes sont lues par un curseur JDBC en avant seulement (fetch size
+ * app.export.fetch-size) et écrites aussitôt dans la réponse. Seules des colonnes scalaires
+ * sont sélectionnées, aucune entité n'entre dans le contexte de persistance : la mémoire
+ * utilisée ne dépend pas du nombre de lignes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExportServiceImpl implements ExportService {
+
+    private static final List<String> TASK_COLUMNS = List.of(
+            "id", "title", "status", "dueDate", "createdAt", "completedAt", "progressPercentage",
+            "projectId", "projectName", "clientId", "clientName", "topographeId", "topographeName",
+            "assignedTechniciensCount");
+
+    private static final List<String> PROJECT_COLUMNS = List.of(
+            "id", "name", "status", "startDate", "endDate", "createdAt",
+            "clientId", "clientName", "topographeId", "topographeName", "totalTasks");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.export.fetch-size:500}")
+    private int fetchSize;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportTasks(ExportFormat format, OutputStream out,
+                            TaskStatus status, Long projectId, Long technicienId, Long topographeId, Long clientId,
+                            LocalDate dueDateFrom, LocalDate dueDateTo, String title) throws IOException {
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Task> task = query.from(Task.class);
+        Join<Task, Project> project = task.join("project");
+        Join<Project, Client> client = project.join("client");
+        Join<Project, Topographe> topographe = project.join("topographe");
+
+        query.multiselect(
+                task.get("id"), task.get("title"), task.get("status"), task.get("dueDate"),
+                task.get("createdAt"), task.get("completedAt"), task.get("progressPercentage"),
+                project.get("id"), project.get("name"),
+                client.get("id"), client.get("firstName"), client.get("lastName"),
+                topographe.get("id"), topographe.get("firstName"), topographe.get("lastName"),
+                cb.size(task.get("assignedTechniciens")))
+                // Même prédicat que la recherche paginée (getTasksWithFilters)
+                .where(TaskSpecifications.withFilters(status, projectId, technicienId, topographeId, clientId,
+                        dueDateFrom, dueDateTo, title).toPredicate(task, query, cb))
+                .orderBy(cb.asc(task.get("id")));
+
+        long rows = 0;
+        try (Stream<Object[]> stream = stream(query);
+             RowWriter writer = RowWriter.open(format, TASK_COLUMNS, out, objectMapper)) {
+            for (Iterator<Object[]> it = stream.iterator(); it.hasNext(); rows++) {
+                Object[] r = it.next();
+                writer.write(r[0], r[1], r[2], r[3], r[4], r[5], r[6], r[7], r[8],
+                        r[9], fullName(r[10], r[11]), r[12], fullName(r[13], r[14]), r[15]);
+            }
+        }
+        log.info("Export {} des tâches : {} lignes", format, rows);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportProjects(ExportFormat format, OutputStream out,
+                               ProjectStatus status, Long clientId, Long topographeId,
+                               LocalDate startDate, LocalDate endDate, String name) throws IOException {
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Project> project = query.from(Project.class);
+        Join<Project, Client> client = project.join("client");
+        Join<Project, Topographe> topographe = project.join("topographe");
+
+        query.multiselect(
+                project.get("id"), project.get("name"), project.get("status"),
+                project.get("startDate"), project.get("endDate"), project.get("createdAt"),
+                client.get("id"), client.get("firstName"), client.get("lastName"),
+                topographe.get("id"), topographe.get("firstName"), topographe.get("lastName"),
+                cb.size(project.get("tasks")))
+                // Même prédicat que la recherche paginée (getProjectsWithFilters)
+                .where(ProjectSpecifications.withFilters(status, clientId, topographeId, startDate, endDate, name)
+                        .toPredicate(project, query, cb))
+                .orderBy(cb.asc(project.get("id")));
+
+        long rows = 0;
+        try (Stream<Object[]> stream = stream(query);
+             RowWriter writer = RowWriter.open(format, PROJECT_COLUMNS, out, objectMapper)) {
+            for (Iterator<Object[]> it = stream.iterator(); it.hasNext(); rows++) {
+                Object[] r = it.next();
+                writer.write(r[0], r[1], r[2], r[3], r[4], r[5],
+                        r[6], fullName(r[7], r[8]), r[9], fullName(r[10], r[11]), r[12]);
+            }
+        }
+        log.info("Export {} des projets : {} lignes", format, rows);
+    }
+
+    // Curseur en avant seulement, lu par paquets de fetchSize lignes
+    private Stream<Object[]> stream(CriteriaQuery<Object[]> criteria) {
+        TypedQuery<Object[]> query = entityManager.createQuery(criteria);
+        query.setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize);
+        query.setHint(HibernateHints.HINT_READ_ONLY, true);
+        return query.getResultStream();
+    }
+
+    private static String fullName(Object firstName, Object lastName) {
+        return firstName + " " + lastName;
+    }
+}
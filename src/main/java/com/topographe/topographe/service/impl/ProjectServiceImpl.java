@@ -1,7 +1,9 @@
 package com.topographe.topographe.service.impl;
 
+import com.topographe.topographe.dto.projection.ProjectTaskStats;
 import com.topographe.topographe.dto.request.ProjectCreateRequest;
 import com.topographe.topographe.dto.request.ProjectUpdateRequest;
+import com.topographe.topographe.dto.response.CursorPageResponse;
 import com.topographe.topographe.dto.response.PageResponse;
 import com.topographe.topographe.dto.response.ProjectResponse;
 import com.topographe.topographe.entity.Client;
@@ -13,27 +15,56 @@ import com.topographe.topographe.mapper.ProjectMapper;
 import com.topographe.topographe.repository.ClientRepository;
 import com.topographe.topographe.repository.ProjectRepository;
 import com.topographe.topographe.repository.TopographeRepository;
+import com.topographe.topographe.repository.specification.ProjectSpecifications;
 import com.topographe.topographe.service.ProjectService;
+import com.topographe.topographe.service.counter.DashboardCounters;
+import com.topographe.topographe.service.counter.ProjectCounterKey;
+import com.topographe.topographe.service.counter.ProjectsChangedEvent;
+import com.topographe.topographe.service.deadline.DeadlineIndex;
+import com.topographe.topographe.service.projection.FieldCatalogs;
+import com.topographe.topographe.service.projection.ProjectionQuery;
+import com.topographe.topographe.util.KeysetCursor;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "topodash.service", histogram = true)
 public class ProjectServiceImpl implements ProjectService {
 
     private final ProjectRepository projectRepository;
     private final ClientRepository clientRepository;
     private final TopographeRepository topographeRepository;
     private final ProjectMapper projectMapper;
+    private final DashboardCounters dashboardCounters;
+    private final DeadlineIndex deadlineIndex;
+    private final ProjectionQuery projectionQuery;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Clés de tri autorisées en pagination par curseur (colonnes non nulles) et leur type
+    private static final Map<String, Class<?>> CURSOR_SORT_KEYS = Map.of(
+            "id", Long.class,
+            "name", String.class,
+            "createdAt", LocalDateTime.class
+    );
 
     @Override
     @Transactional
@@ -62,11 +93,13 @@ public class ProjectServiceImpl implements ProjectService {
         // Créer le projet
         Project project = projectMapper.toEntity(request, client, topographe);
         Project savedProject = projectRepository.save(project);
+        eventPublisher.publishEvent(ProjectsChangedEvent.created(savedProject));
 
         return projectMapper.toResponse(savedProject);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PageResponse<ProjectResponse> getAllProjects(int page, int size, String sortBy, String sortDir) {
         Sort sort = sortDir.equalsIgnoreCase("desc") ?
                 Sort.by(sortBy).descending() :
@@ -79,6 +112,24 @@ public class ProjectServiceImpl implements ProjectService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public PageResponse<Map<String, Object>> getProjectsProjection(
+            List<String> fields, int page, int size, String sortBy, String sortDir,
+            ProjectStatus status, Long clientId, Long topographeId,
+            LocalDate startDate, LocalDate endDate, String name) {
+
+        Sort sort = sortDir.equalsIgnoreCase("desc") ?
+                Sort.by(sortBy).descending() :
+                Sort.by(sortBy).ascending();
+
+        // Mêmes filtres que getProjectsWithFilters, sans statistiques de tâches ni champs calculés
+        return projectionQuery.findPage(FieldCatalogs.PROJECTS, fields,
+                ProjectSpecifications.withFilters(status, clientId, topographeId, startDate, endDate, name),
+                PageRequest.of(page, size, sort));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public PageResponse<ProjectResponse> getProjectsWithFilters(
             int page, int size, String sortBy, String sortDir,
             ProjectStatus status, Long clientId, Long topographeId,
@@ -89,13 +140,46 @@ public class ProjectServiceImpl implements ProjectService {
                 Sort.by(sortBy).ascending();
 
         Pageable pageable = PageRequest.of(page, size, sort);
-        Page<Project> projectPage = projectRepository.findWithFilters(
-                status, clientId, topographeId, startDate, endDate, name, pageable);
+        // Seuls les filtres renseignés sont ajoutés à la requête (plans et index adaptés à chaque combinaison)
+        Page<Project> projectPage = projectRepository.findAll(
+                ProjectSpecifications.withFilters(status, clientId, topographeId, startDate, endDate, name)
+                        .and(ProjectSpecifications.fetchParties()),
+                pageable);
 
         return buildPageResponse(projectPage);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ProjectResponse> getProjectsWithFiltersCursor(
+            String cursor, int size, String sortBy, String sortDir,
+            ProjectStatus status, Long clientId, Long topographeId,
+            LocalDate startDate, LocalDate endDate, String name) {
+
+        KeysetCursor.checkSize(size);
+        KeysetCursor.checkSortable(sortBy, CURSOR_SORT_KEYS);
+        Sort.Direction direction = sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+        KeysetScrollPosition position = KeysetCursor.decode(cursor, sortBy, direction, CURSOR_SORT_KEYS);
+
+        // Pas de requête COUNT : on lit size + 1 lignes à partir de la dernière clé vue
+        Window<Project> window = projectRepository.findBy(
+                ProjectSpecifications.withFilters(status, clientId, topographeId, startDate, endDate, name)
+                        .and(ProjectSpecifications.fetchParties()),
+                query -> query.sortBy(KeysetCursor.sort(sortBy, direction))
+                        .limit(size)
+                        .scroll(position));
+
+        List<ProjectResponse> content = toResponses(window.getContent());
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            KeysetScrollPosition last = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+            nextCursor = KeysetCursor.encode(sortBy, direction, last.getKeys());
+        }
+        return new CursorPageResponse<>(content, content.size(), nextCursor, nextCursor != null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public PageResponse<ProjectResponse> getProjectsByClient(
             Long clientId, int page, int size, String sortBy, String sortDir) {
 
@@ -115,6 +199,7 @@ public class ProjectServiceImpl implements ProjectService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PageResponse<ProjectResponse> getProjectsByTopographe(
             Long topographeId, int page, int size, String sortBy, String sortDir) {
 
@@ -134,6 +219,7 @@ public class ProjectServiceImpl implements ProjectService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ProjectResponse getProjectById(Long id) {
         Project project = findProjectById(id);
         return projectMapper.toResponse(project);
@@ -143,6 +229,7 @@ public class ProjectServiceImpl implements ProjectService {
     @Transactional
     public ProjectResponse updateProject(Long id, ProjectUpdateRequest request) {
         Project project = findProjectById(id);
+        ProjectCounterKey before = ProjectCounterKey.of(project);
 
         // Valider les dates
         validateProjectDates(request.getStartDate(), request.getEndDate());
@@ -153,6 +240,7 @@ public class ProjectServiceImpl implements ProjectService {
         // Mettre à jour les champs
         projectMapper.updateEntity(project, request);
         Project updatedProject = projectRepository.save(project);
+        eventPublisher.publishEvent(ProjectsChangedEvent.changed(before, updatedProject));
 
         return projectMapper.toResponse(updatedProject);
     }
@@ -172,6 +260,7 @@ public class ProjectServiceImpl implements ProjectService {
             throw new IllegalStateException("Seuls les projets en statut PLANNING ou CANCELLED peuvent être supprimés");
         }
 
+        eventPublisher.publishEvent(ProjectsChangedEvent.deleted(project));
         projectRepository.delete(project);
     }
 
@@ -179,12 +268,14 @@ public class ProjectServiceImpl implements ProjectService {
     @Transactional
     public ProjectResponse updateProjectStatus(Long id, ProjectStatus status) {
         Project project = findProjectById(id);
+        ProjectCounterKey before = ProjectCounterKey.of(project);
 
         // Vérifier la transition de statut
         validateStatusTransition(project.getStatus(), status);
 
         project.setStatus(status);
         Project updatedProject = projectRepository.save(project);
+        eventPublisher.publishEvent(ProjectsChangedEvent.changed(before, updatedProject));
 
         return projectMapper.toResponse(updatedProject);
     }
@@ -224,52 +315,52 @@ public class ProjectServiceImpl implements ProjectService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ProjectResponse> getOverdueProjects() {
-        List<Project> overdueProjects = projectRepository.findOverdueProjects(LocalDate.now());
-        return overdueProjects.stream()
-                .map(projectMapper::toResponse)
-                .collect(Collectors.toList());
+        // Ids lus dans l'index des échéances, puis chargement par clé primaire
+        List<Project> overdueProjects = findInOrder(deadlineIndex.getOverdueProjectIds(LocalDate.now()));
+        return toResponses(overdueProjects);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ProjectResponse> getProjectsEndingSoon(int days) {
         LocalDate startDate = LocalDate.now();
         LocalDate endDate = startDate.plusDays(days);
-        List<Project> projectsEndingSoon = projectRepository.findProjectsEndingSoon(startDate, endDate);
-        return projectsEndingSoon.stream()
-                .map(projectMapper::toResponse)
-                .collect(Collectors.toList());
+        List<Project> projectsEndingSoon = findInOrder(deadlineIndex.getProjectIdsEndingBetween(startDate, endDate));
+        return toResponses(projectsEndingSoon);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ProjectResponse> getActiveProjects() {
         List<Project> activeProjects = projectRepository.findActiveProjects();
-        return activeProjects.stream()
-                .map(projectMapper::toResponse)
-                .collect(Collectors.toList());
+        return toResponses(activeProjects);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ProjectResponse> getProjectsByPeriod(LocalDate startDate, LocalDate endDate) {
         List<Project> projects = projectRepository.findProjectsByPeriod(startDate, endDate);
-        return projects.stream()
-                .map(projectMapper::toResponse)
-                .collect(Collectors.toList());
+        return toResponses(projects);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public long getTotalProjectsByStatus(ProjectStatus status) {
-        return projectRepository.countByStatus(status);
+        return dashboardCounters.getProjectCount(status);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public long getProjectCountByClient(Long clientId) {
-        return projectRepository.countByClientId(clientId);
+        return dashboardCounters.getProjectCountByClient(clientId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public long getProjectCountByTopographe(Long topographeId) {
-        return projectRepository.countByTopographeId(topographeId);
+        return dashboardCounters.getProjectCountByTopographe(topographeId);
     }
 
     // Méthodes utilitaires
@@ -280,10 +371,7 @@ public class ProjectServiceImpl implements ProjectService {
     }
 
     private PageResponse<ProjectResponse> buildPageResponse(Page<Project> projectPage) {
-        List<ProjectResponse> projectResponses = projectPage.getContent()
-                .stream()
-                .map(projectMapper::toResponse)
-                .collect(Collectors.toList());
+        List<ProjectResponse> projectResponses = toResponses(projectPage.getContent());
 
         return new PageResponse<>(
                 projectResponses,
@@ -298,6 +386,46 @@ public class ProjectServiceImpl implements ProjectService {
         );
     }
 
+    // Projets dans l'ordre des ids donnés (ordre d'échéance de l'index)
+    private List<Project> findInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Project> byId = projectRepository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(Project::getId, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    /**
+     * Convertit une liste de projets en réponses avec deux requêtes groupées
+     * (statistiques des tâches + techniciens) au lieu de charger les tâches de chaque projet
+     */
+    private List<ProjectResponse> toResponses(List<Project> projects) {
+        Map<Long, ProjectTaskStats> statsByProject = loadTaskStats(projects);
+        return projects.stream()
+                .map(project -> projectMapper.toResponse(project, statsByProject.get(project.getId())))
+                .collect(Collectors.toList());
+    }
+
+    private Map<Long, ProjectTaskStats> loadTaskStats(List<Project> projects) {
+        Map<Long, ProjectTaskStats> statsByProject = new HashMap<>();
+        if (projects.isEmpty()) {
+            return statsByProject;
+        }
+
+        List<Long> projectIds = projects.stream().map(Project::getId).collect(Collectors.toList());
+        projectIds.forEach(id -> statsByProject.put(id, ProjectTaskStats.empty(id)));
+        projectRepository.findTaskStatsByProjectIds(projectIds)
+                .forEach(stats -> statsByProject.put(stats.getProjectId(), stats));
+
+        // Noms des techniciens : une ligne par couple (projet, technicien)
+        for (Object[] row : projectRepository.findTechnicienNamesByProjectIds(projectIds)) {
+            ProjectTaskStats stats = statsByProject.get((Long) row[0]);
+            stats.getAssignedTechniciensNames().add(row[2] + " " + row[3]);
+        }
+        return statsByProject;
+    }
+
     private void validateProjectDates(LocalDate startDate, LocalDate endDate) {
         if (endDate != null && startDate != null && endDate.isBefore(startDate)) {
             throw new IllegalArgumentException("La date de fin ne peut pas être antérieure à la date de début");
@@ -0,0 +1,110 @@
+package com.topographe.topographe.service.impl;
+
+import com.topographe.topographe.dto.response.PageResponse;
+import com.topographe.topographe.dto.response.SearchResultResponse;
+import com.topographe.topographe.repository.ProjectRepository;
+import com.topographe.topographe.repository.TaskRepository;
+import com.topographe.topographe.service.SearchService;
+import com.topographe.topographe.util.FullTextQuery;
+import com.topographe.topographe.util.SearchHighlight;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class SearchServiceImpl implements SearchService {
+
+    // Profondeur maximale parcourue (page + 1) * size : au-delà, les résultats ne sont plus pertinents
+    private static final int MAX_WINDOW = 1000;
+
+    private static final Comparator<SearchResultResponse> BY_RANK =
+            Comparator.comparingDouble(SearchResultResponse::getRank).reversed();
+
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+
+    @Override
+    public PageResponse<SearchResultResponse> search(String text, SearchResultResponse.Type type, int page, int size) {
+        if (page < 0 || size < 1) {
+            throw new IllegalArgumentException("Pagination invalide: page >= 0 et size >= 1 attendus");
+        }
+        if ((long) (page + 1) * size > MAX_WINDOW) {
+            throw new IllegalArgumentException("La recherche est limitée aux " + MAX_WINDOW + " premiers résultats");
+        }
+
+        String query = FullTextQuery.toPrefixQuery(text);
+        if (query == null) {
+            throw new IllegalArgumentException("Le texte recherché doit contenir au moins un mot de 2 caractères");
+        }
+
+        boolean withTasks = type == null || type == SearchResultResponse.Type.TASK;
+        boolean withProjects = type == null || type == SearchResultResponse.Type.PROJECT;
+        long offset = (long) page * size;
+
+        List<SearchResultResponse> content;
+        if (withTasks && withProjects) {
+            // Les deux listes sont triées par rang : on lit le début de chacune puis on fusionne
+            int window = (page + 1) * size;
+            List<SearchResultResponse> merged = new ArrayList<>(searchTasks(query, window, 0));
+            merged.addAll(searchProjects(query, window, 0));
+            merged.sort(BY_RANK);
+            content = merged.subList((int) Math.min(offset, merged.size()), Math.min(window, merged.size()));
+        } else if (withTasks) {
+            content = searchTasks(query, size, offset);
+        } else {
+            content = searchProjects(query, size, offset);
+        }
+
+        long totalElements = (withTasks ? taskRepository.countFullText(query) : 0)
+                + (withProjects ? projectRepository.countFullText(query) : 0);
+        int totalPages = (int) ((totalElements + size - 1) / size);
+
+        return new PageResponse<>(
+                new ArrayList<>(content),
+                page,
+                size,
+                totalElements,
+                totalPages,
+                page == 0,
+                page >= totalPages - 1,
+                page < totalPages - 1,
+                page > 0
+        );
+    }
+
+    private List<SearchResultResponse> searchTasks(String query, int limit, long offset) {
+        return taskRepository.searchFullText(query, limit, offset).stream()
+                .map(row -> new SearchResultResponse(
+                        SearchResultResponse.Type.TASK,
+                        ((Number) row[0]).longValue(),
+                        (String) row[1],
+                        (String) row[2],
+                        ((Number) row[5]).doubleValue(),
+                        SearchHighlight.toSafeHtml((String) row[6]),
+                        SearchHighlight.toSafeHtml((String) row[7]),
+                        ((Number) row[3]).longValue(),
+                        (String) row[4]))
+                .toList();
+    }
+
+    private List<SearchResultResponse> searchProjects(String query, int limit, long offset) {
+        return projectRepository.searchFullText(query, limit, offset).stream()
+                .map(row -> new SearchResultResponse(
+                        SearchResultResponse.Type.PROJECT,
+                        ((Number) row[0]).longValue(),
+                        (String) row[1],
+                        (String) row[2],
+                        ((Number) row[3]).doubleValue(),
+                        SearchHighlight.toSafeHtml((String) row[4]),
+                        SearchHighlight.toSafeHtml((String) row[5]),
+                        null,
+                        null))
+                .toList();
+    }
+}
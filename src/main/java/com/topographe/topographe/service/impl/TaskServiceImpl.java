@@ -1,38 +1,73 @@
 package com.topographe.topographe.service.impl;
 
 import com.topographe.topographe.dto.request.TaskAssignRequest;
+import com.topographe.topographe.dto.request.TaskAutoAssignRequest;
+import com.topographe.topographe.dto.request.TaskBulkAssignRequest;
+import com.topographe.topographe.dto.request.TaskBulkCreateRequest;
 import com.topographe.topographe.dto.request.TaskCreateRequest;
 import com.topographe.topographe.dto.request.TaskUpdateRequest;
+import com.topographe.topographe.dto.response.CompletionRateResponse;
+import com.topographe.topographe.dto.response.CursorPageResponse;
 import com.topographe.topographe.dto.response.PageResponse;
+import com.topographe.topographe.dto.response.ProgressSummaryResponse;
+import com.topographe.topographe.dto.response.TaskBulkCreateResponse;
 import com.topographe.topographe.dto.response.TaskResponse;
+import com.topographe.topographe.dto.response.TechnicienRecommendationResponse;
+import com.topographe.topographe.dto.response.TechnicienWorkloadResponse;
 import com.topographe.topographe.entity.Project;
 import com.topographe.topographe.entity.Task;
 import com.topographe.topographe.entity.Technicien;
+import com.topographe.topographe.entity.enumm.RollupDimension;
 import com.topographe.topographe.entity.enumm.TaskStatus;
 import com.topographe.topographe.exception.ResourceNotFoundException;
 import com.topographe.topographe.mapper.TaskMapper;
 import com.topographe.topographe.repository.ProjectRepository;
+import com.topographe.topographe.repository.TaskDailyStatRepository;
 import com.topographe.topographe.repository.TaskRepository;
 import com.topographe.topographe.repository.TechnicienRepository;
+import com.topographe.topographe.repository.specification.TaskSpecifications;
 import com.topographe.topographe.service.TaskService;
+import com.topographe.topographe.service.assignment.AssignmentCriteria;
+import com.topographe.topographe.service.assignment.Recommendation;
+import com.topographe.topographe.service.assignment.TechnicienProfile;
+import com.topographe.topographe.service.assignment.TechnicienWorkloadIndex;
+import com.topographe.topographe.service.counter.DashboardCounters;
+import com.topographe.topographe.service.counter.TaskCounterKey;
+import com.topographe.topographe.service.counter.TasksChangedEvent;
+import com.topographe.topographe.service.deadline.DeadlineIndex;
+import com.topographe.topographe.service.projection.FieldCatalogs;
+import com.topographe.topographe.service.projection.ProjectionQuery;
+import com.topographe.topographe.service.rollup.TaskRollups;
+import com.topographe.topographe.util.KeysetCursor;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "topodash.service", histogram = true)
 @Slf4j
 public class TaskServiceImpl implements TaskService {
 
@@ -40,6 +75,28 @@ public class TaskServiceImpl implements TaskService {
     private final ProjectRepository projectRepository;
     private final TechnicienRepository technicienRepository;
     private final TaskMapper taskMapper;
+    private final DashboardCounters dashboardCounters;
+    private final TaskDailyStatRepository taskDailyStatRepository;
+    private final TechnicienWorkloadIndex workloadIndex;
+    private final DeadlineIndex deadlineIndex;
+    private final ProjectionQuery projectionQuery;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Nombre maximal de tâches par création en masse
+    private static final int MAX_BULK_TASKS = 1000;
+
+    // Techniciens proposés ou assignés au plus par tâche en affectation automatique
+    private static final int MAX_TECHNICIENS_PER_TASK = 10;
+
+    // Période maximale des statistiques d'activité (en jours)
+    private static final int MAX_STATS_DAYS = 366;
+
+    // Clés de tri autorisées en pagination par curseur (colonnes non nulles) et leur type
+    private static final Map<String, Class<?>> CURSOR_SORT_KEYS = Map.of(
+            "id", Long.class,
+            "title", String.class,
+            "createdAt", LocalDateTime.class
+    );
 
     @Override
     @Transactional
@@ -51,43 +108,84 @@ public class TaskServiceImpl implements TaskService {
                 .orElseThrow(() -> new ResourceNotFoundException("Projet non trouvé avec l'ID: " + request.getProjectId()));
 
         // Vérifier que le projet est actif
-        if (project.getStatus() == com.topographe.topographe.entity.enumm.ProjectStatus.COMPLETED ||
-                project.getStatus() == com.topographe.topographe.entity.enumm.ProjectStatus.CANCELLED) {
-            throw new IllegalStateException("Impossible de créer une tâche dans un projet terminé ou annulé");
-        }
+        checkProjectOpen(project);
 
-        // Récupérer les techniciens assignés
-        Set<Technicien> assignedTechniciens = new HashSet<>();
-        if (request.getAssignedTechnicienIds() != null && !request.getAssignedTechnicienIds().isEmpty()) {
-            assignedTechniciens = request.getAssignedTechnicienIds().stream()
-                    .map(id -> technicienRepository.findById(id)
-                            .orElseThrow(() -> new ResourceNotFoundException("Technicien non trouvé avec l'ID: " + id)))
-                    .collect(Collectors.toSet());
-
-            // Vérifier que tous les techniciens sont actifs
-            for (Technicien technicien : assignedTechniciens) {
-                if (!technicien.getIsActive()) {
-                    throw new IllegalStateException("Le technicien " + technicien.getFirstName() + " " +
-                            technicien.getLastName() + " doit être actif pour être assigné à une tâche");
-                }
-            }
-        }
+        // Récupérer les techniciens assignés (une seule requête) et vérifier qu'ils sont actifs
+        Set<Technicien> assignedTechniciens = loadActiveTechniciens(request.getAssignedTechnicienIds());
 
         // Valider la date d'échéance
-        if (request.getDueDate() != null && project.getEndDate() != null &&
-                request.getDueDate().isAfter(project.getEndDate())) {
-            throw new IllegalArgumentException("La date d'échéance de la tâche ne peut pas dépasser la date de fin du projet");
-        }
+        checkDueDate(request.getDueDate(), project);
 
         // Créer la tâche
         Task task = taskMapper.toEntity(request, project, assignedTechniciens);
         Task savedTask = taskRepository.save(task);
+        eventPublisher.publishEvent(TasksChangedEvent.created(List.of(savedTask)));
 
         log.info("Task created successfully: {} (ID: {})", savedTask.getTitle(), savedTask.getId());
         return taskMapper.toResponse(savedTask);
     }
 
     @Override
+    @Transactional
+    public TaskBulkCreateResponse createTasks(TaskBulkCreateRequest request) {
+        List<TaskCreateRequest> items = request.getTasks();
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Au moins une tâche doit être fournie");
+        }
+        if (items.size() > MAX_BULK_TASKS) {
+            throw new IllegalArgumentException("Au plus " + MAX_BULK_TASKS + " tâches peuvent être créées en une fois");
+        }
+        log.info("Creating {} tasks in bulk", items.size());
+
+        // Projets et techniciens chargés une seule fois pour tout le lot (2 requêtes)
+        Map<Long, Project> projects = projectRepository.findByIdIn(items.stream()
+                        .filter(Objects::nonNull)
+                        .map(TaskCreateRequest::getProjectId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Project::getId, Function.identity()));
+        Map<Long, Technicien> techniciens = technicienRepository.findAllById(items.stream()
+                        .filter(item -> item != null && item.getAssignedTechnicienIds() != null)
+                        .flatMap(item -> item.getAssignedTechnicienIds().stream())
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Technicien::getId, Function.identity()));
+
+        TaskBulkCreateResponse response = new TaskBulkCreateResponse();
+        response.setRequested(items.size());
+
+        // Validation en mémoire : une tâche invalide est rejetée sans bloquer les autres
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            TaskCreateRequest item = items.get(i);
+            if (item == null) {
+                response.getErrors().add(new TaskBulkCreateResponse.ItemError(i, null, "Tâche absente (élément null)"));
+                continue;
+            }
+            try {
+                tasks.add(toValidatedTask(item, projects, techniciens));
+            } catch (ResourceNotFoundException | IllegalArgumentException | IllegalStateException e) {
+                response.getErrors().add(new TaskBulkCreateResponse.ItemError(i, item.getTitle(), e.getMessage()));
+            }
+        }
+
+        // Ids pris dans la séquence par blocs : les INSERT (tasks et task_technicien) partent en batch JDBC au flush
+        taskRepository.saveAll(tasks);
+        taskRepository.flush();
+        eventPublisher.publishEvent(TasksChangedEvent.created(tasks));
+
+        tasks.forEach(task -> response.getTasks().add(taskMapper.toResponse(task)));
+        response.setCreated(tasks.size());
+        response.setFailed(response.getErrors().size());
+
+        log.info("Bulk task creation: {} created, {} rejected", response.getCreated(), response.getFailed());
+        return response;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public PageResponse<TaskResponse> getAllTasks(int page, int size, String sortBy, String sortDir) {
         Sort sort = sortDir.equalsIgnoreCase("desc") ?
                 Sort.by(sortBy).descending() :
@@ -100,6 +198,25 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public PageResponse<Map<String, Object>> getTasksProjection(
+            List<String> fields, int page, int size, String sortBy, String sortDir,
+            TaskStatus status, Long projectId, Long technicienId, Long topographeId, Long clientId,
+            LocalDate dueDateFrom, LocalDate dueDateTo, String title) {
+
+        Sort sort = sortDir.equalsIgnoreCase("desc") ?
+                Sort.by(sortBy).descending() :
+                Sort.by(sortBy).ascending();
+
+        // Mêmes filtres que getTasksWithFilters, sans chargement des entités ni champs calculés
+        return projectionQuery.findPage(FieldCatalogs.TASKS, fields,
+                TaskSpecifications.withFilters(status, projectId, technicienId, topographeId, clientId,
+                        dueDateFrom, dueDateTo, title),
+                PageRequest.of(page, size, sort));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public PageResponse<TaskResponse> getTasksWithFilters(
             int page, int size, String sortBy, String sortDir,
             TaskStatus status, Long projectId, Long technicienId, Long topographeId, Long clientId,
@@ -110,14 +227,46 @@ public class TaskServiceImpl implements TaskService {
                 Sort.by(sortBy).ascending();
 
         Pageable pageable = PageRequest.of(page, size, sort);
-        Page<Task> taskPage = taskRepository.findWithFilters(
-                status, projectId, technicienId, topographeId, clientId,
-                dueDateFrom, dueDateTo, title, pageable);
+        // Seuls les filtres renseignés sont ajoutés à la requête (plans et index adaptés à chaque combinaison)
+        Page<Task> taskPage = taskRepository.findAll(
+                TaskSpecifications.withFilters(status, projectId, technicienId, topographeId, clientId,
+                        dueDateFrom, dueDateTo, title).and(TaskSpecifications.fetchProject()),
+                pageable);
 
         return buildPageResponse(taskPage);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<TaskResponse> getTasksWithFiltersCursor(
+            String cursor, int size, String sortBy, String sortDir,
+            TaskStatus status, Long projectId, Long technicienId, Long topographeId, Long clientId,
+            LocalDate dueDateFrom, LocalDate dueDateTo, String title) {
+
+        KeysetCursor.checkSize(size);
+        KeysetCursor.checkSortable(sortBy, CURSOR_SORT_KEYS);
+        Sort.Direction direction = sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+        KeysetScrollPosition position = KeysetCursor.decode(cursor, sortBy, direction, CURSOR_SORT_KEYS);
+
+        // Pas de requête COUNT : on lit size + 1 lignes à partir de la dernière clé vue
+        Window<Task> window = taskRepository.findBy(
+                TaskSpecifications.withFilters(status, projectId, technicienId, topographeId, clientId,
+                        dueDateFrom, dueDateTo, title).and(TaskSpecifications.fetchProject()),
+                query -> query.sortBy(KeysetCursor.sort(sortBy, direction))
+                        .limit(size)
+                        .scroll(position));
+
+        List<TaskResponse> content = toResponses(window.getContent());
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            KeysetScrollPosition last = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+            nextCursor = KeysetCursor.encode(sortBy, direction, last.getKeys());
+        }
+        return new CursorPageResponse<>(content, content.size(), nextCursor, nextCursor != null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public PageResponse<TaskResponse> getTasksByProject(
             Long projectId, int page, int size, String sortBy, String sortDir) {
 
@@ -136,6 +285,7 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PageResponse<TaskResponse> getTasksByTechnicien(
             Long technicienId, int page, int size, String sortBy, String sortDir) {
 
@@ -154,6 +304,7 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PageResponse<TaskResponse> getTasksByTopographe(
             Long topographeId, int page, int size, String sortBy, String sortDir) {
 
@@ -168,6 +319,7 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PageResponse<TaskResponse> getTasksByClient(
             Long clientId, int page, int size, String sortBy, String sortDir) {
 
@@ -191,28 +343,15 @@ public class TaskServiceImpl implements TaskService {
     @Transactional
     public TaskResponse updateTask(Long id, TaskUpdateRequest request) {
         Task task = findTaskById(id);
+        TaskCounterKey before = TaskCounterKey.of(task);
 
         // Vérifier que la tâche n'est pas terminée
         if (task.getStatus() == TaskStatus.COMPLETED) {
             throw new IllegalStateException("Impossible de modifier une tâche terminée");
         }
 
-        // Récupérer les techniciens assignés
-        Set<Technicien> assignedTechniciens = new HashSet<>();
-        if (request.getAssignedTechnicienIds() != null) {
-            assignedTechniciens = request.getAssignedTechnicienIds().stream()
-                    .map(techId -> technicienRepository.findById(techId)
-                            .orElseThrow(() -> new ResourceNotFoundException("Technicien non trouvé avec l'ID: " + techId)))
-                    .collect(Collectors.toSet());
-
-            // Vérifier que tous les techniciens sont actifs
-            for (Technicien technicien : assignedTechniciens) {
-                if (!technicien.getIsActive()) {
-                    throw new IllegalStateException("Le technicien " + technicien.getFirstName() + " " +
-                            technicien.getLastName() + " doit être actif pour être assigné à une tâche");
-                }
-            }
-        }
+        // Récupérer les techniciens assignés (une seule requête) et vérifier qu'ils sont actifs
+        Set<Technicien> assignedTechniciens = loadActiveTechniciens(request.getAssignedTechnicienIds());
 
         // Valider la transition de statut
         if (request.getStatus() != null) {
@@ -239,6 +378,7 @@ public class TaskServiceImpl implements TaskService {
         Task updatedTask = taskRepository.save(task);
         log.info("Task updated successfully: {} (ID: {})", updatedTask.getTitle(), updatedTask.getId());
 
+        taskChanged(before, updatedTask);
         return taskMapper.toResponse(updatedTask);
     }
 
@@ -252,6 +392,7 @@ public class TaskServiceImpl implements TaskService {
             throw new IllegalStateException("Seules les tâches en statut TODO peuvent être supprimées");
         }
 
+        eventPublisher.publishEvent(TasksChangedEvent.deleted(task));
         taskRepository.delete(task);
         log.info("Task deleted: {} (ID: {})", task.getTitle(), id);
     }
@@ -260,24 +401,14 @@ public class TaskServiceImpl implements TaskService {
     @Transactional
     public TaskResponse assignTask(Long taskId, TaskAssignRequest request) {
         Task task = findTaskById(taskId);
+        TaskCounterKey before = TaskCounterKey.of(task);
 
         // Vérifier que la tâche n'est pas terminée
         if (task.getStatus() == TaskStatus.COMPLETED) {
             throw new IllegalStateException("Impossible d'assigner une tâche terminée");
         }
 
-        Set<Technicien> techniciens = request.getTechnicienIds().stream()
-                .map(id -> technicienRepository.findById(id)
-                        .orElseThrow(() -> new ResourceNotFoundException("Technicien non trouvé avec l'ID: " + id)))
-                .collect(Collectors.toSet());
-
-        // Vérifier que tous les techniciens sont actifs
-        for (Technicien technicien : techniciens) {
-            if (!technicien.getIsActive()) {
-                throw new IllegalStateException("Le technicien " + technicien.getFirstName() + " " +
-                        technicien.getLastName() + " doit être actif pour être assigné à une tâche");
-            }
-        }
+        Set<Technicien> techniciens = loadActiveTechniciens(request.getTechnicienIds());
 
         if (request.isReplaceExisting()) {
             // Remplacer toutes les assignations existantes
@@ -292,13 +423,58 @@ public class TaskServiceImpl implements TaskService {
         log.info("Task assigned successfully: {} techniciens assigned to task {}",
                 techniciens.size(), updatedTask.getTitle());
 
+        taskChanged(before, updatedTask);
         return taskMapper.toResponse(updatedTask);
     }
 
+    @Override
+    @Transactional
+    public List<TaskResponse> assignTasks(TaskBulkAssignRequest request) {
+        Set<Long> taskIds = checkBulkTaskIds(request.getTaskIds());
+        // Remplacer par une équipe vide reviendrait à désassigner en masse, sans les contrôles de statut
+        // de unassignTask (tâches en cours) : refusé
+        if (request.isReplaceExisting()
+                && (request.getTechnicienIds() == null || request.getTechnicienIds().isEmpty())) {
+            throw new IllegalArgumentException("Au moins un technicien est requis pour remplacer l'équipe des tâches");
+        }
+
+        // Vérifier les tâches (existence, statut) en une requête, avec leur projet et leurs techniciens actuels
+        List<Task> tasks = taskRepository.fetchForAssignment(taskIds);
+        checkAssignable(taskIds, tasks);
+
+        Set<Technicien> techniciens = loadActiveTechniciens(request.getTechnicienIds());
+        Set<Long> technicienIds = techniciens.stream().map(Technicien::getId).collect(Collectors.toSet());
+
+        // Techniciens avant et après l'écriture, déduits des liens actuels et de la cible : les écritures
+        // ensemblistes ne mettent pas à jour les entités chargées
+        List<TasksChangedEvent.Change> changes = new ArrayList<>();
+        for (Task task : tasks) {
+            TaskCounterKey before = TaskCounterKey.of(task);
+            Set<Long> target = new HashSet<>(technicienIds);
+            if (!request.isReplaceExisting()) {
+                target.addAll(before.technicienIds());
+            }
+            TaskCounterKey after = new TaskCounterKey(before.status(), before.projectId(), before.topographeId(),
+                    Set.copyOf(target));
+            changes.add(new TasksChangedEvent.Change(before, after, task));
+        }
+
+        // Écriture ensembliste dans task_technicien : un DELETE et un INSERT ... SELECT pour tout le lot
+        int removed = request.isReplaceExisting() ? taskRepository.deleteAssignments(taskIds) : 0;
+        int added = technicienIds.isEmpty() ? 0 : taskRepository.insertMissingAssignments(taskIds, technicienIds);
+        eventPublisher.publishEvent(new TasksChangedEvent(changes));
+        log.info("Bulk assignment: {} techniciens on {} tasks ({} links added, {} removed)",
+                technicienIds.size(), taskIds.size(), added, removed);
+
+        // Les requêtes natives ont vidé le contexte de persistance : relire les tâches à jour
+        return toResponses(taskRepository.findByIdIn(taskIds));
+    }
+
     @Override
     @Transactional
     public TaskResponse unassignTask(Long taskId) {
         Task task = findTaskById(taskId);
+        TaskCounterKey before = TaskCounterKey.of(task);
 
         // Vérifier que la tâche n'est pas en cours ou terminée
         if (task.getStatus() == TaskStatus.IN_PROGRESS || task.getStatus() == TaskStatus.COMPLETED) {
@@ -315,6 +491,7 @@ public class TaskServiceImpl implements TaskService {
         Task updatedTask = taskRepository.save(task);
         log.info("Task unassigned: {}", updatedTask.getTitle());
 
+        taskChanged(before, updatedTask);
         return taskMapper.toResponse(updatedTask);
     }
 
@@ -322,6 +499,7 @@ public class TaskServiceImpl implements TaskService {
     @Transactional
     public TaskResponse reassignTask(Long taskId, Long newTechnicienId) {
         Task task = findTaskById(taskId);
+        TaskCounterKey before = TaskCounterKey.of(task);
 
         Technicien newTechnicien = technicienRepository.findById(newTechnicienId)
                 .orElseThrow(() -> new ResourceNotFoundException("Technicien non trouvé avec l'ID: " + newTechnicienId));
@@ -338,13 +516,98 @@ public class TaskServiceImpl implements TaskService {
         log.info("Task reassigned: {} reassigned to {}", updatedTask.getTitle(),
                 newTechnicien.getFirstName() + " " + newTechnicien.getLastName());
 
+        taskChanged(before, updatedTask);
         return taskMapper.toResponse(updatedTask);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<TechnicienRecommendationResponse> recommendTechniciens(Long taskId, TaskAutoAssignRequest request) {
+        checkTechniciensPerTask(request.getTechniciensPerTask());
+        Task task = findTaskById(taskId);
+        return workloadIndex.recommend(criteriaFor(task, request), request.getTechniciensPerTask()).stream()
+                .map(TaskServiceImpl::toRecommendationResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public TaskResponse autoAssignTask(Long taskId, TaskAutoAssignRequest request) {
+        checkTechniciensPerTask(request.getTechniciensPerTask());
+        Task task = findTaskById(taskId);
+        if (task.getStatus() == TaskStatus.COMPLETED) {
+            throw new IllegalStateException("Impossible d'assigner une tâche terminée");
+        }
+
+        List<Recommendation> picks = workloadIndex.recommend(criteriaFor(task, request), request.getTechniciensPerTask());
+        if (picks.isEmpty()) {
+            throw new IllegalStateException("Aucun technicien disponible pour la tâche: " + task.getTitle());
+        }
+
+        TaskAssignRequest assignRequest = new TaskAssignRequest();
+        assignRequest.setTechnicienIds(picks.stream().map(pick -> pick.technicien().id()).collect(Collectors.toSet()));
+        return assignTask(taskId, assignRequest);
+    }
+
+    @Override
+    @Transactional
+    public List<TaskResponse> autoAssignTasks(TaskAutoAssignRequest request) {
+        checkTechniciensPerTask(request.getTechniciensPerTask());
+        Set<Long> taskIds = checkBulkTaskIds(request.getTaskIds());
+
+        // Tâches avec projet, client et topographe, puis leurs techniciens actuels (2 requêtes)
+        List<Task> tasks = new ArrayList<>(taskRepository.findByIdIn(taskIds));
+        checkAssignable(taskIds, tasks);
+        taskRepository.fetchAssignedTechniciens(taskIds);
+
+        // Les échéances les plus proches sont servies en premier, par les techniciens les moins chargés
+        tasks.sort(Comparator.comparing(Task::getDueDate, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(Task::getId));
+        List<AssignmentCriteria> criteria = tasks.stream().map(task -> criteriaFor(task, request)).toList();
+        List<List<Recommendation>> picks = workloadIndex.recommendBatch(criteria, request.getTechniciensPerTask());
+
+        // Techniciens retenus chargés en une requête ; les liens task_technicien partent en batch au flush
+        Map<Long, Technicien> techniciens = loadActivePicks(picks);
+        if (techniciens.size() < pickedIds(picks).size()) {
+            // Index en retard sur la base (technicien supprimé ou désactivé depuis le dernier chargement) :
+            // rechargé, puis nouveau tirage pour tout le lot
+            log.warn("Auto-assignment: workload index out of date, reloading before picking again");
+            workloadIndex.reload();
+            picks = workloadIndex.recommendBatch(criteria, request.getTechniciensPerTask());
+            techniciens = loadActivePicks(picks);
+        }
+
+        List<TasksChangedEvent.Change> changes = new ArrayList<>();
+        int unassigned = 0;
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            // Un technicien désactivé entre le rechargement et la lecture reste écarté
+            List<Technicien> assigned = new ArrayList<>();
+            for (Recommendation pick : picks.get(i)) {
+                Technicien technicien = techniciens.get(pick.technicien().id());
+                if (technicien != null) {
+                    assigned.add(technicien);
+                }
+            }
+            if (assigned.isEmpty()) {
+                unassigned++;
+                continue;
+            }
+            TaskCounterKey before = TaskCounterKey.of(task);
+            task.getAssignedTechniciens().addAll(assigned);
+            changes.add(new TasksChangedEvent.Change(before, TaskCounterKey.of(task), task));
+        }
+        eventPublisher.publishEvent(new TasksChangedEvent(changes));
+        log.info("Auto-assignment: {} tasks processed, {} left without available technicien", tasks.size(), unassigned);
+
+        return toResponses(tasks);
+    }
+
     @Override
     @Transactional
     public TaskResponse updateTaskStatus(Long id, TaskStatus status) {
         Task task = findTaskById(id);
+        TaskCounterKey before = TaskCounterKey.of(task);
 
         // Vérifier la transition de statut
         validateStatusTransition(task.getStatus(), status);
@@ -365,6 +628,7 @@ public class TaskServiceImpl implements TaskService {
         Task updatedTask = taskRepository.save(task);
         log.info("Task status updated: {} -> {}", updatedTask.getTitle(), status);
 
+        taskChanged(before, updatedTask);
         return taskMapper.toResponse(updatedTask);
     }
 
@@ -393,74 +657,176 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<TaskResponse> getUnassignedTasks() {
         List<Task> unassignedTasks = taskRepository.findUnassignedTasks();
-        return unassignedTasks.stream()
-                .map(taskMapper::toResponse)
-                .collect(Collectors.toList());
+        return toResponses(unassignedTasks);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<TaskResponse> getOverdueTasks() {
-        List<Task> overdueTasks = taskRepository.findOverdueTasks(LocalDate.now());
-        return overdueTasks.stream()
-                .map(taskMapper::toResponse)
-                .collect(Collectors.toList());
+        // Ids lus dans l'index des échéances, puis chargement par clé primaire
+        List<Task> overdueTasks = findInOrder(deadlineIndex.getOverdueTaskIds(LocalDate.now()));
+        return toResponses(overdueTasks);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<TaskResponse> getTasksDueSoon(int days) {
         LocalDate startDate = LocalDate.now();
         LocalDate endDate = startDate.plusDays(days);
-        List<Task> tasksDueSoon = taskRepository.findTasksDueSoon(startDate, endDate);
-        return tasksDueSoon.stream()
-                .map(taskMapper::toResponse)
-                .collect(Collectors.toList());
+        List<Task> tasksDueSoon = findInOrder(deadlineIndex.getTaskIdsDueBetween(startDate, endDate));
+        return toResponses(tasksDueSoon);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<TaskResponse> getActiveTasks() {
         List<Task> activeTasks = taskRepository.findActiveTasks();
-        return activeTasks.stream()
-                .map(taskMapper::toResponse)
-                .collect(Collectors.toList());
+        return toResponses(activeTasks);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<TaskResponse> getTasksByPriority(int limit) {
         Pageable pageable = PageRequest.of(0, limit);
         List<Task> priorityTasks = taskRepository.findTasksByPriority(pageable);
-        return priorityTasks.stream()
-                .map(taskMapper::toResponse)
-                .collect(Collectors.toList());
+        return toResponses(priorityTasks);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<TaskResponse> getTasksCreatedInPeriod(LocalDate startDate, LocalDate endDate) {
         List<Task> tasks = taskRepository.findTasksCreatedInPeriod(startDate, endDate);
-        return tasks.stream()
-                .map(taskMapper::toResponse)
-                .collect(Collectors.toList());
+        return toResponses(tasks);
     }
 
     @Override
     public long getTotalTasksByStatus(TaskStatus status) {
-        return taskRepository.countByStatus(status);
+        return dashboardCounters.getTaskCount(status);
     }
 
     @Override
     public long getTaskCountByProject(Long projectId) {
-        return taskRepository.countByProjectId(projectId);
+        return dashboardCounters.getTaskCountByProject(projectId);
     }
 
     @Override
     public long getTaskCountByTechnicien(Long technicienId) {
-        return taskRepository.countByTechnicienId(technicienId);
+        return dashboardCounters.getTaskCountByTechnicien(technicienId);
     }
 
     @Override
     public long getTaskCountByTopographe(Long topographeId) {
-        return taskRepository.countByTopographeId(topographeId);
+        return dashboardCounters.getTaskCountByTopographe(topographeId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TechnicienWorkloadResponse> getWorkloadByTechnicien(int days) {
+        checkStatsDays(days);
+        LocalDate endDate = LocalDate.now();
+        LocalDate startDate = endDate.minusDays(days - 1L);
+
+        // Charge courante en mémoire + activité de la période sur les agrégats (une ligne par technicien et par jour)
+        Map<Long, Long> openTasks = dashboardCounters.getOpenTaskCountsByTechnicien();
+        Map<Long, Object[]> activity = taskDailyStatRepository
+                .sumBetweenGroupedById(RollupDimension.TECHNICIEN, startDate, endDate).stream()
+                .collect(Collectors.toMap(row -> ((Number) row[0]).longValue(), Function.identity()));
+
+        Set<Long> technicienIds = new HashSet<>(openTasks.keySet());
+        technicienIds.addAll(activity.keySet());
+        if (technicienIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, String> names = technicienRepository.findNamesByIdIn(technicienIds).stream()
+                .collect(Collectors.toMap(row -> (Long) row[0], row -> row[1] + " " + row[2]));
+
+        List<TechnicienWorkloadResponse> workload = new ArrayList<>();
+        for (Long technicienId : technicienIds) {
+            TechnicienWorkloadResponse response = new TechnicienWorkloadResponse();
+            response.setTechnicienId(technicienId);
+            response.setTechnicienName(names.get(technicienId));
+            response.setOpenTasks(openTasks.getOrDefault(technicienId, 0L));
+            response.setPeriodDays(days);
+            Object[] row = activity.get(technicienId);
+            if (row != null) {
+                long completed = ((Number) row[2]).longValue();
+                response.setAssignedTasks(((Number) row[1]).longValue());
+                response.setCompletedTasks(completed);
+                response.setAverageCompletionDays(averageDays(((Number) row[3]).longValue(), completed));
+                response.setOverdueCompletedTasks(((Number) row[4]).longValue());
+            }
+            workload.add(response);
+        }
+        workload.sort(Comparator.comparingLong(TechnicienWorkloadResponse::getOpenTasks).reversed()
+                .thenComparing(TechnicienWorkloadResponse::getTechnicienId));
+        return workload;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CompletionRateResponse getCompletionRate(LocalDate startDate, LocalDate endDate, Long projectId, Long technicienId) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("La date de début doit précéder la date de fin");
+        }
+        if (projectId != null && technicienId != null) {
+            throw new IllegalArgumentException("Indiquez un projet ou un technicien, pas les deux");
+        }
+
+        RollupDimension dimension = projectId != null ? RollupDimension.PROJECT
+                : technicienId != null ? RollupDimension.TECHNICIEN
+                : RollupDimension.GLOBAL;
+        Long dimensionId = projectId != null ? projectId : technicienId != null ? technicienId : TaskRollups.GLOBAL_ID;
+        Object[] totals = taskDailyStatRepository.sumBetween(dimension, dimensionId, startDate, endDate).get(0);
+
+        long created = ((Number) totals[0]).longValue();
+        long completed = ((Number) totals[1]).longValue();
+        long overdue = ((Number) totals[3]).longValue();
+
+        CompletionRateResponse response = new CompletionRateResponse();
+        response.setStartDate(startDate);
+        response.setEndDate(endDate);
+        response.setProjectId(projectId);
+        response.setTechnicienId(technicienId);
+        response.setCreatedTasks(created);
+        response.setCompletedTasks(completed);
+        response.setOverdueCompletedTasks(overdue);
+        response.setCompletionRate(percentage(completed, created));
+        response.setOnTimeRate(percentage(completed - overdue, completed));
+        response.setAverageCompletionDays(averageDays(((Number) totals[2]).longValue(), completed));
+        return response;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ProgressSummaryResponse getProgressSummary(int days) {
+        checkStatsDays(days);
+        ProgressSummaryResponse response = new ProgressSummaryResponse();
+
+        // Répartition actuelle : compteurs en mémoire
+        long total = 0;
+        for (TaskStatus status : TaskStatus.values()) {
+            long count = dashboardCounters.getTaskCount(status);
+            response.getTasksByStatus().put(status, count);
+            total += count;
+        }
+        response.setTotalTasks(total);
+        response.setCompletionPercentage(percentage(response.getTasksByStatus().get(TaskStatus.COMPLETED), total));
+        response.setOverdueTasks(deadlineIndex.getOverdueTaskCount(LocalDate.now()));
+
+        // Activité récente : lignes GLOBAL des agrégats (une par jour)
+        LocalDate endDate = LocalDate.now();
+        Object[] totals = taskDailyStatRepository.sumBetween(RollupDimension.GLOBAL, TaskRollups.GLOBAL_ID,
+                endDate.minusDays(days - 1L), endDate).get(0);
+        long completed = ((Number) totals[1]).longValue();
+        response.setPeriodDays(days);
+        response.setCreatedInPeriod(((Number) totals[0]).longValue());
+        response.setCompletedInPeriod(completed);
+        response.setOverdueCompletedInPeriod(((Number) totals[3]).longValue());
+        response.setAverageCompletionDays(averageDays(((Number) totals[2]).longValue(), completed));
+        return response;
     }
 
     // Nouvelles méthodes utilitaires
@@ -471,6 +837,7 @@ public class TaskServiceImpl implements TaskService {
     @Transactional
     public TaskResponse updateTaskProgress(Long taskId, Integer progressPercentage, String progressNotes) {
         Task task = findTaskById(taskId);
+        TaskCounterKey before = TaskCounterKey.of(task);
 
         if (progressPercentage < 0 || progressPercentage > 100) {
             throw new IllegalArgumentException("Le pourcentage de progression doit être entre 0 et 100");
@@ -488,6 +855,7 @@ public class TaskServiceImpl implements TaskService {
         }
 
         Task updatedTask = taskRepository.save(task);
+        taskChanged(before, updatedTask);
         return taskMapper.toResponse(updatedTask);
     }
 
@@ -497,6 +865,7 @@ public class TaskServiceImpl implements TaskService {
     @Transactional
     public TaskResponse addTechnicienToTask(Long taskId, Long technicienId) {
         Task task = findTaskById(taskId);
+        TaskCounterKey before = TaskCounterKey.of(task);
         Technicien technicien = technicienRepository.findById(technicienId)
                 .orElseThrow(() -> new ResourceNotFoundException("Technicien non trouvé avec l'ID: " + technicienId));
 
@@ -507,6 +876,7 @@ public class TaskServiceImpl implements TaskService {
         task.getAssignedTechniciens().add(technicien);
         Task updatedTask = taskRepository.save(task);
 
+        taskChanged(before, updatedTask);
         return taskMapper.toResponse(updatedTask);
     }
 
@@ -516,6 +886,7 @@ public class TaskServiceImpl implements TaskService {
     @Transactional
     public TaskResponse removeTechnicienFromTask(Long taskId, Long technicienId) {
         Task task = findTaskById(taskId);
+        TaskCounterKey before = TaskCounterKey.of(task);
         Technicien technicien = technicienRepository.findById(technicienId)
                 .orElseThrow(() -> new ResourceNotFoundException("Technicien non trouvé avec l'ID: " + technicienId));
 
@@ -528,6 +899,7 @@ public class TaskServiceImpl implements TaskService {
         }
 
         Task updatedTask = taskRepository.save(task);
+        taskChanged(before, updatedTask);
         return taskMapper.toResponse(updatedTask);
     }
 
@@ -539,10 +911,7 @@ public class TaskServiceImpl implements TaskService {
     }
 
     private PageResponse<TaskResponse> buildPageResponse(Page<Task> taskPage) {
-        List<TaskResponse> taskResponses = taskPage.getContent()
-                .stream()
-                .map(taskMapper::toResponse)
-                .collect(Collectors.toList());
+        List<TaskResponse> taskResponses = toResponses(taskPage.getContent());
 
         return new PageResponse<>(
                 taskResponses,
@@ -557,6 +926,189 @@ public class TaskServiceImpl implements TaskService {
         );
     }
 
+    private Task toValidatedTask(TaskCreateRequest item, Map<Long, Project> projects, Map<Long, Technicien> techniciens) {
+        if (item.getTitle() == null || item.getTitle().isBlank()) {
+            throw new IllegalArgumentException("Le titre de la tâche est obligatoire");
+        }
+        if (item.getProgressPercentage() != null
+                && (item.getProgressPercentage() < 0 || item.getProgressPercentage() > 100)) {
+            throw new IllegalArgumentException("Le pourcentage de progression doit être entre 0 et 100");
+        }
+        // Une valeur trop longue ferait échouer le flush, donc tout le lot
+        if (item.getProgressNotes() != null && item.getProgressNotes().length() > 1000) {
+            throw new IllegalArgumentException("Les notes de progression dépassent 1000 caractères");
+        }
+        Project project = projects.get(item.getProjectId());
+        if (project == null) {
+            throw new ResourceNotFoundException("Projet non trouvé avec l'ID: " + item.getProjectId());
+        }
+        checkProjectOpen(project);
+
+        Set<Technicien> assignedTechniciens = new HashSet<>();
+        if (item.getAssignedTechnicienIds() != null) {
+            for (Long id : item.getAssignedTechnicienIds()) {
+                Technicien technicien = techniciens.get(id);
+                if (technicien == null) {
+                    throw new ResourceNotFoundException("Technicien non trouvé avec l'ID: " + id);
+                }
+                checkTechnicienActive(technicien);
+                assignedTechniciens.add(technicien);
+            }
+        }
+
+        checkDueDate(item.getDueDate(), project);
+        return taskMapper.toEntity(item, project, assignedTechniciens);
+    }
+
+    /**
+     * Charge les techniciens en une seule requête et vérifie qu'ils existent tous et sont actifs
+     */
+    private Set<Technicien> loadActiveTechniciens(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return new HashSet<>();
+        }
+        Set<Technicien> techniciens = new HashSet<>(technicienRepository.findAllById(ids));
+        if (techniciens.size() != new HashSet<>(ids).size()) {
+            Set<Long> found = techniciens.stream().map(Technicien::getId).collect(Collectors.toSet());
+            Long missing = ids.stream().filter(id -> !found.contains(id)).findFirst().orElse(null);
+            throw new ResourceNotFoundException("Technicien non trouvé avec l'ID: " + missing);
+        }
+        techniciens.forEach(this::checkTechnicienActive);
+        return techniciens;
+    }
+
+    // Techniciens recommandés encore présents et actifs, par id
+    private Map<Long, Technicien> loadActivePicks(List<List<Recommendation>> picks) {
+        return technicienRepository.findAllById(pickedIds(picks)).stream()
+                .filter(Technicien::getIsActive)
+                .collect(Collectors.toMap(Technicien::getId, Function.identity()));
+    }
+
+    private static Set<Long> pickedIds(List<List<Recommendation>> picks) {
+        return picks.stream()
+                .flatMap(List::stream)
+                .map(pick -> pick.technicien().id())
+                .collect(Collectors.toSet());
+    }
+
+    // Compteurs, échéances et agrégats journaliers suivent la modification (TasksChangedEvent)
+    private void taskChanged(TaskCounterKey before, Task after) {
+        eventPublisher.publishEvent(TasksChangedEvent.changed(before, after));
+    }
+
+    private Set<Long> checkBulkTaskIds(Set<Long> ids) {
+        Set<Long> taskIds = ids != null ? ids : Set.of();
+        if (taskIds.isEmpty()) {
+            throw new IllegalArgumentException("Au moins une tâche doit être indiquée");
+        }
+        if (taskIds.size() > MAX_BULK_TASKS) {
+            throw new IllegalArgumentException("Au plus " + MAX_BULK_TASKS + " tâches peuvent être assignées en une fois");
+        }
+        return taskIds;
+    }
+
+    private void checkAssignable(Set<Long> taskIds, List<Task> tasks) {
+        if (tasks.size() != taskIds.size()) {
+            Set<Long> found = tasks.stream().map(Task::getId).collect(Collectors.toSet());
+            Long missing = taskIds.stream().filter(id -> !found.contains(id)).findFirst().orElse(null);
+            throw new ResourceNotFoundException("Tâche non trouvée avec l'ID: " + missing);
+        }
+        for (Task task : tasks) {
+            if (task.getStatus() == TaskStatus.COMPLETED) {
+                throw new IllegalStateException("Impossible d'assigner une tâche terminée: " + task.getTitle());
+            }
+        }
+    }
+
+    private void checkTechniciensPerTask(int techniciensPerTask) {
+        if (techniciensPerTask < 1 || techniciensPerTask > MAX_TECHNICIENS_PER_TASK) {
+            throw new IllegalArgumentException("Le nombre de techniciens par tâche doit être compris entre 1 et "
+                    + MAX_TECHNICIENS_PER_TASK);
+        }
+    }
+
+    /**
+     * Critères d'affectation d'une tâche : techniciens du topographe du projet, proches du client,
+     * hors techniciens déjà assignés
+     */
+    private AssignmentCriteria criteriaFor(Task task, TaskAutoAssignRequest request) {
+        Project project = task.getProject();
+        Long topographeId = project.getTopographe() != null ? project.getTopographe().getId() : null;
+        Long cityId = project.getClient() != null && project.getClient().getCity() != null
+                ? project.getClient().getCity().getId()
+                : null;
+        Set<Long> assigned = task.getAssignedTechniciens().stream().map(Technicien::getId).collect(Collectors.toSet());
+        return new AssignmentCriteria(topographeId, request.getMinSkillLevel(), request.getSpecialty(),
+                cityId, request.getMaxOpenTasks(), assigned);
+    }
+
+    private static TechnicienRecommendationResponse toRecommendationResponse(Recommendation recommendation) {
+        TechnicienProfile technicien = recommendation.technicien();
+        return new TechnicienRecommendationResponse(technicien.id(), technicien.name(), technicien.skillLevel(),
+                recommendation.openTasks(), recommendation.specialtyMatch(),
+                recommendation.sameCity(), recommendation.sameRegion());
+    }
+
+    private void checkStatsDays(int days) {
+        if (days < 1 || days > MAX_STATS_DAYS) {
+            throw new IllegalArgumentException("La période doit être comprise entre 1 et " + MAX_STATS_DAYS + " jours");
+        }
+    }
+
+    // Pourcentage arrondi à 2 décimales, null sans dénominateur
+    private static Double percentage(long part, long total) {
+        return total > 0 ? Math.round(part * 10000.0 / total) / 100.0 : null;
+    }
+
+    private static Double averageDays(long completionHours, long completed) {
+        return completed > 0 ? Math.round(completionHours * 100.0 / 24 / completed) / 100.0 : null;
+    }
+
+    private void checkProjectOpen(Project project) {
+        if (project.getStatus() == com.topographe.topographe.entity.enumm.ProjectStatus.COMPLETED ||
+                project.getStatus() == com.topographe.topographe.entity.enumm.ProjectStatus.CANCELLED) {
+            throw new IllegalStateException("Impossible de créer une tâche dans un projet terminé ou annulé");
+        }
+    }
+
+    private void checkTechnicienActive(Technicien technicien) {
+        if (!technicien.getIsActive()) {
+            throw new IllegalStateException("Le technicien " + technicien.getFirstName() + " " +
+                    technicien.getLastName() + " doit être actif pour être assigné à une tâche");
+        }
+    }
+
+    private void checkDueDate(LocalDate dueDate, Project project) {
+        if (dueDate != null && project.getEndDate() != null && dueDate.isAfter(project.getEndDate())) {
+            throw new IllegalArgumentException("La date d'échéance de la tâche ne peut pas dépasser la date de fin du projet");
+        }
+    }
+
+    // Tâches dans l'ordre des ids donnés (ordre d'échéance de l'index)
+    private List<Task> findInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Task> byId = taskRepository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    /**
+     * Convertit une liste de tâches en réponses. Le projet, le client et le topographe sont déjà
+     * chargés par le graphe d'entité du repository ; les techniciens de toutes les tâches sont
+     * chargés en une seule requête au lieu d'une requête par tâche.
+     */
+    private List<TaskResponse> toResponses(List<Task> tasks) {
+        if (!tasks.isEmpty()) {
+            taskRepository.fetchAssignedTechniciens(
+                    tasks.stream().map(Task::getId).collect(Collectors.toList()));
+        }
+        return tasks.stream()
+                .map(taskMapper::toResponse)
+                .collect(Collectors.toList());
+    }
+
     private void validateStatusTransition(TaskStatus currentStatus, TaskStatus newStatus) {
         if (currentStatus == newStatus) {
             return; // Pas de transition
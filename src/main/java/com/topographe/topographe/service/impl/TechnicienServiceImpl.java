@@ -1,5 +1,6 @@
 package com.topographe.topographe.service.impl;
 
+import com.topographe.topographe.dto.projection.TechnicienTaskStats;
 import com.topographe.topographe.dto.request.TechnicienCreateRequest;
 import com.topographe.topographe.dto.request.TechnicienUpdateRequest;
 import com.topographe.topographe.dto.response.PageResponse;
@@ -13,39 +14,50 @@ import com.topographe.topographe.entity.referentiel.City;
 import com.topographe.topographe.exception.DuplicateResourceException;
 import com.topographe.topographe.exception.ResourceNotFoundException;
 import com.topographe.topographe.mapper.TechnicienMapper;
-import com.topographe.topographe.repository.referentiel.CityRepository;
 import com.topographe.topographe.repository.TechnicienRepository;
 import com.topographe.topographe.repository.TopographeRepository;
-import com.topographe.topographe.service.EmailService;
 import com.topographe.topographe.service.TechnicienService;
+import com.topographe.topographe.service.assignment.TechnicienWorkloadIndex;
+import com.topographe.topographe.service.mail.TechnicienCreatedEvent;
+import com.topographe.topographe.service.projection.FieldCatalogs;
+import com.topographe.topographe.service.projection.ProjectionQuery;
+import com.topographe.topographe.service.referentiel.CityService;
 import com.topographe.topographe.util.PasswordGenerator;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "topodash.service", histogram = true)
 @Slf4j
 public class TechnicienServiceImpl implements TechnicienService {
 
     private final TechnicienRepository technicienRepository;
     private final TopographeRepository topographeRepository;
-    private final CityRepository cityRepository;
+    private final CityService cityService;
     private final TechnicienMapper technicienMapper;
     private final PasswordEncoder passwordEncoder;
     private final PasswordGenerator passwordGenerator;
-    private final EmailService emailService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TechnicienWorkloadIndex workloadIndex;
+    private final ProjectionQuery projectionQuery;
 
     @Value("${app.mail.admin:admin@topographe.com}")
     private String adminEmail;
@@ -80,7 +92,7 @@ public class TechnicienServiceImpl implements TechnicienService {
         }
 
         // Récupérer la ville
-        City city = cityRepository.findById(request.getCityId())
+        City city = cityService.findCityReference(request.getCityId())
                 .orElseThrow(() -> new ResourceNotFoundException("Ville non trouvée avec l'ID: " + request.getCityId()));
 
         // Générer un mot de passe automatiquement s'il n'est pas fourni
@@ -102,6 +114,7 @@ public class TechnicienServiceImpl implements TechnicienService {
         // Créer le technicien
         Technicien technicien = technicienMapper.toEntity(request, city, assignedTo, encodedPassword);
         Technicien savedTechnicien = technicienRepository.save(technicien);
+        workloadIndex.reloadAfterCommit();
         log.info("Technicien créé avec succès: {} (ID: {})", savedTechnicien.getUsername(), savedTechnicien.getId());
 
         // Préparer la réponse
@@ -109,7 +122,7 @@ public class TechnicienServiceImpl implements TechnicienService {
 
         // Envoyer l'email de bienvenue de manière asynchrone
         try {
-            sendWelcomeEmailAsync(savedTechnicien, plainPassword, assignedTo);
+            eventPublisher.publishEvent(new TechnicienCreatedEvent(savedTechnicien, plainPassword, assignedTo));
             log.info("Email de bienvenue programmé pour le technicien: {}", savedTechnicien.getEmail());
         } catch (Exception e) {
             log.error("Erreur lors de la programmation de l'email de bienvenue pour le technicien: {}", savedTechnicien.getEmail(), e);
@@ -119,43 +132,6 @@ public class TechnicienServiceImpl implements TechnicienService {
         return response;
     }
 
-    /**
-     * Envoie l'email de bienvenue de manière asynchrone
-     */
-    private void sendWelcomeEmailAsync(Technicien technicien, String password, Topographe topographe) {
-        // Utiliser un thread séparé pour éviter de bloquer la transaction
-        new Thread(() -> {
-            try {
-                // Attendre un peu pour s'assurer que la transaction est commitée
-                Thread.sleep(1000);
-
-                // Envoyer email simple de bienvenue (adapter selon vos besoins)
-                sendSimpleWelcomeEmailToTechnicien(technicien, password, topographe);
-                log.info("Email simple de bienvenue envoyé avec succès au technicien: {}", technicien.getEmail());
-
-                // Envoyer notification au topographe responsable
-                try {
-                    sendTechnicienCreationNotificationToTopographe(technicien, topographe);
-                } catch (Exception e) {
-                    log.warn("Échec de l'envoi de la notification au topographe pour le technicien: {}", technicien.getEmail(), e);
-                }
-
-            } catch (Exception e) {
-                log.error("Erreur complète lors de l'envoi des emails pour le technicien: {}", technicien.getEmail(), e);
-            }
-        }).start();
-    }
-
-    private void sendSimpleWelcomeEmailToTechnicien(Technicien technicien, String password, Topographe topographe) {
-        // À implémenter dans EmailService si nécessaire
-        log.info("Email de bienvenue pour technicien: {}", technicien.getEmail());
-    }
-
-    private void sendTechnicienCreationNotificationToTopographe(Technicien technicien, Topographe topographe) {
-        // À implémenter dans EmailService si nécessaire
-        log.info("Notification de création technicien pour topographe: {}", topographe.getEmail());
-    }
-
     @Override
     public PageResponse<TechnicienResponse> getAllTechniciens(int page, int size, String sortBy, String sortDir, User currentUser) {
         Sort sort = sortDir.equalsIgnoreCase("desc") ?
@@ -178,6 +154,27 @@ public class TechnicienServiceImpl implements TechnicienService {
         return buildPageResponse(technicienPage);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<Map<String, Object>> getTechniciensProjection(
+            List<String> fields, int page, int size, String sortBy, String sortDir, User currentUser) {
+        Sort sort = sortDir.equalsIgnoreCase("desc") ?
+                Sort.by(sortBy).descending() :
+                Sort.by(sortBy).ascending();
+
+        // Même périmètre que getAllTechniciens : tous pour l'admin, les siens pour le topographe
+        Specification<Technicien> scope;
+        if (currentUser.getRole() == Role.ADMIN) {
+            scope = (root, query, cb) -> null;
+        } else if (currentUser.getRole() == Role.TOPOGRAPHE) {
+            scope = (root, query, cb) -> cb.equal(root.get("assignedTo").get("id"), currentUser.getId());
+        } else {
+            throw new IllegalArgumentException("Accès non autorisé");
+        }
+
+        return projectionQuery.findPage(FieldCatalogs.TECHNICIENS, fields, scope, PageRequest.of(page, size, sort));
+    }
+
     @Override
     public PageResponse<TechnicienResponse> getTechniciensWithFilters(
             int page, int size, String sortBy, String sortDir,
@@ -324,12 +321,13 @@ public class TechnicienServiceImpl implements TechnicienService {
         }
 
         // Récupérer la ville
-        City city = cityRepository.findById(request.getCityId())
+        City city = cityService.findCityReference(request.getCityId())
                 .orElseThrow(() -> new ResourceNotFoundException("Ville non trouvée avec l'ID: " + request.getCityId()));
 
         // Mettre à jour les champs
         technicienMapper.updateEntity(technicien, request, city, assignedTo);
         Technicien updatedTechnicien = technicienRepository.save(technicien);
+        workloadIndex.reloadAfterCommit();
 
         return technicienMapper.toResponse(updatedTechnicien);
     }
@@ -351,6 +349,7 @@ public class TechnicienServiceImpl implements TechnicienService {
         }
 
         technicienRepository.delete(technicien);
+        workloadIndex.reloadAfterCommit();
     }
 
     @Override
@@ -366,6 +365,7 @@ public class TechnicienServiceImpl implements TechnicienService {
 
         technicien.setIsActive(true);
         technicienRepository.save(technicien);
+        workloadIndex.reloadAfterCommit();
     }
 
     @Override
@@ -381,6 +381,7 @@ public class TechnicienServiceImpl implements TechnicienService {
 
         technicien.setIsActive(false);
         technicienRepository.save(technicien);
+        workloadIndex.reloadAfterCommit();
     }
 
     @Override
@@ -402,27 +403,29 @@ public class TechnicienServiceImpl implements TechnicienService {
 
         technicien.setAssignedTo(newTopographe);
         Technicien updatedTechnicien = technicienRepository.save(technicien);
+        workloadIndex.reloadAfterCommit();
 
         return technicienMapper.toResponse(updatedTechnicien);
     }
 
     @Override
     public List<TechnicienResponse> getAvailableTechniciens(int maxTasks, User currentUser) {
-        List<Technicien> availableTechniciens;
+        List<Long> availableIds;
 
+        // Filtrage sur l'index en mémoire (charge et topographe), puis chargement des seuls techniciens retenus
         if (currentUser.getRole() == Role.ADMIN) {
-            availableTechniciens = technicienRepository.findAvailableTechniciens(maxTasks);
+            availableIds = workloadIndex.findAvailable(maxTasks, null);
         } else if (currentUser.getRole() == Role.TOPOGRAPHE) {
             // Le topographe ne voit que ses techniciens disponibles
-            availableTechniciens = technicienRepository.findAvailableTechniciens(maxTasks)
-                    .stream()
-                    .filter(t -> t.getAssignedTo().getId().equals(currentUser.getId()))
-                    .collect(Collectors.toList());
+            availableIds = workloadIndex.findAvailable(maxTasks, currentUser.getId());
         } else {
             throw new IllegalArgumentException("Accès non autorisé");
         }
 
-        return availableTechniciens.stream()
+        if (availableIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return technicienRepository.findByIdIn(availableIds).stream()
                 .map(technicienMapper::toResponse)
                 .collect(Collectors.toList());
     }
@@ -477,10 +480,7 @@ public class TechnicienServiceImpl implements TechnicienService {
     }
 
     private PageResponse<TechnicienResponse> buildPageResponse(Page<Technicien> technicienPage) {
-        List<TechnicienResponse> technicienResponses = technicienPage.getContent()
-                .stream()
-                .map(this::buildTechnicienResponseWithStats) // ← CORRECTION ICI
-                .collect(Collectors.toList());
+        List<TechnicienResponse> technicienResponses = buildTechnicienResponsesWithStats(technicienPage.getContent());
 
         return new PageResponse<>(
                 technicienResponses,
@@ -529,101 +529,75 @@ public class TechnicienServiceImpl implements TechnicienService {
     }
 
     private TechnicienResponse buildTechnicienResponseWithStats(Technicien technicien) {
-        TechnicienResponse response = technicienMapper.toResponse(technicien);
-
-        try {
-            log.debug("Calcul des statistiques pour le technicien ID: {}", technicien.getId());
-
-            // Calculer les statistiques des tâches via le repository
-            long totalTasks = technicienRepository.countTasksByTechnicien(technicien.getId());
-            long activeTasks = technicienRepository.countTasksByTechnicienAndStatus(
-                    technicien.getId(), com.topographe.topographe.entity.enumm.TaskStatus.IN_PROGRESS);
-            long completedTasks = technicienRepository.countTasksByTechnicienAndStatus(
-                    technicien.getId(), com.topographe.topographe.entity.enumm.TaskStatus.COMPLETED);
-            long todoTasks = technicienRepository.countTasksByTechnicienAndStatus(
-                    technicien.getId(), com.topographe.topographe.entity.enumm.TaskStatus.TODO);
-            long reviewTasks = technicienRepository.countTasksByTechnicienAndStatus(
-                    technicien.getId(), com.topographe.topographe.entity.enumm.TaskStatus.REVIEW);
-
-            // Calculer les statistiques des projets
-            long totalProjects = technicienRepository.countProjectsByTechnicien(technicien.getId());
-            long activeProjects = technicienRepository.countActiveProjectsByTechnicien(technicien.getId());
-            long completedProjects = technicienRepository.countCompletedProjectsByTechnicien(technicien.getId());
-
-            // Mettre à jour la réponse avec les valeurs calculées
-            response.setTotalTasks((int) totalTasks);
-            response.setActiveTasks((int) activeTasks);
-            response.setCompletedTasks((int) completedTasks);
-            response.setTodoTasks((int) todoTasks);
-            response.setReviewTasks((int) reviewTasks);
-            response.setTotalProjects((int) totalProjects);
-            response.setActiveProjects((int) activeProjects);
-            response.setCompletedProjects((int) completedProjects);
-
-            // Calcul des indicateurs de performance
-            double workloadPercentage = Math.min((activeTasks / 5.0) * 100, 100); // Max 5 tâches = 100%
-            response.setWorkloadPercentage(Math.round(workloadPercentage * 100.0) / 100.0);
-            response.setAvailable(activeTasks < 5);
-            response.setMaxRecommendedTasks(5);
-
-            // Calcul du taux de completion
-            if (totalTasks > 0) {
-                double completionRate = ((double) completedTasks / totalTasks) * 100;
-                response.setCompletionRate(Math.round(completionRate * 100.0) / 100.0);
-            } else {
-                response.setCompletionRate(0.0);
-            }
-
-            // Calcul de la moyenne de tâches par projet
-            if (totalProjects > 0) {
-                double avgTasksPerProject = (double) totalTasks / totalProjects;
-                response.setAverageTasksPerProject(Math.round(avgTasksPerProject * 100.0) / 100.0);
-            } else {
-                response.setAverageTasksPerProject(0.0);
-            }
+        return buildTechnicienResponsesWithStats(List.of(technicien)).get(0);
+    }
 
-            log.debug("Statistiques calculées pour technicien {} ({}): total={}, actifs={}, projets={}",
-                    technicien.getId(), technicien.getUsername(), totalTasks, activeTasks, totalProjects);
+    /**
+     * Construit les réponses d'une liste de techniciens avec leurs statistiques,
+     * chargées en une seule requête groupée pour toute la liste
+     */
+    private List<TechnicienResponse> buildTechnicienResponsesWithStats(List<Technicien> techniciens) {
+        Map<Long, TechnicienTaskStats> statsByTechnicien = loadTaskStats(techniciens);
+        return techniciens.stream()
+                .map(technicien -> {
+                    TechnicienResponse response = technicienMapper.toResponse(technicien);
+                    applyStats(response, statsByTechnicien.get(technicien.getId()));
+                    return response;
+                })
+                .collect(Collectors.toList());
+    }
 
-        } catch (Exception e) {
-            log.error("Erreur lors du calcul des statistiques pour le technicien {}: {}",
-                    technicien.getId(), e.getMessage(), e);
-
-            // En cas d'erreur, garder les valeurs par défaut
-            response.setTotalTasks(0);
-            response.setActiveTasks(0);
-            response.setCompletedTasks(0);
-            response.setTodoTasks(0);
-            response.setReviewTasks(0);
-            response.setTotalProjects(0);
-            response.setActiveProjects(0);
-            response.setCompletedProjects(0);
-            response.setWorkloadPercentage(0.0);
-            response.setAvailable(true);
-            response.setMaxRecommendedTasks(5);
-            response.setCompletionRate(0.0);
-            response.setAverageTasksPerProject(0.0);
+    private Map<Long, TechnicienTaskStats> loadTaskStats(List<Technicien> techniciens) {
+        Map<Long, TechnicienTaskStats> statsByTechnicien = new HashMap<>();
+        if (techniciens.isEmpty()) {
+            return statsByTechnicien;
         }
 
-        return response;
+        List<Long> technicienIds = techniciens.stream().map(Technicien::getId).collect(Collectors.toList());
+        technicienIds.forEach(id -> statsByTechnicien.put(id, TechnicienTaskStats.empty(id)));
+        technicienRepository.findTaskStatsByTechnicienIds(technicienIds).stream()
+                .map(TechnicienTaskStats::fromRow)
+                .forEach(stats -> statsByTechnicien.put(stats.getTechnicienId(), stats));
+
+        log.debug("Statistiques chargées pour {} techniciens", technicienIds.size());
+        return statsByTechnicien;
     }
 
-    private PageResponse<TechnicienResponse> buildPageResponseWithStats(Page<Technicien> technicienPage) {
-        List<TechnicienResponse> technicienResponses = technicienPage.getContent()
-                .stream()
-                .map(this::buildTechnicienResponseWithStats)
-                .collect(Collectors.toList());
+    private void applyStats(TechnicienResponse response, TechnicienTaskStats stats) {
+        long totalTasks = stats.getTotalTasks();
+        long activeTasks = stats.getActiveTasks();
+        long completedTasks = stats.getCompletedTasks();
+        long totalProjects = stats.getTotalProjects();
+
+        response.setTotalTasks((int) totalTasks);
+        response.setActiveTasks((int) activeTasks);
+        response.setCompletedTasks((int) completedTasks);
+        response.setTodoTasks((int) stats.getTodoTasks());
+        response.setReviewTasks((int) stats.getReviewTasks());
+        response.setTotalProjects((int) totalProjects);
+        response.setActiveProjects((int) stats.getActiveProjects());
+        response.setCompletedProjects((int) stats.getCompletedProjects());
+
+        // Calcul des indicateurs de performance
+        double workloadPercentage = Math.min((activeTasks / 5.0) * 100, 100); // Max 5 tâches = 100%
+        response.setWorkloadPercentage(Math.round(workloadPercentage * 100.0) / 100.0);
+        response.setAvailable(activeTasks < 5);
+        response.setMaxRecommendedTasks(5);
+
+        // Calcul du taux de completion
+        if (totalTasks > 0) {
+            double completionRate = ((double) completedTasks / totalTasks) * 100;
+            response.setCompletionRate(Math.round(completionRate * 100.0) / 100.0);
+        } else {
+            response.setCompletionRate(0.0);
+        }
 
-        return new PageResponse<>(
-                technicienResponses,
-                technicienPage.getNumber(),
-                technicienPage.getSize(),
-                technicienPage.getTotalElements(),
-                technicienPage.getTotalPages(),
-                technicienPage.isFirst(),
-                technicienPage.isLast(),
-                technicienPage.hasNext(),
-                technicienPage.hasPrevious()
-        );
+        // Calcul de la moyenne de tâches par projet
+        if (totalProjects > 0) {
+            double avgTasksPerProject = (double) totalTasks / totalProjects;
+            response.setAverageTasksPerProject(Math.round(avgTasksPerProject * 100.0) / 100.0);
+        } else {
+            response.setAverageTasksPerProject(0.0);
+        }
     }
-}
\ No newline at end of file
+}
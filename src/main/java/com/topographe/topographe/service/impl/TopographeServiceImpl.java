@@ -12,14 +12,14 @@ import com.topographe.topographe.mapper.TopographeMapper;
 import com.topographe.topographe.repository.ClientRepository;
 import com.topographe.topographe.repository.ProjectRepository;
 import com.topographe.topographe.repository.TechnicienRepository;
-import com.topographe.topographe.repository.referentiel.CityRepository;
 import com.topographe.topographe.repository.TopographeRepository;
-import com.topographe.topographe.service.EmailService;
 import com.topographe.topographe.service.TopographeService;
+import com.topographe.topographe.service.mail.TopographeCreatedEvent;
+import com.topographe.topographe.service.referentiel.CityService;
 import com.topographe.topographe.util.PasswordGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -40,14 +40,11 @@ public class TopographeServiceImpl implements TopographeService {
     private final ClientRepository clientRepository;
     private final TechnicienRepository technicienRepository;
     private final ProjectRepository projectRepository;
-    private final CityRepository cityRepository;
+    private final CityService cityService;
     private final TopographeMapper topographeMapper;
     private final PasswordEncoder passwordEncoder;
     private final PasswordGenerator passwordGenerator;
-    private final EmailService emailService;
-
-    @Value("${app.mail.admin:admin@topographe.com}")
-    private String adminEmail;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -58,7 +55,7 @@ public class TopographeServiceImpl implements TopographeService {
         validateUniqueFields(request);
 
         // Récupérer la ville
-        City city = cityRepository.findById(request.getCityId())
+        City city = cityService.findCityReference(request.getCityId())
                 .orElseThrow(() -> new ResourceNotFoundException("Ville non trouvée avec l'ID: " + request.getCityId()));
 
         // Générer un mot de passe automatiquement s'il n'est pas fourni
@@ -87,7 +84,7 @@ public class TopographeServiceImpl implements TopographeService {
 
         // Envoyer l'email de bienvenue de manière asynchrone
         try {
-            sendWelcomeEmailAsync(savedTopographe, plainPassword);
+            eventPublisher.publishEvent(new TopographeCreatedEvent(savedTopographe, plainPassword));
             log.info("Email de bienvenue programmé pour: {}", savedTopographe.getEmail());
         } catch (Exception e) {
             log.error("Erreur lors de la programmation de l'email de bienvenue pour: {}", savedTopographe.getEmail(), e);
@@ -97,40 +94,6 @@ public class TopographeServiceImpl implements TopographeService {
         return response;
     }
 
-    /**
-     * Envoie l'email de bienvenue de manière asynchrone
-     */
-    private void sendWelcomeEmailAsync(Topographe topographe, String password) {
-        // Utiliser un thread séparé pour éviter de bloquer la transaction
-        new Thread(() -> {
-            try {
-                // Attendre un peu pour s'assurer que la transaction est commitée
-                Thread.sleep(1000);
-
-                // Essayer d'abord l'email HTML avec template
-                try {
-                    emailService.sendWelcomeEmailToTopographe(topographe, password);
-                    log.info("Email HTML de bienvenue envoyé avec succès à: {}", topographe.getEmail());
-                } catch (Exception e) {
-                    log.warn("Échec de l'email HTML, tentative avec email simple pour: {}", topographe.getEmail());
-                    // Fallback vers email simple si le template échoue
-                    emailService.sendSimpleWelcomeEmail(topographe, password);
-                    log.info("Email simple de bienvenue envoyé avec succès à: {}", topographe.getEmail());
-                }
-
-                // Envoyer notification à l'admin
-                try {
-                    emailService.sendAdminNotification(topographe, adminEmail);
-                } catch (Exception e) {
-                    log.warn("Échec de l'envoi de la notification admin pour: {}", topographe.getEmail(), e);
-                }
-
-            } catch (Exception e) {
-                log.error("Erreur complète lors de l'envoi des emails pour: {}", topographe.getEmail(), e);
-            }
-        }).start();
-    }
-
     @Override
     public PageResponse<TopographeResponse> getAllTopographes(int page, int size, String sortBy, String sortDir) {
         Sort sort = sortDir.equalsIgnoreCase("desc") ?
@@ -187,7 +150,7 @@ public class TopographeServiceImpl implements TopographeService {
         validateUniqueFieldsForUpdate(request, id);
 
         // Récupérer la ville
-        City city = cityRepository.findById(request.getCityId())
+        City city = cityService.findCityReference(request.getCityId())
                 .orElseThrow(() -> new ResourceNotFoundException("Ville non trouvée avec l'ID: " + request.getCityId()));
 
         // Mettre à jour les champs
@@ -1,7 +1,7 @@
 package com.topographe.topographe.service.impl.referentiel;
 
 import com.topographe.topographe.dto.referentiel.CityDto;
-import com.topographe.topographe.mapper.referentiel.CityMapper;
+import com.topographe.topographe.entity.referentiel.City;
 import com.topographe.topographe.repository.referentiel.CityRepository;
 import com.topographe.topographe.service.referentiel.CityService;
 import lombok.RequiredArgsConstructor;
@@ -10,35 +10,43 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class CityServiceImpl implements CityService {
     private final CityRepository cityRepository;
+    private final ReferentielCache referentielCache;
 
     @Override
     public List<CityDto> getAllCities() {
-        return cityRepository.findAll()
-                .stream()
-                .map(CityMapper::toDto)
-                .collect(Collectors.toList());
+        return referentielCache.getCities();
     }
 
     @Override
     public CityDto getCityById(Long id) {
-        return cityRepository.findById(id)
-                .map(CityMapper::toDto)
+        return referentielCache.findCity(id)
                 .orElseThrow(() -> new RuntimeException("City not found"));
     }
 
     @Override
     public void deleteCity(Long id) {
         cityRepository.deleteById(id);
+        referentielCache.reload();
     }
 
     @Override
     public Page<CityDto> getAllCities(Pageable pageable) {
-        return cityRepository.findAll(pageable).map(CityMapper::toDto);
+        return ReferentielCache.page(referentielCache.getCities(), pageable);
+    }
+
+    @Override
+    public Optional<City> findCityReference(Long id) {
+        return referentielCache.findCityReference(id);
+    }
+
+    @Override
+    public String getCitiesEtag() {
+        return referentielCache.getCitiesEtag();
     }
 }
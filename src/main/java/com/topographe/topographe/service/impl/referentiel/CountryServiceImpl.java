@@ -2,7 +2,6 @@ package com.topographe.topographe.service.impl.referentiel;
 
 import com.topographe.topographe.dto.referentiel.CountryDto;
 import com.topographe.topographe.entity.referentiel.Country;
-import com.topographe.topographe.mapper.referentiel.CountryMapper;
 import com.topographe.topographe.repository.referentiel.CountryRepository;
 import com.topographe.topographe.service.referentiel.CountryService;
 import lombok.RequiredArgsConstructor;
@@ -16,26 +15,40 @@ import java.util.List;
 @RequiredArgsConstructor
 public class CountryServiceImpl implements CountryService {
     private final CountryRepository countryRepository;
+    private final ReferentielCache referentielCache;
 
     @Override
     public Country saveCountry(Country country) {
-        return countryRepository.save(country);
+        Country saved = countryRepository.save(country);
+        referentielCache.reload();
+        return saved;
+    }
+
+    @Override
+    public List<CountryDto> getAllCountries() {
+        return referentielCache.getCountries();
     }
 
     @Override
     public CountryDto getCountryById(Long id) {
-        return countryRepository.findById(id)
-                .map(CountryMapper::toDto)
+        return referentielCache.findCountry(id)
                 .orElseThrow(() -> new RuntimeException("Country not found"));
     }
 
     @Override
     public void deleteCountry(Long id) {
+        // La suppression d'un pays supprime aussi ses régions et leurs villes (cascade)
         countryRepository.deleteById(id);
+        referentielCache.reload();
     }
 
     @Override
     public Page<CountryDto> getAllCountries(Pageable pageable) {
-        return countryRepository.findAll(pageable).map(CountryMapper::toDto);
+        return ReferentielCache.page(referentielCache.getCountries(), pageable);
+    }
+
+    @Override
+    public String getCountriesEtag() {
+        return referentielCache.getCountriesEtag();
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,202 @@
+package com.topographe.topographe.service.impl.referentiel;
+
+import com.topographe.topographe.dto.referentiel.CityDto;
+import com.topographe.topographe.dto.referentiel.CountryDto;
+import com.topographe.topographe.dto.referentiel.RegionDto;
+import com.topographe.topographe.entity.referentiel.City;
+import com.topographe.topographe.repository.referentiel.CityRepository;
+import com.topographe.topographe.repository.referentiel.CountryRepository;
+import com.topographe.topographe.repository.referentiel.RegionRepository;
+import com.topographe.topographe.util.Snapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+/**
+ * Référentiel Pays → Régions → Villes (scripts/referentiel.sql) gardé entièrement en mémoire.
+ * Chargé au démarrage puis servi sans aucun accès à la base ; les données sont recopiées dans un
+ * instantané immuable, indexé par des tableaux d'ids triés (recherche dichotomique, sans Long).
+ * Toute écriture sur le référentiel doit appeler reload() une fois la transaction validée.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+class ReferentielCache {
+
+    private final CountryRepository countryRepository;
+    private final RegionRepository regionRepository;
+    private final CityRepository cityRepository;
+
+    private final Snapshot<Tables> tables = new Snapshot<>(this::loadTables);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        tables.warmUp();
+    }
+
+    /**
+     * Recharge tout le référentiel (trois requêtes) et remplace l'instantané courant
+     */
+    public void reload() {
+        tables.reload();
+    }
+
+    private Tables loadTables() {
+        List<CountryEntry> countries = countryRepository.findAll().stream()
+                .map(c -> new CountryEntry(c.getId(), c.getName(), c.getCode()))
+                .toList();
+        // getCountry().getId() / getRegion().getId() lisent l'id du proxy sans l'initialiser
+        List<RegionEntry> regions = regionRepository.findAll().stream()
+                .map(r -> new RegionEntry(r.getId(), r.getName(), r.getCountry() != null ? r.getCountry().getId() : null))
+                .toList();
+        List<CityEntry> cities = cityRepository.findAll().stream()
+                .map(c -> new CityEntry(c.getId(), c.getName(), c.getRegion() != null ? c.getRegion().getId() : null))
+                .toList();
+
+        log.info("Référentiel chargé en mémoire : {} pays, {} régions, {} villes",
+                countries.size(), regions.size(), cities.size());
+        return new Tables(countries, regions, cities);
+    }
+
+    public List<CityDto> getCities() {
+        return Arrays.stream(tables.get().cities).map(CityEntry::toDto).toList();
+    }
+
+    public Optional<CityDto> findCity(long id) {
+        Tables current = tables.get();
+        int index = Arrays.binarySearch(current.cityIds, id);
+        return index >= 0 ? Optional.of(current.cities[index].toDto()) : Optional.empty();
+    }
+
+    /**
+     * Nouvelle instance détachée de la ville (id + nom), utilisable comme référence d'association
+     * sans SELECT : l'entité n'est jamais partagée entre deux appels
+     */
+    public Optional<City> findCityReference(long id) {
+        Tables current = tables.get();
+        int index = Arrays.binarySearch(current.cityIds, id);
+        if (index < 0) {
+            return Optional.empty();
+        }
+        CityEntry entry = current.cities[index];
+        return Optional.of(City.builder().id(entry.id()).name(entry.name()).build());
+    }
+
+    public List<RegionDto> getRegions() {
+        Tables current = tables.get();
+        return Arrays.stream(current.regions).map(current::toDto).toList();
+    }
+
+    public Optional<RegionDto> findRegion(long id) {
+        Tables current = tables.get();
+        int index = Arrays.binarySearch(current.regionIds, id);
+        return index >= 0 ? Optional.of(current.toDto(current.regions[index])) : Optional.empty();
+    }
+
+    public List<CountryDto> getCountries() {
+        return Arrays.stream(tables.get().countries).map(CountryEntry::toDto).toList();
+    }
+
+    public Optional<CountryDto> findCountry(long id) {
+        Tables current = tables.get();
+        int index = Arrays.binarySearch(current.countryIds, id);
+        return index >= 0 ? Optional.of(current.countries[index].toDto()) : Optional.empty();
+    }
+
+    public String getCitiesEtag() {
+        return tables.get().citiesEtag;
+    }
+
+    public String getRegionsEtag() {
+        return tables.get().regionsEtag;
+    }
+
+    public String getCountriesEtag() {
+        return tables.get().countriesEtag;
+    }
+
+    /**
+     * Découpe en page une liste déjà en mémoire (mêmes métadonnées que findAll(Pageable))
+     */
+    static <T> Page<T> page(List<T> all, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(all);
+        }
+        int from = (int) Math.min(pageable.getOffset(), all.size());
+        int to = Math.min(from + pageable.getPageSize(), all.size());
+        return new PageImpl<>(all.subList(from, to), pageable, all.size());
+    }
+
+    record CountryEntry(long id, String name, String code) {
+        CountryDto toDto() {
+            return CountryDto.builder().id(id).name(name).code(code).build();
+        }
+    }
+
+    record RegionEntry(long id, String name, Long countryId) {
+    }
+
+    record CityEntry(long id, String name, Long regionId) {
+        CityDto toDto() {
+            return CityDto.builder().id(id).name(name).build();
+        }
+    }
+
+    /**
+     * Instantané immuable : tableaux triés par id et ETag de chaque liste, calculés une seule fois
+     */
+    private static final class Tables {
+        private final CountryEntry[] countries;
+        private final long[] countryIds;
+        private final RegionEntry[] regions;
+        private final long[] regionIds;
+        private final CityEntry[] cities;
+        private final long[] cityIds;
+        private final String countriesEtag;
+        private final String regionsEtag;
+        private final String citiesEtag;
+
+        private Tables(List<CountryEntry> countries, List<RegionEntry> regions, List<CityEntry> cities) {
+            this.countries = countries.stream().sorted(Comparator.comparingLong(CountryEntry::id)).toArray(CountryEntry[]::new);
+            this.countryIds = Arrays.stream(this.countries).mapToLong(CountryEntry::id).toArray();
+            this.regions = regions.stream().sorted(Comparator.comparingLong(RegionEntry::id)).toArray(RegionEntry[]::new);
+            this.regionIds = Arrays.stream(this.regions).mapToLong(RegionEntry::id).toArray();
+            this.cities = cities.stream().sorted(Comparator.comparingLong(CityEntry::id)).toArray(CityEntry[]::new);
+            this.cityIds = Arrays.stream(this.cities).mapToLong(CityEntry::id).toArray();
+            this.countriesEtag = etag(this.countries);
+            this.regionsEtag = etag(this.regions);
+            this.citiesEtag = etag(this.cities);
+        }
+
+        // Région avec son pays, résolu dans le même instantané
+        private RegionDto toDto(RegionEntry region) {
+            CountryDto country = null;
+            if (region.countryId() != null) {
+                int index = Arrays.binarySearch(countryIds, region.countryId());
+                country = index >= 0 ? countries[index].toDto() : null;
+            }
+            return RegionDto.builder().id(region.id()).name(region.name()).countryDto(country).build();
+        }
+
+        // ETag fort dérivé du contenu : identique d'un redémarrage à l'autre tant que les données ne changent pas
+        private static String etag(Record[] entries) {
+            CRC32 crc = new CRC32();
+            for (Record entry : entries) {
+                crc.update(entry.toString().getBytes(StandardCharsets.UTF_8));
+            }
+            return "\"" + Long.toHexString(crc.getValue()) + "-" + entries.length + "\"";
+        }
+    }
+}
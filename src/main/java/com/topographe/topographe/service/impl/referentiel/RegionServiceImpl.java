@@ -1,7 +1,6 @@
 package com.topographe.topographe.service.impl.referentiel;
 
 import com.topographe.topographe.dto.referentiel.RegionDto;
-import com.topographe.topographe.mapper.referentiel.RegionMapper;
 import com.topographe.topographe.repository.referentiel.RegionRepository;
 import com.topographe.topographe.service.referentiel.RegionService;
 import lombok.RequiredArgsConstructor;
@@ -9,25 +8,39 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class RegionServiceImpl implements RegionService {
     private final RegionRepository regionRepository;
+    private final ReferentielCache referentielCache;
+
+    @Override
+    public List<RegionDto> getAllRegions() {
+        return referentielCache.getRegions();
+    }
 
     @Override
     public RegionDto getRegionById(Long id) {
-        return regionRepository.findById(id)
-                .map(RegionMapper::toDto)
+        return referentielCache.findRegion(id)
                 .orElseThrow(() -> new RuntimeException("Region not found"));
     }
 
     @Override
     public void deleteRegion(Long id) {
+        // La suppression d'une région supprime aussi ses villes (cascade)
         regionRepository.deleteById(id);
+        referentielCache.reload();
     }
 
     @Override
     public Page<RegionDto> getAllRegions(Pageable pageable) {
-        return regionRepository.findAll(pageable).map(RegionMapper::toDto);
+        return ReferentielCache.page(referentielCache.getRegions(), pageable);
+    }
+
+    @Override
+    public String getRegionsEtag() {
+        return referentielCache.getRegionsEtag();
     }
 }
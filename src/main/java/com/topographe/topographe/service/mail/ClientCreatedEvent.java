@@ -0,0 +1,10 @@
+package com.topographe.topographe.service.mail;
+
+import com.topographe.topographe.entity.Client;
+import com.topographe.topographe.entity.Topographe;
+
+/**
+ * Publié à la création d'un client ; les emails partent après le commit de la transaction
+ */
+public record ClientCreatedEvent(Client client, String password, Topographe topographe) {
+}
@@ -0,0 +1,87 @@
+package com.topographe.topographe.service.mail;
+
+import com.topographe.topographe.entity.Project;
+import com.topographe.topographe.entity.Task;
+import com.topographe.topographe.entity.Topographe;
+import com.topographe.topographe.repository.ProjectRepository;
+import com.topographe.topographe.repository.TaskRepository;
+import com.topographe.topographe.service.EmailService;
+import com.topographe.topographe.service.deadline.DeadlineEvent;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Avertit chaque topographe des échéances franchies par ses tâches et projets (DeadlineEvent publié par
+ * DeadlineIndex) : un email par topographe et par seuil, confié à la MailQueue.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DeadlineEmailListener {
+
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final EmailService emailService;
+    private final MailQueue mailQueue;
+
+    @Value("${app.deadlines.mail-enabled:true}")
+    private boolean enabled;
+
+    @EventListener
+    public void onDeadline(DeadlineEvent event) {
+        if (!enabled) {
+            return;
+        }
+        // Tâches et projets chargés avec leur topographe (2 requêtes), puis regroupés par topographe
+        Map<Long, Digest> digests = new LinkedHashMap<>();
+        List<Task> tasks = event.taskIds().isEmpty() ? List.of() : taskRepository.findByIdIn(event.taskIds());
+        for (Task task : tasks) {
+            digest(digests, task.getProject().getTopographe()).tasks.add(task);
+        }
+        List<Project> projects = event.projectIds().isEmpty() ? List.of() : projectRepository.findByIdIn(event.projectIds());
+        for (Project project : projects) {
+            digest(digests, project.getTopographe()).projects.add(project);
+        }
+
+        for (Digest digest : digests.values()) {
+            Topographe topographe = digest.topographe;
+            if (!Boolean.TRUE.equals(topographe.getIsActive()) || topographe.getEmail() == null) {
+                continue;
+            }
+            digest.tasks.sort(Comparator.comparing(Task::getDueDate).thenComparing(Task::getId));
+            digest.projects.sort(Comparator.comparing(Project::getEndDate).thenComparing(Project::getId));
+            try {
+                MimeMessage message = emailService.prepareDeadlineNotificationToTopographe(
+                        topographe, event.kind(), event.date(), digest.tasks, digest.projects);
+                mailQueue.enqueue(message, MailQueue.describe(message));
+            } catch (Exception e) {
+                // Un avis manqué ne doit pas bloquer ceux des autres topographes
+                log.error("Erreur lors de la préparation de l'avis d'échéances pour: {}", topographe.getEmail(), e);
+            }
+        }
+    }
+
+    private static Digest digest(Map<Long, Digest> digests, Topographe topographe) {
+        return digests.computeIfAbsent(topographe.getId(), id -> new Digest(topographe));
+    }
+
+    private static final class Digest {
+        private final Topographe topographe;
+        private final List<Task> tasks = new ArrayList<>();
+        private final List<Project> projects = new ArrayList<>();
+
+        private Digest(Topographe topographe) {
+            this.topographe = topographe;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.topographe.topographe.service.mail;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rendu des templates d'email Thymeleaf.
+ * Les templates analysés sont gardés en cache par le resolver (spring.thymeleaf.cache=true) ;
+ * les variables communes (nom et URL de l'application, support) sont posées une seule fois par rendu,
+ * et renderBatch réutilise le même Context pour tous les destinataires d'un même template.
+ */
+@Component
+@Slf4j
+public class EmailTemplateRenderer {
+
+    private final ITemplateEngine templateEngine;
+    private final String appName;
+    private final String appUrl;
+    private final String supportEmail;
+
+    public EmailTemplateRenderer(ITemplateEngine templateEngine,
+                                 @Value("${app.name:TopoDash}") String appName,
+                                 @Value("${app.url:http://localhost:8080}") String appUrl,
+                                 @Value("${app.mail.support:support@topographe.com}") String supportEmail) {
+        this.templateEngine = templateEngine;
+        this.appName = appName;
+        this.appUrl = appUrl;
+        this.supportEmail = supportEmail;
+    }
+
+    /**
+     * Rend un template pour un seul destinataire
+     */
+    public String render(String template, Map<String, Object> variables) {
+        Context context = newContext();
+        context.setVariables(variables);
+        return templateEngine.process(template, context);
+    }
+
+    /**
+     * Rend le même template pour plusieurs destinataires en une passe.
+     * Les variables de chaque destinataire remplacent celles du précédent dans un Context partagé.
+     */
+    public List<String> renderBatch(String template, Map<String, Object> commonVariables,
+                                    List<Map<String, Object>> recipientVariables) {
+        Map<String, Object> shared = new HashMap<>(applicationVariables());
+        shared.putAll(commonVariables);
+        Context context = new Context();
+        context.setVariables(shared);
+
+        List<String> rendered = new ArrayList<>(recipientVariables.size());
+        for (Map<String, Object> variables : recipientVariables) {
+            context.setVariables(variables);
+            rendered.add(templateEngine.process(template, context));
+            resetVariables(context, variables, shared);
+        }
+        log.debug("Template {} rendu pour {} destinataire(s)", template, rendered.size());
+        return rendered;
+    }
+
+    // Retire les variables du destinataire en restaurant les variables partagées qu'elles masquaient
+    private void resetVariables(Context context, Map<String, Object> variables, Map<String, Object> shared) {
+        for (String name : variables.keySet()) {
+            if (shared.containsKey(name)) {
+                context.setVariable(name, shared.get(name));
+            } else {
+                context.removeVariable(name);
+            }
+        }
+    }
+
+    private Context newContext() {
+        Context context = new Context();
+        context.setVariables(applicationVariables());
+        return context;
+    }
+
+    private Map<String, Object> applicationVariables() {
+        return Map.of("appName", appName, "appUrl", appUrl, "supportEmail", supportEmail);
+    }
+}
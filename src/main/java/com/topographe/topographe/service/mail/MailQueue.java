@@ -0,0 +1,245 @@
+package com.topographe.topographe.service.mail;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * File d'envoi des emails sortants.
+ * Les messages sont mis en file sans bloquer l'appelant, puis envoyés par lots par un nombre fixe
+ * de workers : JavaMailSender.send(MimeMessage...) réutilise une seule connexion SMTP par lot.
+ * Un lot (ou les messages d'un lot) en échec est replanifié avec un délai exponentiel.
+ *
+ * Métriques (actuator) : mail.queue.depth et mail.queue.retries.pending (jauges),
+ * mail.queue.wait (attente en file par tentative), mail.send (durée de l'envoi SMTP d'un lot),
+ * mail.delivery (de la première mise en file à l'envoi, par message) et mail.messages (tag outcome).
+ */
+@Component
+@Slf4j
+public class MailQueue {
+
+    private final JavaMailSender mailSender;
+    private final BlockingQueue<OutboundMail> queue;
+    private final int workers;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+
+    private final ExecutorService workerPool;
+    private final ScheduledExecutorService retryScheduler;
+    private volatile boolean running = true;
+
+    private final AtomicInteger pendingRetries = new AtomicInteger();
+    private final Timer waitTimer;
+    private final Timer sendTimer;
+    private final Timer deliveryTimer;
+    private final Counter sent;
+    private final Counter failed;
+    private final Counter retried;
+    private final Counter rejected;
+
+    public MailQueue(JavaMailSender mailSender,
+                     MeterRegistry meterRegistry,
+                     @Value("${app.mail.queue.capacity:1000}") int capacity,
+                     @Value("${app.mail.queue.workers:2}") int workers,
+                     @Value("${app.mail.queue.batch-size:20}") int batchSize,
+                     @Value("${app.mail.queue.max-attempts:4}") int maxAttempts,
+                     @Value("${app.mail.queue.initial-backoff-ms:2000}") long initialBackoffMillis) {
+        this.mailSender = mailSender;
+        this.queue = new LinkedBlockingQueue<>(capacity);
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.workerPool = Executors.newFixedThreadPool(workers, namedThreads("mail-sender-"));
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(namedThreads("mail-retry-"));
+
+        Gauge.builder("mail.queue.depth", queue, BlockingQueue::size)
+                .description("Emails en attente d'envoi")
+                .register(meterRegistry);
+        Gauge.builder("mail.queue.retries.pending", pendingRetries, AtomicInteger::get)
+                .description("Emails en attente d'un nouvel essai")
+                .register(meterRegistry);
+        this.waitTimer = timer("mail.queue.wait", "Attente en file avant l'envoi (par tentative)", meterRegistry);
+        this.sendTimer = timer("mail.send", "Durée de l'envoi SMTP d'un lot", meterRegistry);
+        this.deliveryTimer = timer("mail.delivery", "De la mise en file à l'envoi réussi, nouveaux essais compris", meterRegistry);
+        this.sent = outcome("sent", meterRegistry);
+        this.failed = outcome("failed", meterRegistry);
+        this.retried = outcome("retried", meterRegistry);
+        this.rejected = outcome("rejected", meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        for (int i = 0; i < workers; i++) {
+            workerPool.execute(this::drainLoop);
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        retryScheduler.shutdownNow();
+        workerPool.shutdown();
+        if (!workerPool.awaitTermination(10, TimeUnit.SECONDS)) {
+            workerPool.shutdownNow();
+        }
+        if (!queue.isEmpty()) {
+            log.warn("{} email(s) non envoyé(s) à l'arrêt de l'application", queue.size());
+        }
+    }
+
+    /**
+     * Met un email en file d'envoi. Retourne false si la file est pleine (l'email est alors abandonné).
+     */
+    public boolean enqueue(MimeMessage message, String description) {
+        long now = System.nanoTime();
+        boolean accepted = queue.offer(new OutboundMail(message, description, 1, now, now));
+        if (!accepted) {
+            rejected.increment();
+            log.error("File d'envoi pleine ({} messages), email abandonné: {}", queue.size(), description);
+        }
+        return accepted;
+    }
+
+    /**
+     * Décrit un message pour les logs (destinataires + sujet)
+     */
+    public static String describe(MimeMessage message) {
+        try {
+            return Arrays.toString(message.getAllRecipients()) + " - " + message.getSubject();
+        } catch (MessagingException e) {
+            return "message sans en-têtes lisibles";
+        }
+    }
+
+    private void drainLoop() {
+        List<OutboundMail> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                OutboundMail first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                sendBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Erreur inattendue dans le worker d'envoi d'emails", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void sendBatch(List<OutboundMail> batch) {
+        long start = System.nanoTime();
+        batch.forEach(mail -> waitTimer.record(start - mail.queuedAt(), TimeUnit.NANOSECONDS));
+        MimeMessage[] messages = batch.stream().map(OutboundMail::message).toArray(MimeMessage[]::new);
+        try {
+            mailSender.send(messages);
+            delivered(batch);
+            log.debug("Lot de {} email(s) envoyé", batch.size());
+        } catch (MailSendException e) {
+            // Seuls les messages en échec sont replanifiés
+            Map<Object, Exception> failedMessages = e.getFailedMessages();
+            if (failedMessages.isEmpty()) {
+                batch.forEach(mail -> retryOrDrop(mail, e));
+                return;
+            }
+            delivered(batch.stream().filter(mail -> !failedMessages.containsKey(mail.message())).toList());
+            batch.stream()
+                    .filter(mail -> failedMessages.containsKey(mail.message()))
+                    .forEach(mail -> retryOrDrop(mail, failedMessages.get(mail.message())));
+        } catch (MailException e) {
+            batch.forEach(mail -> retryOrDrop(mail, e));
+        } finally {
+            sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void delivered(List<OutboundMail> mails) {
+        long now = System.nanoTime();
+        for (OutboundMail mail : mails) {
+            sent.increment();
+            deliveryTimer.record(now - mail.enqueuedAt(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void retryOrDrop(OutboundMail mail, Exception cause) {
+        if (mail.attempt() >= maxAttempts) {
+            failed.increment();
+            log.error("Échec définitif de l'envoi après {} tentative(s): {}", mail.attempt(), mail.description(), cause);
+            return;
+        }
+
+        long delay = initialBackoffMillis << (mail.attempt() - 1);
+        log.warn("Échec de l'envoi (tentative {}/{}), nouvel essai dans {} ms: {} - {}",
+                mail.attempt(), maxAttempts, delay, mail.description(), cause.getMessage());
+        retried.increment();
+        pendingRetries.incrementAndGet();
+        retryScheduler.schedule(() -> {
+            pendingRetries.decrementAndGet();
+            OutboundMail next = new OutboundMail(mail.message(), mail.description(), mail.attempt() + 1,
+                    mail.enqueuedAt(), System.nanoTime());
+            if (!queue.offer(next)) {
+                rejected.increment();
+                log.error("File d'envoi pleine, nouvel essai abandonné: {}", mail.description());
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private static Timer timer(String name, String description, MeterRegistry registry) {
+        return Timer.builder(name).description(description).publishPercentileHistogram().register(registry);
+    }
+
+    private static Counter outcome(String outcome, MeterRegistry registry) {
+        return Counter.builder("mail.messages")
+                .description("Emails traités par la file, par issue")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Email en attente d'envoi avec son numéro de tentative,
+     * l'instant de sa première mise en file et celui de la tentative en cours (System.nanoTime)
+     */
+    private record OutboundMail(MimeMessage message, String description, int attempt, long enqueuedAt, long queuedAt) {
+    }
+}
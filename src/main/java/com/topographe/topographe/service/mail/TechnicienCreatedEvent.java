@@ -0,0 +1,10 @@
+package com.topographe.topographe.service.mail;
+
+import com.topographe.topographe.entity.Technicien;
+import com.topographe.topographe.entity.Topographe;
+
+/**
+ * Publié à la création d'un technicien ; les emails partent après le commit de la transaction
+ */
+public record TechnicienCreatedEvent(Technicien technicien, String password, Topographe topographe) {
+}
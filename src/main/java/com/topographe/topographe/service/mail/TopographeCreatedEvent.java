@@ -0,0 +1,9 @@
+package com.topographe.topographe.service.mail;
+
+import com.topographe.topographe.entity.Topographe;
+
+/**
+ * Publié à la création d'un topographe ; les emails partent après le commit de la transaction
+ */
+public record TopographeCreatedEvent(Topographe topographe, String password) {
+}
@@ -0,0 +1,171 @@
+package com.topographe.topographe.service.mail;
+
+import com.topographe.topographe.entity.Client;
+import com.topographe.topographe.entity.Technicien;
+import com.topographe.topographe.entity.Topographe;
+import com.topographe.topographe.service.EmailService;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Prépare les emails de bienvenue une fois la création d'utilisateur commitée
+ * et les confie à la MailQueue (aucun envoi SMTP sur le thread de la requête).
+ *
+ * Les créations d'une même transaction sont regroupées : chaque template de bienvenue est
+ * rendu en une passe pour tout le lot (EmailService.prepareWelcomeEmailsTo...).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WelcomeEmailListener {
+
+    private final EmailService emailService;
+    private final MailQueue mailQueue;
+
+    @Value("${app.mail.admin:admin@topographe.com}")
+    private String adminEmail;
+
+    @EventListener
+    public void onTopographeCreated(TopographeCreatedEvent event) {
+        afterCommitBatch(TopographeCreatedEvent.class, event, this::sendTopographeWelcomes);
+    }
+
+    @EventListener
+    public void onClientCreated(ClientCreatedEvent event) {
+        afterCommitBatch(ClientCreatedEvent.class, event, this::sendClientWelcomes);
+    }
+
+    @EventListener
+    public void onTechnicienCreated(TechnicienCreatedEvent event) {
+        afterCommitBatch(TechnicienCreatedEvent.class, event, this::sendTechnicienWelcomes);
+    }
+
+    private void sendTopographeWelcomes(List<TopographeCreatedEvent> created) {
+        List<MimeMessage> messages = prepareBatch(() -> emailService.prepareWelcomeEmailsToTopographes(created));
+        for (int i = 0; i < created.size(); i++) {
+            Topographe topographe = created.get(i).topographe();
+            String password = created.get(i).password();
+
+            // Email HTML du lot, sinon préparé seul avec repli sur l'email simple
+            Supplier<MimeMessage> html = messages != null ? constant(messages.get(i)) : prepareWithFallback(
+                    () -> emailService.prepareWelcomeEmailToTopographe(topographe, password),
+                    () -> emailService.prepareSimpleWelcomeEmail(topographe, password),
+                    topographe.getEmail());
+            enqueue(html, topographe.getEmail());
+
+            // Notification à l'admin
+            enqueue(() -> emailService.prepareAdminNotification(topographe, adminEmail), topographe.getEmail());
+        }
+    }
+
+    private void sendClientWelcomes(List<ClientCreatedEvent> created) {
+        List<MimeMessage> messages = prepareBatch(() -> emailService.prepareWelcomeEmailsToClients(created));
+        for (int i = 0; i < created.size(); i++) {
+            Client client = created.get(i).client();
+            String password = created.get(i).password();
+            Topographe topographe = created.get(i).topographe();
+
+            // Email HTML du lot, sinon préparé seul avec repli sur l'email simple
+            Supplier<MimeMessage> html = messages != null ? constant(messages.get(i)) : prepareWithFallback(
+                    () -> emailService.prepareWelcomeEmailToClient(client, password, topographe),
+                    () -> emailService.prepareSimpleWelcomeEmailToClient(client, password, topographe),
+                    client.getEmail());
+            enqueue(html, client.getEmail());
+
+            // Notification au topographe responsable
+            enqueue(() -> emailService.prepareClientCreationNotificationToTopographe(client, topographe), client.getEmail());
+        }
+    }
+
+    private void sendTechnicienWelcomes(List<TechnicienCreatedEvent> created) {
+        for (TechnicienCreatedEvent event : created) {
+            Technicien technicien = event.technicien();
+            Topographe topographe = event.topographe();
+            enqueue(() -> emailService.prepareWelcomeEmailToTechnicien(technicien, event.password(), topographe),
+                    technicien.getEmail());
+
+            // Notification au topographe responsable
+            enqueue(() -> emailService.prepareTechnicienCreationNotificationToTopographe(technicien, topographe),
+                    technicien.getEmail());
+        }
+    }
+
+    /**
+     * Accumule l'événement dans le lot de la transaction courante ; le lot est traité une fois, après le commit
+     * (jamais en cas de rollback). Sans transaction, l'événement est traité seul immédiatement.
+     */
+    @SuppressWarnings("unchecked")
+    private <E> void afterCommitBatch(Class<E> type, E event, Consumer<List<E>> send) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send.accept(List.of(event));
+            return;
+        }
+        // Clé propre à ce listener et au type d'événement
+        Object key = List.of(this, type);
+        List<E> batch = (List<E>) TransactionSynchronizationManager.getResource(key);
+        if (batch == null) {
+            List<E> pending = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(key, pending);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send.accept(pending);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(key);
+                }
+            });
+            batch = pending;
+        }
+        batch.add(event);
+    }
+
+    // Lot préparé d'un coup, ou null : chaque email est alors préparé séparément
+    private List<MimeMessage> prepareBatch(Callable<List<MimeMessage>> batch) {
+        try {
+            return batch.call();
+        } catch (Exception e) {
+            log.warn("Échec de la préparation du lot d'emails HTML, préparation email par email", e);
+            return null;
+        }
+    }
+
+    private static Supplier<MimeMessage> constant(MimeMessage message) {
+        return () -> message;
+    }
+
+    private Supplier<MimeMessage> prepareWithFallback(Callable<MimeMessage> html, Supplier<MimeMessage> simple, String email) {
+        return () -> {
+            try {
+                return html.call();
+            } catch (Exception e) {
+                log.warn("Échec de la préparation de l'email HTML, utilisation de l'email simple pour: {}", email, e);
+                return simple.get();
+            }
+        };
+    }
+
+    private void enqueue(Supplier<MimeMessage> preparation, String email) {
+        try {
+            MimeMessage message = preparation.get();
+            mailQueue.enqueue(message, MailQueue.describe(message));
+        } catch (Exception e) {
+            // Ne jamais faire échouer la requête : l'utilisateur est déjà créé
+            log.error("Erreur lors de la préparation d'un email pour: {}", email, e);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.topographe.topographe.service.projection;
+
+import com.topographe.topographe.dto.response.PageResponse;
+import com.topographe.topographe.dto.response.ProjectedPage;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Champs qu'une liste peut renvoyer en projection (paramètres fields= et view=summary).
+ *
+ * Chaque champ correspond à une colonne, une colonne d'une association (jointure externe
+ * créée seulement si le champ est demandé) ou un comptage de collection. Les champs calculés
+ * des réponses complètes (priorité, santé, charge...) ne sont disponibles qu'en vue complète.
+ */
+public final class FieldCatalog<E> {
+
+    public static final String VIEW_FULL = "full";
+    public static final String VIEW_SUMMARY = "summary";
+
+    private static final String ID = "id";
+
+    private final Class<E> entityClass;
+    private final Map<String, Column> columns;
+    private final List<String> summary;
+
+    private FieldCatalog(Class<E> entityClass, Map<String, Column> columns, List<String> summary) {
+        this.entityClass = entityClass;
+        this.columns = columns;
+        this.summary = summary;
+    }
+
+    public static <E> Builder<E> builder(Class<E> entityClass) {
+        return new Builder<>(entityClass);
+    }
+
+    public Class<E> getEntityClass() {
+        return entityClass;
+    }
+
+    /**
+     * Champs à sélectionner, dans l'ordre demandé et toujours précédés de l'id ;
+     * null quand la réponse complète est demandée (ni fields ni view, ou view=full).
+     */
+    public List<String> select(String fields, String view) {
+        if (fields != null && !fields.isBlank()) {
+            Set<String> selected = new LinkedHashSet<>();
+            selected.add(ID);
+            for (String field : fields.split(",")) {
+                String name = field.trim();
+                if (!name.isEmpty() && !columns.containsKey(name)) {
+                    throw new IllegalArgumentException("Champ inconnu : " + name + " (disponibles : " + columns.keySet() + ")");
+                }
+                if (!name.isEmpty()) {
+                    selected.add(name);
+                }
+            }
+            return List.copyOf(selected);
+        }
+        if (view == null || view.isBlank() || VIEW_FULL.equalsIgnoreCase(view)) {
+            return null;
+        }
+        if (VIEW_SUMMARY.equalsIgnoreCase(view)) {
+            return summary;
+        }
+        throw new IllegalArgumentException("Vue inconnue : " + view + " (summary ou full)");
+    }
+
+    /**
+     * Aiguillage commun des listes acceptant fields= et view= : avec des champs ou view=summary,
+     * projection lue par ProjectionQuery (colonnes demandées seulement, associations jointes à la
+     * demande, aucun champ calculé) ; sinon réponse complète.
+     */
+    public <T> ProjectedPage<T> page(String fields, String view,
+                                     Function<List<String>, PageResponse<Map<String, Object>>> projection,
+                                     Supplier<PageResponse<T>> full) {
+        List<String> selected = select(fields, view);
+        return selected != null
+                ? ProjectedPage.projection(projection.apply(selected))
+                : ProjectedPage.full(full.get());
+    }
+
+    Expression<?> expression(String field, Paths paths, CriteriaBuilder cb) {
+        return columns.get(field).select(paths, cb);
+    }
+
+    /**
+     * Expression sélectionnée pour un champ
+     */
+    @FunctionalInterface
+    public interface Column {
+        Expression<?> select(Paths paths, CriteriaBuilder cb);
+    }
+
+    /**
+     * Chemins depuis la racine de la requête ; chaque association traversée est jointe
+     * une seule fois, en jointure externe pour garder les lignes sans association.
+     */
+    public static final class Paths {
+        private final Root<?> root;
+        private final Map<String, From<?, ?>> joins = new HashMap<>();
+
+        Paths(Root<?> root) {
+            this.root = root;
+        }
+
+        public Root<?> root() {
+            return root;
+        }
+
+        public <T> Path<T> get(String path) {
+            String[] parts = path.split("\\.");
+            From<?, ?> from = root;
+            for (int i = 0; i < parts.length - 1; i++) {
+                String prefix = String.join(".", Arrays.copyOfRange(parts, 0, i + 1));
+                From<?, ?> parent = from;
+                String attribute = parts[i];
+                from = joins.computeIfAbsent(prefix, key -> parent.join(attribute, JoinType.LEFT));
+            }
+            return from.get(parts[parts.length - 1]);
+        }
+    }
+
+    public static final class Builder<E> {
+        private final Class<E> entityClass;
+        private final Map<String, Column> columns = new LinkedHashMap<>();
+        private final List<String> summary = new ArrayList<>();
+
+        private Builder(Class<E> entityClass) {
+            this.entityClass = entityClass;
+            column(ID);
+        }
+
+        // Attribut de même nom que le champ
+        public Builder<E> column(String name) {
+            return column(name, name);
+        }
+
+        // Attribut éventuellement traversant des associations ("project.client.email")
+        public Builder<E> column(String name, String path) {
+            columns.put(name, (paths, cb) -> paths.get(path));
+            return this;
+        }
+
+        // "Prénom Nom" de l'utilisateur désigné par le chemin ("project.client")
+        public Builder<E> fullName(String name, String userPath) {
+            String prefix = userPath.isEmpty() ? "" : userPath + ".";
+            columns.put(name, (paths, cb) -> cb.concat(
+                    cb.concat(paths.<String>get(prefix + "firstName"), " "), paths.<String>get(prefix + "lastName")));
+            return this;
+        }
+
+        // Taille d'une collection (sous-requête corrélée, la collection n'est pas chargée)
+        public Builder<E> size(String name, String collection) {
+            columns.put(name, (paths, cb) -> cb.size(paths.root().get(collection)));
+            return this;
+        }
+
+        public Builder<E> summary(String... names) {
+            for (String name : names) {
+                if (!columns.containsKey(name)) {
+                    throw new IllegalStateException("Champ de résumé non déclaré : " + name);
+                }
+                summary.add(name);
+            }
+            return this;
+        }
+
+        public FieldCatalog<E> build() {
+            return new FieldCatalog<>(entityClass, Collections.unmodifiableMap(new LinkedHashMap<>(columns)),
+                    List.copyOf(summary));
+        }
+    }
+}
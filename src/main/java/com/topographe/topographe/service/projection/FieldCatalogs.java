@@ -0,0 +1,96 @@
+package com.topographe.topographe.service.projection;
+
+import com.topographe.topographe.entity.Client;
+import com.topographe.topographe.entity.Project;
+import com.topographe.topographe.entity.Task;
+import com.topographe.topographe.entity.Technicien;
+
+/**
+ * Champs disponibles en projection pour chaque liste ; les noms reprennent ceux des réponses complètes
+ */
+public final class FieldCatalogs {
+
+    public static final FieldCatalog<Task> TASKS = FieldCatalog.builder(Task.class)
+            .column("title")
+            .column("description")
+            .column("status")
+            .column("dueDate")
+            .column("createdAt")
+            .column("completedAt")
+            .column("progressPercentage")
+            .column("progressNotes")
+            .column("projectId", "project.id")
+            .column("projectName", "project.name")
+            .column("projectStatus", "project.status")
+            .column("clientId", "project.client.id")
+            .fullName("clientName", "project.client")
+            .column("clientType", "project.client.clientType")
+            .column("topographeId", "project.topographe.id")
+            .fullName("topographeName", "project.topographe")
+            .size("assignedTechniciensCount", "assignedTechniciens")
+            .summary("id", "title", "status", "dueDate", "projectId", "projectName")
+            .build();
+
+    public static final FieldCatalog<Project> PROJECTS = FieldCatalog.builder(Project.class)
+            .column("name")
+            .column("description")
+            .column("status")
+            .column("startDate")
+            .column("endDate")
+            .column("createdAt")
+            .column("clientId", "client.id")
+            .fullName("clientName", "client")
+            .column("clientEmail", "client.email")
+            .column("clientType", "client.clientType")
+            .column("clientCompanyName", "client.companyName")
+            .column("topographeId", "topographe.id")
+            .fullName("topographeName", "topographe")
+            .column("topographeEmail", "topographe.email")
+            .column("topographeLicenseNumber", "topographe.licenseNumber")
+            .size("totalTasks", "tasks")
+            .summary("id", "name", "status", "startDate", "endDate", "clientName")
+            .build();
+
+    public static final FieldCatalog<Technicien> TECHNICIENS = FieldCatalog.builder(Technicien.class)
+            .column("username")
+            .column("email")
+            .column("phoneNumber")
+            .column("firstName")
+            .column("lastName")
+            .column("birthday")
+            .column("cin")
+            .column("cityName", "city.name")
+            .column("role")
+            .column("skillLevel")
+            .column("specialties")
+            .column("assignedToTopographeId", "assignedTo.id")
+            .fullName("assignedToTopographeName", "assignedTo")
+            .column("createdAt")
+            .column("isActive")
+            .size("totalTasks", "tasks")
+            .summary("id", "firstName", "lastName", "skillLevel", "cityName", "isActive")
+            .build();
+
+    public static final FieldCatalog<Client> CLIENTS = FieldCatalog.builder(Client.class)
+            .column("username")
+            .column("email")
+            .column("phoneNumber")
+            .column("firstName")
+            .column("lastName")
+            .column("birthday")
+            .column("cin")
+            .column("cityName", "city.name")
+            .column("role")
+            .column("clientType")
+            .column("companyName")
+            .column("createdByTopographeId", "createdBy.id")
+            .fullName("createdByTopographeName", "createdBy")
+            .column("createdAt")
+            .column("isActive")
+            .size("totalProjects", "projects")
+            .summary("id", "firstName", "lastName", "clientType", "companyName", "isActive")
+            .build();
+
+    private FieldCatalogs() {
+    }
+}
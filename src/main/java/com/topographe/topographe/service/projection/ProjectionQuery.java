@@ -0,0 +1,90 @@
+package com.topographe.topographe.service.projection;
+
+import com.topographe.topographe.dto.response.PageResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Page de projections : seules les colonnes des champs demandés sont sélectionnées et seules
+ * les associations qu'ils traversent sont jointes. Aucune entité n'est chargée ni convertie.
+ */
+@Component
+public class ProjectionQuery {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public <E> PageResponse<Map<String, Object>> findPage(FieldCatalog<E> catalog, List<String> fields,
+                                                         Specification<E> specification, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<E> root = query.from(catalog.getEntityClass());
+        FieldCatalog.Paths paths = new FieldCatalog.Paths(root);
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+        fields.forEach(field -> selections.add(catalog.expression(field, paths, cb)));
+        query.multiselect(selections);
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        List<Object[]> rows = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        List<Map<String, Object>> content = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            for (int i = 0; i < fields.size(); i++) {
+                item.put(fields.get(i), row[i]);
+            }
+            content.add(item);
+        }
+
+        // Requête COUNT évitée quand la page suffit à connaître le total (comme Spring Data)
+        Page<Map<String, Object>> page = PageableExecutionUtils.getPage(content, pageable,
+                () -> count(catalog, specification));
+        return new PageResponse<>(
+                page.getContent(),
+                page.getNumber(),
+                page.getSize(),
+                page.getTotalElements(),
+                page.getTotalPages(),
+                page.isFirst(),
+                page.isLast(),
+                page.hasNext(),
+                page.hasPrevious()
+        );
+    }
+
+    private <E> long count(FieldCatalog<E> catalog, Specification<E> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<E> root = query.from(catalog.getEntityClass());
+        query.select(cb.count(root));
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -1,14 +1,22 @@
 package com.topographe.topographe.service.referentiel;
 
 import com.topographe.topographe.dto.referentiel.CityDto;
+import com.topographe.topographe.entity.referentiel.City;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface CityService {
     List<CityDto> getAllCities();
     CityDto getCityById(Long id);
     void deleteCity(Long id);
     Page<CityDto> getAllCities(Pageable pageable);
+
+    // Référence à la ville pour une association (User.city), sans requête SQL
+    Optional<City> findCityReference(Long id);
+
+    // ETag de la liste des villes, modifié à chaque changement du référentiel
+    String getCitiesEtag();
 }
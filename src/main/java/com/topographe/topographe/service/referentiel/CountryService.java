@@ -9,7 +9,11 @@ import org.springframework.data.domain.Pageable;
 
 public interface CountryService {
     Country saveCountry(Country country);
+    List<CountryDto> getAllCountries();
     CountryDto getCountryById(Long id);
     void deleteCountry(Long id);
     Page<CountryDto> getAllCountries(Pageable pageable);
-} 
\ No newline at end of file
+
+    // ETag de la liste des pays, modifié à chaque changement du référentiel
+    String getCountriesEtag();
+}
\ No newline at end of file
@@ -4,8 +4,14 @@ import com.topographe.topographe.dto.referentiel.RegionDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 public interface RegionService {
+    List<RegionDto> getAllRegions();
     RegionDto getRegionById(Long id);
     void deleteRegion(Long id);
     Page<RegionDto> getAllRegions(Pageable pageable);
+
+    // ETag de la liste des régions, modifié à chaque changement du référentiel
+    String getRegionsEtag();
 }
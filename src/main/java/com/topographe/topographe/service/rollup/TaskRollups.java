@@ -0,0 +1,132 @@
+package com.topographe.topographe.service.rollup;
+
+import com.topographe.topographe.entity.Task;
+import com.topographe.topographe.entity.enumm.RollupDimension;
+import com.topographe.topographe.entity.enumm.TaskStatus;
+import com.topographe.topographe.repository.TaskDailyStatRepository;
+import com.topographe.topographe.service.counter.TaskCounterKey;
+import com.topographe.topographe.service.counter.TasksChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Alimente les agrégats journaliers task_daily_stats à partir des transitions de tâches
+ * (TasksChangedEvent). Les incréments sont écrits dans la transaction de la modification : la tâche
+ * et ses agrégats sont validés ou annulés ensemble.
+ *
+ * Les agrégats sont un historique : une suppression ou une désassignation ne les décrémente pas.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskRollups {
+
+    // Id de l'unique ligne GLOBAL de chaque jour
+    public static final long GLOBAL_ID = 0L;
+
+    // Ordre fixe des lignes modifiées : deux transactions concurrentes les verrouillent dans le même ordre
+    private static final Comparator<Bucket> BUCKET_ORDER = Comparator
+            .comparing(Bucket::dimension)
+            .thenComparingLong(Bucket::dimensionId)
+            .thenComparing(Bucket::day);
+
+    private final TaskDailyStatRepository taskDailyStatRepository;
+
+    /**
+     * Écritures de tâches (TasksChangedEvent) : créations, techniciens nouvellement assignés et passages
+     * à COMPLETED, cumulés pour tout l'événement puis écrits une fois par ligne
+     */
+    @EventListener
+    public void onTasksChanged(TasksChangedEvent event) {
+        Map<Bucket, Delta> deltas = new TreeMap<>(BUCKET_ORDER);
+        LocalDate today = LocalDate.now();
+        for (TasksChangedEvent.Change change : event.changes()) {
+            if (change.deleted()) {
+                continue;
+            }
+            Task task = change.task();
+            TaskCounterKey after = change.after();
+            if (change.created()) {
+                created(deltas, task, after);
+            } else {
+                for (Long technicienId : after.technicienIds()) {
+                    if (!change.before().technicienIds().contains(technicienId)) {
+                        delta(deltas, RollupDimension.TECHNICIEN, technicienId, today).created++;
+                    }
+                }
+            }
+            boolean wasCompleted = !change.created() && change.before().status() == TaskStatus.COMPLETED;
+            if (!wasCompleted && after.status() == TaskStatus.COMPLETED) {
+                completed(deltas, task, after);
+            }
+        }
+        write(deltas);
+    }
+
+    private void created(Map<Bucket, Delta> deltas, Task task, TaskCounterKey key) {
+        LocalDate day = dayOf(task.getCreatedAt());
+        delta(deltas, RollupDimension.GLOBAL, GLOBAL_ID, day).created++;
+        if (key.projectId() != null) {
+            delta(deltas, RollupDimension.PROJECT, key.projectId(), day).created++;
+        }
+        for (Long technicienId : key.technicienIds()) {
+            delta(deltas, RollupDimension.TECHNICIEN, technicienId, day).created++;
+        }
+    }
+
+    private void completed(Map<Bucket, Delta> deltas, Task task, TaskCounterKey key) {
+        LocalDateTime completedAt = task.getCompletedAt() != null ? task.getCompletedAt() : LocalDateTime.now();
+        LocalDate day = completedAt.toLocalDate();
+        long hours = task.getCreatedAt() != null
+                ? Math.max(0, Duration.between(task.getCreatedAt(), completedAt).toHours())
+                : 0;
+        boolean overdue = task.getDueDate() != null && day.isAfter(task.getDueDate());
+
+        completed(delta(deltas, RollupDimension.GLOBAL, GLOBAL_ID, day), hours, overdue);
+        if (key.projectId() != null) {
+            completed(delta(deltas, RollupDimension.PROJECT, key.projectId(), day), hours, overdue);
+        }
+        for (Long technicienId : key.technicienIds()) {
+            completed(delta(deltas, RollupDimension.TECHNICIEN, technicienId, day), hours, overdue);
+        }
+    }
+
+    private static void completed(Delta delta, long hours, boolean overdue) {
+        delta.completed++;
+        delta.completionHours += hours;
+        if (overdue) {
+            delta.overdue++;
+        }
+    }
+
+    private void write(Map<Bucket, Delta> deltas) {
+        deltas.forEach((bucket, delta) -> taskDailyStatRepository.increment(
+                bucket.dimension().name(), bucket.dimensionId(), bucket.day(),
+                delta.created, delta.completed, delta.completionHours, delta.overdue));
+    }
+
+    private static Delta delta(Map<Bucket, Delta> deltas, RollupDimension dimension, long dimensionId, LocalDate day) {
+        return deltas.computeIfAbsent(new Bucket(dimension, dimensionId, day), b -> new Delta());
+    }
+
+    private static LocalDate dayOf(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toLocalDate() : LocalDate.now();
+    }
+
+    record Bucket(RollupDimension dimension, long dimensionId, LocalDate day) {
+    }
+
+    private static final class Delta {
+        private long created;
+        private long completed;
+        private long completionHours;
+        private long overdue;
+    }
+}
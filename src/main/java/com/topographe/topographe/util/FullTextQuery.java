@@ -0,0 +1,37 @@
+package com.topographe.topographe.util;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Construit une requête tsquery PostgreSQL à partir du texte saisi par l'utilisateur.
+ * Seuls les lettres et chiffres sont conservés, chaque mot est recherché par préfixe
+ * ("lev cada" devient "lev:* & cada:*") pour que la recherche fonctionne pendant la saisie.
+ */
+public final class FullTextQuery {
+
+    // Au-delà, les mots supplémentaires sont ignorés
+    public static final int MAX_TERMS = 8;
+
+    private static final int MIN_TERM_LENGTH = 2;
+
+    private FullTextQuery() {
+    }
+
+    /**
+     * Requête tsquery en préfixe, ou null si le texte ne contient aucun mot exploitable
+     */
+    public static String toPrefixQuery(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        String query = Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> term.length() >= MIN_TERM_LENGTH)
+                .distinct()
+                .limit(MAX_TERMS)
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & "));
+        return query.isEmpty() ? null : query;
+    }
+}
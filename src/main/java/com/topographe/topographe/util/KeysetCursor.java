@@ -0,0 +1,120 @@
+package com.topographe.topographe.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Curseur opaque de pagination keyset : encode en base64 la clé de tri et l'id du dernier élément lu.
+ * Le tri et sa direction sont inclus dans le curseur pour refuser un curseur réutilisé avec un autre tri.
+ */
+public final class KeysetCursor {
+
+    /**
+     * Taille de page maximale d'une recherche par curseur
+     */
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * Tri keyset : la clé demandée puis l'id pour départager les égalités
+     */
+    public static Sort sort(String sortBy, Sort.Direction direction) {
+        Sort sort = Sort.by(direction, sortBy);
+        return "id".equals(sortBy) ? sort : sort.and(Sort.by(direction, "id"));
+    }
+
+    /**
+     * Vérifie que la clé de tri fait partie des clés autorisées (colonnes non nulles)
+     */
+    public static void checkSortable(String sortBy, Map<String, Class<?>> sortableKeys) {
+        if (!sortableKeys.containsKey(sortBy)) {
+            throw new IllegalArgumentException("Tri non supporté en pagination par curseur: " + sortBy
+                    + " (valeurs possibles: " + String.join(", ", sortableKeys.keySet()) + ")");
+        }
+    }
+
+    /**
+     * Vérifie la taille demandée : une limite à 0 ne serait pas appliquée par Spring Data (lecture sans borne)
+     */
+    public static void checkSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Taille de page invalide: " + size
+                    + " (entre 1 et " + MAX_PAGE_SIZE + ")");
+        }
+    }
+
+    public static String encode(String sortBy, Sort.Direction direction, Map<String, ?> keys) {
+        Map<String, String> values = new LinkedHashMap<>();
+        keys.forEach((key, value) -> values.put(key, String.valueOf(value)));
+        try {
+            byte[] json = MAPPER.writeValueAsBytes(new Payload(sortBy, direction.name(), values));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Impossible d'encoder le curseur", e);
+        }
+    }
+
+    /**
+     * Décode un curseur reçu du client ; un curseur absent correspond à la première page
+     */
+    public static KeysetScrollPosition decode(String cursor, String sortBy, Sort.Direction direction,
+                                              Map<String, Class<?>> sortableKeys) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        Payload payload;
+        try {
+            payload = MAPPER.readValue(Base64.getUrlDecoder().decode(cursor), Payload.class);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Curseur invalide");
+        }
+        if (!sortBy.equals(payload.sort()) || !direction.name().equals(payload.direction())) {
+            throw new IllegalArgumentException("Le curseur ne correspond pas au tri demandé");
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        payload.keys().forEach((key, value) -> {
+            Class<?> type = sortableKeys.get(key);
+            if (type == null) {
+                throw new IllegalArgumentException("Curseur invalide");
+            }
+            keys.put(key, convert(value, type));
+        });
+        return ScrollPosition.forward(keys);
+    }
+
+    private static Object convert(String value, Class<?> type) {
+        try {
+            if (type == Long.class) {
+                return Long.valueOf(value);
+            }
+            if (type == LocalDateTime.class) {
+                return LocalDateTime.parse(value);
+            }
+            if (type == LocalDate.class) {
+                return LocalDate.parse(value);
+            }
+            return value;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Curseur invalide");
+        }
+    }
+
+    private record Payload(String sort, String direction, Map<String, String> keys) {
+    }
+}
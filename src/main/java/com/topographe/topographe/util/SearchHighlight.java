@@ -0,0 +1,35 @@
+package com.topographe.topographe.util;
+
+import org.springframework.web.util.HtmlUtils;
+
+/**
+ * Surlignage des résultats de recherche plein texte sans HTML non échappé.
+ * ts_headline entoure les termes trouvés de deux caractères de contrôle au lieu de balises ;
+ * le texte (saisi par les utilisateurs) est ensuite échappé en HTML et seuls ces délimiteurs
+ * deviennent des balises <mark>. Le résultat peut être inséré tel quel dans une page.
+ */
+public final class SearchHighlight {
+
+    public static final String START = "\u0002";
+    public static final String STOP = "\u0003";
+
+    // Options ts_headline : titre entier, extrait de 10 à 30 mots en 2 fragments au plus
+    public static final String TITLE_OPTIONS = "HighlightAll=true, StartSel=" + START + ", StopSel=" + STOP;
+    public static final String SNIPPET_OPTIONS = "StartSel=" + START + ", StopSel=" + STOP
+            + ", MaxWords=30, MinWords=10, MaxFragments=2";
+
+    private SearchHighlight() {
+    }
+
+    /**
+     * Sortie de ts_headline convertie en HTML sûr : texte échappé, termes trouvés dans des balises mark
+     */
+    public static String toSafeHtml(String headline) {
+        if (headline == null) {
+            return null;
+        }
+        return HtmlUtils.htmlEscape(headline, "UTF-8")
+                .replace(START, "<mark>")
+                .replace(STOP, "</mark>");
+    }
+}
@@ -0,0 +1,90 @@
+package com.topographe.topographe.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Valeur calculée depuis la base et gardée en mémoire (compteurs, index), éventuellement tenue à jour
+ * par des écarts entre deux rechargements.
+ *
+ * warmUp() la charge au démarrage (ApplicationReadyEvent) ; une lecture qui arrive avant la charge à
+ * la demande. reload() la recalcule et remplace la valeur courante.
+ *
+ * Un écart appliqué par update() pendant le recalcul est ambigu : laissé sur l'ancienne valeur, il est
+ * perdu si les requêtes n'ont pas vu son commit ; réappliqué à la nouvelle, il compte deux fois si elles
+ * l'ont vu. Le recalcul est donc recommencé tant qu'un écart est arrivé pendant celui-ci (au plus
+ * MAX_ATTEMPTS fois), et le remplacement attend la fin des écarts en cours. Reste un cas : un commit vu
+ * par les requêtes dont l'écart n'arrive qu'après le remplacement. L'écart suit le commit dans le même
+ * thread, la fenêtre est très courte ; le rechargement suivant le corrige.
+ */
+public final class Snapshot<T> {
+
+    // Au-delà, le dernier calcul est gardé malgré les écarts arrivés pendant celui-ci
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final Supplier<T> loader;
+    private volatile T value;
+    // Nombre d'écarts appliqués : reload() le relève avant et après le calcul
+    private final AtomicLong applied = new AtomicLong();
+    // Écarts en lecture (concurrents entre eux), remplacement de la valeur en écriture
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+
+    public Snapshot(Supplier<T> loader) {
+        this.loader = loader;
+    }
+
+    public T get() {
+        T current = value;
+        if (current == null) {
+            synchronized (this) {
+                if (value == null) {
+                    reload();
+                }
+                current = value;
+            }
+        }
+        return current;
+    }
+
+    public void warmUp() {
+        get();
+    }
+
+    /**
+     * Recalcule la valeur et la remplace ; renvoie la valeur remplacée (null au premier chargement)
+     */
+    public synchronized T reload() {
+        for (int attempt = 1; ; attempt++) {
+            long generation = applied.get();
+            T fresh = loader.get();
+            swapLock.writeLock().lock();
+            try {
+                if (applied.get() == generation || attempt == MAX_ATTEMPTS) {
+                    T previous = value;
+                    value = fresh;
+                    return previous;
+                }
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Applique un écart à la valeur courante, jamais pendant son remplacement. Les écarts peuvent
+     * s'exécuter en parallèle : à delta de protéger une valeur modifiable non thread-safe.
+     */
+    public void update(Consumer<T> delta) {
+        get();
+        swapLock.readLock().lock();
+        try {
+            delta.accept(value);
+            applied.incrementAndGet();
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+}
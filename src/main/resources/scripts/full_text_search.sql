@@ -0,0 +1,32 @@
+-- Recherche plein texte sur les tâches et les projets (SearchService)
+-- À exécuter une fois sur la base PostgreSQL, après indexes.sql
+-- Les colonnes search_vector sont générées : PostgreSQL les recalcule à chaque INSERT / UPDATE,
+-- elles ne sont pas mappées par Hibernate (ddl-auto: update ne les modifie pas)
+
+-- 1. Tâches : titre (poids A), description (poids B), notes d'avancement (poids C)
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('french', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('french', coalesce(description, '')), 'B') ||
+        setweight(to_tsvector('french', coalesce(progress_notes, '')), 'C')
+    ) STORED;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_search_vector
+    ON tasks USING gin (search_vector);
+
+-- 2. Projets : nom (poids A), description (poids B)
+ALTER TABLE projects ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('french', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('french', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_projects_search_vector
+    ON projects USING gin (search_vector);
+
+-- 3. Mettre à jour les statistiques du planificateur
+ANALYZE tasks;
+ANALYZE projects;
+
+-- Vérification : le plan doit utiliser idx_tasks_search_vector (Bitmap Index Scan)
+-- EXPLAIN ANALYZE SELECT id FROM tasks WHERE search_vector @@ to_tsquery('french', 'lev:* & cadastr:*');
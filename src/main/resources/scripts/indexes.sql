@@ -0,0 +1,32 @@
+-- Index pour les recherches filtrées des tâches et des projets (TaskSpecifications / ProjectSpecifications)
+-- À exécuter une fois sur la base PostgreSQL ; CONCURRENTLY évite de bloquer les écritures (hors transaction)
+
+-- 1. Extension trigramme pour les recherches LIKE '%...%' sur le titre / le nom
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- 2. Tâches : filtres par statut, échéance et projet (dans l'ordre de sélectivité habituel)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_status_due_date_project
+    ON tasks (status, due_date, project_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_project_id
+    ON tasks (project_id);
+
+-- 3. Tâches : recherche insensible à la casse sur le titre (LOWER(title) LIKE '%...%')
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_title_trgm
+    ON tasks USING gin (LOWER(title) gin_trgm_ops);
+
+-- 4. Projets : filtres par client, topographe et statut
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_projects_client_topographe_status
+    ON projects (client_id, topographe_id, status);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_projects_topographe_status
+    ON projects (topographe_id, status);
+
+-- 5. Projets : recherche insensible à la casse sur le nom (LOWER(name) LIKE '%...%')
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_projects_name_trgm
+    ON projects USING gin (LOWER(name) gin_trgm_ops);
+
+-- 6. Mettre à jour les statistiques du planificateur
+ANALYZE tasks;
+ANALYZE projects;
+
+-- Vérification : le plan doit utiliser idx_tasks_title_trgm
+-- EXPLAIN ANALYZE SELECT * FROM tasks WHERE LOWER(title) LIKE '%levé%';
@@ -0,0 +1,27 @@
+-- Réplica en lecture (streaming physique) pour app.datasource.read-replicas
+-- Essai local avec deux instances PostgreSQL : la principale sur 5432, le réplica sur 5433.
+
+-- 1. Sur la principale : rôle de réplication et slot (le WAL est conservé tant que le réplica ne l'a pas reçu)
+--    postgresql.conf : wal_level = replica, max_wal_senders >= 2
+--    pg_hba.conf     : host replication replicator 127.0.0.1/32 scram-sha-256
+CREATE ROLE replicator WITH REPLICATION LOGIN PASSWORD 'replicator';
+SELECT pg_create_physical_replication_slot('topodash_replica_1');
+
+-- 2. Création du réplica (shell) : copie de la principale, standby.signal et primary_conninfo écrits par -R
+--    pg_basebackup -h localhost -p 5432 -U replicator -D ./replica1 -R -S topodash_replica_1 -X stream
+--    pg_ctl -D ./replica1 -o "-p 5433" start
+
+-- 3. Sur le réplica : vérification (true, receiver en streaming, puis retard mesuré comme ReplicaLagMonitor)
+--    Rôle applicatif non superutilisateur : droit de lire pg_stat_wal_receiver (sur la principale)
+--    GRANT pg_read_all_stats TO <rôle de l'application>;
+SELECT pg_is_in_recovery();
+SELECT status, last_msg_receipt_time FROM pg_stat_wal_receiver;
+SELECT CASE
+           WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN -1
+           WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+           ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+       END AS lag_ms;
+
+-- 4. Application : activer le routage
+--    app.datasource.read-replicas.enabled=true
+--    app.datasource.read-replicas.urls=jdbc:postgresql://localhost:5433/topographedb
@@ -0,0 +1,26 @@
+-- Passage des ids de tasks, projects et users de IDENTITY à des séquences par blocs de 50
+-- (@SequenceGenerator allocationSize = 50) pour que Hibernate puisse regrouper les INSERT en batch JDBC
+-- À exécuter AVANT de démarrer la nouvelle version de l'application
+
+-- 1. Séquences avec un pas égal à allocationSize (vérifié par Hibernate au démarrage)
+CREATE SEQUENCE IF NOT EXISTS tasks_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS projects_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50;
+
+-- 2. Reprendre après les ids existants
+SELECT setval('tasks_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM tasks));
+SELECT setval('projects_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM projects));
+SELECT setval('users_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM users));
+
+-- 3. Les colonnes id ne sont plus IDENTITY ; les INSERT SQL manuels utilisent la même séquence
+ALTER TABLE tasks ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE tasks ALTER COLUMN id SET DEFAULT nextval('tasks_seq');
+
+ALTER TABLE projects ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE projects ALTER COLUMN id SET DEFAULT nextval('projects_seq');
+
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_seq');
+
+-- Vérification
+-- SELECT sequencename, increment_by, last_value FROM pg_sequences WHERE sequencename IN ('tasks_seq', 'projects_seq', 'users_seq');
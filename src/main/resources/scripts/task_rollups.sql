@@ -0,0 +1,69 @@
+-- Agrégats journaliers des tâches (entité TaskDailyStat) utilisés par /api/task/stats/*
+-- Alimentés par l'application à chaque transition ; ce script crée la table et reconstruit l'historique.
+-- À exécuter application arrêtée (le TRUNCATE efface les incréments en cours)
+
+-- 1. Table : une ligne par dimension (GLOBAL avec l'id 0, PROJECT, TECHNICIEN) et par jour
+CREATE TABLE IF NOT EXISTS task_daily_stats (
+    dimension VARCHAR(20) NOT NULL,
+    dimension_id BIGINT NOT NULL,
+    stat_date DATE NOT NULL,
+    created_count BIGINT NOT NULL DEFAULT 0,
+    completed_count BIGINT NOT NULL DEFAULT 0,
+    completion_hours_sum BIGINT NOT NULL DEFAULT 0,
+    overdue_count BIGINT NOT NULL DEFAULT 0,
+    -- Cible de l'UPSERT (ON CONFLICT) et des sommes sur une période pour une dimension donnée
+    PRIMARY KEY (dimension, dimension_id, stat_date)
+);
+
+BEGIN;
+
+TRUNCATE task_daily_stats;
+
+-- 2. Créations (pour un technicien : date d'assignation task_technicien.assigned_at)
+INSERT INTO task_daily_stats (dimension, dimension_id, stat_date, created_count)
+SELECT 'GLOBAL', 0, created_at::date, COUNT(*)
+FROM tasks WHERE created_at IS NOT NULL
+GROUP BY created_at::date;
+
+INSERT INTO task_daily_stats (dimension, dimension_id, stat_date, created_count)
+SELECT 'PROJECT', project_id, created_at::date, COUNT(*)
+FROM tasks WHERE created_at IS NOT NULL
+GROUP BY project_id, created_at::date;
+
+INSERT INTO task_daily_stats (dimension, dimension_id, stat_date, created_count)
+SELECT 'TECHNICIEN', tt.technicien_id, COALESCE(tt.assigned_at, t.created_at)::date, COUNT(*)
+FROM task_technicien tt
+JOIN tasks t ON t.id = tt.task_id
+WHERE COALESCE(tt.assigned_at, t.created_at) IS NOT NULL
+GROUP BY tt.technicien_id, COALESCE(tt.assigned_at, t.created_at)::date;
+
+-- 3. Terminaisons, fusionnées dans les lignes existantes
+WITH completed AS (
+    SELECT t.id, t.project_id, t.completed_at::date AS stat_date,
+           GREATEST(0, FLOOR(EXTRACT(EPOCH FROM (t.completed_at - COALESCE(t.created_at, t.completed_at))) / 3600))::BIGINT AS hours,
+           CASE WHEN t.due_date IS NOT NULL AND t.completed_at::date > t.due_date THEN 1 ELSE 0 END AS overdue
+    FROM tasks t
+    WHERE t.status = 'COMPLETED' AND t.completed_at IS NOT NULL
+),
+buckets AS (
+    SELECT 'GLOBAL' AS dimension, 0::BIGINT AS dimension_id, stat_date, hours, overdue FROM completed
+    UNION ALL
+    SELECT 'PROJECT', project_id, stat_date, hours, overdue FROM completed
+    UNION ALL
+    SELECT 'TECHNICIEN', tt.technicien_id, c.stat_date, c.hours, c.overdue
+    FROM completed c JOIN task_technicien tt ON tt.task_id = c.id
+)
+INSERT INTO task_daily_stats (dimension, dimension_id, stat_date, completed_count, completion_hours_sum, overdue_count)
+SELECT dimension, dimension_id, stat_date, COUNT(*), SUM(hours), SUM(overdue)
+FROM buckets
+GROUP BY dimension, dimension_id, stat_date
+ON CONFLICT (dimension, dimension_id, stat_date) DO UPDATE SET
+    completed_count = EXCLUDED.completed_count,
+    completion_hours_sum = EXCLUDED.completion_hours_sum,
+    overdue_count = EXCLUDED.overdue_count;
+
+COMMIT;
+
+-- Vérification : les deux totaux doivent être égaux
+-- SELECT SUM(created_count) FROM task_daily_stats WHERE dimension = 'GLOBAL';
+-- SELECT COUNT(*) FROM tasks WHERE created_at IS NOT NULL;
@@ -0,0 +1,31 @@
+package com.topographe.topographe;
+
+import com.topographe.topographe.entity.User;
+import com.topographe.topographe.entity.enumm.Role;
+import com.topographe.topographe.entity.referentiel.City;
+
+import java.time.LocalDate;
+
+/**
+ * Utilisateurs de test : champs obligatoires de users renseignés à partir du nom d'utilisateur.
+ * Les tests JPA chargent aussi /sql/users-single-table.sql (colonnes des sous-classes nullables).
+ */
+public final class TestUsers {
+
+	private TestUsers() {
+	}
+
+	public static <U extends User> U fill(U user, String username, City city, Role role) {
+		user.setUsername(username);
+		user.setEmail(username + "@topodash.ma");
+		user.setPassword("secret");
+		user.setPhoneNumber("06" + Math.abs(username.hashCode()));
+		user.setFirstName(username);
+		user.setLastName("Test");
+		user.setBirthday(LocalDate.of(1990, 1, 1));
+		user.setCin("CIN-" + username);
+		user.setCity(city);
+		user.setRole(role);
+		return user;
+	}
+}
@@ -0,0 +1,54 @@
+package com.topographe.topographe.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:actuator;MODE=PostgreSQL",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.jpa.show-sql=false",
+		"management.health.mail.enabled=false"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class ActuatorSecurityTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void healthIsPublic() throws Exception {
+		mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+	}
+
+	@Test
+	void metricsAndPrometheusRequireAuthentication() throws Exception {
+		mockMvc.perform(get("/actuator/metrics")).andExpect(status().isForbidden());
+		mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isForbidden());
+	}
+
+	@Test
+	@WithMockUser(roles = "TECHNICIEN")
+	void metricsAreForbiddenToNonAdmins() throws Exception {
+		mockMvc.perform(get("/actuator/metrics")).andExpect(status().isForbidden());
+	}
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void adminCanReadMetricsAndPrometheus() throws Exception {
+		mockMvc.perform(get("/actuator/metrics")).andExpect(status().isOk());
+		mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isOk());
+	}
+}
@@ -0,0 +1,156 @@
+package com.topographe.topographe.controller;
+
+import com.topographe.topographe.entity.Client;
+import com.topographe.topographe.entity.Project;
+import com.topographe.topographe.entity.Task;
+import com.topographe.topographe.entity.Technicien;
+import com.topographe.topographe.entity.Topographe;
+import com.topographe.topographe.entity.enumm.ClientType;
+import com.topographe.topographe.entity.enumm.ProjectStatus;
+import com.topographe.topographe.entity.enumm.Role;
+import com.topographe.topographe.entity.enumm.SkillLevel;
+import com.topographe.topographe.entity.enumm.TaskStatus;
+import com.topographe.topographe.entity.referentiel.City;
+import com.topographe.topographe.metrics.StatementBudgetExceededException;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.topographe.topographe.TestUsers.fill;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Budgets @StatementBudget des listes de tâches, contrôlés en erreur (enforce=true) sur des pages pleines.
+ * Le budget par défaut est abaissé à 1 pour vérifier qu'un dépassement fait bien échouer la requête.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:statement-budget;MODE=PostgreSQL",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.jpa.show-sql=false",
+		"app.sql.statement-budget.enforce=true",
+		"app.sql.statement-budget.default=1"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Sql(scripts = "/sql/users-single-table.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+@WithMockUser(roles = "ADMIN")
+class TaskControllerStatementBudgetTests {
+
+	private static final int TASK_COUNT = 30;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EntityManager em;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private Long projectId;
+	private Long technicienId;
+	private Long taskId;
+
+	@BeforeAll
+	void setUp() {
+		transactionTemplate.executeWithoutResult(status -> {
+			City city = City.builder().name("Rabat").build();
+			em.persist(city);
+
+			Topographe topographe = fill(new Topographe(), "topo-budget", city, Role.TOPOGRAPHE);
+			topographe.setLicenseNumber("LIC-B");
+			em.persist(topographe);
+
+			Client client = fill(new Client(), "client-budget", city, Role.CLIENT);
+			client.setClientType(ClientType.COMPANY);
+			client.setCreatedBy(topographe);
+			em.persist(client);
+
+			Project project = new Project();
+			project.setName("Bornage");
+			project.setClient(client);
+			project.setTopographe(topographe);
+			project.setStatus(ProjectStatus.IN_PROGRESS);
+			em.persist(project);
+
+			List<Technicien> techniciens = new ArrayList<>();
+			for (int i = 0; i < 3; i++) {
+				Technicien technicien = fill(new Technicien(), "tech-budget" + i, city, Role.TECHNICIEN);
+				technicien.setSkillLevel(SkillLevel.SENIOR);
+				technicien.setAssignedTo(topographe);
+				em.persist(technicien);
+				techniciens.add(technicien);
+			}
+
+			for (int i = 0; i < TASK_COUNT; i++) {
+				Task task = new Task();
+				task.setTitle("Borne " + i);
+				task.setProject(project);
+				task.setStatus(TaskStatus.TODO);
+				task.setDueDate(LocalDate.now().plusDays(i));
+				task.getAssignedTechniciens().add(techniciens.get(i % 3));
+				task.getAssignedTechniciens().add(techniciens.get((i + 1) % 3));
+				em.persist(task);
+				taskId = task.getId();
+			}
+			projectId = project.getId();
+			technicienId = techniciens.get(0).getId();
+		});
+	}
+
+	@Test
+	void allTasksStayWithinBudget() throws Exception {
+		mockMvc.perform(get("/api/task").param("size", "25"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.data.content.length()").value(25));
+	}
+
+	@Test
+	void filteredSearchStaysWithinBudget() throws Exception {
+		mockMvc.perform(get("/api/task/search").param("size", "25")
+						.param("projectId", projectId.toString())
+						.param("technicienId", technicienId.toString()))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void cursorSearchStaysWithinBudget() throws Exception {
+		mockMvc.perform(get("/api/task/search/cursor").param("size", "25")
+						.param("projectId", projectId.toString()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.data.content.length()").value(25));
+	}
+
+	@Test
+	void projectTasksStayWithinBudget() throws Exception {
+		mockMvc.perform(get("/api/task/project/{projectId}", projectId).param("size", "25"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.data.content.length()").value(25));
+	}
+
+	@Test
+	void endpointOverItsBudgetFails() {
+		assertThatThrownBy(() -> mockMvc.perform(get("/api/task/{id}", taskId)))
+				.isInstanceOf(StatementBudgetExceededException.class)
+				.hasMessageContaining("/api/task/{id}");
+	}
+}
@@ -0,0 +1,36 @@
+package com.topographe.topographe.datagen;
+
+import com.topographe.topographe.entity.enumm.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CopyFileTests {
+
+	@Test
+	void valuesAreWrittenInCopyTextFormat() {
+		assertThat(CopyFile.escape(null)).isEqualTo("\\N");
+		assertThat(CopyFile.escape(TaskStatus.IN_PROGRESS)).isEqualTo("IN_PROGRESS");
+		assertThat(CopyFile.escape(LocalDate.of(2026, 3, 1))).isEqualTo("2026-03-01");
+		assertThat(CopyFile.escape(LocalDateTime.of(2026, 3, 1, 8, 30))).isEqualTo("2026-03-01T08:30");
+		assertThat(CopyFile.escape("Levé n° 12")).isEqualTo("Levé n° 12");
+	}
+
+	@Test
+	void controlCharactersAreEscaped() {
+		assertThat(CopyFile.escape("a\tb\nc\rd\\e")).isEqualTo("a\\tb\\nc\\rd\\\\e");
+	}
+
+	@Test
+	void rowsMustMatchTheColumnList() throws Exception {
+		try (CopyFile file = new CopyFile("task_technicien", "task_id", "technicien_id")) {
+			file.row(1L, 2L);
+			assertThatThrownBy(() -> file.row(1L)).isInstanceOf(IllegalArgumentException.class);
+			assertThat(file.getRows()).isEqualTo(1);
+		}
+	}
+}
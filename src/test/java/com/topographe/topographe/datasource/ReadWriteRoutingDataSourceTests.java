@@ -0,0 +1,127 @@
+package com.topographe.topographe.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReadWriteRoutingDataSourceTests {
+
+	private DataSource replica1;
+	private DataSource replica2;
+	private ReplicaLagMonitor monitor;
+	private ReadWriteRoutingDataSource routing;
+
+	@BeforeEach
+	void setUp() throws SQLException {
+		replica1 = mock(DataSource.class);
+		replica2 = mock(DataSource.class);
+		lag(replica1, 0);
+		lag(replica2, 0);
+
+		Map<String, DataSource> replicas = new LinkedHashMap<>();
+		replicas.put("replica-1", replica1);
+		replicas.put("replica-2", replica2);
+		monitor = new ReplicaLagMonitor(new ReadReplicas(replicas), 1000);
+		monitor.check();
+		routing = new ReadWriteRoutingDataSource(mock(DataSource.class), new ReadReplicas(replicas), monitor,
+				new ReadYourWrites(Duration.ofMinutes(1), 100));
+	}
+
+	@AfterEach
+	void tearDown() {
+		TransactionSynchronizationManager.clear();
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void readOnlyTransactionsRotateOverReplicasAndWritesStayOnPrimary() {
+		assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+
+		begin(true);
+		assertThat(List.of(routing.determineCurrentLookupKey(), routing.determineCurrentLookupKey()))
+				.containsExactlyInAnyOrder("replica-1", "replica-2");
+
+		begin(false);
+		assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+	}
+
+	@Test
+	void laggingOrUnreachableReplicasFallBackToPrimary() throws SQLException {
+		lag(replica1, 5000);
+		when(replica2.getConnection()).thenThrow(new SQLException("connexion refusée"));
+		monitor.check();
+
+		begin(true);
+		assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+	}
+
+	@Test
+	void replicaWhoseWalReceiverIsDisconnectedIsNotUsed() throws SQLException {
+		// WAL reçu entièrement rejoué mais plus de streaming depuis la principale : retard inconnu
+		lag(replica1, ReplicaLagMonitor.DISCONNECTED);
+		monitor.check();
+
+		assertThat(monitor.getUsableReplicas()).containsExactly("replica-2");
+		assertThat(ReplicaLagMonitor.LAG_QUERY).contains("pg_stat_wal_receiver WHERE status = 'streaming'");
+	}
+
+	@Test
+	void readsFollowingAWriteStayOnPrimaryForTheSameUser() {
+		login("alice");
+		begin(false);
+		routing.determineCurrentLookupKey();
+		// Rien n'est retenu avant le commit
+		begin(true);
+		assertThat(routing.determineCurrentLookupKey()).isNotEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+
+		begin(false);
+		routing.determineCurrentLookupKey();
+		TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+		begin(true);
+		assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+		login("bob");
+		assertThat(routing.determineCurrentLookupKey()).isNotEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+	}
+
+	private static void begin(boolean readOnly) {
+		TransactionSynchronizationManager.clear();
+		TransactionSynchronizationManager.initSynchronization();
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+	}
+
+	private static void login(String username) {
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken(username, null, List.of()));
+	}
+
+	private static void lag(DataSource replica, long millis) throws SQLException {
+		Connection connection = mock(Connection.class);
+		Statement statement = mock(Statement.class);
+		ResultSet rs = mock(ResultSet.class);
+		when(replica.getConnection()).thenReturn(connection);
+		when(connection.createStatement()).thenReturn(statement);
+		when(statement.executeQuery(ReplicaLagMonitor.LAG_QUERY)).thenReturn(rs);
+		when(rs.next()).thenReturn(true);
+		when(rs.getLong(1)).thenReturn(millis);
+	}
+}
@@ -0,0 +1,140 @@
+package com.topographe.topographe.metrics;
+
+import com.topographe.topographe.config.MetricsConfig;
+import com.topographe.topographe.entity.Topographe;
+import com.topographe.topographe.entity.enumm.Role;
+import com.topographe.topographe.entity.referentiel.City;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+
+import static com.topographe.topographe.TestUsers.fill;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = {
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.show-sql=false"
+})
+@Import(MetricsConfig.class)
+@Sql("/sql/users-single-table.sql")
+class RequestQueryMetricsTests {
+
+	@Autowired
+	private TestEntityManager em;
+
+	@AfterEach
+	void tearDown() {
+		RequestQueryStats.end();
+	}
+
+	@Test
+	void hibernateActivityIsCountedForTheCurrentRequestOnly() {
+		Long topographeId = persistTopographe();
+		em.flush();
+		em.clear();
+
+		RequestQueryStats stats = RequestQueryStats.begin();
+		Topographe topographe = em.find(Topographe.class, topographeId);
+		topographe.getClients().size();
+		RequestQueryStats.end();
+
+		// Le topographe (ville paresseuse), puis la collection clients (vide)
+		assertThat(stats.getStatements()).isEqualTo(2);
+		assertThat(stats.getEntityLoads()).isEqualTo(1);
+		assertThat(stats.getCollectionFetches()).isEqualTo(1);
+
+		em.clear();
+		em.find(Topographe.class, topographeId);
+		assertThat(RequestQueryStats.current()).isNull();
+		assertThat(stats.getStatements()).isEqualTo(2);
+	}
+
+	@Test
+	void sameStatementWithDifferentParametersIsReportedAsNPlusOne() {
+		List<Long> cityIds = List.of("Fès", "Tanger", "Agadir").stream()
+				.map(name -> em.persistAndGetId(City.builder().name(name).build(), Long.class))
+				.toList();
+		em.flush();
+		em.clear();
+
+		RequestQueryStats stats = RequestQueryStats.begin();
+		cityIds.forEach(id -> em.find(City.class, id));
+		em.find(City.class, cityIds.get(0));
+		RequestQueryStats.end();
+
+		assertThat(stats.repeatedStatements(4)).isEmpty();
+		assertThat(stats.repeatedStatements(3)).singleElement().satisfies(repeated -> {
+			assertThat(repeated.sql()).containsIgnoringCase("from city ");
+			assertThat(repeated.executions()).isEqualTo(3);
+			assertThat(repeated.distinctParameters()).isEqualTo(3);
+		});
+	}
+
+	@Test
+	void filterRecordsOneSamplePerEndpoint() throws Exception {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		RequestQueryMetricsFilter filter = new RequestQueryMetricsFilter(registry, 0, false, 10);
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/task/42");
+
+		filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+			req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/task/{id}");
+			RequestQueryStats.statementExecuted("select 1", List.of());
+			RequestQueryStats.statementExecuted("select 2", List.of());
+			RequestQueryStats.entityLoaded();
+		});
+
+		DistributionSummary statements = registry.get("hibernate.request.statements")
+				.tag("method", "GET").tag("uri", "/api/task/{id}").summary();
+		assertThat(statements.count()).isEqualTo(1);
+		assertThat(statements.totalAmount()).isEqualTo(2);
+		assertThat(registry.get("hibernate.request.entity.loads").summary().totalAmount()).isEqualTo(1);
+		assertThat(registry.get("hibernate.request.collection.fetches").summary().totalAmount()).isZero();
+		assertThat(RequestQueryStats.current()).isNull();
+	}
+
+	@Test
+	void enforcedBudgetFailsTheRequest() throws Exception {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		RequestQueryMetricsFilter filter = new RequestQueryMetricsFilter(registry, 10, true, 10);
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/task/42");
+		HandlerMethod handler = new HandlerMethod(new BudgetedController(), BudgetedController.class.getMethod("get"));
+
+		assertThatThrownBy(() -> filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+			req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/task/{id}");
+			req.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, handler);
+			RequestQueryStats.statementExecuted("select 1", List.of());
+			RequestQueryStats.statementExecuted("select 2", List.of());
+		}))
+				.isInstanceOf(StatementBudgetExceededException.class)
+				.hasMessageContaining("2 instructions SQL pour un budget de 1");
+		assertThat(registry.get("hibernate.request.budget.exceeded").tag("uri", "/api/task/{id}").counter().count())
+				.isEqualTo(1);
+	}
+
+	static class BudgetedController {
+
+		@StatementBudget(1)
+		public void get() {
+		}
+	}
+
+	private Long persistTopographe() {
+		City city = em.persist(City.builder().name("Rabat").build());
+		Topographe topographe = fill(new Topographe(), "topo", city, Role.TOPOGRAPHE);
+		topographe.setLicenseNumber("LIC-1");
+		return em.persistAndGetId(topographe, Long.class);
+	}
+}
@@ -0,0 +1,137 @@
+package com.topographe.topographe.repository;
+
+import com.topographe.topographe.entity.Client;
+import com.topographe.topographe.entity.Project;
+import com.topographe.topographe.entity.Topographe;
+import com.topographe.topographe.entity.User;
+import com.topographe.topographe.entity.enumm.ClientType;
+import com.topographe.topographe.entity.enumm.ProjectStatus;
+import com.topographe.topographe.entity.enumm.Role;
+import com.topographe.topographe.entity.referentiel.City;
+import com.topographe.topographe.repository.referentiel.CityRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static com.topographe.topographe.TestUsers.fill;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.show-sql=false",
+		"spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Sql("/sql/users-single-table.sql")
+// Le cache n'est alimenté qu'au commit : chaque étape tourne dans sa propre transaction
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTests {
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private ProjectRepository projectRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private CityRepository cityRepository;
+
+	private TransactionTemplate transaction;
+
+	private SessionFactory sessionFactory;
+
+	private Long projectId;
+
+	@BeforeEach
+	void setUp() {
+		sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+		transaction = new TransactionTemplate(transactionManager);
+
+		projectId = transaction.execute(status -> {
+			City city = cityRepository.save(City.builder().name("Rabat").build());
+
+			Topographe topographe = fill(new Topographe(), "topo", city, Role.TOPOGRAPHE);
+			topographe.setLicenseNumber("LIC-1");
+			userRepository.save(topographe);
+
+			Client client = fill(new Client(), "client", city, Role.CLIENT);
+			client.setClientType(ClientType.INDIVIDUAL);
+			client.setCreatedBy(topographe);
+			userRepository.save(client);
+
+			Project project = new Project();
+			project.setName("Bornage");
+			project.setClient(client);
+			project.setTopographe(topographe);
+			project.setStatus(ProjectStatus.IN_PROGRESS);
+			return projectRepository.save(project).getId();
+		});
+
+		// Chaque test part de régions vides
+		sessionFactory.getCache().evictAllRegions();
+	}
+
+	@AfterEach
+	void tearDown() {
+		transaction.executeWithoutResult(status -> {
+			projectRepository.deleteAllInBatch();
+			userRepository.deleteAllInBatch();
+			cityRepository.deleteAllInBatch();
+		});
+		sessionFactory.getCache().evictAllRegions();
+	}
+
+	@Test
+	void projectAndItsPartiesAreServedFromTheCacheOnceLoaded() {
+		Statistics statistics = sessionFactory.getStatistics();
+		transaction.execute(status -> loadProjectWithParties());
+		statistics.clear();
+
+		String cityName = transaction.execute(status -> loadProjectWithParties().getClient().getCity().getName());
+
+		assertThat(cityName).isEqualTo("Rabat");
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+		assertThat(statistics.getDomainDataRegionStatistics("projects").getHitCount()).isEqualTo(1);
+		assertThat(statistics.getDomainDataRegionStatistics("users").getHitCount()).isEqualTo(2);
+		assertThat(statistics.getDomainDataRegionStatistics("cities").getHitCount()).isEqualTo(1);
+	}
+
+	@Test
+	void nativeAssignmentWritesDoNotEvictCachedEntities() {
+		Long clientId = transaction.execute(status -> loadProjectWithParties().getClient().getId());
+
+		transaction.executeWithoutResult(status -> taskRepository.deleteAssignments(List.of(-1L)));
+
+		// Seule la table task_technicien est déclarée : projets et utilisateurs restent en cache
+		assertThat(sessionFactory.getCache().containsEntity(Project.class, projectId)).isTrue();
+		assertThat(sessionFactory.getCache().containsEntity(User.class, clientId)).isTrue();
+	}
+
+	// À appeler dans une transaction
+	private Project loadProjectWithParties() {
+		Project project = projectRepository.findById(projectId).orElseThrow();
+		project.getClient().getCity().getName();
+		project.getTopographe().getUsername();
+		return project;
+	}
+}
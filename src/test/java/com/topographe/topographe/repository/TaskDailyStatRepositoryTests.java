@@ -0,0 +1,81 @@
+package com.topographe.topographe.repository;
+
+import com.topographe.topographe.entity.TaskDailyStat;
+import com.topographe.topographe.entity.enumm.RollupDimension;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// UPSERT natif (ON CONFLICT ... DO UPDATE) que H2 ne sait pas exécuter : PostgreSQL en conteneur, test ignoré sans Docker
+@DataJpaTest(properties = {
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class TaskDailyStatRepositoryTests {
+
+	private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+	@Container
+	static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+	@DynamicPropertySource
+	static void datasource(DynamicPropertyRegistry registry) {
+		registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+		registry.add("spring.datasource.username", POSTGRES::getUsername);
+		registry.add("spring.datasource.password", POSTGRES::getPassword);
+	}
+
+	@Autowired
+	private TestEntityManager em;
+
+	@Autowired
+	private TaskDailyStatRepository repository;
+
+	@Test
+	void incrementsOfTheSameBucketAreAddedToOneRow() {
+		repository.increment("GLOBAL", 0L, DAY, 1, 0, 0, 0);
+		repository.increment("GLOBAL", 0L, DAY, 2, 0, 0, 0);
+		repository.increment("GLOBAL", 0L, DAY, 0, 1, 30, 1);
+		repository.increment("PROJECT", 10L, DAY, 1, 0, 0, 0);
+		em.clear();
+
+		TaskDailyStat global = repository.findById(new TaskDailyStat.Key(RollupDimension.GLOBAL, 0L, DAY)).orElseThrow();
+		assertThat(global.getCreatedCount()).isEqualTo(3);
+		assertThat(global.getCompletedCount()).isEqualTo(1);
+		assertThat(global.getCompletionHoursSum()).isEqualTo(30);
+		assertThat(global.getOverdueCount()).isEqualTo(1);
+		assertThat(repository.count()).isEqualTo(2);
+	}
+
+	@Test
+	void periodTotalsOnlyCountDaysInRange() {
+		repository.increment("TECHNICIEN", 30L, DAY, 2, 1, 24, 0);
+		repository.increment("TECHNICIEN", 30L, DAY.minusDays(3), 1, 1, 48, 1);
+		repository.increment("TECHNICIEN", 30L, DAY.minusDays(30), 5, 0, 0, 0);
+		repository.increment("TECHNICIEN", 31L, DAY, 1, 0, 0, 0);
+
+		Object[] totals = repository.sumBetween(RollupDimension.TECHNICIEN, 30L, DAY.minusDays(6), DAY).get(0);
+		assertThat(totals).extracting(value -> ((Number) value).longValue()).containsExactly(3L, 2L, 72L, 1L);
+
+		List<Object[]> byTechnicien = repository.sumBetweenGroupedById(RollupDimension.TECHNICIEN, DAY.minusDays(6), DAY);
+		assertThat(byTechnicien).hasSize(2);
+
+		// Aucune ligne sur la période : totaux à zéro plutôt que null
+		Object[] empty = repository.sumBetween(RollupDimension.PROJECT, 10L, DAY.minusDays(6), DAY).get(0);
+		assertThat(empty).extracting(value -> ((Number) value).longValue()).containsOnly(0L);
+	}
+}
@@ -0,0 +1,148 @@
+package com.topographe.topographe.repository;
+
+import com.topographe.topographe.dto.projection.TechnicienTaskStats;
+import com.topographe.topographe.entity.Client;
+import com.topographe.topographe.entity.Project;
+import com.topographe.topographe.entity.Task;
+import com.topographe.topographe.entity.Technicien;
+import com.topographe.topographe.entity.Topographe;
+import com.topographe.topographe.entity.enumm.ClientType;
+import com.topographe.topographe.entity.enumm.ProjectStatus;
+import com.topographe.topographe.entity.enumm.Role;
+import com.topographe.topographe.entity.enumm.SkillLevel;
+import com.topographe.topographe.entity.enumm.TaskStatus;
+import com.topographe.topographe.entity.referentiel.City;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.topographe.topographe.TestUsers.fill;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.show-sql=false"
+})
+@Sql("/sql/users-single-table.sql")
+class TechnicienTaskStatsQueryTests {
+
+	@Autowired
+	private TestEntityManager em;
+
+	@Autowired
+	private TechnicienRepository technicienRepository;
+
+	private City city;
+	private Topographe topographe;
+	private Client client;
+
+	@BeforeEach
+	void setUp() {
+		city = em.persist(City.builder().name("Oujda").build());
+
+		topographe = fill(new Topographe(), "topo", city, Role.TOPOGRAPHE);
+		topographe.setLicenseNumber("LIC-1");
+		em.persist(topographe);
+
+		client = fill(new Client(), "client", city, Role.CLIENT);
+		client.setClientType(ClientType.COMPANY);
+		client.setCreatedBy(topographe);
+		em.persist(client);
+	}
+
+	@Test
+	void columnsFollowTheDocumentedOrder() {
+		Technicien technicien = newTechnicien("tech");
+		Project active = newProject("Actif", ProjectStatus.IN_PROGRESS);
+		Project completed = newProject("Terminé", ProjectStatus.COMPLETED);
+		// Nombres distincts par colonne pour repérer un décalage : 4 IN_PROGRESS, 3 COMPLETED, 2 TODO, 1 REVIEW
+		newTasks(active, TaskStatus.IN_PROGRESS, 4, technicien);
+		newTasks(active, TaskStatus.COMPLETED, 1, technicien);
+		newTasks(completed, TaskStatus.COMPLETED, 2, technicien);
+		newTasks(completed, TaskStatus.TODO, 2, technicien);
+		newTasks(completed, TaskStatus.REVIEW, 1, technicien);
+		em.flush();
+
+		List<Object[]> rows = technicienRepository.findTaskStatsByTechnicienIds(List.of(technicien.getId()));
+
+		assertThat(rows).singleElement().satisfies(row -> {
+			assertThat(row).hasSize(9);
+			assertThat(((Number) row[0]).longValue()).isEqualTo(technicien.getId());
+		});
+		TechnicienTaskStats stats = TechnicienTaskStats.fromRow(rows.get(0));
+		assertThat(stats.getTotalTasks()).isEqualTo(10);
+		assertThat(stats.getActiveTasks()).isEqualTo(4);
+		assertThat(stats.getCompletedTasks()).isEqualTo(3);
+		assertThat(stats.getTodoTasks()).isEqualTo(2);
+		assertThat(stats.getReviewTasks()).isEqualTo(1);
+		assertThat(stats.getTotalProjects()).isEqualTo(2);
+		assertThat(stats.getActiveProjects()).isEqualTo(1);
+		assertThat(stats.getCompletedProjects()).isEqualTo(1);
+	}
+
+	@Test
+	void statsAreGroupedPerTechnicienAndSkipTechniciensWithoutTasks() {
+		Technicien first = newTechnicien("tech1");
+		Technicien second = newTechnicien("tech2");
+		Technicien idle = newTechnicien("tech3");
+		Project project = newProject("Commun", ProjectStatus.IN_PROGRESS);
+		// Tâches partagées : comptées pour chacun des deux techniciens
+		newTasks(project, TaskStatus.TODO, 2, first, second);
+		newTasks(project, TaskStatus.IN_PROGRESS, 3, first);
+		em.flush();
+
+		Map<Long, TechnicienTaskStats> stats = technicienRepository
+				.findTaskStatsByTechnicienIds(List.of(first.getId(), second.getId(), idle.getId())).stream()
+				.map(TechnicienTaskStats::fromRow)
+				.collect(Collectors.toMap(TechnicienTaskStats::getTechnicienId, Function.identity()));
+
+		assertThat(stats).containsOnlyKeys(first.getId(), second.getId());
+		assertThat(stats.get(first.getId())).satisfies(s -> {
+			assertThat(s.getTotalTasks()).isEqualTo(5);
+			assertThat(s.getTodoTasks()).isEqualTo(2);
+			assertThat(s.getActiveTasks()).isEqualTo(3);
+			assertThat(s.getTotalProjects()).isEqualTo(1);
+		});
+		assertThat(stats.get(second.getId())).satisfies(s -> {
+			assertThat(s.getTotalTasks()).isEqualTo(2);
+			assertThat(s.getTodoTasks()).isEqualTo(2);
+			assertThat(s.getActiveTasks()).isZero();
+			assertThat(s.getTotalProjects()).isEqualTo(1);
+		});
+	}
+
+	private Technicien newTechnicien(String username) {
+		Technicien technicien = fill(new Technicien(), username, city, Role.TECHNICIEN);
+		technicien.setSkillLevel(SkillLevel.SENIOR);
+		technicien.setAssignedTo(topographe);
+		return em.persist(technicien);
+	}
+
+	private Project newProject(String name, ProjectStatus status) {
+		Project project = new Project();
+		project.setName(name);
+		project.setClient(client);
+		project.setTopographe(topographe);
+		project.setStatus(status);
+		return em.persist(project);
+	}
+
+	private void newTasks(Project project, TaskStatus status, int count, Technicien... techniciens) {
+		for (int i = 0; i < count; i++) {
+			Task task = new Task();
+			task.setTitle(project.getName() + " " + status + " " + i);
+			task.setProject(project);
+			task.setStatus(status);
+			task.getAssignedTechniciens().addAll(List.of(techniciens));
+			em.persist(task);
+		}
+	}
+}
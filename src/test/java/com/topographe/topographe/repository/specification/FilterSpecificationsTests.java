@@ -0,0 +1,216 @@
+package com.topographe.topographe.repository.specification;
+
+import com.topographe.topographe.entity.Client;
+import com.topographe.topographe.entity.Project;
+import com.topographe.topographe.entity.Task;
+import com.topographe.topographe.entity.Technicien;
+import com.topographe.topographe.entity.Topographe;
+import com.topographe.topographe.entity.enumm.ClientType;
+import com.topographe.topographe.entity.enumm.ProjectStatus;
+import com.topographe.topographe.entity.enumm.Role;
+import com.topographe.topographe.entity.enumm.SkillLevel;
+import com.topographe.topographe.entity.enumm.TaskStatus;
+import com.topographe.topographe.entity.referentiel.City;
+import com.topographe.topographe.repository.ProjectRepository;
+import com.topographe.topographe.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.topographe.topographe.TestUsers.fill;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.show-sql=false"
+})
+@Sql("/sql/users-single-table.sql")
+class FilterSpecificationsTests {
+
+	@Autowired
+	private TestEntityManager em;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private ProjectRepository projectRepository;
+
+	private Topographe topo1;
+	private Topographe topo2;
+	private Client client1;
+	private Project leve;
+	private Project bornage;
+	private Project cadastre;
+	private Technicien tech1;
+	private Technicien tech2;
+	private Technicien tech3;
+	private final List<Task> tasks = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		City city = em.persist(City.builder().name("Meknès").build());
+		topo1 = topographe("topo1", city);
+		topo2 = topographe("topo2", city);
+		client1 = client("client1", city, topo1);
+		Client client2 = client("client2", city, topo2);
+
+		leve = project("Levé Rabat", client1, topo1, ProjectStatus.IN_PROGRESS,
+				LocalDate.of(2026, 1, 1), LocalDate.of(2026, 6, 30));
+		bornage = project("Bornage Fès", client2, topo2, ProjectStatus.PLANNING,
+				LocalDate.of(2026, 3, 1), LocalDate.of(2026, 12, 31));
+		cadastre = project("Cadastre Rabat", client1, topo2, ProjectStatus.COMPLETED,
+				LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31));
+
+		tech1 = technicien("tech1", city, topo1);
+		tech2 = technicien("tech2", city, topo1);
+		tech3 = technicien("tech3", city, topo2);
+
+		// tasks.get(0) à tasks.get(4)
+		task("Implantation", leve, TaskStatus.TODO, LocalDate.of(2026, 5, 1), tech1, tech2);
+		task("Nivellement", leve, TaskStatus.IN_PROGRESS, LocalDate.of(2026, 5, 10), tech1);
+		task("Implantation bornes", bornage, TaskStatus.TODO, LocalDate.of(2026, 6, 1), tech2, tech3);
+		task("Releve", cadastre, TaskStatus.COMPLETED, LocalDate.of(2025, 10, 1));
+		task("Levé", bornage, TaskStatus.REVIEW, LocalDate.of(2026, 5, 5), tech1, tech2, tech3);
+		em.flush();
+		em.clear();
+	}
+
+	@Test
+	void eachTaskFilterAlone() {
+		assertThat(tasks(null, null, null, null, null, null, null, null)).containsExactly(0, 1, 2, 3, 4);
+		assertThat(tasks(TaskStatus.TODO, null, null, null, null, null, null, null)).containsExactly(0, 2);
+		assertThat(tasks(null, leve.getId(), null, null, null, null, null, null)).containsExactly(0, 1);
+		assertThat(tasks(null, null, tech1.getId(), null, null, null, null, null)).containsExactly(0, 1, 4);
+		assertThat(tasks(null, null, null, topo2.getId(), null, null, null, null)).containsExactly(2, 3, 4);
+		assertThat(tasks(null, null, null, null, client1.getId(), null, null, null)).containsExactly(0, 1, 3);
+		assertThat(tasks(null, null, null, null, null, LocalDate.of(2026, 5, 5), null, null)).containsExactly(1, 2, 4);
+		assertThat(tasks(null, null, null, null, null, null, LocalDate.of(2026, 5, 5), null)).containsExactly(0, 3, 4);
+		// Recherche insensible à la casse, espaces ignorés ; titre vide = pas de filtre
+		assertThat(tasks(null, null, null, null, null, null, null, "  IMPLANT ")).containsExactly(0, 2);
+		assertThat(tasks(null, null, null, null, null, null, null, " ")).containsExactly(0, 1, 2, 3, 4);
+	}
+
+	@Test
+	void taskFiltersAreCombinedWithAnd() {
+		assertThat(tasks(TaskStatus.TODO, null, tech2.getId(), null, null, null, null, null)).containsExactly(0, 2);
+		assertThat(tasks(null, null, tech2.getId(), topo2.getId(), null, LocalDate.of(2026, 5, 5), null, null))
+				.containsExactly(2, 4);
+		assertThat(tasks(null, leve.getId(), tech1.getId(), null, null, null, null, "nivel")).containsExactly(1);
+		assertThat(tasks(TaskStatus.COMPLETED, null, tech1.getId(), null, null, null, null, null)).isEmpty();
+	}
+
+	@Test
+	void technicienFilterKeepsOneRowPerTaskAndCorrectPageTotals() {
+		// Tâches à plusieurs techniciens, projet chargé avec ses parties comme dans la recherche paginée
+		Specification<Task> spec = TaskSpecifications.withFilters(null, null, tech2.getId(), null, null,
+				null, null, null).and(TaskSpecifications.fetchProject());
+
+		Page<Task> first = taskRepository.findAll(spec, PageRequest.of(0, 2, Sort.by("id")));
+		Page<Task> second = taskRepository.findAll(spec, PageRequest.of(1, 2, Sort.by("id")));
+
+		assertThat(first.getTotalElements()).isEqualTo(3);
+		assertThat(first.getTotalPages()).isEqualTo(2);
+		assertThat(first.getContent()).extracting(Task::getId)
+				.containsExactly(tasks.get(0).getId(), tasks.get(2).getId());
+		assertThat(second.getContent()).extracting(Task::getId).containsExactly(tasks.get(4).getId());
+	}
+
+	@Test
+	void eachProjectFilterAlone() {
+		assertThat(projects(null, null, null, null, null, null)).containsExactly(leve, bornage, cadastre);
+		assertThat(projects(ProjectStatus.IN_PROGRESS, null, null, null, null, null)).containsExactly(leve);
+		assertThat(projects(null, client1.getId(), null, null, null, null)).containsExactly(leve, cadastre);
+		assertThat(projects(null, null, topo2.getId(), null, null, null)).containsExactly(bornage, cadastre);
+		assertThat(projects(null, null, null, LocalDate.of(2026, 1, 1), null, null)).containsExactly(leve, bornage);
+		assertThat(projects(null, null, null, null, LocalDate.of(2026, 6, 30), null)).containsExactly(leve, cadastre);
+		assertThat(projects(null, null, null, null, null, " rabat")).containsExactly(leve, cadastre);
+	}
+
+	@Test
+	void projectFiltersAreCombinedWithAnd() {
+		assertThat(projects(null, client1.getId(), null, null, LocalDate.of(2025, 12, 31), "RABAT"))
+				.containsExactly(cadastre);
+		assertThat(projects(null, null, topo2.getId(), LocalDate.of(2026, 1, 1), null, null)).containsExactly(bornage);
+		assertThat(projects(ProjectStatus.PLANNING, client1.getId(), null, null, null, null)).isEmpty();
+
+		Page<Project> page = projectRepository.findAll(
+				ProjectSpecifications.withFilters(null, client1.getId(), null, null, null, null)
+						.and(ProjectSpecifications.fetchParties()),
+				PageRequest.of(0, 1, Sort.by("id")));
+		assertThat(page.getTotalElements()).isEqualTo(2);
+		assertThat(page.getContent()).extracting(Project::getId).containsExactly(leve.getId());
+	}
+
+	// Indices (ordre de création) des tâches retenues
+	private List<Integer> tasks(TaskStatus status, Long projectId, Long technicienId, Long topographeId,
+								Long clientId, LocalDate dueDateFrom, LocalDate dueDateTo, String title) {
+		List<Long> ids = tasks.stream().map(Task::getId).toList();
+		return taskRepository.findAll(TaskSpecifications.withFilters(status, projectId, technicienId, topographeId,
+						clientId, dueDateFrom, dueDateTo, title), Sort.by("id")).stream()
+				.map(task -> ids.indexOf(task.getId()))
+				.toList();
+	}
+
+	private List<Project> projects(ProjectStatus status, Long clientId, Long topographeId,
+								   LocalDate startDate, LocalDate endDate, String name) {
+		List<Long> ids = projectRepository.findAll(ProjectSpecifications.withFilters(status, clientId, topographeId,
+						startDate, endDate, name), Sort.by("id")).stream()
+				.map(Project::getId)
+				.toList();
+		return List.of(leve, bornage, cadastre).stream().filter(project -> ids.contains(project.getId())).toList();
+	}
+
+	private Topographe topographe(String username, City city) {
+		Topographe topographe = fill(new Topographe(), username, city, Role.TOPOGRAPHE);
+		topographe.setLicenseNumber("LIC-" + username);
+		return em.persist(topographe);
+	}
+
+	private Client client(String username, City city, Topographe createdBy) {
+		Client client = fill(new Client(), username, city, Role.CLIENT);
+		client.setClientType(ClientType.COMPANY);
+		client.setCreatedBy(createdBy);
+		return em.persist(client);
+	}
+
+	private Project project(String name, Client client, Topographe topographe, ProjectStatus status,
+							LocalDate startDate, LocalDate endDate) {
+		Project project = new Project();
+		project.setName(name);
+		project.setClient(client);
+		project.setTopographe(topographe);
+		project.setStatus(status);
+		project.setStartDate(startDate);
+		project.setEndDate(endDate);
+		return em.persist(project);
+	}
+
+	private Technicien technicien(String username, City city, Topographe topographe) {
+		Technicien technicien = fill(new Technicien(), username, city, Role.TECHNICIEN);
+		technicien.setSkillLevel(SkillLevel.JUNIOR);
+		technicien.setAssignedTo(topographe);
+		return em.persist(technicien);
+	}
+
+	private void task(String title, Project project, TaskStatus status, LocalDate dueDate, Technicien... techniciens) {
+		Task task = new Task();
+		task.setTitle(title);
+		task.setProject(project);
+		task.setStatus(status);
+		task.setDueDate(dueDate);
+		task.getAssignedTechniciens().addAll(List.of(techniciens));
+		tasks.add(em.persist(task));
+	}
+}
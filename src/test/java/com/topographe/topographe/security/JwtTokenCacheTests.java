@@ -0,0 +1,35 @@
+package com.topographe.topographe.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtTokenCacheTests {
+
+	private final JwtTokenCache cache = new JwtTokenCache(100);
+
+	@Test
+	void verifiedTokenIsServedUntilItExpires() {
+		cache.put("token-a", claims("alice", System.currentTimeMillis() + 60_000));
+
+		assertThat(cache.getUsername("token-a")).isEqualTo("alice");
+		assertThat(cache.getUsername("token-b")).isNull();
+	}
+
+	@Test
+	void expiredTokenIsNeverServed() {
+		cache.put("token-a", claims("alice", System.currentTimeMillis() - 1_000));
+
+		assertThat(cache.getUsername("token-a")).isNull();
+	}
+
+	private static Claims claims(String username, long expiresAtMillis) {
+		Claims claims = Jwts.claims().setSubject(username);
+		claims.setExpiration(new Date(expiresAtMillis));
+		return claims;
+	}
+}
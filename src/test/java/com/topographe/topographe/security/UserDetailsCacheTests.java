@@ -0,0 +1,127 @@
+package com.topographe.topographe.security;
+
+import com.topographe.topographe.entity.Topographe;
+import com.topographe.topographe.entity.enumm.Role;
+import com.topographe.topographe.entity.referentiel.City;
+import com.topographe.topographe.repository.UserRepository;
+import com.topographe.topographe.repository.referentiel.CityRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.topographe.topographe.TestUsers.fill;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.show-sql=false"
+})
+@Import(UserDetailsCache.class)
+@Sql("/sql/users-single-table.sql")
+// L'éviction suit le commit : chaque étape tourne dans sa propre transaction
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserDetailsCacheTests {
+
+	@Autowired
+	private UserDetailsCache cache;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private CityRepository cityRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private TransactionTemplate transaction;
+
+	private final AtomicInteger loads = new AtomicInteger();
+
+	@BeforeEach
+	void setUp() {
+		transaction = new TransactionTemplate(transactionManager);
+		transaction.executeWithoutResult(status -> {
+			City city = cityRepository.save(City.builder().name("Rabat").build());
+			Topographe topographe = fill(new Topographe(), "topo", city, Role.TOPOGRAPHE);
+			topographe.setLicenseNumber("LIC-1");
+			userRepository.save(topographe);
+		});
+		cache.clear();
+	}
+
+	@AfterEach
+	void tearDown() {
+		userRepository.deleteAllInBatch();
+		cityRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void userIsLoadedOnceThenServedFromCache() {
+		CustomUserDetails first = load();
+		CustomUserDetails second = load();
+
+		assertThat(second).isSameAs(first);
+		assertThat(loads).hasValue(1);
+	}
+
+	@Test
+	void updateEvictsAfterCommitEvenIfReloadedBeforeIt() {
+		load();
+
+		transaction.executeWithoutResult(status -> {
+			Topographe topographe = (Topographe) userRepository.findByUsername("topo").orElseThrow();
+			topographe.setPassword("new-secret");
+			entityManager.flush();
+			// Requête concurrente entre le flush et le commit : elle lit ou remet en cache l'ancienne ligne
+			cache.get("topo", username -> new CustomUserDetails(fill(new Topographe(), username, null, Role.TOPOGRAPHE)));
+		});
+
+		assertThat(load().getPassword()).isEqualTo("new-secret");
+		assertThat(loads).hasValue(2);
+	}
+
+	@Test
+	void deleteEvictsAfterCommit() {
+		load();
+
+		transaction.executeWithoutResult(status -> userRepository.delete(userRepository.findByUsername("topo").orElseThrow()));
+
+		assertThat(cache.get("topo", username -> null)).isNull();
+	}
+
+	@Test
+	void rolledBackUpdateKeepsTheCachedUser() {
+		CustomUserDetails cached = load();
+
+		transaction.executeWithoutResult(status -> {
+			userRepository.findByUsername("topo").orElseThrow().setPassword("new-secret");
+			entityManager.flush();
+			status.setRollbackOnly();
+		});
+
+		assertThat(load()).isSameAs(cached);
+	}
+
+	private CustomUserDetails load() {
+		return cache.get("topo", username -> {
+			loads.incrementAndGet();
+			return transaction.execute(status ->
+					new CustomUserDetails(userRepository.findByUsername(username).orElseThrow()));
+		});
+	}
+}
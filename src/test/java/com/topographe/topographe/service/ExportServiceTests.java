@@ -0,0 +1,132 @@
+package com.topographe.topographe.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.topographe.topographe.entity.Client;
+import com.topographe.topographe.entity.Project;
+import com.topographe.topographe.entity.Task;
+import com.topographe.topographe.entity.Technicien;
+import com.topographe.topographe.entity.Topographe;
+import com.topographe.topographe.entity.enumm.ClientType;
+import com.topographe.topographe.entity.enumm.ProjectStatus;
+import com.topographe.topographe.entity.enumm.Role;
+import com.topographe.topographe.entity.enumm.SkillLevel;
+import com.topographe.topographe.entity.enumm.TaskStatus;
+import com.topographe.topographe.entity.referentiel.City;
+import com.topographe.topographe.service.export.ExportFormat;
+import com.topographe.topographe.service.impl.ExportServiceImpl;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.topographe.topographe.TestUsers.fill;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.show-sql=false"
+})
+@Import(ExportServiceImpl.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Sql("/sql/users-single-table.sql")
+class ExportServiceTests {
+
+	@Autowired
+	private TestEntityManager em;
+
+	@Autowired
+	private ExportService exportService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private Project project;
+	private Technicien technicien;
+
+	@BeforeEach
+	void setUp() {
+		City city = em.persist(City.builder().name("Casablanca").build());
+
+		Topographe topographe = fill(new Topographe(), "topo", city, Role.TOPOGRAPHE);
+		topographe.setLicenseNumber("LIC-1");
+		em.persist(topographe);
+
+		Client client = fill(new Client(), "client", city, Role.CLIENT);
+		client.setClientType(ClientType.COMPANY);
+		client.setCreatedBy(topographe);
+		em.persist(client);
+
+		project = new Project();
+		project.setName("Levé, \"phase 1\"");
+		project.setClient(client);
+		project.setTopographe(topographe);
+		project.setStatus(ProjectStatus.IN_PROGRESS);
+		em.persist(project);
+
+		technicien = fill(new Technicien(), "tech", city, Role.TECHNICIEN);
+		technicien.setSkillLevel(SkillLevel.SENIOR);
+		technicien.setAssignedTo(topographe);
+		em.persist(technicien);
+
+		for (int i = 0; i < 5; i++) {
+			Task task = new Task();
+			task.setTitle("Tâche " + i);
+			task.setProject(project);
+			task.setStatus(i < 3 ? TaskStatus.TODO : TaskStatus.COMPLETED);
+			task.setDueDate(LocalDate.of(2026, 1, 1).plusDays(i));
+			if (i % 2 == 0) {
+				task.getAssignedTechniciens().add(technicien);
+			}
+			em.persist(task);
+		}
+		em.flush();
+		em.clear();
+	}
+
+	@Test
+	void csvExportAppliesSearchFiltersAndLeavesPersistenceContextEmpty() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		exportService.exportTasks(ExportFormat.CSV, out,
+				TaskStatus.TODO, project.getId(), technicien.getId(), null, null, null, null, null);
+
+		List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+		// en-tête + tâches 0 et 2 (à faire et assignées au technicien)
+		assertThat(lines).hasSize(3);
+		assertThat(lines.get(0)).startsWith("id,title,status,dueDate");
+		assertThat(lines.get(1)).contains(",Tâche 0,TODO,2026-01-01,").contains(",\"Levé, \"\"phase 1\"\"\",")
+				.endsWith(",topo Test,1");
+		assertThat(lines.get(2)).contains(",Tâche 2,");
+		// Colonnes scalaires uniquement : aucune entité chargée
+		assertThat(em.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+	}
+
+	@Test
+	void ndjsonExportWritesOneObjectPerLine() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		exportService.exportProjects(ExportFormat.NDJSON, out, null, null, null, null, null, "levé");
+
+		String body = out.toString(StandardCharsets.UTF_8);
+		assertThat(body).endsWith("}\n");
+		List<String> lines = body.lines().toList();
+		assertThat(lines).hasSize(1);
+		JsonNode row = objectMapper.readTree(lines.get(0));
+		assertThat(row.get("id").asLong()).isEqualTo(project.getId());
+		assertThat(row.get("status").asText()).isEqualTo("IN_PROGRESS");
+		assertThat(row.get("clientName").asText()).isEqualTo("client Test");
+		assertThat(row.get("totalTasks").asInt()).isEqualTo(5);
+	}
+}
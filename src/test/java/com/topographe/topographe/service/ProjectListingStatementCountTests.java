@@ -0,0 +1,172 @@
+package com.topographe.topographe.service;
+
+import com.topographe.topographe.dto.response.PageResponse;
+import com.topographe.topographe.dto.response.ProjectResponse;
+import com.topographe.topographe.entity.Client;
+import com.topographe.topographe.entity.Project;
+import com.topographe.topographe.entity.Task;
+import com.topographe.topographe.entity.Technicien;
+import com.topographe.topographe.entity.Topographe;
+import com.topographe.topographe.entity.enumm.ClientType;
+import com.topographe.topographe.entity.enumm.ProjectStatus;
+import com.topographe.topographe.entity.enumm.Role;
+import com.topographe.topographe.entity.enumm.SkillLevel;
+import com.topographe.topographe.entity.enumm.TaskStatus;
+import com.topographe.topographe.entity.referentiel.City;
+import com.topographe.topographe.mapper.ProjectMapper;
+import com.topographe.topographe.service.counter.DashboardCounters;
+import com.topographe.topographe.service.deadline.DeadlineIndex;
+import com.topographe.topographe.service.impl.ProjectServiceImpl;
+import com.topographe.topographe.service.projection.ProjectionQuery;
+import com.topographe.topographe.util.KeysetCursor;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.topographe.topographe.TestUsers.fill;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = {
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.show-sql=false",
+		"spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({ProjectServiceImpl.class, ProjectMapper.class, DashboardCounters.class, DeadlineIndex.class,
+		ProjectionQuery.class})
+@Sql("/sql/users-single-table.sql")
+class ProjectListingStatementCountTests {
+
+	private static final int PROJECT_COUNT = 12;
+
+	@Autowired
+	private TestEntityManager em;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private ProjectService projectService;
+
+	@Autowired
+	private ProjectMapper projectMapper;
+
+	private final List<Long> projectIds = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		City city = em.persist(City.builder().name("Marrakech").build());
+
+		Topographe topographe = fill(new Topographe(), "topo", city, Role.TOPOGRAPHE);
+		topographe.setLicenseNumber("LIC-1");
+		em.persist(topographe);
+
+		Client client = fill(new Client(), "client", city, Role.CLIENT);
+		client.setClientType(ClientType.COMPANY);
+		client.setCreatedBy(topographe);
+		em.persist(client);
+
+		List<Technicien> techniciens = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			Technicien technicien = fill(new Technicien(), "tech" + i, city, Role.TECHNICIEN);
+			technicien.setSkillLevel(SkillLevel.SENIOR);
+			technicien.setAssignedTo(topographe);
+			techniciens.add(em.persist(technicien));
+		}
+
+		TaskStatus[] statuses = TaskStatus.values();
+		for (int p = 0; p < PROJECT_COUNT; p++) {
+			Project project = new Project();
+			project.setName("Projet " + p);
+			project.setClient(client);
+			project.setTopographe(topographe);
+			project.setStatus(ProjectStatus.IN_PROGRESS);
+			em.persist(project);
+			projectIds.add(project.getId());
+
+			// Projet p : p tâches (le premier n'en a aucune), statuts et équipes variés
+			for (int t = 0; t < p; t++) {
+				Task task = new Task();
+				task.setTitle("Tâche " + p + "-" + t);
+				task.setProject(project);
+				task.setStatus(statuses[(p + t) % statuses.length]);
+				task.getAssignedTechniciens().add(techniciens.get(t % 3));
+				if (t % 2 == 0) {
+					task.getAssignedTechniciens().add(techniciens.get((t + 1) % 3));
+				}
+				em.persist(task);
+			}
+		}
+		em.flush();
+	}
+
+	@Test
+	void groupedStatisticsMatchTheInMemoryComputation() {
+		em.clear();
+		PageResponse<ProjectResponse> page = projectService.getAllProjects(0, PROJECT_COUNT, "id", "asc");
+		assertThat(page.getContent()).hasSize(PROJECT_COUNT);
+
+		em.clear();
+		for (ProjectResponse grouped : page.getContent()) {
+			// Calcul d'origine : ProjectTaskStats.fromProject sur la collection tasks chargée
+			ProjectResponse expected = projectMapper.toResponse(em.find(Project.class, grouped.getId()));
+
+			assertThat(grouped).usingRecursiveComparison()
+					.ignoringFields("assignedTechniciensNames")
+					.isEqualTo(expected);
+			assertThat(names(grouped)).containsExactlyInAnyOrderElementsOf(names(expected));
+		}
+		assertThat(page.getContent().get(0).getTotalTasks()).isZero();
+		assertThat(page.getContent().get(0).getAssignedTechniciensNames()).isEmpty();
+	}
+
+	@Test
+	void statementCountPerPageDoesNotGrowWithPageSize() {
+		long small = countStatements(3);
+		long large = countStatements(PROJECT_COUNT);
+
+		assertThat(large).isEqualTo(small);
+		// page + count + statistiques groupées + techniciens
+		assertThat(large).isLessThanOrEqualTo(4);
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = {0, -1, KeysetCursor.MAX_PAGE_SIZE + 1})
+	void cursorPageSizeOutsideBoundsIsRejected(int size) {
+		assertThatThrownBy(() -> projectService.getProjectsWithFiltersCursor(null, size, "id", "asc",
+				null, null, null, null, null, null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining(String.valueOf(size));
+	}
+
+	private long countStatements(int size) {
+		em.clear();
+		entityManagerFactory.getCache().evictAll();
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		PageResponse<ProjectResponse> page = projectService.getAllProjects(0, size, "id", "desc");
+
+		assertThat(page.getContent()).hasSize(size);
+		return statistics.getPrepareStatementCount();
+	}
+
+	private static List<String> names(ProjectResponse response) {
+		return response.getAssignedTechniciensNames().isEmpty()
+				? List.of()
+				: Arrays.asList(response.getAssignedTechniciensNames().split(", "));
+	}
+}
@@ -0,0 +1,172 @@
+package com.topographe.topographe.service;
+
+import com.topographe.topographe.dto.response.PageResponse;
+import com.topographe.topographe.dto.response.SearchResultResponse;
+import com.topographe.topographe.entity.Client;
+import com.topographe.topographe.entity.Project;
+import com.topographe.topographe.entity.Task;
+import com.topographe.topographe.entity.Topographe;
+import com.topographe.topographe.entity.enumm.ClientType;
+import com.topographe.topographe.entity.enumm.ProjectStatus;
+import com.topographe.topographe.entity.enumm.Role;
+import com.topographe.topographe.entity.enumm.TaskStatus;
+import com.topographe.topographe.entity.referentiel.City;
+import com.topographe.topographe.service.impl.SearchServiceImpl;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static com.topographe.topographe.TestUsers.fill;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// tsvector, ts_rank_cd et ts_headline : PostgreSQL en conteneur, test ignoré sans Docker
+@DataJpaTest(properties = {
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import(SearchServiceImpl.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Sql("/sql/users-single-table.sql")
+class SearchServiceFullTextTests {
+
+	@Container
+	static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+	@DynamicPropertySource
+	static void datasource(DynamicPropertyRegistry registry) {
+		registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+		registry.add("spring.datasource.username", POSTGRES::getUsername);
+		registry.add("spring.datasource.password", POSTGRES::getPassword);
+	}
+
+	@Autowired
+	private TestEntityManager em;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private SearchService searchService;
+
+	private Project project;
+
+	/**
+	 * Colonnes search_vector ajoutées aux tables créées par Hibernate, avant toute transaction de test :
+	 * CREATE INDEX CONCURRENTLY attendrait sinon la fin de la transaction ouverte par le test
+	 */
+	@BeforeAll
+	void addSearchVectors() throws SQLException {
+		try (Connection connection = dataSource.getConnection()) {
+			ScriptUtils.executeSqlScript(connection, new ClassPathResource("scripts/full_text_search.sql"));
+		}
+	}
+
+	@BeforeEach
+	void setUp() {
+		City city = em.persist(City.builder().name("Tétouan").build());
+		Topographe topographe = fill(new Topographe(), "topo", city, Role.TOPOGRAPHE);
+		topographe.setLicenseNumber("LIC-1");
+		em.persist(topographe);
+		Client client = fill(new Client(), "client", city, Role.CLIENT);
+		client.setClientType(ClientType.COMPANY);
+		client.setCreatedBy(topographe);
+		em.persist(client);
+
+		project = new Project();
+		project.setName("Lotissement Martil");
+		project.setDescription("Bornage des lots et voirie");
+		project.setClient(client);
+		project.setTopographe(topographe);
+		project.setStatus(ProjectStatus.IN_PROGRESS);
+		em.persist(project);
+	}
+
+	@Test
+	void titleMatchesRankAboveDescriptionMatches() {
+		Task inDescription = task("Implantation", "Bornage du terrain avant implantation");
+		Task inTitle = task("Bornage parcelle 12", null);
+		task("Nivellement", "Cheminement");
+		em.flush();
+
+		PageResponse<SearchResultResponse> tasks = searchService.search("bornage", SearchResultResponse.Type.TASK, 0, 10);
+
+		assertThat(tasks.getContent()).extracting(SearchResultResponse::getId)
+				.containsExactly(inTitle.getId(), inDescription.getId());
+		assertThat(tasks.getTotalElements()).isEqualTo(2);
+		SearchResultResponse first = tasks.getContent().get(0);
+		assertThat(first.getRank()).isGreaterThan(tasks.getContent().get(1).getRank());
+		assertThat(first.getHighlightedTitle()).contains("<mark>Bornage</mark>");
+		assertThat(first.getProjectId()).isEqualTo(project.getId());
+		assertThat(first.getProjectName()).isEqualTo("Lotissement Martil");
+
+		// Tâches et projet fusionnés par rang décroissant
+		PageResponse<SearchResultResponse> all = searchService.search("bornage", null, 0, 10);
+		assertThat(all.getTotalElements()).isEqualTo(3);
+		assertThat(all.getContent()).extracting(SearchResultResponse::getType)
+				.contains(SearchResultResponse.Type.TASK, SearchResultResponse.Type.PROJECT);
+		assertThat(all.getContent()).extracting(SearchResultResponse::getRank)
+				.isSortedAccordingTo((a, b) -> Double.compare(b, a));
+	}
+
+	@Test
+	void accentsAndWordPrefixesMatchTheStemmedVector() {
+		Task releve = task("Relevé topographique", "Levé des façades");
+		em.flush();
+
+		// Racinisation française : relevé, releve et relev ont la même racine
+		assertThat(taskIds("relevé")).containsExactly(releve.getId());
+		assertThat(taskIds("RELEVE")).containsExactly(releve.getId());
+		// Recherche par préfixe pendant la saisie, tous les mots exigés
+		assertThat(taskIds("topo")).containsExactly(releve.getId());
+		assertThat(taskIds("relev topog")).containsExactly(releve.getId());
+		assertThat(taskIds("relev cadastre")).isEmpty();
+	}
+
+	@Test
+	void noMatchGivesAnEmptyPage() {
+		task("Implantation", "Bornage");
+		em.flush();
+
+		PageResponse<SearchResultResponse> page = searchService.search("inexistant", null, 0, 10);
+
+		assertThat(page.getContent()).isEmpty();
+		assertThat(page.getTotalElements()).isZero();
+		assertThat(page.getTotalPages()).isZero();
+	}
+
+	private List<Long> taskIds(String text) {
+		return searchService.search(text, SearchResultResponse.Type.TASK, 0, 10).getContent().stream()
+				.map(SearchResultResponse::getId)
+				.toList();
+	}
+
+	private Task task(String title, String description) {
+		Task task = new Task();
+		task.setTitle(title);
+		task.setDescription(description);
+		task.setProject(project);
+		task.setStatus(TaskStatus.TODO);
+		return em.persist(task);
+	}
+}
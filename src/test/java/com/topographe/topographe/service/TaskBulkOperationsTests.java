@@ -0,0 +1,337 @@
+package com.topographe.topographe.service;
+
+import com.topographe.topographe.dto.request.TaskAutoAssignRequest;
+import com.topographe.topographe.dto.request.TaskBulkAssignRequest;
+import com.topographe.topographe.dto.request.TaskBulkCreateRequest;
+import com.topographe.topographe.dto.request.TaskCreateRequest;
+import com.topographe.topographe.dto.response.TaskBulkCreateResponse;
+import com.topographe.topographe.dto.response.TaskResponse;
+import com.topographe.topographe.entity.Client;
+import com.topographe.topographe.entity.Project;
+import com.topographe.topographe.entity.Task;
+import com.topographe.topographe.entity.Technicien;
+import com.topographe.topographe.entity.Topographe;
+import com.topographe.topographe.entity.enumm.ClientType;
+import com.topographe.topographe.entity.enumm.ProjectStatus;
+import com.topographe.topographe.entity.enumm.Role;
+import com.topographe.topographe.entity.enumm.SkillLevel;
+import com.topographe.topographe.entity.enumm.TaskStatus;
+import com.topographe.topographe.entity.referentiel.City;
+import com.topographe.topographe.mapper.TaskMapper;
+import com.topographe.topographe.repository.TaskRepository;
+import com.topographe.topographe.service.assignment.TechnicienWorkloadIndex;
+import com.topographe.topographe.service.counter.DashboardCounters;
+import com.topographe.topographe.service.counter.TasksChangedEvent;
+import com.topographe.topographe.service.deadline.DeadlineIndex;
+import com.topographe.topographe.service.impl.TaskServiceImpl;
+import com.topographe.topographe.service.projection.ProjectionQuery;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.topographe.topographe.TestUsers.fill;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = {
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.show-sql=false",
+		"spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({TaskServiceImpl.class, TaskMapper.class, DashboardCounters.class, TechnicienWorkloadIndex.class,
+		DeadlineIndex.class, ProjectionQuery.class})
+@Sql("/sql/users-single-table.sql")
+@RecordApplicationEvents
+class TaskBulkOperationsTests {
+
+	private static final int TASK_COUNT = 200;
+
+	@Autowired
+	private TestEntityManager em;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private TaskService taskService;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private TechnicienWorkloadIndex workloadIndex;
+
+	@Autowired
+	private DashboardCounters dashboardCounters;
+
+	@Autowired
+	private ApplicationEvents events;
+
+	private Project project;
+	private Project completedProject;
+	private Technicien technicien;
+	private Technicien second;
+	private Technicien inactive;
+
+	@BeforeEach
+	void setUp() {
+		City city = em.persist(City.builder().name("Casablanca").build());
+
+		Topographe topographe = fill(new Topographe(), "topo", city, Role.TOPOGRAPHE);
+		topographe.setLicenseNumber("LIC-1");
+		em.persist(topographe);
+
+		Client client = fill(new Client(), "client", city, Role.CLIENT);
+		client.setClientType(ClientType.COMPANY);
+		client.setCreatedBy(topographe);
+		em.persist(client);
+
+		project = newProject("Levé cadastral", client, topographe, ProjectStatus.IN_PROGRESS);
+		project.setEndDate(LocalDate.now().plusYears(1));
+		completedProject = newProject("Bornage", client, topographe, ProjectStatus.COMPLETED);
+
+		technicien = newTechnicien("tech1", city, topographe);
+		second = newTechnicien("tech2", city, topographe);
+		inactive = newTechnicien("tech3", city, topographe);
+		inactive.setIsActive(false);
+		em.flush();
+		em.clear();
+	}
+
+	@Test
+	void validTasksAreInsertedInJdbcBatches() {
+		TaskBulkCreateRequest request = new TaskBulkCreateRequest();
+		for (int i = 0; i < TASK_COUNT; i++) {
+			request.getTasks().add(item("Parcelle " + i, project.getId(), Set.of(technicien.getId(), second.getId())));
+		}
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		TaskBulkCreateResponse response = taskService.createTasks(request);
+
+		assertThat(response.getCreated()).isEqualTo(TASK_COUNT);
+		assertThat(response.getErrors()).isEmpty();
+		assertThat(response.getTasks()).allSatisfy(task -> assertThat(task.getAssignedTechniciensCount()).isEqualTo(2));
+		// 2 lectures + quelques appels de séquence + un INSERT par batch de 50 (tâches et task_technicien),
+		// au lieu de 600 INSERT unitaires
+		assertThat(statistics.getPrepareStatementCount()).isLessThan(25);
+		assertThat(taskRepository.countByProjectId(project.getId())).isEqualTo(TASK_COUNT);
+	}
+
+	@Test
+	void invalidItemsAreReportedWithoutAbortingTheBatch() {
+		TaskBulkCreateRequest request = new TaskBulkCreateRequest();
+		request.getTasks().add(item("Valide", project.getId(), Set.of(technicien.getId())));
+		request.getTasks().add(item("Projet inconnu", -1L, Set.of()));
+		request.getTasks().add(item("Projet terminé", completedProject.getId(), Set.of()));
+		request.getTasks().add(item("Technicien inactif", project.getId(), Set.of(inactive.getId())));
+		request.getTasks().add(item(" ", project.getId(), Set.of()));
+		TaskCreateRequest late = item("Hors délai", project.getId(), Set.of());
+		late.setDueDate(LocalDate.now().plusYears(2));
+		request.getTasks().add(late);
+
+		TaskBulkCreateResponse response = taskService.createTasks(request);
+
+		assertThat(response.getRequested()).isEqualTo(6);
+		assertThat(response.getCreated()).isEqualTo(1);
+		assertThat(response.getFailed()).isEqualTo(5);
+		assertThat(response.getErrors()).extracting(TaskBulkCreateResponse.ItemError::getIndex).containsExactly(1, 2, 3, 4, 5);
+		assertThat(taskRepository.countByProjectId(project.getId())).isEqualTo(1);
+	}
+
+	@Test
+	void nullAndOutOfRangeItemsAreReportedByIndex() {
+		TaskBulkCreateRequest request = new TaskBulkCreateRequest();
+		request.getTasks().add(null);
+		request.getTasks().add(item("Valide", project.getId(), Set.of()));
+		TaskCreateRequest overdone = item("Progression invalide", project.getId(), Set.of());
+		overdone.setProgressPercentage(150);
+		request.getTasks().add(overdone);
+
+		TaskBulkCreateResponse response = taskService.createTasks(request);
+
+		assertThat(response.getCreated()).isEqualTo(1);
+		assertThat(response.getErrors()).extracting(TaskBulkCreateResponse.ItemError::getIndex).containsExactly(0, 2);
+		assertThat(taskRepository.countByProjectId(project.getId())).isEqualTo(1);
+	}
+
+	@Test
+	void emptyOrOversizedBatchIsRejected() {
+		assertThatThrownBy(() -> taskService.createTasks(new TaskBulkCreateRequest()))
+				.isInstanceOf(IllegalArgumentException.class);
+
+		TaskBulkCreateRequest tooLarge = new TaskBulkCreateRequest();
+		for (int i = 0; i < 1001; i++) {
+			tooLarge.getTasks().add(item("Parcelle " + i, project.getId(), Set.of()));
+		}
+		assertThatThrownBy(() -> taskService.createTasks(tooLarge)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void crewIsAddedToManyTasksWithSetBasedWrites() {
+		Set<Long> taskIds = persistTasks(30, TaskStatus.TODO);
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		List<TaskResponse> tasks = taskService.assignTasks(assign(taskIds, Set.of(technicien.getId(), second.getId()), false));
+
+		assertThat(tasks).hasSize(30).allSatisfy(task -> assertThat(task.getAssignedTechniciensCount()).isEqualTo(2));
+		// tâches + techniciens + INSERT ... SELECT + relecture des tâches et de leurs techniciens
+		assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(5);
+		// Un seul événement pour le lot : tech2 s'ajoute à tech1 sur chaque tâche
+		assertThat(events.stream(TasksChangedEvent.class)).singleElement()
+				.satisfies(event -> assertThat(event.changes()).hasSize(30).allSatisfy(change -> {
+					assertThat(change.before().technicienIds()).containsExactly(technicien.getId());
+					assertThat(change.after().technicienIds()).containsExactlyInAnyOrder(technicien.getId(), second.getId());
+				}));
+	}
+
+	@Test
+	void replaceExistingSwapsTheCrewOfEveryTask() {
+		Set<Long> taskIds = persistTasks(10, TaskStatus.IN_PROGRESS);
+
+		List<TaskResponse> tasks = taskService.assignTasks(assign(taskIds, Set.of(second.getId()), true));
+
+		assertThat(tasks).allSatisfy(task -> assertThat(task.getAssignedTechniciens()).extracting(TaskResponse.TechnicienInfo::getId).containsExactly(second.getId()));
+		// Liens précédents et cible dans l'événement : les compteurs en déduisent l'écart par technicien
+		assertThat(events.stream(TasksChangedEvent.class).flatMap(event -> event.changes().stream()))
+				.hasSize(10).allSatisfy(change -> {
+					assertThat(change.before().technicienIds()).containsExactly(technicien.getId());
+					assertThat(change.after().technicienIds()).containsExactly(second.getId());
+				});
+	}
+
+	@Test
+	void replacingWithAnEmptyCrewIsRejectedAndKeepsTheLinks() {
+		Set<Long> taskIds = persistTasks(3, TaskStatus.IN_PROGRESS);
+
+		assertThatThrownBy(() -> taskService.assignTasks(assign(taskIds, Set.of(), true)))
+				.isInstanceOf(IllegalArgumentException.class);
+
+		em.clear();
+		assertThat(taskRepository.findByIdIn(taskIds)).allSatisfy(task -> assertThat(task.getAssignedTechniciens())
+				.extracting(Technicien::getId).containsExactly(technicien.getId()));
+	}
+
+	@Test
+	void inactiveTechnicienOrCompletedTaskRejectsTheWholeAssignment() {
+		Set<Long> taskIds = persistTasks(3, TaskStatus.TODO);
+		assertThatThrownBy(() -> taskService.assignTasks(assign(taskIds, Set.of(inactive.getId()), false)))
+				.isInstanceOf(IllegalStateException.class);
+
+		Set<Long> completed = persistTasks(1, TaskStatus.COMPLETED);
+		assertThatThrownBy(() -> taskService.assignTasks(assign(completed, Set.of(technicien.getId()), false)))
+				.isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void autoAssignmentSpreadsTasksOverTheLeastLoadedTechniciens() {
+		persistTasks(2, TaskStatus.TODO);
+		List<Long> unassigned = persistUnassignedTasks(3);
+		// Index et compteurs chargés au démarrage du contexte, base encore vide
+		workloadIndex.reload();
+		dashboardCounters.reconcile();
+
+		TaskAutoAssignRequest request = new TaskAutoAssignRequest();
+		request.setTaskIds(Set.copyOf(unassigned));
+		List<TaskResponse> tasks = taskService.autoAssignTasks(request);
+
+		// tech1 a déjà 2 tâches : tech2 reçoit les deux premières échéances, puis égalité départagée par l'id
+		assertThat(tasks).extracting(task -> task.getAssignedTechniciens().get(0).getId())
+				.containsExactly(second.getId(), second.getId(), technicien.getId());
+	}
+
+	@Test
+	void technicienDeactivatedSinceTheIndexWasLoadedIsNotPicked() {
+		List<Long> unassigned = persistUnassignedTasks(3);
+		workloadIndex.reload();
+		dashboardCounters.reconcile();
+		// Désactivé en base sans rechargement de l'index : tech2, le moins chargé, y figure encore
+		em.find(Technicien.class, second.getId()).setIsActive(false);
+		em.flush();
+		em.clear();
+
+		TaskAutoAssignRequest request = new TaskAutoAssignRequest();
+		request.setTaskIds(Set.copyOf(unassigned));
+		List<TaskResponse> tasks = taskService.autoAssignTasks(request);
+
+		assertThat(tasks).allSatisfy(task -> assertThat(task.getAssignedTechniciens())
+				.extracting(TaskResponse.TechnicienInfo::getId).containsExactly(technicien.getId()));
+	}
+
+	private Set<Long> persistTasks(int count, TaskStatus status) {
+		Technicien assigned = em.find(Technicien.class, technicien.getId());
+		Set<Long> ids = IntStream.range(0, count).mapToObj(i -> {
+			Task task = new Task();
+			task.setTitle("Tâche " + i);
+			task.setProject(em.find(Project.class, project.getId()));
+			task.setStatus(status);
+			task.getAssignedTechniciens().add(assigned);
+			return em.persist(task).getId();
+		}).collect(Collectors.toSet());
+		em.flush();
+		em.clear();
+		return ids;
+	}
+
+	private List<Long> persistUnassignedTasks(int count) {
+		List<Long> ids = IntStream.range(0, count).mapToObj(i -> {
+			Task task = new Task();
+			task.setTitle("À affecter " + i);
+			task.setProject(em.find(Project.class, project.getId()));
+			task.setStatus(TaskStatus.TODO);
+			task.setDueDate(LocalDate.now().plusDays(i));
+			return em.persist(task).getId();
+		}).toList();
+		em.flush();
+		em.clear();
+		return ids;
+	}
+
+	private static TaskBulkAssignRequest assign(Set<Long> taskIds, Set<Long> technicienIds, boolean replaceExisting) {
+		TaskBulkAssignRequest request = new TaskBulkAssignRequest();
+		request.setTaskIds(taskIds);
+		request.setTechnicienIds(technicienIds);
+		request.setReplaceExisting(replaceExisting);
+		return request;
+	}
+
+	private static TaskCreateRequest item(String title, Long projectId, Set<Long> technicienIds) {
+		TaskCreateRequest item = new TaskCreateRequest();
+		item.setTitle(title);
+		item.setProjectId(projectId);
+		item.setAssignedTechnicienIds(technicienIds);
+		return item;
+	}
+
+	private Project newProject(String name, Client client, Topographe topographe, ProjectStatus status) {
+		Project newProject = new Project();
+		newProject.setName(name);
+		newProject.setClient(client);
+		newProject.setTopographe(topographe);
+		newProject.setStatus(status);
+		return em.persist(newProject);
+	}
+
+	private Technicien newTechnicien(String username, City city, Topographe topographe) {
+		Technicien newTechnicien = fill(new Technicien(), username, city, Role.TECHNICIEN);
+		newTechnicien.setSkillLevel(SkillLevel.SENIOR);
+		newTechnicien.setAssignedTo(topographe);
+		return em.persist(newTechnicien);
+	}
+}
@@ -0,0 +1,180 @@
+package com.topographe.topographe.service;
+
+import com.topographe.topographe.dto.response.CursorPageResponse;
+import com.topographe.topographe.dto.response.PageResponse;
+import com.topographe.topographe.dto.response.TaskResponse;
+import com.topographe.topographe.entity.Client;
+import com.topographe.topographe.entity.Project;
+import com.topographe.topographe.entity.Task;
+import com.topographe.topographe.entity.Technicien;
+import com.topographe.topographe.entity.Topographe;
+import com.topographe.topographe.entity.enumm.ClientType;
+import com.topographe.topographe.entity.enumm.ProjectStatus;
+import com.topographe.topographe.entity.enumm.Role;
+import com.topographe.topographe.entity.enumm.SkillLevel;
+import com.topographe.topographe.entity.enumm.TaskStatus;
+import com.topographe.topographe.entity.referentiel.City;
+import com.topographe.topographe.mapper.TaskMapper;
+import com.topographe.topographe.service.assignment.TechnicienWorkloadIndex;
+import com.topographe.topographe.service.counter.DashboardCounters;
+import com.topographe.topographe.service.deadline.DeadlineIndex;
+import com.topographe.topographe.service.impl.TaskServiceImpl;
+import com.topographe.topographe.service.projection.ProjectionQuery;
+import com.topographe.topographe.util.KeysetCursor;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static com.topographe.topographe.TestUsers.fill;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = {
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.show-sql=false",
+		"spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({TaskServiceImpl.class, TaskMapper.class, DashboardCounters.class, TechnicienWorkloadIndex.class,
+		DeadlineIndex.class, ProjectionQuery.class})
+@Sql("/sql/users-single-table.sql")
+class TaskListingStatementCountTests {
+
+	private static final int TASK_COUNT = 60;
+
+	@Autowired
+	private TestEntityManager em;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private TaskService taskService;
+
+	private Project project;
+	private Technicien technicien;
+
+	@BeforeEach
+	void setUp() {
+		City city = em.persist(City.builder().name("Casablanca").build());
+
+		Topographe topographe = fill(new Topographe(), "topo", city, Role.TOPOGRAPHE);
+		topographe.setLicenseNumber("LIC-1");
+		em.persist(topographe);
+
+		Client client = fill(new Client(), "client", city, Role.CLIENT);
+		client.setClientType(ClientType.COMPANY);
+		client.setCreatedBy(topographe);
+		em.persist(client);
+
+		project = new Project();
+		project.setName("Levé cadastral");
+		project.setClient(client);
+		project.setTopographe(topographe);
+		project.setStatus(ProjectStatus.IN_PROGRESS);
+		em.persist(project);
+
+		technicien = newTechnicien("tech1", city, topographe);
+		Technicien second = newTechnicien("tech2", city, topographe);
+
+		for (int i = 0; i < TASK_COUNT; i++) {
+			Task task = new Task();
+			task.setTitle("Tâche " + i);
+			task.setProject(project);
+			task.setStatus(TaskStatus.TODO);
+			task.setDueDate(LocalDate.now().plusDays(i));
+			task.getAssignedTechniciens().add(technicien);
+			task.getAssignedTechniciens().add(second);
+			em.persist(task);
+		}
+		em.flush();
+	}
+
+	@Test
+	void statementCountPerPageDoesNotGrowWithPageSize() {
+		long small = countStatements(() -> taskService.getTasksByProject(project.getId(), 0, 5, "id", "asc"));
+		long large = countStatements(() -> taskService.getTasksByProject(project.getId(), 0, 50, "id", "asc"));
+
+		assertThat(large).isEqualTo(small);
+		// existence du projet + page + count + techniciens
+		assertThat(large).isLessThanOrEqualTo(4);
+	}
+
+	@Test
+	void filteredSearchLoadsAssociationsInConstantQueries() {
+		long small = countStatements(() -> taskService.getTasksWithFilters(0, 5, "id", "asc",
+				null, project.getId(), technicien.getId(), null, null, null, null, null));
+		long large = countStatements(() -> taskService.getTasksWithFilters(0, 50, "id", "asc",
+				null, project.getId(), technicien.getId(), null, null, null, null, null));
+
+		assertThat(large).isEqualTo(small);
+		assertThat(large).isLessThanOrEqualTo(3);
+	}
+
+	@Test
+	void cursorPaginationWalksEveryTaskOnceWithoutCountQuery() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		Set<Long> seen = new HashSet<>();
+		String cursor = null;
+		int pages = 0;
+		do {
+			em.clear();
+			statistics.clear();
+			CursorPageResponse<TaskResponse> page = taskService.getTasksWithFiltersCursor(cursor, 7, "title", "desc",
+					null, project.getId(), null, null, null, null, null, null);
+
+			// page + techniciens, quelle que soit la profondeur
+			assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+			page.getContent().forEach(task -> assertThat(seen.add(task.getId())).isTrue());
+			cursor = page.getNextCursor();
+			pages++;
+		} while (cursor != null);
+
+		assertThat(seen).hasSize(TASK_COUNT);
+		assertThat(pages).isEqualTo((TASK_COUNT + 6) / 7);
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = {0, -1, KeysetCursor.MAX_PAGE_SIZE + 1})
+	void cursorPageSizeOutsideBoundsIsRejected(int size) {
+		assertThatThrownBy(() -> taskService.getTasksWithFiltersCursor(null, size, "id", "asc",
+				null, project.getId(), null, null, null, null, null, null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining(String.valueOf(size));
+	}
+
+	private long countStatements(Supplier<PageResponse<TaskResponse>> call) {
+		em.clear();
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		PageResponse<TaskResponse> page = call.get();
+
+		assertThat(page.getContent()).isNotEmpty();
+		assertThat(page.getContent()).allSatisfy(task -> {
+			assertThat(task.getClientName()).isNotBlank();
+			assertThat(task.getAssignedTechniciensCount()).isEqualTo(2);
+		});
+		return statistics.getPrepareStatementCount();
+	}
+
+	private Technicien newTechnicien(String username, City city, Topographe topographe) {
+		Technicien technicien = fill(new Technicien(), username, city, Role.TECHNICIEN);
+		technicien.setSkillLevel(SkillLevel.SENIOR);
+		technicien.setAssignedTo(topographe);
+		return em.persist(technicien);
+	}
+}
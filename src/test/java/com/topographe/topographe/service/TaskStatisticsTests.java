@@ -0,0 +1,123 @@
+package com.topographe.topographe.service;
+
+import com.topographe.topographe.dto.response.CompletionRateResponse;
+import com.topographe.topographe.dto.response.ProgressSummaryResponse;
+import com.topographe.topographe.dto.response.TechnicienWorkloadResponse;
+import com.topographe.topographe.entity.TaskDailyStat;
+import com.topographe.topographe.entity.Technicien;
+import com.topographe.topographe.entity.Topographe;
+import com.topographe.topographe.entity.enumm.RollupDimension;
+import com.topographe.topographe.entity.enumm.Role;
+import com.topographe.topographe.entity.enumm.SkillLevel;
+import com.topographe.topographe.entity.referentiel.City;
+import com.topographe.topographe.mapper.TaskMapper;
+import com.topographe.topographe.service.assignment.TechnicienWorkloadIndex;
+import com.topographe.topographe.service.counter.DashboardCounters;
+import com.topographe.topographe.service.deadline.DeadlineIndex;
+import com.topographe.topographe.service.impl.TaskServiceImpl;
+import com.topographe.topographe.service.projection.ProjectionQuery;
+import com.topographe.topographe.service.rollup.TaskRollups;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.topographe.topographe.TestUsers.fill;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Lectures des statistiques sur les agrégats journaliers (écrits ici directement, l'UPSERT étant propre à PostgreSQL)
+@DataJpaTest(properties = {
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.show-sql=false"
+})
+@Import({TaskServiceImpl.class, TaskMapper.class, DashboardCounters.class, TechnicienWorkloadIndex.class,
+		DeadlineIndex.class, ProjectionQuery.class, TaskRollups.class})
+@Sql("/sql/users-single-table.sql")
+class TaskStatisticsTests {
+
+	private static final LocalDate TODAY = LocalDate.now();
+
+	@Autowired
+	private TestEntityManager em;
+
+	@Autowired
+	private TaskService taskService;
+
+	private Technicien technicien;
+
+	@BeforeEach
+	void setUp() {
+		City city = em.persist(City.builder().name("Rabat").build());
+		Topographe topographe = fill(new Topographe(), "topo", city, Role.TOPOGRAPHE);
+		topographe.setLicenseNumber("LIC-1");
+		em.persist(topographe);
+		technicien = fill(new Technicien(), "tech1", city, Role.TECHNICIEN);
+		technicien.setSkillLevel(SkillLevel.SENIOR);
+		technicien.setAssignedTo(topographe);
+		em.persist(technicien);
+
+		stat(RollupDimension.GLOBAL, TaskRollups.GLOBAL_ID, TODAY, 4, 2, 48, 1);
+		// Hors des périodes demandées
+		stat(RollupDimension.GLOBAL, TaskRollups.GLOBAL_ID, TODAY.minusDays(40), 10, 10, 240, 0);
+		stat(RollupDimension.PROJECT, 10L, TODAY.minusDays(1), 3, 1, 12, 0);
+		stat(RollupDimension.TECHNICIEN, technicien.getId(), TODAY, 2, 1, 72, 1);
+		em.flush();
+		em.clear();
+	}
+
+	@Test
+	void completionRateReadsTheRequestedDimension() {
+		CompletionRateResponse global = taskService.getCompletionRate(TODAY.minusDays(7), TODAY, null, null);
+		assertThat(global.getCreatedTasks()).isEqualTo(4);
+		assertThat(global.getCompletionRate()).isEqualTo(50.0);
+		assertThat(global.getOnTimeRate()).isEqualTo(50.0);
+		assertThat(global.getAverageCompletionDays()).isEqualTo(1.0);
+
+		CompletionRateResponse project = taskService.getCompletionRate(TODAY.minusDays(7), TODAY, 10L, null);
+		assertThat(project.getCompletedTasks()).isEqualTo(1);
+		assertThat(project.getCompletionRate()).isEqualTo(33.33);
+
+		CompletionRateResponse empty = taskService.getCompletionRate(TODAY.minusDays(7), TODAY, 99L, null);
+		assertThat(empty.getCreatedTasks()).isZero();
+		assertThat(empty.getCompletionRate()).isNull();
+	}
+
+	@Test
+	void progressSummaryCountsOnlyThePeriod() {
+		ProgressSummaryResponse summary = taskService.getProgressSummary(30);
+
+		assertThat(summary.getCreatedInPeriod()).isEqualTo(4);
+		assertThat(summary.getCompletedInPeriod()).isEqualTo(2);
+		assertThat(summary.getOverdueCompletedInPeriod()).isEqualTo(1);
+	}
+
+	@Test
+	void workloadListsTechniciensActiveInThePeriod() {
+		List<TechnicienWorkloadResponse> workload = taskService.getWorkloadByTechnicien(7);
+
+		assertThat(workload).singleElement().satisfies(row -> {
+			assertThat(row.getTechnicienId()).isEqualTo(technicien.getId());
+			assertThat(row.getTechnicienName()).isEqualTo("tech1 Test");
+			assertThat(row.getAssignedTasks()).isEqualTo(2);
+			assertThat(row.getAverageCompletionDays()).isEqualTo(3.0);
+			assertThat(row.getOverdueCompletedTasks()).isEqualTo(1);
+		});
+	}
+
+	private void stat(RollupDimension dimension, long id, LocalDate day, long created, long completed,
+					  long hours, long overdue) {
+		TaskDailyStat stat = new TaskDailyStat();
+		stat.setId(new TaskDailyStat.Key(dimension, id, day));
+		stat.setCreatedCount(created);
+		stat.setCompletedCount(completed);
+		stat.setCompletionHoursSum(hours);
+		stat.setOverdueCount(overdue);
+		em.persist(stat);
+	}
+}
@@ -0,0 +1,79 @@
+package com.topographe.topographe.service.assignment;
+
+import com.topographe.topographe.entity.enumm.SkillLevel;
+import com.topographe.topographe.repository.TechnicienRepository;
+import com.topographe.topographe.repository.referentiel.CityRepository;
+import com.topographe.topographe.service.counter.DashboardCounters;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TechnicienWorkloadIndexTests {
+
+	private static final Long TOPOGRAPHE = 1L;
+	private static final Long CASABLANCA = 100L;
+	private static final Long RABAT = 101L;
+
+	private DashboardCounters counters;
+	private TechnicienWorkloadIndex index;
+
+	@BeforeEach
+	void setUp() {
+		TechnicienRepository technicienRepository = mock(TechnicienRepository.class);
+		CityRepository cityRepository = mock(CityRepository.class);
+		counters = mock(DashboardCounters.class);
+
+		List<Object[]> cities = new ArrayList<>();
+		cities.add(new Object[]{CASABLANCA, 10L});
+		cities.add(new Object[]{RABAT, 11L});
+		when(cityRepository.findRegionIds()).thenReturn(cities);
+
+		List<Object[]> profiles = new ArrayList<>();
+		profiles.add(new Object[]{11L, "Amine", "A", SkillLevel.JUNIOR, "Nivellement", TOPOGRAPHE, CASABLANCA, 10L});
+		profiles.add(new Object[]{12L, "Sara", "B", SkillLevel.EXPERT, "GPS RTK, bornage", TOPOGRAPHE, RABAT, 11L});
+		profiles.add(new Object[]{13L, "Omar", "C", SkillLevel.SENIOR, null, TOPOGRAPHE, CASABLANCA, 10L});
+		profiles.add(new Object[]{14L, "Autre", "D", SkillLevel.EXPERT, "bornage", 2L, CASABLANCA, 10L});
+		when(technicienRepository.findActiveProfiles()).thenReturn(profiles);
+
+		index = new TechnicienWorkloadIndex(technicienRepository, cityRepository, counters);
+	}
+
+	@Test
+	void leastLoadedComesFirstThenPreferencesBreakTies() {
+		when(counters.getOpenTaskCountByTechnicien(11L)).thenReturn(1L);
+
+		List<Recommendation> picks = index.recommend(
+				new AssignmentCriteria(TOPOGRAPHE, null, "bornage", CASABLANCA, null, Set.of()), 3);
+
+		// 12 et 13 à 0 tâche : 12 a la spécialité ; 11 est plus chargé ; 14 appartient à un autre topographe
+		assertThat(picks).extracting(pick -> pick.technicien().id()).containsExactly(12L, 13L, 11L);
+		assertThat(picks.get(1).sameCity()).isTrue();
+	}
+
+	@Test
+	void filtersExcludeLowSkillOverloadedAndAlreadyAssigned() {
+		when(counters.getOpenTaskCountByTechnicien(13L)).thenReturn(5L);
+
+		List<Recommendation> picks = index.recommend(
+				new AssignmentCriteria(TOPOGRAPHE, SkillLevel.SENIOR, null, null, 5, Set.of(12L)), 3);
+
+		assertThat(picks).isEmpty();
+	}
+
+	@Test
+	void batchCountsEarlierPicksAsLoad() {
+		AssignmentCriteria criteria = new AssignmentCriteria(TOPOGRAPHE, null, null, null, null, Set.of());
+
+		List<List<Recommendation>> picks = index.recommendBatch(List.of(criteria, criteria, criteria, criteria), 1);
+
+		assertThat(picks).extracting(list -> list.get(0).technicien().id()).containsExactly(12L, 13L, 11L, 12L);
+		assertThat(index.findAvailable(1, TOPOGRAPHE)).containsExactlyInAnyOrder(11L, 12L, 13L);
+	}
+}
@@ -0,0 +1,144 @@
+package com.topographe.topographe.service.counter;
+
+import com.topographe.topographe.entity.Project;
+import com.topographe.topographe.entity.Task;
+import com.topographe.topographe.entity.enumm.ProjectStatus;
+import com.topographe.topographe.entity.enumm.TaskStatus;
+import com.topographe.topographe.repository.ProjectRepository;
+import com.topographe.topographe.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DashboardCountersTests {
+
+	private TaskRepository taskRepository;
+	private ProjectRepository projectRepository;
+	private DashboardCounters counters;
+
+	@BeforeEach
+	void setUp() {
+		taskRepository = mock(TaskRepository.class);
+		projectRepository = mock(ProjectRepository.class);
+		when(taskRepository.countByStatusGrouped()).thenReturn(rows(TaskStatus.TODO, 3L, TaskStatus.COMPLETED, 1L));
+		when(taskRepository.countGroupedByProject()).thenReturn(rows(10L, 4L));
+		when(taskRepository.countGroupedByTopographe()).thenReturn(rows(20L, 4L));
+		when(taskRepository.countGroupedByTechnicien()).thenReturn(rows(30L, 2L, 31L, 1L));
+		when(projectRepository.countByStatusGrouped()).thenReturn(rows(ProjectStatus.IN_PROGRESS, 1L));
+		when(projectRepository.countGroupedByClient()).thenReturn(rows(40L, 1L));
+		when(projectRepository.countGroupedByTopographe()).thenReturn(rows(20L, 1L));
+		counters = new DashboardCounters(taskRepository, projectRepository);
+	}
+
+	@Test
+	void countsAreLoadedOnceThenServedFromMemory() {
+		assertThat(counters.getTaskCount(TaskStatus.TODO)).isEqualTo(3);
+		assertThat(counters.getTaskCount(TaskStatus.REVIEW)).isZero();
+		assertThat(counters.getTaskCountByTechnicien(30L)).isEqualTo(2);
+		assertThat(counters.getProjectCountByClient(40L)).isEqualTo(1);
+		assertThat(counters.getProjectCount(ProjectStatus.IN_PROGRESS)).isEqualTo(1);
+
+		verify(taskRepository, times(1)).countByStatusGrouped();
+	}
+
+	@Test
+	void createChangeAndDeleteMoveEveryDimension() {
+		TaskCounterKey created = new TaskCounterKey(TaskStatus.TODO, 10L, 20L, Set.of(30L));
+		counters.onTasksChanged(event(null, created));
+		assertThat(counters.getTaskCount(TaskStatus.TODO)).isEqualTo(4);
+		assertThat(counters.getTaskCountByProject(10L)).isEqualTo(5);
+		assertThat(counters.getTaskCountByTechnicien(30L)).isEqualTo(3);
+
+		// Démarrage avec un second technicien
+		TaskCounterKey started = new TaskCounterKey(TaskStatus.IN_PROGRESS, 10L, 20L, Set.of(30L, 31L));
+		counters.onTasksChanged(event(created, started));
+		assertThat(counters.getTaskCount(TaskStatus.TODO)).isEqualTo(3);
+		assertThat(counters.getTaskCount(TaskStatus.IN_PROGRESS)).isEqualTo(1);
+		assertThat(counters.getTaskCountByTechnicien(31L)).isEqualTo(2);
+		assertThat(counters.getTaskCountByProject(10L)).isEqualTo(5);
+
+		counters.onTasksChanged(event(started, null));
+		assertThat(counters.getTaskCount(TaskStatus.IN_PROGRESS)).isZero();
+		assertThat(counters.getTaskCountByTopographe(20L)).isEqualTo(4);
+
+		ProjectCounterKey planning = new ProjectCounterKey(ProjectStatus.PLANNING, 40L, 20L);
+		counters.onProjectsChanged(projectEvent(null, planning));
+		counters.onProjectsChanged(projectEvent(planning, new ProjectCounterKey(ProjectStatus.IN_PROGRESS, 40L, 20L)));
+		assertThat(counters.getProjectCount(ProjectStatus.PLANNING)).isZero();
+		assertThat(counters.getProjectCount(ProjectStatus.IN_PROGRESS)).isEqualTo(2);
+		assertThat(counters.getProjectCountByTopographe(20L)).isEqualTo(2);
+	}
+
+	@Test
+	void reassignmentMovesOnlyTechnicienCounts() {
+		counters.onTasksChanged(new TasksChangedEvent(List.of(
+				change(new TaskCounterKey(TaskStatus.TODO, 10L, 20L, Set.of(30L)), new TaskCounterKey(TaskStatus.TODO, 10L, 20L, Set.of(32L))),
+				change(new TaskCounterKey(TaskStatus.TODO, 10L, 20L, Set.of(30L)), new TaskCounterKey(TaskStatus.TODO, 10L, 20L, Set.of(32L))))));
+
+		assertThat(counters.getTaskCountByTechnicien(30L)).isZero();
+		assertThat(counters.getTaskCountByTechnicien(32L)).isEqualTo(2);
+		assertThat(counters.getOpenTaskCountByTechnicien(32L)).isEqualTo(2);
+		assertThat(counters.getTaskCount(TaskStatus.TODO)).isEqualTo(3);
+		assertThat(counters.getTaskCountByProject(10L)).isEqualTo(4);
+	}
+
+	@Test
+	void reconciliationReplacesDriftedCounts() {
+		counters.onTasksChanged(event(null, new TaskCounterKey(TaskStatus.TODO, 10L, 20L, Set.of())));
+		assertThat(counters.getTaskCount(TaskStatus.TODO)).isEqualTo(4);
+
+		// La base fait foi (écriture perdue, SQL manuel...)
+		counters.reconcile();
+		assertThat(counters.getTaskCount(TaskStatus.TODO)).isEqualTo(3);
+		assertThat(counters.getTaskCountByProject(10L)).isEqualTo(4);
+	}
+
+	@Test
+	void deltaAppliedDuringReconciliationIsNeitherLostNorCountedTwice() {
+		assertThat(counters.getTaskCount(TaskStatus.TODO)).isEqualTo(3);
+
+		// Une création est validée pendant les requêtes, après la lecture des statuts :
+		// le premier calcul ne la voit pas, le second si
+		TaskCounterKey created = new TaskCounterKey(TaskStatus.TODO, 10L, 20L, Set.of());
+		when(taskRepository.countByStatusGrouped())
+				.thenAnswer(invocation -> {
+					counters.onTasksChanged(event(null, created));
+					return rows(TaskStatus.TODO, 3L, TaskStatus.COMPLETED, 1L);
+				})
+				.thenReturn(rows(TaskStatus.TODO, 4L, TaskStatus.COMPLETED, 1L));
+		counters.reconcile();
+
+		assertThat(counters.getTaskCount(TaskStatus.TODO)).isEqualTo(4);
+		counters.reconcile();
+		assertThat(counters.getTaskCount(TaskStatus.TODO)).isEqualTo(4);
+	}
+
+	private static ProjectsChangedEvent projectEvent(ProjectCounterKey before, ProjectCounterKey after) {
+		return new ProjectsChangedEvent(List.of(new ProjectsChangedEvent.Change(before, after, new Project())));
+	}
+
+	private static TasksChangedEvent event(TaskCounterKey before, TaskCounterKey after) {
+		return new TasksChangedEvent(List.of(change(before, after)));
+	}
+
+	private static TasksChangedEvent.Change change(TaskCounterKey before, TaskCounterKey after) {
+		return new TasksChangedEvent.Change(before, after, new Task());
+	}
+
+	private static List<Object[]> rows(Object... keysAndCounts) {
+		List<Object[]> rows = new ArrayList<>();
+		for (int i = 0; i < keysAndCounts.length; i += 2) {
+			rows.add(new Object[]{keysAndCounts[i], keysAndCounts[i + 1]});
+		}
+		return rows;
+	}
+}
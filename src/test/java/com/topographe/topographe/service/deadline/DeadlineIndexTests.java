@@ -0,0 +1,118 @@
+package com.topographe.topographe.service.deadline;
+
+import com.topographe.topographe.entity.Task;
+import com.topographe.topographe.entity.enumm.TaskStatus;
+import com.topographe.topographe.repository.ProjectRepository;
+import com.topographe.topographe.repository.TaskRepository;
+import com.topographe.topographe.service.counter.TaskCounterKey;
+import com.topographe.topographe.service.counter.TasksChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DeadlineIndexTests {
+
+	private static final LocalDate TODAY = LocalDate.now();
+
+	private TaskRepository taskRepository;
+	private ApplicationEventPublisher eventPublisher;
+	private DeadlineIndex index;
+
+	@BeforeEach
+	void setUp() {
+		taskRepository = mock(TaskRepository.class);
+		ProjectRepository projectRepository = mock(ProjectRepository.class);
+		eventPublisher = mock(ApplicationEventPublisher.class);
+
+		List<Object[]> tasks = new ArrayList<>();
+		tasks.add(new Object[]{1L, TODAY.minusDays(2)});
+		tasks.add(new Object[]{2L, TODAY});
+		tasks.add(new Object[]{3L, TODAY.plusDays(4)});
+		when(taskRepository.findOpenDueDates()).thenReturn(tasks);
+
+		List<Object[]> projects = new ArrayList<>();
+		projects.add(new Object[]{10L, TODAY});
+		when(projectRepository.findOpenEndDates()).thenReturn(projects);
+
+		index = new DeadlineIndex(taskRepository, projectRepository, eventPublisher);
+		ReflectionTestUtils.setField(index, "dueSoonDays", 3);
+		index.reload();
+	}
+
+	@Test
+	void listingsAreReadFromTheIndex() {
+		assertThat(index.getOverdueTaskIds(TODAY)).containsExactly(1L);
+		assertThat(index.getOverdueTaskCount(TODAY.plusDays(1))).isEqualTo(2);
+		assertThat(index.getTaskIdsDueBetween(TODAY, TODAY.plusDays(7))).containsExactly(2L, 3L);
+		assertThat(index.getProjectIdsEndingBetween(TODAY, TODAY)).containsExactly(10L);
+	}
+
+	@Test
+	void eachDayCrossedPublishesItsThresholdsOnce() {
+		index.advance(TODAY);
+		verify(eventPublisher, never()).publishEvent(any(Object.class));
+
+		index.advance(TODAY.plusDays(1));
+		index.advance(TODAY.plusDays(1));
+
+		ArgumentCaptor<DeadlineEvent> events = ArgumentCaptor.forClass(DeadlineEvent.class);
+		verify(eventPublisher, times(2)).publishEvent(events.capture());
+		// Tâche 2 et projet 10 en retard depuis ce jour ; tâche 3 entre dans la fenêtre de 3 jours
+		assertThat(events.getAllValues()).containsExactly(
+				new DeadlineEvent(DeadlineEvent.Kind.OVERDUE, TODAY.plusDays(1), List.of(2L), List.of(10L)),
+				new DeadlineEvent(DeadlineEvent.Kind.DUE_SOON, TODAY.plusDays(1), List.of(3L), List.of()));
+	}
+
+	@Test
+	void completedOrDeletedTasksLeaveTheIndex() {
+		Task completed = task(3L, TaskStatus.COMPLETED, TODAY.plusDays(4));
+		index.onTasksChanged(TasksChangedEvent.changed(TaskCounterKey.of(completed), completed));
+		index.onTasksChanged(TasksChangedEvent.deleted(task(1L, TaskStatus.TODO, TODAY.plusDays(2))));
+
+		Task moved = task(2L, TaskStatus.IN_PROGRESS, TODAY.minusDays(1));
+		index.onTasksChanged(TasksChangedEvent.changed(TaskCounterKey.of(moved), moved));
+
+		assertThat(index.getOverdueTaskIds(TODAY)).containsExactly(2L);
+		assertThat(index.getTaskIdsDueBetween(TODAY, TODAY.plusDays(7))).isEmpty();
+	}
+
+	@Test
+	void changeCommittedDuringReloadIsNotOverwritten() {
+		// La tâche 3 est terminée pendant la lecture des échéances, qui la voit encore ouverte
+		Task completed = task(3L, TaskStatus.COMPLETED, TODAY.plusDays(4));
+		List<Object[]> before = new ArrayList<>();
+		before.add(new Object[]{3L, TODAY.plusDays(4)});
+		when(taskRepository.findOpenDueDates())
+				.thenAnswer(invocation -> {
+					index.onTasksChanged(TasksChangedEvent.changed(TaskCounterKey.of(completed), completed));
+					return before;
+				})
+				.thenReturn(new ArrayList<>());
+
+		index.reload();
+
+		assertThat(index.getTaskIdsDueBetween(TODAY, TODAY.plusDays(7))).isEmpty();
+	}
+
+	private static Task task(Long id, TaskStatus status, LocalDate dueDate) {
+		Task task = new Task();
+		task.setId(id);
+		task.setStatus(status);
+		task.setDueDate(dueDate);
+		return task;
+	}
+}
@@ -0,0 +1,26 @@
+package com.topographe.topographe.service.export;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RowWriterTests {
+
+	@Test
+	void formulaLikeTextIsNeutralizedButNumbersAreNot() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (RowWriter writer = RowWriter.open(ExportFormat.CSV, List.of("title", "notes", "delta"), out, null)) {
+			writer.write("=HYPERLINK(\"http://x\",\"clic\")", "@SUM(A1)", -3);
+			writer.write("+33 6 00", "Levé - lot 4", 2);
+		}
+
+		assertThat(out.toString(StandardCharsets.UTF_8).split("\r\n")).containsExactly(
+				"title,notes,delta",
+				"\"'=HYPERLINK(\"\"http://x\"\",\"\"clic\"\")\",'@SUM(A1),-3",
+				"'+33 6 00,Levé - lot 4,2");
+	}
+}
@@ -0,0 +1,122 @@
+package com.topographe.topographe.service.impl.referentiel;
+
+import com.topographe.topographe.entity.Topographe;
+import com.topographe.topographe.entity.enumm.Role;
+import com.topographe.topographe.entity.referentiel.City;
+import com.topographe.topographe.entity.referentiel.Country;
+import com.topographe.topographe.entity.referentiel.Region;
+import com.topographe.topographe.service.referentiel.CityService;
+import com.topographe.topographe.service.referentiel.RegionService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.show-sql=false",
+		"spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({ReferentielCache.class, CityServiceImpl.class, RegionServiceImpl.class})
+@Sql("/sql/users-single-table.sql")
+class ReferentielCacheTests {
+
+	@Autowired
+	private TestEntityManager em;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private ReferentielCache referentielCache;
+
+	@Autowired
+	private CityService cityService;
+
+	@Autowired
+	private RegionService regionService;
+
+	private Region region;
+	private City casablanca;
+
+	@BeforeEach
+	void setUp() {
+		Country maroc = em.persist(Country.builder().name("Maroc").code("MA").build());
+		region = em.persist(Region.builder().name("Casablanca-Settat").country(maroc).build());
+		casablanca = em.persist(City.builder().name("Casablanca").region(region).build());
+		em.persist(City.builder().name("Mohammadia").region(region).build());
+		em.flush();
+		em.clear();
+		referentielCache.reload();
+	}
+
+	@Test
+	void readsNeverHitTheDatabase() {
+		Statistics statistics = statistics();
+
+		assertThat(cityService.getAllCities()).extracting("name").containsExactly("Casablanca", "Mohammadia");
+		assertThat(cityService.getCityById(casablanca.getId()).getName()).isEqualTo("Casablanca");
+		assertThat(cityService.getAllCities(PageRequest.of(1, 1)).getContent()).extracting("name").containsExactly("Mohammadia");
+		assertThat(regionService.getRegionById(region.getId()).getCountryDto().getCode()).isEqualTo("MA");
+		assertThat(cityService.findCityReference(-1L)).isEmpty();
+
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+	}
+
+	@Test
+	void etagChangesOnlyWhenTheListingChanges() {
+		String citiesEtag = cityService.getCitiesEtag();
+		String regionsEtag = regionService.getRegionsEtag();
+
+		referentielCache.reload();
+		assertThat(cityService.getCitiesEtag()).isEqualTo(citiesEtag);
+
+		cityService.deleteCity(casablanca.getId());
+
+		assertThat(cityService.getCitiesEtag()).isNotEqualTo(citiesEtag);
+		assertThat(regionService.getRegionsEtag()).isEqualTo(regionsEtag);
+		assertThat(cityService.getAllCities()).extracting("name").containsExactly("Mohammadia");
+	}
+
+	@Test
+	void cityReferenceCanBeAssignedWithoutLoadingTheCity() {
+		Topographe topographe = new Topographe();
+		topographe.setUsername("topo");
+		topographe.setEmail("topo@topodash.ma");
+		topographe.setPassword("secret");
+		topographe.setPhoneNumber("0600000000");
+		topographe.setFirstName("Topo");
+		topographe.setLastName("Test");
+		topographe.setBirthday(LocalDate.of(1990, 1, 1));
+		topographe.setCin("CIN-topo");
+		topographe.setRole(Role.TOPOGRAPHE);
+		topographe.setLicenseNumber("LIC-1");
+		topographe.setCity(cityService.findCityReference(casablanca.getId()).orElseThrow());
+
+		Statistics statistics = statistics();
+		em.persistAndFlush(topographe);
+
+		// l'INSERT de l'utilisateur, sans chargement de la ville
+		assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+		assertThat(statistics.getEntityLoadCount()).isZero();
+		em.clear();
+		assertThat(em.find(Topographe.class, topographe.getId()).getCity().getName()).isEqualTo("Casablanca");
+	}
+
+	private Statistics statistics() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		return statistics;
+	}
+}
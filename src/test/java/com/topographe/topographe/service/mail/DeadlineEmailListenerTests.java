@@ -0,0 +1,101 @@
+package com.topographe.topographe.service.mail;
+
+import com.topographe.topographe.entity.Project;
+import com.topographe.topographe.entity.Task;
+import com.topographe.topographe.entity.Topographe;
+import com.topographe.topographe.repository.ProjectRepository;
+import com.topographe.topographe.repository.TaskRepository;
+import com.topographe.topographe.service.EmailService;
+import com.topographe.topographe.service.deadline.DeadlineEvent;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DeadlineEmailListenerTests {
+
+	private static final LocalDate DAY = LocalDate.of(2026, 3, 2);
+
+	private final TaskRepository taskRepository = mock(TaskRepository.class);
+	private final ProjectRepository projectRepository = mock(ProjectRepository.class);
+	private final EmailService emailService = mock(EmailService.class);
+	private final MailQueue mailQueue = mock(MailQueue.class);
+	private final DeadlineEmailListener listener = new DeadlineEmailListener(taskRepository, projectRepository, emailService, mailQueue);
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(listener, "enabled", true);
+		when(emailService.prepareDeadlineNotificationToTopographe(any(), any(), any(), anyList(), anyList()))
+				.thenReturn(mock(MimeMessage.class));
+	}
+
+	@Test
+	void oneNotificationPerTopographeWithTheirTasksAndProjects() {
+		Topographe first = topographe(1L, true);
+		Topographe second = topographe(2L, true);
+		Topographe inactive = topographe(3L, false);
+		Project firstProject = project(10L, first);
+		Project secondProject = project(20L, second);
+		Task late = task(100L, firstProject, DAY.minusDays(1));
+		Task earlier = task(101L, firstProject, DAY.minusDays(1));
+		Task other = task(102L, project(30L, inactive), DAY.minusDays(1));
+		when(taskRepository.findByIdIn(List.of(100L, 101L, 102L))).thenReturn(List.of(late, earlier, other));
+		when(projectRepository.findByIdIn(List.of(20L))).thenReturn(List.of(secondProject));
+
+		listener.onDeadline(new DeadlineEvent(DeadlineEvent.Kind.OVERDUE, DAY, List.of(100L, 101L, 102L), List.of(20L)));
+
+		verify(emailService).prepareDeadlineNotificationToTopographe(first, DeadlineEvent.Kind.OVERDUE, DAY,
+				List.of(late, earlier), List.of());
+		verify(emailService).prepareDeadlineNotificationToTopographe(second, DeadlineEvent.Kind.OVERDUE, DAY,
+				List.of(), List.of(secondProject));
+		verify(emailService, never()).prepareDeadlineNotificationToTopographe(eq(inactive), any(), any(), anyList(), anyList());
+		verify(mailQueue, times(2)).enqueue(any(), any());
+	}
+
+	@Test
+	void disabledListenerSendsNothing() {
+		ReflectionTestUtils.setField(listener, "enabled", false);
+
+		listener.onDeadline(new DeadlineEvent(DeadlineEvent.Kind.DUE_SOON, DAY, List.of(100L), List.of()));
+
+		verify(taskRepository, never()).findByIdIn(anyList());
+		verify(mailQueue, never()).enqueue(any(), any());
+	}
+
+	private static Topographe topographe(Long id, boolean active) {
+		Topographe topographe = new Topographe();
+		topographe.setId(id);
+		topographe.setEmail("topo" + id + "@topodash.ma");
+		topographe.setIsActive(active);
+		return topographe;
+	}
+
+	private static Project project(Long id, Topographe topographe) {
+		Project project = new Project();
+		project.setId(id);
+		project.setName("Projet " + id);
+		project.setEndDate(DAY.plusDays(10));
+		project.setTopographe(topographe);
+		return project;
+	}
+
+	private static Task task(Long id, Project project, LocalDate dueDate) {
+		Task task = new Task();
+		task.setId(id);
+		task.setProject(project);
+		task.setDueDate(dueDate);
+		return task;
+	}
+}
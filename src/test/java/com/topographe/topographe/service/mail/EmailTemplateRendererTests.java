@@ -0,0 +1,85 @@
+package com.topographe.topographe.service.mail;
+
+import com.topographe.topographe.entity.Topographe;
+import org.junit.jupiter.api.Test;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmailTemplateRendererTests {
+
+	private static final String TEMPLATE = "emails/welcome-topographe";
+
+	private final EmailTemplateRenderer renderer = new EmailTemplateRenderer(engine(),
+			"TopoDash", "http://localhost:8080", "support@topodash.ma");
+
+	@Test
+	void batchRenderingMatchesPerMessageRendering() {
+		List<Map<String, Object>> recipients = recipients(20);
+
+		List<String> batch = renderer.renderBatch(TEMPLATE, Map.of(), recipients);
+
+		assertThat(batch).hasSize(recipients.size());
+		for (int i = 0; i < recipients.size(); i++) {
+			assertThat(batch.get(i))
+					.isEqualTo(renderer.render(TEMPLATE, recipients.get(i)))
+					.contains("topo" + i, "secret" + i);
+		}
+	}
+
+	@Test
+	void recipientVariablesDoNotLeakIntoTheNextMessage() {
+		List<Map<String, Object>> recipients = recipients(2);
+		// Le second destinataire n'a pas de spécialisation : celle du premier ne doit pas réapparaître
+		((Topographe) recipients.get(1).get("topographe")).setSpecialization(null);
+		recipients.get(0).put("supportEmail", "premier@topodash.ma");
+
+		List<String> batch = renderer.renderBatch(TEMPLATE, Map.of(), recipients);
+
+		assertThat(batch.get(1)).isEqualTo(renderer.render(TEMPLATE, recipients.get(1)));
+		assertThat(batch.get(1)).doesNotContain("premier@topodash.ma");
+	}
+
+	private static SpringTemplateEngine engine() {
+		ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+		resolver.setPrefix("templates/");
+		resolver.setSuffix(".html");
+		resolver.setTemplateMode(TemplateMode.HTML);
+		resolver.setCharacterEncoding("UTF-8");
+
+		SpringTemplateEngine engine = new SpringTemplateEngine();
+		engine.setTemplateResolver(resolver);
+		return engine;
+	}
+
+	private static List<Map<String, Object>> recipients(int count) {
+		List<Map<String, Object>> recipients = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			Topographe topographe = new Topographe();
+			topographe.setUsername("topo" + i);
+			topographe.setEmail("topo" + i + "@topodash.ma");
+			topographe.setFirstName("Prénom" + i);
+			topographe.setLastName("Nom" + i);
+			topographe.setPhoneNumber("06000000" + i);
+			topographe.setLicenseNumber("LIC-" + i);
+			topographe.setSpecialization("Cadastre");
+			topographe.setCreatedAt(LocalDateTime.of(2024, 1, 1, 10, 0));
+
+			Map<String, Object> variables = new HashMap<>();
+			variables.put("topographe", topographe);
+			variables.put("username", topographe.getUsername());
+			variables.put("password", "secret" + i);
+			variables.put("createdDate", "01/01/2024 à 10:00");
+			recipients.add(variables);
+		}
+		return recipients;
+	}
+}
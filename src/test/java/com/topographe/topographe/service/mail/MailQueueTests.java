@@ -0,0 +1,114 @@
+package com.topographe.topographe.service.mail;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMailMessage;
+
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MailQueueTests {
+
+	@RegisterExtension
+	static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private MailQueue mailQueue;
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		if (mailQueue != null) {
+			mailQueue.stop();
+		}
+	}
+
+	@Test
+	void sendsQueuedMessagesInBatches() throws Exception {
+		JavaMailSenderImpl sender = sender(ServerSetupTest.SMTP.getPort());
+		mailQueue = new MailQueue(sender, meterRegistry, 100, 1, 10, 3, 50);
+		mailQueue.start();
+
+		for (int i = 0; i < 25; i++) {
+			assertThat(mailQueue.enqueue(message(sender, "user" + i + "@topodash.ma"), "test " + i)).isTrue();
+		}
+
+		assertThat(greenMail.waitForIncomingEmail(10_000, 25)).isTrue();
+		await(() -> messages("sent") == 25);
+		assertThat(messages("failed")).isZero();
+		// 25 messages par lots de 10 au maximum ; attente et livraison mesurées par message
+		assertThat(meterRegistry.get("mail.send").timer().count()).isBetween(3L, 25L);
+		assertThat(meterRegistry.get("mail.queue.wait").timer().count()).isEqualTo(25);
+		assertThat(meterRegistry.get("mail.delivery").timer().count()).isEqualTo(25);
+		assertThat(meterRegistry.get("mail.queue.depth").gauge().value()).isZero();
+	}
+
+	@Test
+	void retriesWithBackoffUntilServerIsReachable() throws Exception {
+		// Port fermé : chaque tentative échoue jusqu'à l'abandon
+		JavaMailSenderImpl sender = sender(1);
+		mailQueue = new MailQueue(sender, meterRegistry, 100, 1, 10, 3, 20);
+		mailQueue.start();
+
+		mailQueue.enqueue(message(sender, "client@topodash.ma"), "injoignable");
+
+		await(() -> messages("failed") > 0);
+		assertThat(messages("failed")).isEqualTo(1);
+		assertThat(messages("retried")).isEqualTo(2);
+		assertThat(messages("sent")).isZero();
+		// Trois tentatives, aucune livraison
+		assertThat(meterRegistry.get("mail.queue.wait").timer().count()).isEqualTo(3);
+		assertThat(meterRegistry.get("mail.delivery").timer().count()).isZero();
+	}
+
+	@Test
+	void rejectsMessagesWhenQueueIsFull() {
+		JavaMailSenderImpl sender = sender(ServerSetupTest.SMTP.getPort());
+		// Workers non démarrés : la file se remplit
+		mailQueue = new MailQueue(sender, meterRegistry, 2, 1, 10, 3, 20);
+
+		assertThat(mailQueue.enqueue(message(sender, "a@topodash.ma"), "a")).isTrue();
+		assertThat(mailQueue.enqueue(message(sender, "b@topodash.ma"), "b")).isTrue();
+		assertThat(mailQueue.enqueue(message(sender, "c@topodash.ma"), "c")).isFalse();
+		assertThat(meterRegistry.get("mail.queue.depth").gauge().value()).isEqualTo(2);
+		assertThat(messages("rejected")).isEqualTo(1);
+	}
+
+	private double messages(String outcome) {
+		return meterRegistry.get("mail.messages").tag("outcome", outcome).counter().count();
+	}
+
+	private void await(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+		}
+	}
+
+	private static JavaMailSenderImpl sender(int port) {
+		JavaMailSenderImpl sender = new JavaMailSenderImpl();
+		sender.setHost("127.0.0.1");
+		sender.setPort(port);
+		sender.getJavaMailProperties().put("mail.smtp.connectiontimeout", "1000");
+		return sender;
+	}
+
+	private static MimeMessage message(JavaMailSenderImpl sender, String to) {
+		SimpleMailMessage simple = new SimpleMailMessage();
+		simple.setFrom("noreply@topodash.ma");
+		simple.setTo(to);
+		simple.setSubject("Bienvenue");
+		simple.setText("Bonjour");
+		MimeMessage message = sender.createMimeMessage();
+		simple.copyTo(new MimeMailMessage(message));
+		return message;
+	}
+}
@@ -0,0 +1,105 @@
+package com.topographe.topographe.service.mail;
+
+import com.topographe.topographe.entity.Technicien;
+import com.topographe.topographe.entity.Topographe;
+import com.topographe.topographe.service.EmailService;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WelcomeEmailListenerTests {
+
+	private final EmailService emailService = mock(EmailService.class);
+	private final MailQueue mailQueue = mock(MailQueue.class);
+	private final WelcomeEmailListener listener = new WelcomeEmailListener(emailService, mailQueue);
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void creationsOfOneTransactionAreRenderedAsOneBatchAfterCommit() throws Exception {
+		TopographeCreatedEvent first = new TopographeCreatedEvent(topographe("topo1"), "secret1");
+		TopographeCreatedEvent second = new TopographeCreatedEvent(topographe("topo2"), "secret2");
+		when(emailService.prepareWelcomeEmailsToTopographes(List.of(first, second)))
+				.thenReturn(List.of(mock(MimeMessage.class), mock(MimeMessage.class)));
+		when(emailService.prepareAdminNotification(any(), any())).thenReturn(mock(MimeMessage.class));
+
+		TransactionSynchronizationManager.initSynchronization();
+		listener.onTopographeCreated(first);
+		listener.onTopographeCreated(second);
+		verify(emailService, never()).prepareWelcomeEmailsToTopographes(anyList());
+
+		complete(TransactionSynchronization.STATUS_COMMITTED);
+
+		verify(emailService).prepareWelcomeEmailsToTopographes(List.of(first, second));
+		verify(emailService, never()).prepareWelcomeEmailToTopographe(any(), anyString());
+		// Bienvenue + notification admin pour chacun
+		verify(mailQueue, times(4)).enqueue(any(), any());
+	}
+
+	@Test
+	void rolledBackCreationsSendNothing() throws Exception {
+		TransactionSynchronizationManager.initSynchronization();
+		listener.onTopographeCreated(new TopographeCreatedEvent(topographe("topo1"), "secret1"));
+
+		complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+		verify(emailService, never()).prepareWelcomeEmailsToTopographes(anyList());
+		verify(mailQueue, never()).enqueue(any(), any());
+	}
+
+	@Test
+	void technicienWelcomeAndTopographeNotificationAreQueuedAfterCommit() {
+		Topographe topographe = topographe("topo1");
+		Technicien technicien = new Technicien();
+		technicien.setEmail("tech1@topodash.ma");
+		when(emailService.prepareWelcomeEmailToTechnicien(technicien, "secret1", topographe))
+				.thenReturn(mock(MimeMessage.class));
+		when(emailService.prepareTechnicienCreationNotificationToTopographe(technicien, topographe))
+				.thenReturn(mock(MimeMessage.class));
+
+		TransactionSynchronizationManager.initSynchronization();
+		listener.onTechnicienCreated(new TechnicienCreatedEvent(technicien, "secret1", topographe));
+		verify(mailQueue, never()).enqueue(any(), any());
+
+		complete(TransactionSynchronization.STATUS_COMMITTED);
+
+		verify(emailService).prepareWelcomeEmailToTechnicien(technicien, "secret1", topographe);
+		verify(mailQueue, times(2)).enqueue(any(), any());
+	}
+
+	// Fin de transaction simulée : afterCommit seulement si validée, puis afterCompletion
+	private static void complete(int status) {
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		if (status == TransactionSynchronization.STATUS_COMMITTED) {
+			TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+		}
+		TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, status);
+		TransactionSynchronizationManager.clearSynchronization();
+	}
+
+	private static Topographe topographe(String username) {
+		Topographe topographe = new Topographe();
+		topographe.setUsername(username);
+		topographe.setEmail(username + "@topodash.ma");
+		return topographe;
+	}
+}
@@ -0,0 +1,168 @@
+package com.topographe.topographe.service.projection;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.topographe.topographe.dto.response.PageResponse;
+import com.topographe.topographe.dto.response.ProjectedPage;
+import com.topographe.topographe.entity.Client;
+import com.topographe.topographe.entity.Project;
+import com.topographe.topographe.entity.Task;
+import com.topographe.topographe.entity.Technicien;
+import com.topographe.topographe.entity.Topographe;
+import com.topographe.topographe.entity.enumm.ClientType;
+import com.topographe.topographe.entity.enumm.ProjectStatus;
+import com.topographe.topographe.entity.enumm.Role;
+import com.topographe.topographe.entity.enumm.SkillLevel;
+import com.topographe.topographe.entity.enumm.TaskStatus;
+import com.topographe.topographe.entity.referentiel.City;
+import com.topographe.topographe.repository.specification.TaskSpecifications;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static com.topographe.topographe.TestUsers.fill;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = {
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.show-sql=false",
+		"spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(ProjectionQuery.class)
+@Sql("/sql/users-single-table.sql")
+class ProjectionQueryTests {
+
+	@Autowired
+	private TestEntityManager em;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private ProjectionQuery projectionQuery;
+
+	private Project project;
+
+	@BeforeEach
+	void setUp() {
+		City city = em.persist(City.builder().name("Rabat").build());
+
+		Topographe topographe = fill(new Topographe(), "topo", city, Role.TOPOGRAPHE);
+		topographe.setLicenseNumber("LIC-1");
+		em.persist(topographe);
+
+		Client client = fill(new Client(), "client", city, Role.CLIENT);
+		client.setClientType(ClientType.INDIVIDUAL);
+		client.setCreatedBy(topographe);
+		em.persist(client);
+
+		project = new Project();
+		project.setName("Bornage");
+		project.setClient(client);
+		project.setTopographe(topographe);
+		project.setStatus(ProjectStatus.IN_PROGRESS);
+		em.persist(project);
+
+		Technicien technicien = fill(new Technicien(), "tech", city, Role.TECHNICIEN);
+		technicien.setSkillLevel(SkillLevel.JUNIOR);
+		technicien.setAssignedTo(topographe);
+		em.persist(technicien);
+
+		for (int i = 0; i < 3; i++) {
+			Task task = new Task();
+			task.setTitle("Tâche " + i);
+			task.setProject(project);
+			task.setStatus(i == 0 ? TaskStatus.COMPLETED : TaskStatus.TODO);
+			task.setDueDate(LocalDate.of(2026, 3, 1).plusDays(i));
+			task.getAssignedTechniciens().add(technicien);
+			em.persist(task);
+		}
+		em.flush();
+		em.clear();
+	}
+
+	@Test
+	void selectsOnlyRequestedFieldsInOneStatement() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		List<String> fields = FieldCatalogs.TASKS.select("title,clientName,assignedTechniciensCount", null);
+		PageResponse<Map<String, Object>> page = projectionQuery.findPage(FieldCatalogs.TASKS, fields,
+				TaskSpecifications.withFilters(TaskStatus.TODO, project.getId(), null, null, null, null, null, null),
+				PageRequest.of(0, 10, Sort.by("title").descending()));
+
+		assertThat(page.getTotalElements()).isEqualTo(2);
+		assertThat(page.getContent()).extracting(row -> row.get("title")).containsExactly("Tâche 2", "Tâche 1");
+		assertThat(page.getContent().get(0)).containsOnlyKeys("id", "title", "clientName", "assignedTechniciensCount")
+				.containsEntry("clientName", "client Test")
+				.containsEntry("assignedTechniciensCount", 1);
+		// Page incomplète : pas de COUNT, aucune entité chargée
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(em.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+	}
+
+	@Test
+	void summaryViewAndJoinedFields() {
+		List<String> fields = FieldCatalogs.TECHNICIENS.select(null, "summary");
+		List<String> withTopographe = FieldCatalogs.TECHNICIENS.select("assignedToTopographeName", null);
+
+		PageResponse<Map<String, Object>> summary = projectionQuery.findPage(FieldCatalogs.TECHNICIENS, fields,
+				(root, query, cb) -> null, PageRequest.of(0, 10));
+		PageResponse<Map<String, Object>> named = projectionQuery.findPage(FieldCatalogs.TECHNICIENS, withTopographe,
+				(root, query, cb) -> null, PageRequest.of(0, 10));
+
+		assertThat(summary.getContent()).singleElement()
+				.satisfies(row -> assertThat(row).containsOnlyKeys(fields)
+						.containsEntry("cityName", "Rabat").containsEntry("skillLevel", SkillLevel.JUNIOR));
+		assertThat(named.getContent()).singleElement()
+				.satisfies(row -> assertThat(row).containsOnlyKeys("id", "assignedToTopographeName")
+						.containsEntry("assignedToTopographeName", "topo Test"));
+	}
+
+	@Test
+	void unknownFieldsAndViewsAreRejected() {
+		assertThat(FieldCatalogs.PROJECTS.select(null, null)).isNull();
+		assertThat(FieldCatalogs.PROJECTS.select(null, "full")).isNull();
+		assertThatThrownBy(() -> FieldCatalogs.PROJECTS.select("name,healthStatus", null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("healthStatus");
+		assertThatThrownBy(() -> FieldCatalogs.PROJECTS.select(null, "compact"))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void pageDispatchesOnFieldsAndViewAndSerializesAsThePage() throws Exception {
+		PageRequest pageable = PageRequest.of(0, 10, Sort.by("id"));
+		ProjectedPage<Object> summary = FieldCatalogs.TASKS.page(null, "summary",
+				selected -> projectionQuery.findPage(FieldCatalogs.TASKS, selected, TaskSpecifications.withFilters(
+						null, null, null, null, null, null, null, null), pageable),
+				() -> {
+					throw new AssertionError("vue complète non demandée");
+				});
+		assertThat(summary.isProjection()).isTrue();
+
+		PageResponse<Object> fullPage = new PageResponse<>(List.of(), 0, 10, 0, 0, true, true, false, false);
+		ProjectedPage<Object> full = FieldCatalogs.TASKS.page(null, "full", selected -> null, () -> fullPage);
+		assertThat(full.getFull()).isSameAs(fullPage);
+
+		// Même JSON qu'une PageResponse, dans les deux vues
+		ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+		assertThat(objectMapper.readTree(objectMapper.writeValueAsString(summary)).get("content").get(0).get("projectName").asText())
+				.isEqualTo(project.getName());
+		assertThat(objectMapper.writeValueAsString(full)).isEqualTo(objectMapper.writeValueAsString(fullPage));
+	}
+}
@@ -0,0 +1,100 @@
+package com.topographe.topographe.service.rollup;
+
+import com.topographe.topographe.entity.Project;
+import com.topographe.topographe.entity.Task;
+import com.topographe.topographe.entity.Technicien;
+import com.topographe.topographe.entity.enumm.TaskStatus;
+import com.topographe.topographe.repository.TaskDailyStatRepository;
+import com.topographe.topographe.service.counter.TaskCounterKey;
+import com.topographe.topographe.service.counter.TasksChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+class TaskRollupsTests {
+
+	private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 3, 1, 9, 0);
+
+	private TaskDailyStatRepository repository;
+	private TaskRollups rollups;
+	private Project project;
+
+	@BeforeEach
+	void setUp() {
+		repository = mock(TaskDailyStatRepository.class);
+		rollups = new TaskRollups(repository);
+		project = new Project();
+		project.setId(10L);
+	}
+
+	@Test
+	void bulkCreationWritesOneIncrementPerBucket() {
+		List<Task> tasks = IntStream.range(0, 50).mapToObj(i -> task(TaskStatus.TODO, technicien(30L))).toList();
+
+		rollups.onTasksChanged(TasksChangedEvent.created(tasks));
+
+		LocalDate day = CREATED_AT.toLocalDate();
+		InOrder order = inOrder(repository);
+		order.verify(repository).increment("GLOBAL", TaskRollups.GLOBAL_ID, day, 50, 0, 0, 0);
+		order.verify(repository).increment("PROJECT", 10L, day, 50, 0, 0, 0);
+		order.verify(repository).increment("TECHNICIEN", 30L, day, 50, 0, 0, 0);
+		verify(repository, times(3)).increment(anyString(), anyLong(), any(), anyLong(), anyLong(), anyLong(), anyLong());
+	}
+
+	@Test
+	void lateCompletionIsCountedForEveryDimension() {
+		Task task = task(TaskStatus.COMPLETED, technicien(30L), technicien(31L));
+		task.setDueDate(LocalDate.of(2025, 3, 2));
+		task.setCompletedAt(CREATED_AT.plusDays(3));
+		TaskCounterKey before = new TaskCounterKey(TaskStatus.REVIEW, 10L, 20L, Set.of(30L, 31L));
+
+		rollups.onTasksChanged(TasksChangedEvent.changed(before, task));
+
+		LocalDate day = LocalDate.of(2025, 3, 4);
+		verify(repository).increment("GLOBAL", TaskRollups.GLOBAL_ID, day, 0, 1, 72, 1);
+		verify(repository).increment("PROJECT", 10L, day, 0, 1, 72, 1);
+		verify(repository).increment("TECHNICIEN", 30L, day, 0, 1, 72, 1);
+		verify(repository).increment("TECHNICIEN", 31L, day, 0, 1, 72, 1);
+	}
+
+	@Test
+	void onlyNewTechniciensAreCountedOnReassignment() {
+		Task task = task(TaskStatus.IN_PROGRESS, technicien(30L), technicien(31L));
+		TaskCounterKey before = new TaskCounterKey(TaskStatus.IN_PROGRESS, 10L, 20L, Set.of(30L));
+
+		rollups.onTasksChanged(TasksChangedEvent.changed(before, task));
+
+		verify(repository).increment("TECHNICIEN", 31L, LocalDate.now(), 1, 0, 0, 0);
+		verifyNoMoreInteractions(repository);
+	}
+
+	private Task task(TaskStatus status, Technicien... techniciens) {
+		Task task = new Task();
+		task.setProject(project);
+		task.setStatus(status);
+		task.setCreatedAt(CREATED_AT);
+		task.getAssignedTechniciens().addAll(Set.of(techniciens));
+		return task;
+	}
+
+	private static Technicien technicien(Long id) {
+		Technicien technicien = new Technicien();
+		technicien.setId(id);
+		return technicien;
+	}
+}
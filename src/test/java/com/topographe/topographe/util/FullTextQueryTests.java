@@ -0,0 +1,31 @@
+package com.topographe.topographe.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FullTextQueryTests {
+
+	@Test
+	void eachWordBecomesAPrefixTerm() {
+		assertThat(FullTextQuery.toPrefixQuery("Levé  cadastral")).isEqualTo("levé:* & cadastral:*");
+	}
+
+	@Test
+	void tsqueryOperatorsAreStripped() {
+		// Sans nettoyage, to_tsquery lèverait une erreur de syntaxe
+		assertThat(FullTextQuery.toPrefixQuery("bornage & !(lot:* | 'x')")).isEqualTo("bornage:* & lot:*");
+	}
+
+	@Test
+	void blankOrTooShortTextGivesNoQuery() {
+		assertThat(FullTextQuery.toPrefixQuery("  ")).isNull();
+		assertThat(FullTextQuery.toPrefixQuery("a & b")).isNull();
+	}
+
+	@Test
+	void termCountIsBounded() {
+		String query = FullTextQuery.toPrefixQuery("aa bb cc dd ee ff gg hh ii jj");
+		assertThat(query.split(" & ")).hasSize(FullTextQuery.MAX_TERMS);
+	}
+}
@@ -0,0 +1,23 @@
+package com.topographe.topographe.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchHighlightTests {
+
+	@Test
+	void userMarkupIsEscapedAndOnlyMatchesBecomeMarks() {
+		// Sortie de ts_headline pour le titre « <script>alert(1)</script> Bornage »
+		String headline = "<script>alert(1)</script> " + SearchHighlight.START + "Bornage" + SearchHighlight.STOP;
+
+		assertThat(SearchHighlight.toSafeHtml(headline))
+				.isEqualTo("&lt;script&gt;alert(1)&lt;/script&gt; <mark>Bornage</mark>");
+	}
+
+	@Test
+	void accentsAreKeptAndNullStaysNull() {
+		assertThat(SearchHighlight.toSafeHtml("Levé d'\"état\"")).isEqualTo("Levé d&#39;&quot;état&quot;");
+		assertThat(SearchHighlight.toSafeHtml(null)).isNull();
+	}
+}
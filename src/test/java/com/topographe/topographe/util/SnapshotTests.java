@@ -0,0 +1,43 @@
+package com.topographe.topographe.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SnapshotTests {
+
+	@Test
+	void firstReadLoadsOnceAndWarmUpDoesNotReload() {
+		AtomicInteger loads = new AtomicInteger();
+		Snapshot<Integer> snapshot = new Snapshot<>(loads::incrementAndGet);
+
+		assertThat(snapshot.get()).isEqualTo(1);
+		snapshot.warmUp();
+		assertThat(snapshot.get()).isEqualTo(1);
+		assertThat(snapshot.reload()).isEqualTo(1);
+		assertThat(snapshot.get()).isEqualTo(2);
+	}
+
+	@Test
+	void reloadIsRetriedWhileDeltasLandButNotForever() {
+		AtomicInteger loads = new AtomicInteger();
+		AtomicReference<Snapshot<AtomicInteger>> holder = new AtomicReference<>();
+		holder.set(new Snapshot<>(() -> {
+			// Un écart arrive pendant chaque calcul après le premier chargement
+			if (loads.incrementAndGet() > 1) {
+				holder.get().update(AtomicInteger::incrementAndGet);
+			}
+			return new AtomicInteger();
+		}));
+		holder.get().get();
+
+		holder.get().reload();
+
+		// Premier chargement + 3 tentatives, puis le dernier calcul est gardé
+		assertThat(loads).hasValue(4);
+		assertThat(holder.get().get()).hasValue(0);
+	}
+}
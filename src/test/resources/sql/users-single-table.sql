@@ -0,0 +1,4 @@
+-- Même ajustement que scripts/constraints.sql pour l'héritage SINGLE_TABLE de users :
+-- les colonnes propres à une sous-classe restent nulles pour les autres rôles
+ALTER TABLE users ALTER COLUMN created_by_topographe_id DROP NOT NULL;
+ALTER TABLE users ALTER COLUMN assigned_to_topographe_id DROP NOT NULL;